@@ -0,0 +1,171 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.DecimalFactory;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesManager;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisReport;
+import org.ta4j.core.analysis.criteria.AverageProfitCriterion;
+import org.ta4j.core.analysis.criteria.AverageProfitableTradesCriterion;
+import org.ta4j.core.analysis.criteria.BuyAndHoldCriterion;
+import org.ta4j.core.analysis.criteria.LinearTransactionCostCriterion;
+import org.ta4j.core.analysis.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.analysis.criteria.NumberOfBarsCriterion;
+import org.ta4j.core.analysis.criteria.NumberOfTradesCriterion;
+import org.ta4j.core.analysis.criteria.RewardRiskRatioCriterion;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.analysis.criteria.VersusBuyAndHoldCriterion;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures backtests ({@link TimeSeriesManager#run(Strategy)}) and analysis criteria over large trading records.
+ * <p></p>
+ * Run with: java -jar ta4j-benchmarks/target/benchmarks.jar BacktestBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BacktestBenchmark {
+
+    /** Number of bars of the series */
+    @Param({"10000", "1000000"})
+    public int barCount;
+
+    /** Arithmetic backend of the series */
+    @Param({"BIG_DECIMAL", "DOUBLE"})
+    public DecimalFactory decimalFactory;
+
+    /** The criteria of the existing analysis */
+    private static final List<AnalysisCriterion> CRITERIA = Arrays.asList(
+            new TotalProfitCriterion(), new AverageProfitCriterion(), new AverageProfitableTradesCriterion(),
+            new BuyAndHoldCriterion(), new MaximumDrawdownCriterion(), new NumberOfBarsCriterion(),
+            new NumberOfTradesCriterion(), new RewardRiskRatioCriterion(),
+            new VersusBuyAndHoldCriterion(new TotalProfitCriterion()));
+
+    private TimeSeries series;
+
+    /** A trading record with a trade every 10 bars */
+    private TradingRecord tradingRecord;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        series = SeriesGenerator.randomWalk(barCount, decimalFactory);
+        tradingRecord = new BaseTradingRecord();
+        for (int i = 0; i + 5 < barCount; i += 10) {
+            tradingRecord.enter(i, series.getBar(i).getClosePrice(), series.decimalOf(1));
+            tradingRecord.exit(i + 5, series.getBar(i + 5).getClosePrice(), series.decimalOf(1));
+        }
+    }
+
+    /**
+     * @return a moving average crossover strategy (new indicators)
+     */
+    private Strategy buildStrategy() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, 10);
+        SMAIndicator longSma = new SMAIndicator(closePrice, 50);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    @Benchmark
+    public TradingRecord run() {
+        return new TimeSeriesManager(series).run(buildStrategy());
+    }
+
+    @Benchmark
+    public double totalProfit() {
+        return new TotalProfitCriterion().calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double maximumDrawdown() {
+        return new MaximumDrawdownCriterion().calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double averageProfitableTrades() {
+        return new AverageProfitableTradesCriterion().calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double rewardRiskRatio() {
+        return new RewardRiskRatioCriterion().calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double versusBuyAndHold() {
+        return new VersusBuyAndHoldCriterion(new TotalProfitCriterion()).calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double linearTransactionCost() {
+        return new LinearTransactionCostCriterion(1000, 0.005).calculate(series, tradingRecord);
+    }
+
+    @Benchmark
+    public double allCriteria() {
+        double sum = 0;
+        for (AnalysisCriterion criterion : CRITERIA) {
+            sum += criterion.calculate(series, tradingRecord);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double allCriteriaFromReport() {
+        AnalysisReport report = new AnalysisReport(series, tradingRecord);
+        double sum = 0;
+        for (AnalysisCriterion criterion : CRITERIA) {
+            sum += criterion.calculate(report);
+        }
+        return sum;
+    }
+}
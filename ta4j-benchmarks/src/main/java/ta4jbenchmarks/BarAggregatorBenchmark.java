@@ -0,0 +1,111 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarAggregator;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.DecimalFactory;
+import org.ta4j.core.TimeSeries;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the aggregation of trades into bars of several time periods (1s, 1m, 5m, 1h).
+ * <p></p>
+ * Run with: java -jar ta4j-benchmarks/target/benchmarks.jar BarAggregatorBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BarAggregatorBenchmark {
+
+    /** Number of aggregated trades (200 trades per second) */
+    @Param({"200000", "2000000"})
+    public int tradeCount;
+
+    /** Arithmetic backend of the series */
+    @Param({"BIG_DECIMAL", "DOUBLE"})
+    public DecimalFactory decimalFactory;
+
+    private long[] timestamps;
+
+    private double[] prices;
+
+    private double[] volumes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SeriesGenerator.SEED);
+        timestamps = new long[tradeCount];
+        prices = new double[tradeCount];
+        volumes = new double[tradeCount];
+        double price = 100;
+        for (int i = 0; i < tradeCount; i++) {
+            timestamps[i] = 1_500_000_000_000L + i * 5L;
+            price = Math.max(1, price + random.nextGaussian() * 0.01);
+            prices[i] = price;
+            volumes[i] = 1 + random.nextInt(100);
+        }
+    }
+
+    @Benchmark
+    public TimeSeries closedBars() {
+        return aggregate(false);
+    }
+
+    @Benchmark
+    public TimeSeries formingBars() {
+        return aggregate(true);
+    }
+
+    private TimeSeries aggregate(boolean formingBar) {
+        TimeSeries seconds = new BaseTimeSeries("1s", decimalFactory);
+        BarAggregator aggregator = new BarAggregator(ZoneOffset.UTC)
+                .attach(Duration.ofSeconds(1), seconds, formingBar)
+                .attach(Duration.ofMinutes(1), new BaseTimeSeries("1m", decimalFactory), formingBar)
+                .attach(Duration.ofMinutes(5), new BaseTimeSeries("5m", decimalFactory), formingBar)
+                .attach(Duration.ofHours(1), new BaseTimeSeries("1h", decimalFactory), formingBar);
+        for (int i = 0; i < tradeCount; i++) {
+            aggregator.onTrade(timestamps[i], prices[i], volumes[i]);
+        }
+        aggregator.flush();
+        return seconds;
+    }
+}
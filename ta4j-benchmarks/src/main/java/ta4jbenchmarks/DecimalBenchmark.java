@@ -0,0 +1,125 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.DecimalFactory;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link Decimal} arithmetic (BigDecimal-backed and double-backed).
+ * <p></p>
+ * Run with: java -jar ta4j-benchmarks/target/benchmarks.jar DecimalBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DecimalBenchmark {
+
+    private static final int OPERATIONS = 1000;
+
+    /** Arithmetic backend */
+    @Param({"BIG_DECIMAL", "DOUBLE"})
+    public DecimalFactory decimalFactory;
+
+    private Decimal[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SeriesGenerator.SEED);
+        values = new Decimal[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            values[i] = decimalFactory.decimalOf(1 + random.nextDouble() * 100);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Decimal plus() {
+        Decimal sum = values[0];
+        for (int i = 1; i < OPERATIONS; i++) {
+            sum = sum.plus(values[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Decimal multipliedBy() {
+        Decimal product = values[0];
+        for (int i = 1; i < OPERATIONS; i++) {
+            product = product.multipliedBy(values[i]).dividedBy(values[i - 1]);
+        }
+        return product;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Decimal dividedBy() {
+        Decimal quotient = values[0];
+        for (int i = 1; i < OPERATIONS; i++) {
+            quotient = values[i].dividedBy(values[i - 1]);
+        }
+        return quotient;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Decimal sqrt() {
+        Decimal root = values[0];
+        for (int i = 1; i < OPERATIONS; i++) {
+            root = values[i].sqrt();
+        }
+        return root;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int compareTo() {
+        int greater = 0;
+        for (int i = 1; i < OPERATIONS; i++) {
+            if (values[i].isGreaterThan(values[i - 1])) {
+                greater++;
+            }
+        }
+        return greater;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.DecimalFactory;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.MACDIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsLowerIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuChikouSpanIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuKijunSenIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuSenkouSpanAIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuSenkouSpanBIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuTenkanSenIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the calculation of indicators over a whole series.
+ * <p></p>
+ * Each benchmark builds new indicators (i.e. with empty caches) and calculates all their values.
+ * <p></p>
+ * Run with: java -jar ta4j-benchmarks/target/benchmarks.jar IndicatorBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IndicatorBenchmark {
+
+    /** Number of bars of the series */
+    @Param({"1000", "100000"})
+    public int barCount;
+
+    /** Arithmetic backend of the series */
+    @Param({"BIG_DECIMAL", "DOUBLE"})
+    public DecimalFactory decimalFactory;
+
+    private TimeSeries series;
+
+    private int[] shuffledIndexes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        series = SeriesGenerator.randomWalk(barCount, decimalFactory);
+        shuffledIndexes = SeriesGenerator.shuffledIndexes(barCount);
+    }
+
+    /**
+     * Calculates all the values of indicators, from the first to the last index.
+     * @param blackhole the blackhole
+     * @param indicators the indicators
+     */
+    private void calculateAll(Blackhole blackhole, Indicator<?>... indicators) {
+        for (int i = 0; i < barCount; i++) {
+            for (Indicator<?> indicator : indicators) {
+                blackhole.consume(indicator.getValue(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void smaSequential(Blackhole blackhole) {
+        calculateAll(blackhole, new SMAIndicator(new ClosePriceIndicator(series), 50));
+    }
+
+    @Benchmark
+    public void smaRandomAccess(Blackhole blackhole) {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 50);
+        for (int index : shuffledIndexes) {
+            blackhole.consume(sma.getValue(index));
+        }
+    }
+
+    @Benchmark
+    public void smaCached(Blackhole blackhole) {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 50);
+        calculateAll(blackhole, sma);
+        // Second pass: cached values only
+        calculateAll(blackhole, sma);
+    }
+
+    @Benchmark
+    public void ema(Blackhole blackhole) {
+        calculateAll(blackhole, new EMAIndicator(new ClosePriceIndicator(series), 50));
+    }
+
+    @Benchmark
+    public void rsi(Blackhole blackhole) {
+        calculateAll(blackhole, new RSIIndicator(new ClosePriceIndicator(series), 14));
+    }
+
+    @Benchmark
+    public void macd(Blackhole blackhole) {
+        MACDIndicator macd = new MACDIndicator(new ClosePriceIndicator(series), 12, 26);
+        calculateAll(blackhole, macd, new EMAIndicator(macd, 9));
+    }
+
+    @Benchmark
+    public void bollingerBands(Blackhole blackhole) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        BollingerBandsMiddleIndicator middle = new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20));
+        StandardDeviationIndicator standardDeviation = new StandardDeviationIndicator(closePrice, 20);
+        calculateAll(blackhole, middle,
+                new BollingerBandsUpperIndicator(middle, standardDeviation),
+                new BollingerBandsLowerIndicator(middle, standardDeviation));
+    }
+
+    @Benchmark
+    public void ichimoku(Blackhole blackhole) {
+        IchimokuTenkanSenIndicator conversionLine = new IchimokuTenkanSenIndicator(series);
+        IchimokuKijunSenIndicator baseLine = new IchimokuKijunSenIndicator(series);
+        calculateAll(blackhole, conversionLine, baseLine,
+                new IchimokuSenkouSpanAIndicator(series, conversionLine, baseLine),
+                new IchimokuSenkouSpanBIndicator(series),
+                new IchimokuChikouSpanIndicator(series));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.DecimalFactory;
+import org.ta4j.core.TimeSeries;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of adding bars to a time series for which a maximum bar count has been set.
+ * <p></p>
+ * Compares the circular list now used by {@link BaseTimeSeries} with the array list
+ * previously used (which shifted all the remaining bars each time the oldest one was removed).
+ * <p></p>
+ * Run with: java -jar ta4j-benchmarks/target/benchmarks.jar MovingTimeSeriesBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class MovingTimeSeriesBenchmark {
+
+    private static final Duration ONE_MINUTE = Duration.ofMinutes(1);
+
+    private static final ZonedDateTime START_TIME = ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    /** Number of bars added to the series */
+    @Param("10000000")
+    public int addedBarCount;
+
+    /** Maximum bar count of the series */
+    @Param("100000")
+    public int maximumBarCount;
+
+    /**
+     * Adds bars to a moving {@link BaseTimeSeries}.
+     * @return the series
+     */
+    @Benchmark
+    public TimeSeries circularList() {
+        TimeSeries series = new BaseTimeSeries("circular list", DecimalFactory.DOUBLE);
+        series.setMaximumBarCount(maximumBarCount);
+        for (int i = 0; i < addedBarCount; i++) {
+            series.addBar(ONE_MINUTE, START_TIME.plusMinutes(i + 1), i, i + 1, i - 1, i, 100);
+        }
+        return series;
+    }
+
+    /**
+     * Adds bars to an array list, removing the oldest one as the previous {@link BaseTimeSeries} did.
+     * @return the bar list
+     */
+    @Benchmark
+    public List<Bar> arrayList() {
+        List<Bar> bars = new ArrayList<>();
+        for (int i = 0; i < addedBarCount; i++) {
+            bars.add(new BaseBar(ONE_MINUTE, START_TIME.plusMinutes(i + 1), i, i + 1, i - 1, i, 100, DecimalFactory.DOUBLE));
+            if (bars.size() > maximumBarCount) {
+                bars.remove(0);
+            }
+        }
+        return bars;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MovingTimeSeriesBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
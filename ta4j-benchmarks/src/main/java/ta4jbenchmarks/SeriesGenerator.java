@@ -0,0 +1,109 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.ColumnarTimeSeries;
+import org.ta4j.core.DecimalFactory;
+import org.ta4j.core.TimeSeries;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+/**
+ * Generator of synthetic time series for the benchmarks.
+ * <p></p>
+ * Bars are one minute long and follow a seeded random walk (so that two runs measure the same data).
+ * Columnar series should be used from a million bars (bar objects would dominate the heap).
+ */
+public final class SeriesGenerator {
+
+    /** Seed of the random walks */
+    public static final long SEED = 42L;
+
+    private static final Duration ONE_MINUTE = Duration.ofMinutes(1);
+
+    private static final ZonedDateTime START_TIME = ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private SeriesGenerator() {
+    }
+
+    /**
+     * @param barCount the number of bars
+     * @param decimalFactory the decimal factory of the series
+     * @return a base time series following a random walk
+     */
+    public static TimeSeries randomWalk(int barCount, DecimalFactory decimalFactory) {
+        return fill(new BaseTimeSeries("random walk", decimalFactory), barCount);
+    }
+
+    /**
+     * @param barCount the number of bars
+     * @return a columnar time series (double-backed) following a random walk
+     */
+    public static TimeSeries columnarRandomWalk(int barCount) {
+        return fill(new ColumnarTimeSeries("columnar random walk", barCount, DecimalFactory.DOUBLE), barCount);
+    }
+
+    /**
+     * Adds random walk bars to a series.
+     * @param series the series
+     * @param barCount the number of bars to add
+     * @return the series
+     */
+    public static TimeSeries fill(TimeSeries series, int barCount) {
+        Random random = new Random(SEED);
+        double closePrice = 100;
+        ZonedDateTime endTime = START_TIME;
+        for (int i = 0; i < barCount; i++) {
+            double openPrice = closePrice;
+            closePrice = Math.max(1, openPrice * (1 + 0.01 * random.nextGaussian()));
+            double highPrice = Math.max(openPrice, closePrice) * (1 + 0.005 * random.nextDouble());
+            double lowPrice = Math.min(openPrice, closePrice) * (1 - 0.005 * random.nextDouble());
+            endTime = endTime.plus(ONE_MINUTE);
+            series.addBar(ONE_MINUTE, endTime, openPrice, highPrice, lowPrice, closePrice, 1000 * random.nextDouble());
+        }
+        return series;
+    }
+
+    /**
+     * @param count the number of indexes
+     * @return the indexes from 0 to count - 1, shuffled (seeded)
+     */
+    public static int[] shuffledIndexes(int count) {
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = i;
+        }
+        Random random = new Random(SEED);
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = tmp;
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.ColumnarTimeSeries;
+import org.ta4j.core.DecimalFactory;
+import org.ta4j.core.TimeSeries;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the ingestion of bars into time series (with and without a maximum bar count).
+ * <p></p>
+ * Run with: java -jar ta4j-benchmarks/target/benchmarks.jar TimeSeriesBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TimeSeriesBenchmark {
+
+    /** Number of bars added to the series */
+    @Param({"1000", "100000", "1000000"})
+    public int barCount;
+
+    /** Maximum bar count of the series (0 for none) */
+    @Param({"0", "1000"})
+    public int maximumBarCount;
+
+    /** Arithmetic backend of the series */
+    @Param({"BIG_DECIMAL", "DOUBLE"})
+    public DecimalFactory decimalFactory;
+
+    @Benchmark
+    public TimeSeries baseTimeSeries() {
+        TimeSeries series = new BaseTimeSeries("base", decimalFactory);
+        if (maximumBarCount > 0) {
+            series.setMaximumBarCount(maximumBarCount);
+        }
+        return SeriesGenerator.fill(series, barCount);
+    }
+
+    @Benchmark
+    public TimeSeries columnarTimeSeries() {
+        TimeSeries series = new ColumnarTimeSeries("columnar", decimalFactory);
+        if (maximumBarCount > 0) {
+            series.setMaximumBarCount(maximumBarCount);
+        }
+        return SeriesGenerator.fill(series, barCount);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BacktestExecutor;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.DecimalFactory;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.WalkForwardOptimizer;
+import org.ta4j.core.WalkForwardResult;
+import org.ta4j.core.WalkForwardWindow;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures backtests over the overlapping windows of a walk-forward optimization: strategies built for each window
+ * ({@link BacktestExecutor#build(List, List)}) versus built once on the parent series and shared by the sub-series
+ * views ({@link BacktestExecutor#buildShared(List, List)}), and a whole walk-forward optimization (in-sample runs of
+ * all the parameters, out-of-sample runs of the best ones) with {@link WalkForwardOptimizer}.
+ * <p></p>
+ * Run with: java -jar ta4j-benchmarks/target/benchmarks.jar WalkForwardBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WalkForwardBenchmark {
+
+    /** Number of bars of the series */
+    private static final int BAR_COUNT = 100000;
+
+    /** Number of bars of each window */
+    private static final int WINDOW_LENGTH = 10000;
+
+    /** Number of (overlapping) windows */
+    @Param({"50", "500"})
+    public int windowCount;
+
+    private ForkJoinPool pool;
+
+    private List<TimeSeries> windows;
+
+    private List<Function<TimeSeries, Strategy>> strategyBuilders;
+
+    /** In-sample/out-of-sample windows (the in-sample bars being the windows above) */
+    private List<WalkForwardWindow> walkForwardWindows;
+
+    /** Short time frames of the moving averages */
+    private List<Integer> shortTimeFrames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        TimeSeries series = SeriesGenerator.randomWalk(BAR_COUNT, DecimalFactory.DOUBLE);
+        int step = (BAR_COUNT - WINDOW_LENGTH) / windowCount;
+        windows = new ArrayList<>(windowCount);
+        for (int i = 0; i < windowCount; i++) {
+            windows.add(series.getSubSeriesView(i * step, i * step + WINDOW_LENGTH));
+        }
+        walkForwardWindows = WalkForwardWindow.rolling(series, WINDOW_LENGTH, step);
+        strategyBuilders = new ArrayList<>();
+        shortTimeFrames = new ArrayList<>();
+        for (int shortTimeFrame = 5; shortTimeFrame <= 20; shortTimeFrame += 5) {
+            final int s = shortTimeFrame;
+            strategyBuilders.add(ts -> buildStrategy(ts, s, 50));
+            shortTimeFrames.add(shortTimeFrame);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * @return a moving average crossover strategy
+     */
+    private static Strategy buildStrategy(TimeSeries series, int shortTimeFrame, int longTimeFrame) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, shortTimeFrame);
+        SMAIndicator longSma = new SMAIndicator(closePrice, longTimeFrame);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    @Benchmark
+    public TradingRecord[][] buildPerWindow() {
+        return new BacktestExecutor(pool).build(strategyBuilders, windows);
+    }
+
+    @Benchmark
+    public TradingRecord[][] buildShared() {
+        return new BacktestExecutor(pool).buildShared(strategyBuilders, windows);
+    }
+
+    @Benchmark
+    public WalkForwardResult<Integer> optimize() {
+        return new WalkForwardOptimizer(new BacktestExecutor(pool), new TotalProfitCriterion())
+                .optimize(walkForwardWindows, (ts, s) -> buildStrategy(ts, s, 50), shortTimeFrames);
+    }
+}
@@ -22,6 +22,8 @@
  */
 package org.ta4j.core;
 
+import org.ta4j.core.analysis.AnalysisReport;
+
 import java.util.List;
 
 /**
@@ -49,6 +51,17 @@ public interface AnalysisCriterion {
      */
     double calculate(TimeSeries series, TradingRecord tradingRecord);
 
+    /**
+     * Reads (or calculates) the criterion value from the analysis report of a trading record.
+     * <p></p>
+     * By default, calculates the value over the series of the report.
+     * @param report the analysis report of a trading record
+     * @return the criterion value for the trades of the report
+     */
+    default double calculate(AnalysisReport report) {
+        return calculate(report.getTimeSeries(), report.getTradingRecord());
+    }
+
     /**
      * @param manager the time series manager
      * @param strategies a list of strategies
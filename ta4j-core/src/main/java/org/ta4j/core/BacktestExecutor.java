@@ -0,0 +1,354 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.ta4j.core.analysis.AnalysisReport;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * A parallel executor of backtests.
+ * <p></p>
+ * Runs several {@link Strategy strategies} over several {@link TimeSeries time series} (e.g. the slices of a
+ * walk-forward optimization) on a {@link ForkJoinPool}, then reduces the trading records with an
+ * {@link AnalysisCriterion analysis criterion}.
+ * <p></p>
+ * Indicators cache their values and are not thread-safe. Therefore:
+ * <ul>
+ *     <li>strategies provided as instances are run in one task per strategy (their slices are run one after
+ *     the other) and must not share indicators with each other, unless these indicators are in concurrent mode
+ *     (see {@link org.ta4j.core.indicators.IndicatorGraph#setConcurrent(boolean)})
+ *     <li>strategies provided as builders are built for each slice, in the task running them (i.e. each task has
+ *     its own indicators)
+ *     <li>strategies provided as builders for {@link SubTimeSeries sub-series views} may be built once per parent
+ *     series (see {@link #buildShared(List, List)}), in the task running all the views of the parent series
+ * </ul>
+ */
+public class BacktestExecutor {
+
+    /** The pool running the backtests */
+    private final ForkJoinPool pool;
+
+    /** The type of the orders opening the trades */
+    private final Order.OrderType orderType;
+
+    /**
+     * Constructor (common pool, trades opened with BUY orders).
+     */
+    public BacktestExecutor() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor (trades opened with BUY orders).
+     * @param pool the pool running the backtests
+     */
+    public BacktestExecutor(ForkJoinPool pool) {
+        this(pool, Order.OrderType.BUY);
+    }
+
+    /**
+     * Constructor.
+     * @param pool the pool running the backtests
+     * @param orderType the {@link Order.OrderType} used to open the trades
+     */
+    public BacktestExecutor(ForkJoinPool pool, Order.OrderType orderType) {
+        if (pool == null || orderType == null) {
+            throw new IllegalArgumentException("Pool and order type cannot be null");
+        }
+        this.pool = pool;
+        this.orderType = orderType;
+    }
+
+    /**
+     * Runs the strategies over the time series.
+     * @param strategies the trading strategies (not sharing indicators, unless in concurrent mode)
+     * @param series the time series (e.g. the slices of a bigger series)
+     * @return the trading records, indexed by [strategy][series]
+     */
+    public TradingRecord[][] run(List<Strategy> strategies, List<TimeSeries> series) {
+        TradingRecord[][] records = new TradingRecord[strategies.size()][series.size()];
+        List<Callable<Void>> tasks = new ArrayList<>(strategies.size());
+        for (int i = 0; i < strategies.size(); i++) {
+            final int strategyIdx = i;
+            tasks.add(() -> {
+                Strategy strategy = strategies.get(strategyIdx);
+                for (int seriesIdx = 0; seriesIdx < series.size(); seriesIdx++) {
+                    records[strategyIdx][seriesIdx] = new TimeSeriesManager(series.get(seriesIdx)).run(strategy, orderType);
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        return records;
+    }
+
+    /**
+     * Builds the strategies for each time series and runs them.
+     * @param strategyBuilders the builders of the trading strategies (e.g. one per set of parameters)
+     * @param series the time series (e.g. the slices of a bigger series)
+     * @return the trading records, indexed by [strategy][series]
+     */
+    public TradingRecord[][] build(List<? extends Function<TimeSeries, Strategy>> strategyBuilders, List<TimeSeries> series) {
+        TradingRecord[][] records = new TradingRecord[strategyBuilders.size()][series.size()];
+        List<Callable<Void>> tasks = new ArrayList<>(strategyBuilders.size() * series.size());
+        for (int i = 0; i < strategyBuilders.size(); i++) {
+            for (int j = 0; j < series.size(); j++) {
+                final int strategyIdx = i;
+                final int seriesIdx = j;
+                tasks.add(() -> {
+                    TimeSeries s = series.get(seriesIdx);
+                    Strategy strategy = strategyBuilders.get(strategyIdx).apply(s);
+                    records[strategyIdx][seriesIdx] = new TimeSeriesManager(s).run(strategy, orderType);
+                    return null;
+                });
+            }
+        }
+        invokeAll(tasks);
+        return records;
+    }
+
+    /**
+     * Builds the strategies once per parent series and runs them over the sub-series views of it.
+     * <p></p>
+     * Unlike {@link #build(List, List)}, the indicators of a strategy are built on the parent series and shared by
+     * all its views (e.g. the overlapping windows of a walk-forward optimization): each indicator value is
+     * calculated once. The values then depend on the bars of the parent series before each view (i.e. the indicators
+     * and the unstable period of the strategies are not reset at the beginning of each view). The views of a strategy
+     * are run one after the other, in one task per strategy and parent series.
+     * @param strategyBuilders the builders of the trading strategies (e.g. one per set of parameters)
+     * @param series the time series: {@link SubTimeSeries views} (e.g. from
+     *               {@link TimeSeries#getSubSeriesView(int, int)}) or series being their own parent
+     * @return the trading records (with the indexes of the views), indexed by [strategy][series]
+     */
+    public TradingRecord[][] buildShared(List<? extends Function<TimeSeries, Strategy>> strategyBuilders, List<TimeSeries> series) {
+        TradingRecord[][] records = new TradingRecord[strategyBuilders.size()][series.size()];
+        Map<TimeSeries, List<Integer>> seriesByParent = new IdentityHashMap<>();
+        for (int seriesIdx = 0; seriesIdx < series.size(); seriesIdx++) {
+            TimeSeries s = series.get(seriesIdx);
+            TimeSeries parent = s instanceof SubTimeSeries ? ((SubTimeSeries) s).getParent() : s;
+            seriesByParent.computeIfAbsent(parent, p -> new ArrayList<>()).add(seriesIdx);
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(strategyBuilders.size() * seriesByParent.size());
+        for (int i = 0; i < strategyBuilders.size(); i++) {
+            for (Map.Entry<TimeSeries, List<Integer>> entry : seriesByParent.entrySet()) {
+                final int strategyIdx = i;
+                final TimeSeries parent = entry.getKey();
+                final List<Integer> seriesIndexes = entry.getValue();
+                tasks.add(() -> {
+                    Strategy strategy = strategyBuilders.get(strategyIdx).apply(parent);
+                    for (int seriesIdx : seriesIndexes) {
+                        records[strategyIdx][seriesIdx] = runShared(strategy, series.get(seriesIdx));
+                    }
+                    return null;
+                });
+            }
+        }
+        invokeAll(tasks);
+        return records;
+    }
+
+    /**
+     * Runs strategies built on a parent series over the sub-series views of it.
+     * <p></p>
+     * Like {@link #buildShared(List, List)}, with strategies provided as instances: each strategy is run over all the
+     * views (one after the other) in one task per strategy, reading its indicators of the parent series.
+     * @param strategies the trading strategies, built on the parent series of the views (not sharing indicators,
+     *                   unless in concurrent mode)
+     * @param series the time series: {@link SubTimeSeries views} or the parent series itself
+     * @return the trading records (with the indexes of the views), indexed by [strategy][series]
+     */
+    public TradingRecord[][] runShared(List<Strategy> strategies, List<TimeSeries> series) {
+        TradingRecord[][] records = new TradingRecord[strategies.size()][series.size()];
+        List<Callable<Void>> tasks = new ArrayList<>(strategies.size());
+        for (int i = 0; i < strategies.size(); i++) {
+            final int strategyIdx = i;
+            tasks.add(() -> {
+                Strategy strategy = strategies.get(strategyIdx);
+                for (int seriesIdx = 0; seriesIdx < series.size(); seriesIdx++) {
+                    records[strategyIdx][seriesIdx] = runShared(strategy, series.get(seriesIdx));
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        return records;
+    }
+
+    /**
+     * Runs a strategy built on a parent series over a sub-series view of it.
+     * @param strategy the trading strategy, built on the parent series of the view
+     * @param series a {@link SubTimeSeries view} or the parent series itself
+     * @return the trading record (with the indexes of the view)
+     */
+    TradingRecord runShared(Strategy strategy, TimeSeries series) {
+        if (!(series instanceof SubTimeSeries)) {
+            return new TimeSeriesManager(series).run(strategy, orderType);
+        }
+        SubTimeSeries view = (SubTimeSeries) series;
+        TradingRecord record = new TimeSeriesManager(view.getParent()).run(strategy, orderType,
+                view.getParentIndex(0), view.getParentIndex(view.getEndIndex()));
+        return toSubSeriesRecord(record, view);
+    }
+
+    /**
+     * @param record a trading record (with the indexes of the parent series)
+     * @param view a sub-series view
+     * @return the trading record with the indexes of the view (a trade closed after the view is kept opened)
+     */
+    private TradingRecord toSubSeriesRecord(TradingRecord record, SubTimeSeries view) {
+        final int offset = view.getParentIndex(0);
+        final int endIndex = view.getEndIndex();
+        TradingRecord subRecord = new BaseTradingRecord(orderType);
+        for (Trade trade : record.getTrades()) {
+            Order entry = trade.getEntry();
+            subRecord.operate(entry.getIndex() - offset, entry.getPrice(), entry.getAmount());
+            Order exit = trade.getExit();
+            if (exit.getIndex() - offset <= endIndex) {
+                subRecord.operate(exit.getIndex() - offset, exit.getPrice(), exit.getAmount());
+            }
+        }
+        Trade currentTrade = record.getCurrentTrade();
+        if (currentTrade.isOpened()) {
+            Order entry = currentTrade.getEntry();
+            subRecord.operate(entry.getIndex() - offset, entry.getPrice(), entry.getAmount());
+        }
+        return subRecord;
+    }
+
+    /**
+     * Calculates the criterion values of trading records.
+     * @param criterion the analysis criterion
+     * @param series the time series the records come from
+     * @param records the trading records, indexed by [strategy][series]
+     * @return the criterion values, indexed by [strategy][series]
+     */
+    public double[][] calculate(AnalysisCriterion criterion, List<TimeSeries> series, TradingRecord[][] records) {
+        double[][] values = new double[records.length][series.size()];
+        List<Callable<Void>> tasks = new ArrayList<>(records.length);
+        for (int i = 0; i < records.length; i++) {
+            final int strategyIdx = i;
+            tasks.add(() -> {
+                for (int seriesIdx = 0; seriesIdx < series.size(); seriesIdx++) {
+                    values[strategyIdx][seriesIdx] = criterion.calculate(series.get(seriesIdx), records[strategyIdx][seriesIdx]);
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        return values;
+    }
+
+    /**
+     * Calculates the values of several criteria for trading records.
+     * <p></p>
+     * Each trading record is analyzed once (see {@link AnalysisReport}), then all the criteria read their value from
+     * its report.
+     * @param criteria the analysis criteria
+     * @param series the time series the records come from
+     * @param records the trading records, indexed by [strategy][series]
+     * @return the criterion values, indexed by [criterion][strategy][series]
+     */
+    public double[][][] calculate(List<? extends AnalysisCriterion> criteria, List<TimeSeries> series, TradingRecord[][] records) {
+        double[][][] values = new double[criteria.size()][records.length][series.size()];
+        List<Callable<Void>> tasks = new ArrayList<>(records.length);
+        for (int i = 0; i < records.length; i++) {
+            final int strategyIdx = i;
+            tasks.add(() -> {
+                for (int seriesIdx = 0; seriesIdx < series.size(); seriesIdx++) {
+                    AnalysisReport report = new AnalysisReport(series.get(seriesIdx), records[strategyIdx][seriesIdx]);
+                    for (int criterionIdx = 0; criterionIdx < criteria.size(); criterionIdx++) {
+                        values[criterionIdx][strategyIdx][seriesIdx] = criteria.get(criterionIdx).calculate(report);
+                    }
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        return values;
+    }
+
+    /**
+     * @param criterion the analysis criterion
+     * @param values the criterion values, indexed by [strategy][series]
+     * @return the index of the best strategy for each series (according to the criterion)
+     */
+    public static int[] chooseBest(AnalysisCriterion criterion, double[][] values) {
+        int seriesCount = values.length == 0 ? 0 : values[0].length;
+        int[] best = new int[seriesCount];
+        for (int seriesIdx = 0; seriesIdx < seriesCount; seriesIdx++) {
+            for (int strategyIdx = 1; strategyIdx < values.length; strategyIdx++) {
+                if (criterion.betterThan(values[strategyIdx][seriesIdx], values[best[seriesIdx]][seriesIdx])) {
+                    best[seriesIdx] = strategyIdx;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Parallel version of {@link AnalysisCriterion#chooseBest(TimeSeriesManager, List)}.
+     * @param criterion the analysis criterion
+     * @param series the time series
+     * @param strategies the trading strategies (not sharing indicators, unless in concurrent mode)
+     * @return the best strategy (among the provided ones) according to the criterion
+     */
+    public Strategy chooseBest(AnalysisCriterion criterion, TimeSeries series, List<Strategy> strategies) {
+        List<TimeSeries> seriesList = new ArrayList<>(1);
+        seriesList.add(series);
+        double[][] values = calculate(criterion, seriesList, run(strategies, seriesList));
+        return strategies.get(chooseBest(criterion, values)[0]);
+    }
+
+    /**
+     * Invokes the tasks on the pool and waits for their completion.
+     * @param tasks the tasks
+     */
+    void invokeAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Backtest interrupted", ie);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Backtest failed", cause);
+        }
+    }
+}
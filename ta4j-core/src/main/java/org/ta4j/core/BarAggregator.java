@@ -0,0 +1,226 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+/**
+ * A streaming aggregator of trades into bars of several time periods.
+ * <p></p>
+ * Trades are consumed once (timestamp, price, volume) and aggregated at the same time into the bars of every attached
+ * time period (e.g. 1 second, 1 minute, 5 minutes, 1 hour). Bars are aligned on the epoch (e.g. a 5 minutes bar ends
+ * at 10:05, 10:10...) and periods without trades produce no bar.
+ * <p></p>
+ * By default, the forming bars are accumulated in primitive fields (no allocation per trade) and a bar is added to
+ * its time series when it is closed, i.e. on the first trade of a following period (or on {@link #flush()}).
+ * When a series is attached with <tt>formingBar</tt> set, its forming bar is added to the series on its first trade
+ * and updated through {@link Bar#addTrade(double, double)} (the series always ends with the forming bar, but each
+ * trade allocates the decimals of the bar).
+ * <p></p>
+ * Trades older than the forming bar of a time period (out of order) are aggregated into the forming bar. A trade
+ * in the period of a closed bar while no bar is forming (e.g. after {@link #flush()}) is rejected: its bar cannot
+ * be added to the time series anymore.
+ * Not thread-safe.
+ */
+public class BarAggregator {
+
+    /** The time zone of the bar end times */
+    private final ZoneId zoneId;
+
+    /** The attached time periods */
+    private Timeframe[] timeframes = new Timeframe[0];
+
+    /**
+     * Constructor (bar end times in the system default time zone).
+     */
+    public BarAggregator() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * Constructor.
+     * @param zoneId the time zone of the bar end times
+     */
+    public BarAggregator(ZoneId zoneId) {
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * Attaches a time series to be fed with closed bars.
+     * @param timePeriod the time period of the bars (at least one millisecond)
+     * @param series the time series
+     * @return this aggregator
+     */
+    public BarAggregator attach(Duration timePeriod, TimeSeries series) {
+        return attach(timePeriod, series, false);
+    }
+
+    /**
+     * Attaches a time series.
+     * @param timePeriod the time period of the bars (at least one millisecond)
+     * @param series the time series
+     * @param formingBar true to add the forming bar to the series (updated on each trade), false to add closed bars
+     *            only
+     * @return this aggregator
+     */
+    public BarAggregator attach(Duration timePeriod, TimeSeries series, boolean formingBar) {
+        if (timePeriod.toMillis() <= 0) {
+            throw new IllegalArgumentException("Time period must be at least one millisecond: " + timePeriod);
+        }
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        timeframes = Arrays.copyOf(timeframes, timeframes.length + 1);
+        timeframes[timeframes.length - 1] = new Timeframe(timePeriod, series, formingBar);
+        return this;
+    }
+
+    /**
+     * Aggregates a trade.
+     * @param epochMillis the timestamp of the trade (milliseconds since the epoch)
+     * @param price the trade price
+     * @param volume the traded volume
+     * @throws IllegalArgumentException if the trade is in the period of a bar already closed (and no bar is forming)
+     */
+    public void onTrade(long epochMillis, double price, double volume) {
+        for (Timeframe timeframe : timeframes) {
+            timeframe.checkNotClosed(epochMillis);
+        }
+        for (Timeframe timeframe : timeframes) {
+            timeframe.onTrade(epochMillis, price, volume);
+        }
+    }
+
+    /**
+     * Closes the forming bars: they are added to their time series (when not added yet), and the next trades start
+     * new bars. Trades in the periods of the closed bars are rejected until new bars are forming.
+     */
+    public void flush() {
+        for (Timeframe timeframe : timeframes) {
+            timeframe.close();
+        }
+    }
+
+    /**
+     * The forming bar of a time period.
+     */
+    private final class Timeframe {
+
+        private final Duration timePeriod;
+
+        private final long periodMillis;
+
+        private final TimeSeries series;
+
+        /** True if the forming bar is added to the series */
+        private final boolean formingBar;
+
+        /** End time of the forming bar (epoch milliseconds), Long.MIN_VALUE if none */
+        private long endMillis = Long.MIN_VALUE;
+
+        /** End time of the last closed bar (epoch milliseconds), Long.MIN_VALUE if none */
+        private long closedEndMillis = Long.MIN_VALUE;
+
+        /** The forming bar (formingBar mode only) */
+        private Bar bar;
+
+        private double open;
+
+        private double high;
+
+        private double low;
+
+        private double close;
+
+        private double volume;
+
+        private double amount;
+
+        private int trades;
+
+        Timeframe(Duration timePeriod, TimeSeries series, boolean formingBar) {
+            this.timePeriod = timePeriod;
+            this.periodMillis = timePeriod.toMillis();
+            this.series = series;
+            this.formingBar = formingBar;
+        }
+
+        void checkNotClosed(long epochMillis) {
+            if (endMillis == Long.MIN_VALUE && epochMillis < closedEndMillis) {
+                throw new IllegalArgumentException("Trade at " + Instant.ofEpochMilli(epochMillis)
+                        + " is in the period of a closed " + timePeriod + " bar (ending at "
+                        + Instant.ofEpochMilli(closedEndMillis) + ")");
+            }
+        }
+
+        void onTrade(long epochMillis, double price, double tradeVolume) {
+            if (epochMillis >= endMillis) {
+                // New period
+                close();
+                endMillis = Math.floorDiv(epochMillis, periodMillis) * periodMillis + periodMillis;
+                if (formingBar) {
+                    bar = new BaseBar(timePeriod, endTime(), series.getDecimalFactory());
+                    series.addBar(bar);
+                } else {
+                    open = price;
+                    high = price;
+                    low = price;
+                    volume = 0;
+                    amount = 0;
+                    trades = 0;
+                }
+            }
+            if (formingBar) {
+                bar.addTrade(tradeVolume, price);
+            } else {
+                high = Math.max(high, price);
+                low = Math.min(low, price);
+                close = price;
+                volume += tradeVolume;
+                amount += tradeVolume * price;
+                trades++;
+            }
+        }
+
+        void close() {
+            if (endMillis == Long.MIN_VALUE) {
+                return;
+            }
+            if (!formingBar) {
+                series.addBar(new BaseBar(timePeriod, endTime(), open, high, low, close, volume, amount, trades,
+                        series.getDecimalFactory()));
+            }
+            closedEndMillis = endMillis;
+            endMillis = Long.MIN_VALUE;
+            bar = null;
+        }
+
+        private ZonedDateTime endTime() {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(endMillis), zoneId);
+        }
+    }
+}
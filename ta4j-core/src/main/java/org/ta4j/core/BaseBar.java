@@ -55,6 +55,8 @@ public class BaseBar implements Bar {
     private Decimal volume = Decimal.ZERO;
     /** Trade count */
     private int trades = 0;
+    /** Factory of the decimals built by the bar (e.g. when adding trades) */
+    private DecimalFactory decimalFactory = DecimalFactory.BIG_DECIMAL;
 
     /**
      * Constructor.
@@ -68,6 +70,60 @@ public class BaseBar implements Bar {
         this.beginTime = endTime.minus(timePeriod);
     }
 
+    /**
+     * Constructor.
+     * @param timePeriod the time period
+     * @param endTime the end time of the bar period
+     * @param decimalFactory the factory of the decimals of the bar (e.g. when adding trades)
+     */
+    public BaseBar(Duration timePeriod, ZonedDateTime endTime, DecimalFactory decimalFactory) {
+        this(timePeriod, endTime);
+        this.decimalFactory = decimalFactory;
+        this.amount = decimalFactory.decimalOf(0);
+        this.volume = decimalFactory.decimalOf(0);
+    }
+
+    /**
+     * Constructor.
+     * @param timePeriod the time period
+     * @param endTime the end time of the bar period
+     * @param openPrice the open price of the bar period
+     * @param highPrice the highest price of the bar period
+     * @param lowPrice the lowest price of the bar period
+     * @param closePrice the close price of the bar period
+     * @param volume the volume of the bar period
+     * @param decimalFactory the factory of the decimals of the bar
+     */
+    public BaseBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice, double volume, DecimalFactory decimalFactory) {
+        this(timePeriod, endTime, decimalFactory.decimalOf(openPrice),
+                decimalFactory.decimalOf(highPrice),
+                decimalFactory.decimalOf(lowPrice),
+                decimalFactory.decimalOf(closePrice),
+                null,
+                decimalFactory.decimalOf(volume),
+                decimalFactory.decimalOf(0));
+        this.decimalFactory = decimalFactory;
+    }
+
+    /**
+     * Constructor.
+     * @param timePeriod the time period
+     * @param endTime the end time of the bar period
+     * @param openPrice the open price of the bar period
+     * @param highPrice the highest price of the bar period
+     * @param lowPrice the lowest price of the bar period
+     * @param closePrice the close price of the bar period
+     * @param volume the volume of the bar period
+     * @param amount the traded amount of the bar period
+     * @param trades the trade count of the bar period
+     * @param decimalFactory the factory of the decimals of the bar
+     */
+    public BaseBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice, double volume, double amount, int trades, DecimalFactory decimalFactory) {
+        this(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, decimalFactory);
+        this.amount = decimalFactory.decimalOf(amount);
+        this.trades = trades;
+    }
+
     /**
      * Constructor.
      * @param endTime the end time of the bar period
@@ -193,6 +249,24 @@ public class BaseBar implements Bar {
         this.amount = amount;
     }
 
+    /**
+     * Constructor.
+     * @param timePeriod the time period
+     * @param endTime the end time of the bar period
+     * @param openPrice the open price of the bar period
+     * @param highPrice the highest price of the bar period
+     * @param lowPrice the lowest price of the bar period
+     * @param closePrice the close price of the bar period
+     * @param ltp the last traded price of the bar period
+     * @param volume the volume of the bar period
+     * @param amount the amount of the bar period
+     * @param trades the trade count of the bar period
+     */
+    public BaseBar(Duration timePeriod, ZonedDateTime endTime, Decimal openPrice, Decimal highPrice, Decimal lowPrice, Decimal closePrice, Decimal ltp, Decimal volume, Decimal amount, int trades) {
+        this(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, ltp, volume, amount);
+        this.trades = trades;
+    }
+
     /**
      * @return the open price of the period
      */
@@ -277,6 +351,16 @@ public class BaseBar implements Bar {
         return endTime;
     }
 
+    @Override
+    public void addTrade(double tradeVolume, double tradePrice) {
+        addTrade(decimalFactory.decimalOf(tradeVolume), decimalFactory.decimalOf(tradePrice));
+    }
+
+    @Override
+    public void addTrade(String tradeVolume, String tradePrice) {
+        addTrade(decimalFactory.decimalOf(tradeVolume), decimalFactory.decimalOf(tradePrice));
+    }
+
     /**
      * Adds a trade at the end of bar period.
      * @param tradeVolume the traded volume
@@ -24,6 +24,7 @@ package org.ta4j.core;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.ta4j.core.utils.CircularList;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -47,14 +48,16 @@ public class BaseTimeSeries implements TimeSeries {
     private int seriesBeginIndex = -1;
     /** End index of the time series */
     private int seriesEndIndex = -1;
-    /** List of bars */
-    private final List<Bar> bars;
+    /** List of bars (stored in a circular list as soon as a maximum bar count is set) */
+    private List<Bar> bars;
     /** Maximum number of bars for the time series */
     private int maximumBarCount = Integer.MAX_VALUE;
     /** Number of removed bars */
     private int removedBarsCount = 0;
     /** True if the current series is constrained (i.e. its indexes cannot change), false otherwise */
     private boolean constrained = false;
+    /** Factory of the decimals of the series */
+    private final DecimalFactory decimalFactory;
 
     /**
      * Constructor of an unnamed series.
@@ -71,9 +74,18 @@ public class BaseTimeSeries implements TimeSeries {
         this(name, new ArrayList<Bar>());
     }
 
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param decimalFactory the factory of the decimals of the series (i.e. BigDecimal or double backend)
+     */
+    public BaseTimeSeries(String name, DecimalFactory decimalFactory) {
+        this(name, new ArrayList<Bar>(), decimalFactory);
+    }
+
     /**
      * Constructor of an unnamed series.
-     * @param bars the list of bars of the series
+     * @param bars the list of bars of the series (see {@link #BaseTimeSeries(String, List, DecimalFactory)})
      */
     public BaseTimeSeries(List<Bar> bars) {
         this(UNNAMED_SERIES_NAME, bars);
@@ -82,10 +94,23 @@ public class BaseTimeSeries implements TimeSeries {
     /**
      * Constructor.
      * @param name the name of the series
-     * @param bars the list of bars of the series
+     * @param bars the list of bars of the series (see {@link #BaseTimeSeries(String, List, DecimalFactory)})
      */
     public BaseTimeSeries(String name, List<Bar> bars) {
-        this(name, bars, 0, bars.size() - 1, false);
+        this(name, bars, DecimalFactory.BIG_DECIMAL);
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * The list is used as is (not copied) until a maximum bar count is set: the bars are then moved to an
+     * internal storage and later changes to this list are not seen by the series anymore.
+     * @param name the name of the series
+     * @param bars the list of bars of the series
+     * @param decimalFactory the factory of the decimals of the series (i.e. BigDecimal or double backend)
+     */
+    public BaseTimeSeries(String name, List<Bar> bars, DecimalFactory decimalFactory) {
+        this(name, bars, 0, bars.size() - 1, false, decimalFactory);
     }
 
     /**
@@ -101,7 +126,7 @@ public class BaseTimeSeries implements TimeSeries {
      */
     @Deprecated
     public BaseTimeSeries(TimeSeries defaultSeries, int seriesBeginIndex, int seriesEndIndex) {
-        this(defaultSeries.getName(), defaultSeries.getBarData(), seriesBeginIndex, seriesEndIndex, true);
+        this(defaultSeries.getName(), defaultSeries.getBarData(), seriesBeginIndex, seriesEndIndex, true, defaultSeries.getDecimalFactory());
         if (defaultSeries.getBarData() == null || defaultSeries.getBarData().isEmpty()) {
             throw new IllegalArgumentException("Cannot create a constrained series from a time series with a null/empty list of bars");
         }
@@ -117,11 +142,13 @@ public class BaseTimeSeries implements TimeSeries {
      * @param seriesBeginIndex the begin index (inclusive) of the time series
      * @param seriesEndIndex the end index (inclusive) of the time series
      * @param constrained true to constrain the time series (i.e. indexes cannot change), false otherwise
+     * @param decimalFactory the factory of the decimals of the series
      */
-    private BaseTimeSeries(String name, List<Bar> bars, int seriesBeginIndex, int seriesEndIndex, boolean constrained) {
+    private BaseTimeSeries(String name, List<Bar> bars, int seriesBeginIndex, int seriesEndIndex, boolean constrained, DecimalFactory decimalFactory) {
         Objects.requireNonNull(bars);
         this.bars = bars;
         this.name = name;
+        this.decimalFactory = Objects.requireNonNull(decimalFactory);
         if (bars.isEmpty()) {
         	// Bar list empty
             this.seriesBeginIndex = -1;
@@ -144,7 +171,7 @@ public class BaseTimeSeries implements TimeSeries {
     /**
      * Returns a new BaseTimeSeries that is a subset of this BaseTimeSeries.
      * The new series holds a copy of all {@link Bar bars} between <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive)
-     * of this TimeSeries.
+     * of this TimeSeries (see {@link #getSubSeriesView(int, int)} for a view without copy).
      * The indices of this TimeSeries and the new subset TimeSeries can be different. I. e. index 0 of the new TimeSeries will
      * be index <tt>startIndex</tt> of this TimeSeries.
      * If <tt>startIndex</tt> < this.seriesBeginIndex the new TimeSeries will start with the first available Bar of this TimeSeries.
@@ -161,11 +188,11 @@ public class BaseTimeSeries implements TimeSeries {
                     (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
         }
         if(!bars.isEmpty()) {
-            int start = Math.max(startIndex, this.seriesBeginIndex);
-            int end = Math.min(endIndex, this.seriesEndIndex + 1);
-            return new BaseTimeSeries(getName(), cut(bars, start, end));
+            int start = Math.max(startIndex, Math.max(this.seriesBeginIndex, removedBarsCount));
+            int end = Math.max(Math.min(endIndex, this.seriesEndIndex + 1), start);
+            return new BaseTimeSeries(getName(), cut(bars, start - removedBarsCount, end - removedBarsCount), decimalFactory);
         }
-        return new BaseTimeSeries(name);
+        return new BaseTimeSeries(name, decimalFactory);
 
     }
 
@@ -174,6 +201,11 @@ public class BaseTimeSeries implements TimeSeries {
         return name;
     }
 
+    @Override
+    public DecimalFactory getDecimalFactory() {
+        return decimalFactory;
+    }
+
     @Override
     public Bar getBar(int i) {
         int innerIndex = i - removedBarsCount;
@@ -218,6 +250,13 @@ public class BaseTimeSeries implements TimeSeries {
         return seriesEndIndex;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The bars are moved to a {@link CircularList} (constant time eviction of the first bars): from then on, the
+     * list given at construction is not shared with the series anymore, use {@link #getBarData()} to access the bars.
+     * @param maximumBarCount the maximum bar count
+     */
     @Override
     public void setMaximumBarCount(int maximumBarCount) {
         if (constrained) {
@@ -227,6 +266,10 @@ public class BaseTimeSeries implements TimeSeries {
             throw new IllegalArgumentException("Maximum bar count must be strictly positive");
         }
         this.maximumBarCount = maximumBarCount;
+        if (!(bars instanceof CircularList)) {
+            // Old bars will be evicted: switching to a storage with O(1) removal of the first bars
+            bars = new CircularList<>(bars);
+        }
         removeExceedingBars();
     }
 
@@ -271,9 +314,7 @@ public class BaseTimeSeries implements TimeSeries {
         if (barCount > maximumBarCount) {
             // Removing old bars
             int nbBarsToRemove = barCount - maximumBarCount;
-            for (int i = 0; i < nbBarsToRemove; i++) {
-                bars.remove(0);
-            }
+            ((CircularList<Bar>) bars).removeFirst(nbBarsToRemove);
             // Updating removed bars count
             removedBarsCount += nbBarsToRemove;
         }
@@ -0,0 +1,700 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Time series storing its bars column by column in primitive arrays.
+ * <p></p>
+ * Each bar takes 60 bytes (end time as epoch nanoseconds, open, high, low, close, volume and amount as doubles, trade
+ * count as int) instead of the hundreds of bytes of a {@link BaseBar} (eight {@link Decimal decimals} and two
+ * {@link ZonedDateTime zoned date times}). The time period is stored once for the series (a column of time periods
+ * is only added once bars of another time period are added), and the last traded price is only stored for the last
+ * bar: the last traded price of the previous (closed) bars is their close price.
+ * {@link Bar Bars} are only materialized as lightweight views when asked (e.g. by {@link #getBar(int)}), while the
+ * price indicators read the columns directly through {@link #getClosePrice(int)}, {@link #getVolume(int)}, etc.
+ * <p></p>
+ * The columns still live on the heap: 500 symbols with 10 years of 1-minute bars (about 2.6 billion bars) would
+ * take about 160 GB. For data sets of that scale, use a {@link MappedTimeSeries} (memory-mapped off-heap columns).
+ * <p></p>
+ * Decimals are built by the {@link DecimalFactory decimal factory} of the series (double-backed by default).
+ * Unknown (i.e. null or NaN) prices are stored as {@link Double#NaN} and returned as null.
+ */
+public class ColumnarTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = -3206497283532960419L;
+
+    /** Name for unnamed series */
+    private static final String UNNAMED_SERIES_NAME = "unamed_series";
+    /** Default initial capacity of the columns */
+    private static final int DEFAULT_CAPACITY = 64;
+    /** Number of nanoseconds in a second */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    /** Name of the series */
+    private final String name;
+    /** Factory of the decimals of the series */
+    private final DecimalFactory decimalFactory;
+    /** Time zone of the bars (the one of the first added bar if not provided) */
+    private ZoneId zone;
+    /** Begin index of the time series */
+    private int seriesBeginIndex = -1;
+    /** End index of the time series */
+    private int seriesEndIndex = -1;
+    /** Maximum number of bars for the time series */
+    private int maximumBarCount = Integer.MAX_VALUE;
+    /** Number of removed bars */
+    private int removedBarsCount = 0;
+    /** Position of the first (i.e. not removed) bar in the columns */
+    private int offset = 0;
+    /** Number of (not removed) bars stored in the columns */
+    private int size = 0;
+
+    /** End times of the bars, in nanoseconds since epoch */
+    private long[] endTimes;
+    /** Time period of the bars, in nanoseconds (the one of the first added bar) */
+    private long timePeriod;
+    /** Time periods of the bars, in nanoseconds (null while all the bars have the same time period) */
+    private long[] timePeriods;
+    /** Open prices */
+    private double[] openPrices;
+    /** Max prices */
+    private double[] maxPrices;
+    /** Min prices */
+    private double[] minPrices;
+    /** Close prices */
+    private double[] closePrices;
+    /** Last traded price of the last bar */
+    private double lastLtp = Double.NaN;
+    /** Volumes */
+    private double[] volumes;
+    /** Amounts */
+    private double[] amounts;
+    /** Trade counts */
+    private int[] trades;
+
+    /**
+     * Constructor of an unnamed series.
+     */
+    public ColumnarTimeSeries() {
+        this(UNNAMED_SERIES_NAME);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     */
+    public ColumnarTimeSeries(String name) {
+        this(name, DecimalFactory.DOUBLE);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param decimalFactory the factory of the decimals of the series
+     */
+    public ColumnarTimeSeries(String name, DecimalFactory decimalFactory) {
+        this(name, DEFAULT_CAPACITY, decimalFactory);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param initialCapacity the initial number of bars the columns can hold (e.g. the number of bars to be loaded)
+     * @param decimalFactory the factory of the decimals of the series
+     */
+    public ColumnarTimeSeries(String name, int initialCapacity, DecimalFactory decimalFactory) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive or zero");
+        }
+        this.name = name;
+        this.decimalFactory = Objects.requireNonNull(decimalFactory);
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param bars the bars to be copied into the series
+     * @param decimalFactory the factory of the decimals of the series
+     */
+    public ColumnarTimeSeries(String name, List<Bar> bars, DecimalFactory decimalFactory) {
+        this(name, bars.size(), decimalFactory);
+        for (Bar bar : bars) {
+            addBar(bar);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public DecimalFactory getDecimalFactory() {
+        return decimalFactory;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        return new ColumnarBar(checkIndex(i));
+    }
+
+    @Override
+    public int getBarCount() {
+        if (seriesEndIndex < 0) {
+            return 0;
+        }
+        final int startIndex = Math.max(removedBarsCount, seriesBeginIndex);
+        return seriesEndIndex - startIndex + 1;
+    }
+
+    /**
+     * Returns a read-only view of the (not removed) bars of the series.
+     * <p></p>
+     * The bars are materialized on each access.
+     * @return the bar data
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new BarList();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return seriesBeginIndex;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return seriesEndIndex;
+    }
+
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+        removeExceedingBars();
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return removedBarsCount;
+    }
+
+    @Override
+    public void addBar(Bar bar) {
+        if (bar == null) {
+            throw new IllegalArgumentException("Cannot add null bar");
+        }
+        addBar(bar.getTimePeriod(), bar.getEndTime(), bar.getOpenPrice(), bar.getMaxPrice(), bar.getMinPrice(),
+                bar.getClosePrice(), bar.getLtp(), bar.getVolume(), bar.getAmount(), bar.getTrades());
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice, double volume) {
+        addBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, Double.NaN, volume, 0, 0);
+    }
+
+    /**
+     * Adds a bar at the end of the series.
+     * @param timePeriod the time period of the bar
+     * @param endTime the end time of the bar
+     * @param openPrice the open price of the bar period
+     * @param highPrice the highest price of the bar period
+     * @param lowPrice the lowest price of the bar period
+     * @param closePrice the close price of the bar period
+     * @param ltp the last traded price of the bar period
+     * @param volume the volume of the bar period
+     * @param amount the amount of the bar period
+     * @param tradeCount the number of trades of the bar period
+     * @see TimeSeries#addBar(Bar)
+     */
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice,
+                       double ltp, double volume, double amount, int tradeCount) {
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        if (endTime == null) {
+            throw new IllegalArgumentException("End time cannot be null");
+        }
+        long endNanos = toEpochNanos(endTime.toInstant());
+        if (size > 0 && endNanos <= endTimes[offset + size - 1]) {
+            throw new IllegalArgumentException("Cannot add a bar with end time <= to series end time");
+        }
+        if (zone == null) {
+            zone = endTime.getZone();
+        }
+        ensureCapacity();
+        int position = offset + size;
+        long periodNanos = timePeriod.toNanos();
+        if (size == 0 && timePeriods == null) {
+            this.timePeriod = periodNanos;
+        } else if (timePeriods == null && periodNanos != this.timePeriod) {
+            // First bar of another time period: adding the column of the time periods
+            timePeriods = new long[endTimes.length];
+            Arrays.fill(timePeriods, offset, position, this.timePeriod);
+        }
+        if (timePeriods != null) {
+            timePeriods[position] = periodNanos;
+        }
+        endTimes[position] = endNanos;
+        openPrices[position] = openPrice;
+        maxPrices[position] = highPrice;
+        minPrices[position] = lowPrice;
+        closePrices[position] = closePrice;
+        lastLtp = ltp;
+        volumes[position] = volume;
+        amounts[position] = amount;
+        trades[position] = tradeCount;
+        size++;
+
+        if (seriesBeginIndex == -1) {
+            // Begin index set to 0 only if if wasn't initialized
+            seriesBeginIndex = 0;
+        }
+        seriesEndIndex++;
+        removeExceedingBars();
+    }
+
+    /**
+     * Returns a new series holding a copy of the bars between <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt>
+     * (exclusive) of this series.
+     * @param startIndex the startIndex
+     * @param endIndex the endIndex (exclusive)
+     * @return a new ColumnarTimeSeries with bars from <tt>startIndex</tt> to <tt>endIndex</tt>-1
+     * @throws IllegalArgumentException if <tt>endIndex</tt> < <tt>startIndex</tt>
+     * @see BaseTimeSeries#getSubSeries(int, int)
+     */
+    @Override
+    public TimeSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException
+                    (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
+        }
+        int start = Math.max(startIndex, Math.max(seriesBeginIndex, removedBarsCount));
+        int end = Math.min(endIndex, seriesEndIndex + 1);
+        ColumnarTimeSeries subSeries = new ColumnarTimeSeries(name, Math.max(end - start, 0), decimalFactory);
+        subSeries.zone = zone;
+        subSeries.timePeriod = timePeriod;
+        if (start < end) {
+            int from = position(start);
+            int count = end - start;
+            System.arraycopy(endTimes, from, subSeries.endTimes, 0, count);
+            if (timePeriods != null) {
+                subSeries.timePeriods = new long[subSeries.endTimes.length];
+                System.arraycopy(timePeriods, from, subSeries.timePeriods, 0, count);
+            }
+            System.arraycopy(openPrices, from, subSeries.openPrices, 0, count);
+            System.arraycopy(maxPrices, from, subSeries.maxPrices, 0, count);
+            System.arraycopy(minPrices, from, subSeries.minPrices, 0, count);
+            System.arraycopy(closePrices, from, subSeries.closePrices, 0, count);
+            System.arraycopy(volumes, from, subSeries.volumes, 0, count);
+            System.arraycopy(amounts, from, subSeries.amounts, 0, count);
+            System.arraycopy(trades, from, subSeries.trades, 0, count);
+            subSeries.lastLtp = ltp(end - 1);
+            subSeries.size = count;
+            subSeries.seriesBeginIndex = 0;
+            subSeries.seriesEndIndex = count - 1;
+        }
+        return subSeries;
+    }
+
+    @Override
+    public Decimal getOpenPrice(int i) {
+        return toDecimal(openPrices[position(checkIndex(i))]);
+    }
+
+    @Override
+    public Decimal getMaxPrice(int i) {
+        return toDecimal(maxPrices[position(checkIndex(i))]);
+    }
+
+    @Override
+    public Decimal getMinPrice(int i) {
+        return toDecimal(minPrices[position(checkIndex(i))]);
+    }
+
+    @Override
+    public Decimal getClosePrice(int i) {
+        return toDecimal(closePrices[position(checkIndex(i))]);
+    }
+
+    @Override
+    public Decimal getVolume(int i) {
+        return toDecimal(volumes[position(checkIndex(i))]);
+    }
+
+    @Override
+    public Decimal getAmount(int i) {
+        return toDecimal(amounts[position(checkIndex(i))]);
+    }
+
+    @Override
+    public int getTrades(int i) {
+        return trades[position(checkIndex(i))];
+    }
+
+    /**
+     * @param i the index of a stored bar
+     * @return the time period of the bar, in nanoseconds
+     */
+    private long timePeriod(int i) {
+        return timePeriods == null ? timePeriod : timePeriods[position(i)];
+    }
+
+    /**
+     * @param i the index of a stored bar
+     * @return the last traded price of the bar (the close price for a closed bar)
+     */
+    private double ltp(int i) {
+        return i == seriesEndIndex ? lastLtp : closePrices[position(i)];
+    }
+
+    /**
+     * @param value a column value
+     * @return the corresponding decimal, null if the value is NaN
+     */
+    private Decimal toDecimal(double value) {
+        return Double.isNaN(value) ? null : decimalFactory.decimalOf(value);
+    }
+
+    /**
+     * @param decimal a decimal
+     * @return the corresponding column value, NaN if the decimal is null
+     */
+    private static double toDouble(Decimal decimal) {
+        return decimal == null ? Double.NaN : decimal.doubleValue();
+    }
+
+    /**
+     * Adds a bar at the end of the series.
+     * @see #addBar(Duration, ZonedDateTime, double, double, double, double, double, double, double, int)
+     */
+    private void addBar(Duration timePeriod, ZonedDateTime endTime, Decimal openPrice, Decimal highPrice, Decimal lowPrice, Decimal closePrice,
+                        Decimal ltp, Decimal volume, Decimal amount, int tradeCount) {
+        addBar(timePeriod, endTime, toDouble(openPrice), toDouble(highPrice), toDouble(lowPrice), toDouble(closePrice),
+                toDouble(ltp), volume == null ? 0 : volume.doubleValue(), amount == null ? 0 : amount.doubleValue(), tradeCount);
+    }
+
+    /**
+     * Checks a bar index, returning the first remaining bar index if the bar has already been removed.
+     * @param i a bar index
+     * @return the index of the bar to be read
+     * @throws IndexOutOfBoundsException if the index is negative or after the last bar
+     * @see BaseTimeSeries#getBar(int)
+     */
+    private int checkIndex(int i) {
+        int innerIndex = i - removedBarsCount;
+        if (innerIndex < 0) {
+            if (i < 0) {
+                // Cannot return the i-th bar if i < 0
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+            }
+            log.trace("Time series `{}` ({} bars): bar {} already removed, use {}-th instead", name, size, i, removedBarsCount);
+            if (size == 0) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedBarsCount));
+            }
+            return removedBarsCount;
+        } else if (innerIndex >= size) {
+            // Cannot return the n-th bar if n >= size
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return i;
+    }
+
+    /**
+     * @param i the index of a stored bar
+     * @return the position of the bar in the columns
+     */
+    private int position(int i) {
+        return offset + i - removedBarsCount;
+    }
+
+    /**
+     * Removes the N first bars which exceed the maximum bar count.
+     * <p></p>
+     * Removed bars are only skipped: the columns are compacted when they are full.
+     */
+    private void removeExceedingBars() {
+        if (size > maximumBarCount) {
+            int nbBarsToRemove = size - maximumBarCount;
+            offset += nbBarsToRemove;
+            size -= nbBarsToRemove;
+            removedBarsCount += nbBarsToRemove;
+        }
+    }
+
+    /**
+     * Ensures a bar can be appended to the columns.
+     * <p></p>
+     * Removed bars are discarded if they take at least half of the columns, otherwise the columns are grown.
+     */
+    private void ensureCapacity() {
+        int capacity = endTimes.length;
+        if (offset + size < capacity) {
+            return;
+        }
+        int newCapacity = offset >= capacity / 2 ? capacity : (int) Math.min(2L * capacity, Integer.MAX_VALUE - 8);
+        endTimes = moveColumn(endTimes, new long[newCapacity]);
+        if (timePeriods != null) {
+            timePeriods = moveColumn(timePeriods, new long[newCapacity]);
+        }
+        openPrices = moveColumn(openPrices, new double[newCapacity]);
+        maxPrices = moveColumn(maxPrices, new double[newCapacity]);
+        minPrices = moveColumn(minPrices, new double[newCapacity]);
+        closePrices = moveColumn(closePrices, new double[newCapacity]);
+        volumes = moveColumn(volumes, new double[newCapacity]);
+        amounts = moveColumn(amounts, new double[newCapacity]);
+        trades = moveColumn(trades, new int[newCapacity]);
+        offset = 0;
+    }
+
+    /**
+     * Copies the stored bars of a column at the beginning of a new one.
+     * @param column the column
+     * @param newColumn the new column
+     * @return the new column
+     */
+    private <T> T moveColumn(T column, T newColumn) {
+        System.arraycopy(column, offset, newColumn, 0, size);
+        return newColumn;
+    }
+
+    /**
+     * Allocates the columns.
+     * @param capacity the number of bars the columns can hold
+     */
+    private void allocate(int capacity) {
+        endTimes = new long[capacity];
+        openPrices = new double[capacity];
+        maxPrices = new double[capacity];
+        minPrices = new double[capacity];
+        closePrices = new double[capacity];
+        volumes = new double[capacity];
+        amounts = new double[capacity];
+        trades = new int[capacity];
+    }
+
+    /**
+     * @param instant an instant
+     * @return the number of nanoseconds since epoch
+     */
+    private static long toEpochNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+    }
+
+    /**
+     * @param index an out of bounds bar index
+     * @return a message for an OutOfBoundsException
+     */
+    private String buildOutOfBoundsMessage(int index) {
+        return "Size of series: " + size + " bars, "
+                + removedBarsCount + " bars removed, index = " + index;
+    }
+
+    /**
+     * Read-only list view of the stored bars.
+     */
+    private class BarList extends AbstractList<Bar> implements RandomAccess {
+
+        @Override
+        public Bar get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return new ColumnarBar(removedBarsCount + index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * View of a bar of the series.
+     * <p></p>
+     * Its values are read from (and its trades are written to) the columns of the series.
+     */
+    private class ColumnarBar implements Bar {
+
+        private static final long serialVersionUID = 2404575213624924166L;
+
+        /** Index of the bar in the series */
+        private final int index;
+
+        /**
+         * Constructor.
+         * @param index the index of the bar in the series
+         */
+        ColumnarBar(int index) {
+            this.index = index;
+        }
+
+        /**
+         * @return the position of the bar in the columns
+         * @throws IllegalStateException if the bar has been removed from the series
+         */
+        private int position() {
+            if (index < removedBarsCount) {
+                throw new IllegalStateException("Bar " + index + " has been removed from the series");
+            }
+            return ColumnarTimeSeries.this.position(index);
+        }
+
+        @Override
+        public Decimal getOpenPrice() {
+            return toDecimal(openPrices[position()]);
+        }
+
+        @Override
+        public Decimal getMinPrice() {
+            return toDecimal(minPrices[position()]);
+        }
+
+        @Override
+        public Decimal getMaxPrice() {
+            return toDecimal(maxPrices[position()]);
+        }
+
+        @Override
+        public Decimal getClosePrice() {
+            return toDecimal(closePrices[position()]);
+        }
+
+        @Override
+        public Decimal getLtp() {
+            position();
+            return toDecimal(ltp(index));
+        }
+
+        /**
+         * Sets the last traded price of the last bar.
+         * @throws UnsupportedOperationException if the bar is not the last one (the last traded price of a closed
+         *             bar is its close price)
+         */
+        @Override
+        public void setLtp(Decimal ltp) {
+            position();
+            if (index != seriesEndIndex) {
+                throw new UnsupportedOperationException("The last traded price of a closed bar is its close price");
+            }
+            lastLtp = toDouble(ltp);
+        }
+
+        @Override
+        public Decimal getVolume() {
+            return decimalFactory.decimalOf(volumes[position()]);
+        }
+
+        @Override
+        public int getTrades() {
+            return trades[position()];
+        }
+
+        @Override
+        public Decimal getAmount() {
+            return decimalFactory.decimalOf(amounts[position()]);
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            position();
+            return Duration.ofNanos(timePeriod(index));
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime() {
+            return toZonedDateTime(endTimes[position()] - timePeriod(index));
+        }
+
+        @Override
+        public ZonedDateTime getEndTime() {
+            return toZonedDateTime(endTimes[position()]);
+        }
+
+        @Override
+        public void addTrade(double tradeVolume, double tradePrice) {
+            int position = position();
+            if (Double.isNaN(openPrices[position])) {
+                openPrices[position] = tradePrice;
+            }
+            closePrices[position] = tradePrice;
+            if (Double.isNaN(maxPrices[position]) || maxPrices[position] < tradePrice) {
+                maxPrices[position] = tradePrice;
+            }
+            if (Double.isNaN(minPrices[position]) || minPrices[position] > tradePrice) {
+                minPrices[position] = tradePrice;
+            }
+            volumes[position] += tradeVolume;
+            amounts[position] += tradeVolume * tradePrice;
+            trades[position]++;
+        }
+
+        @Override
+        public void addTrade(String tradeVolume, String tradePrice) {
+            addTrade(Double.parseDouble(tradeVolume), Double.parseDouble(tradePrice));
+        }
+
+        @Override
+        public void addTrade(Decimal tradeVolume, Decimal tradePrice) {
+            addTrade(tradeVolume.doubleValue(), tradePrice.doubleValue());
+        }
+
+        /**
+         * @param epochNanos a number of nanoseconds since epoch
+         * @return the corresponding time in the zone of the series
+         */
+        private ZonedDateTime toZonedDateTime(long epochNanos) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochSecond(0, epochNanos), zone);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{end time: %1s, close price: %2$f, open price: %3$f, min price: %4$f, max price: %5$f, volume: %6$f}",
+                    getEndTime().withZoneSameInstant(ZoneId.systemDefault()), closePrices[position()], openPrices[position()],
+                    minPrices[position()], maxPrices[position()], volumes[position()]);
+        }
+    }
+}
@@ -32,10 +32,16 @@ import java.util.Objects;
  * Immutable, arbitrary-precision signed decimal numbers designed for technical analysis.
  * <p>
  * A {@code Decimal} consists of a {@code BigDecimal} with arbitrary {@link MathContext} (precision and rounding mode).
+ * <p>
+ * A {@code Decimal} may also be backed by a primitive {@code double} (see {@link #doubleOf(double)}). Arithmetic on
+ * double-backed values does not allocate any {@code BigDecimal}: it is much faster, at the cost of precision.
+ * As soon as one of the operands is double-backed, the result of an operation is double-backed too.
+ * The backend of a {@link TimeSeries time series} is chosen through its {@link DecimalFactory decimal factory}.
  *
  * @see BigDecimal
  * @see MathContext
  * @see RoundingMode
+ * @see DecimalFactory
  */
 public final class Decimal
         extends Number
@@ -56,14 +62,19 @@ public final class Decimal
     public static final Decimal HUNDRED = valueOf(100);
     public static final Decimal THOUSAND = valueOf(1000);
 
+    /** The BigDecimal delegate (null for NaN and double-backed instances) */
     private final BigDecimal delegate;
 
+    /** The primitive value (only relevant for double-backed instances) */
+    private final double primitive;
+
     /**
      * Constructor.
      * Only used for NaN instance.
      */
     private Decimal() {
         delegate = null;
+        primitive = Double.NaN;
     }
 
     /**
@@ -72,40 +83,77 @@ public final class Decimal
      */
     private Decimal(String val) {
         delegate = new BigDecimal(val, MATH_CONTEXT);
+        primitive = 0;
     }
 
     private Decimal(short val) {
         delegate = new BigDecimal(val, MATH_CONTEXT);
+        primitive = 0;
     }
 
     private Decimal(int val) {
         delegate = BigDecimal.valueOf(val);
+        primitive = 0;
     }
 
     private Decimal(long val) {
         delegate = BigDecimal.valueOf(val);
+        primitive = 0;
     }
 
     private Decimal(float val) {
         delegate = new BigDecimal(val, MATH_CONTEXT);
+        primitive = 0;
     }
 
     private Decimal(double val) {
         delegate = BigDecimal.valueOf(val);
+        primitive = 0;
     }
 
     private Decimal(BigDecimal val) {
         delegate = Objects.requireNonNull(val);
+        primitive = 0;
+    }
+
+    /**
+     * Constructor of a double-backed instance.
+     * @param val the (finite) primitive value
+     * @param doubleBacked unused, only there to differ from the BigDecimal-backed constructor
+     */
+    private Decimal(double val, boolean doubleBacked) {
+        delegate = null;
+        primitive = val;
     }
 
     /**
      * Returns the underlying {@link BigDecimal} delegate
-     * @return BigDecimal delegate instance of this instance
+     * @return BigDecimal delegate instance of this instance (a new instance if this value is double-backed)
      */
     public BigDecimal getDelegate(){
+        if (isDoubleBacked()) {
+            return BigDecimal.valueOf(primitive);
+        }
         return delegate;
     }
 
+    /**
+     * Checks if the value is backed by a primitive {@code double}.
+     * @return true if the value is double-backed, false if it is BigDecimal-backed or NaN
+     * @see #doubleOf(double)
+     */
+    public boolean isDoubleBacked() {
+        return delegate == null && this != NaN;
+    }
+
+    /**
+     * @param other another (non-NaN) number
+     * @return true if an operation between this (non-NaN) value and the other one has to be computed on doubles
+     */
+    private boolean isDoubleOperation(Number other) {
+        return delegate == null || (other instanceof Decimal && ((Decimal) other).delegate == null);
+    }
+
     /**
      * Returns a {@code Decimal} whose value is {@code (this + augend)},
      * with rounding according to the context settings.
@@ -117,6 +165,9 @@ public final class Decimal
         if ((this == NaN) || (augend == NaN)) {
             return NaN;
         }
+        if (isDoubleOperation(augend)) {
+            return doubleOf(primitive() + augend.doubleValue());
+        }
         return new Decimal(delegate.add(Decimal.valueOf(augend).delegate, MATH_CONTEXT));
     }
 
@@ -131,6 +182,9 @@ public final class Decimal
         if ((this == NaN) || (subtrahend == NaN)) {
             return NaN;
         }
+        if (isDoubleOperation(subtrahend)) {
+            return doubleOf(primitive() - subtrahend.doubleValue());
+        }
         return new Decimal(delegate.subtract(Decimal.valueOf(subtrahend).delegate, MATH_CONTEXT));
     }
 
@@ -145,6 +199,9 @@ public final class Decimal
         if ((this == NaN) || (multiplicand == NaN)) {
             return NaN;
         }
+        if (isDoubleOperation(multiplicand)) {
+            return doubleOf(primitive() * multiplicand.doubleValue());
+        }
         return new Decimal(delegate.multiply(Decimal.valueOf(multiplicand).delegate, MATH_CONTEXT));
     }
 
@@ -156,7 +213,14 @@ public final class Decimal
      * @see BigDecimal#divide(java.math.BigDecimal, java.math.MathContext)
      */
     public Decimal dividedBy(Number divisor) {
-        if ((this == NaN) || (divisor == NaN) || Decimal.valueOf(divisor).isZero()) {
+        if ((this == NaN) || (divisor == NaN)) {
+            return NaN;
+        }
+        if (isDoubleOperation(divisor)) {
+            double doubleDivisor = divisor.doubleValue();
+            return doubleDivisor == 0 ? NaN : doubleOf(primitive() / doubleDivisor);
+        }
+        if (Decimal.valueOf(divisor).isZero()) {
             return NaN;
         }
         return new Decimal(delegate.divide(Decimal.valueOf(divisor).delegate, MATH_CONTEXT));
@@ -170,7 +234,14 @@ public final class Decimal
      * @see BigDecimal#remainder(java.math.BigDecimal, java.math.MathContext)
      */
     public Decimal remainder(Number divisor) {
-        if ((this == NaN) || (divisor == NaN) || Decimal.valueOf(divisor).isZero()) {
+        if ((this == NaN) || (divisor == NaN)) {
+            return NaN;
+        }
+        if (isDoubleOperation(divisor)) {
+            double doubleDivisor = divisor.doubleValue();
+            return doubleDivisor == 0 ? NaN : doubleOf(primitive() % doubleDivisor);
+        }
+        if (Decimal.valueOf(divisor).isZero()) {
             return NaN;
         }
         return new Decimal(delegate.remainder(Decimal.valueOf(divisor).delegate, MATH_CONTEXT));
@@ -184,6 +255,9 @@ public final class Decimal
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleOf(Math.floor(primitive));
+        }
         return new Decimal(delegate.setScale(0, RoundingMode.FLOOR));
     }
 
@@ -195,6 +269,9 @@ public final class Decimal
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleOf(Math.ceil(primitive));
+        }
         return new Decimal(delegate.setScale(0, RoundingMode.CEILING));
     }
 
@@ -208,20 +285,27 @@ public final class Decimal
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleOf(Math.pow(primitive, n));
+        }
         return new Decimal(delegate.pow(n, MATH_CONTEXT));
     }
 
     /**
      * Returns the correctly rounded positive square root of the <code>double</code> value of this {@code Decimal}.
      * /!\ Warning! Uses the {@code StrictMath#sqrt(double)} method under the hood.
-     * @return the positive square root of {@code this}
+     * @return the positive square root of {@code this}, NaN if {@code this} is negative
      * @see StrictMath#sqrt(double)
      */
     public Decimal sqrt() {
         if (this == NaN) {
             return NaN;
         }
-        return new Decimal(StrictMath.sqrt(delegate.doubleValue()));
+        if (delegate == null) {
+            return doubleOf(StrictMath.sqrt(primitive));
+        }
+        // NaN for negative values, whatever the backend
+        return valueOf(StrictMath.sqrt(delegate.doubleValue()));
     }
 
     /**
@@ -233,6 +317,9 @@ public final class Decimal
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleOf(Math.abs(primitive));
+        }
         return new Decimal(delegate.abs());
     }
 
@@ -359,11 +446,21 @@ public final class Decimal
         return compareTo(Decimal.valueOf(other)) < 1;
     }
 
+    /**
+     * {@inheritDoc}
+     * As soon as one of the values is double-backed, the values are compared in double precision (see
+     * {@link #equals(Object)} for exact equality across backends).
+     */
     @Override
     public int compareTo(Number other) {
         if ((this == NaN) || (other == NaN)) {
             return 0;
         }
+        if (isDoubleOperation(other)) {
+            double doubleOther = other.doubleValue();
+            double doubleThis = primitive();
+            return doubleThis < doubleOther ? -1 : (doubleThis > doubleOther ? 1 : 0);
+        }
         return delegate.compareTo(Decimal.valueOf(other).delegate);
     }
 
@@ -406,6 +503,9 @@ public final class Decimal
         if (this == NaN) {
             return 0;
         }
+        if (delegate == null) {
+            return (short) primitive;
+        }
         return delegate.shortValue();
     }
 
@@ -418,6 +518,9 @@ public final class Decimal
         if (this == NaN) {
             return 0;
         }
+        if (delegate == null) {
+            return (int) primitive;
+        }
         return delegate.intValue();
     }
 
@@ -430,6 +533,9 @@ public final class Decimal
         if (this == NaN) {
             return 0;
         }
+        if (delegate == null) {
+            return (long) primitive;
+        }
         return delegate.longValue();
     }
 
@@ -442,6 +548,9 @@ public final class Decimal
         if (this == NaN) {
             return Float.NaN;
         }
+        if (delegate == null) {
+            return (float) primitive;
+        }
         return delegate.floatValue();
     }
 
@@ -454,9 +563,19 @@ public final class Decimal
         if (this == NaN) {
             return Double.NaN;
         }
+        if (delegate == null) {
+            return primitive;
+        }
         return delegate.doubleValue();
     }
 
+    /**
+     * @return the value of this (non-NaN) {@code Decimal} as a double, without NaN check
+     */
+    private double primitive() {
+        return delegate == null ? primitive : delegate.doubleValue();
+    }
+
     /**
      * @see Decimal#doubleValue()
      */
@@ -470,17 +589,35 @@ public final class Decimal
         if (this == NaN) {
             return "NaN";
         }
+        if (delegate == null) {
+            return Double.toString(primitive);
+        }
         return delegate.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     * The hash code only depends on the numerical value, whatever the backend of this {@code Decimal}.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(delegate);
+        if (this == NaN) {
+            return 0;
+        }
+        double value = doubleValue();
+        // +0.0 and -0.0 are equal decimals
+        return Double.hashCode(value == 0 ? 0d : value);
     }
 
     /**
      * {@inheritDoc}
      * Warning: This method returns true if `this` and `obj` are both NaN.
+     * <p></p>
+     * Values are compared exactly, whatever their backend: a double-backed value is equal to a BigDecimal-backed one
+     * only if the BigDecimal is exactly the binary value of the double (e.g. {@code doubleOf(0.1)} is not equal to
+     * {@code valueOf("0.1")}), so that equality is transitive. Unlike {@link #compareTo(Number)} (which, like the
+     * arithmetic, uses double precision as soon as one of the values is double-backed), equality is therefore not
+     * consistent with comparison across backends.
      */
     @Override
     public boolean equals(Object obj) {
@@ -491,8 +628,19 @@ public final class Decimal
             return false;
         }
         final Decimal other = (Decimal) obj;
-        return this.delegate == other.delegate
-                || (this.delegate != null && (this.delegate.compareTo(other.delegate) == 0));
+        if (this == NaN || other == NaN) {
+            return this == other;
+        }
+        if (this.delegate == null && other.delegate == null) {
+            return this.primitive == other.primitive;
+        }
+        if (this.delegate == null || other.delegate == null) {
+            // Mixed backends: exact comparison
+            final double primitive = this.delegate == null ? this.primitive : other.primitive;
+            final BigDecimal delegate = this.delegate == null ? other.delegate : this.delegate;
+            return !Double.isInfinite(primitive) && new BigDecimal(primitive).compareTo(delegate) == 0;
+        }
+        return this.delegate.compareTo(other.delegate) == 0;
     }
 
     /**
@@ -539,7 +687,7 @@ public final class Decimal
      * @return the {@code Decimal}
      */
     public static Decimal valueOf(float val) {
-        if (val == Float.NaN) {
+        if (Float.isNaN(val)) {
             return Decimal.NaN;
         }
         return new Decimal(val);
@@ -555,7 +703,7 @@ public final class Decimal
      * @return the {@code Decimal}
      */
     public static Decimal valueOf(double val) {
-        if (val == Double.NaN) {
+        if (Double.isNaN(val)) {
             return Decimal.NaN;
         }
         return new Decimal(val);
@@ -572,11 +720,30 @@ public final class Decimal
 
     /**
      * Returns a {@code Decimal} version of the given {@code Number}.
-     * Warning: This method turns the number into a string first
+     * Warning: This method turns the number into a string first (unless it already is a {@code Decimal})
      * @param val the number
      * @return the {@code Decimal}
      */
     public static Decimal valueOf(Number val) {
-        return new Decimal(val.toString());
+        if (val instanceof Decimal) {
+            return (Decimal) val;
+        }
+        return valueOf(val.toString());
+    }
+
+    /**
+     * Returns a double-backed {@code Decimal} version of the given {@code double}.
+     * <p>
+     * Operations involving a double-backed {@code Decimal} are computed with primitive doubles.
+     * NaN and infinite values are mapped to {@link #NaN}.
+     * @param val the number
+     * @return the double-backed {@code Decimal}
+     * @see DecimalFactory#DOUBLE
+     */
+    public static Decimal doubleOf(double val) {
+        if (Double.isNaN(val) || Double.isInfinite(val)) {
+            return Decimal.NaN;
+        }
+        return new Decimal(val, true);
     }
 }
\ No newline at end of file
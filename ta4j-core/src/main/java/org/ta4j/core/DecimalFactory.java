@@ -0,0 +1,125 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.math.BigDecimal;
+
+/**
+ * Factory of {@link Decimal decimals}.
+ * <p></p>
+ * Each factory produces decimals for a given arithmetic backend:
+ * <ul>
+ *     <li>{@link #BIG_DECIMAL}: arbitrary-precision values (default), e.g. for accounting-grade computations
+ *     <li>{@link #DOUBLE}: primitive double values, i.e. faster and lighter but less precise computations
+ * </ul>
+ * The factory of a {@link TimeSeries time series} determines the backend of its bars and of the
+ * {@link Indicator indicators} built on it.
+ */
+public enum DecimalFactory {
+
+    /** BigDecimal-backed decimals */
+    BIG_DECIMAL {
+        @Override
+        public Decimal decimalOf(int val) {
+            return Decimal.valueOf(val);
+        }
+
+        @Override
+        public Decimal decimalOf(double val) {
+            return Decimal.valueOf(val);
+        }
+
+        @Override
+        public Decimal decimalOf(String val) {
+            return Decimal.valueOf(val);
+        }
+
+        @Override
+        public Decimal decimalOf(Number val) {
+            if (val instanceof Decimal) {
+                Decimal decimal = (Decimal) val;
+                return decimal.isDoubleBacked() ? Decimal.valueOf(decimal.doubleValue()) : decimal;
+            }
+            if (val instanceof Integer || val instanceof Long || val instanceof Short || val instanceof Byte) {
+                return Decimal.valueOf(val.longValue());
+            }
+            if (val instanceof Double || val instanceof Float) {
+                return Decimal.valueOf(val.doubleValue());
+            }
+            if (val instanceof BigDecimal) {
+                return Decimal.valueOf((BigDecimal) val);
+            }
+            return Decimal.valueOf(val);
+        }
+    },
+
+    /** Double-backed decimals */
+    DOUBLE {
+        @Override
+        public Decimal decimalOf(int val) {
+            return Decimal.doubleOf(val);
+        }
+
+        @Override
+        public Decimal decimalOf(double val) {
+            return Decimal.doubleOf(val);
+        }
+
+        @Override
+        public Decimal decimalOf(String val) {
+            return Decimal.doubleOf(Double.parseDouble(val));
+        }
+
+        @Override
+        public Decimal decimalOf(Number val) {
+            if (val instanceof Decimal && ((Decimal) val).isDoubleBacked()) {
+                return (Decimal) val;
+            }
+            return Decimal.doubleOf(val.doubleValue());
+        }
+    };
+
+    /**
+     * @param val the number
+     * @return the {@code Decimal} version of the given {@code int}
+     */
+    public abstract Decimal decimalOf(int val);
+
+    /**
+     * @param val the number
+     * @return the {@code Decimal} version of the given {@code double}
+     */
+    public abstract Decimal decimalOf(double val);
+
+    /**
+     * @param val the string representation of the number
+     * @return the {@code Decimal} version of the given {@code String}
+     */
+    public abstract Decimal decimalOf(String val);
+
+    /**
+     * @param val the number (NaN decimals are kept as is)
+     * @return the {@code Decimal} version of the given {@code Number}
+     */
+    public abstract Decimal decimalOf(Number val);
+}
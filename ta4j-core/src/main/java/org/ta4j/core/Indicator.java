@@ -23,6 +23,7 @@
 package org.ta4j.core;
 
 import java.io.Serializable;
+import java.util.BitSet;
 
 /**
  * Indicator over a {@link TimeSeries time series}.
@@ -44,6 +45,68 @@ public interface Indicator<T> extends Serializable {
 	 */
 	TimeSeries getTimeSeries();
 
+	/**
+	 * @param number a number
+	 * @return the {@link Decimal} version of the number, according to the decimal factory of the related time series
+	 * @see TimeSeries#decimalOf(Number)
+	 */
+	default Decimal decimalOf(Number number) {
+		TimeSeries series = getTimeSeries();
+		if (series == null) {
+			return DecimalFactory.BIG_DECIMAL.decimalOf(number);
+		}
+		return series.decimalOf(number);
+	}
+
+	/**
+	 * Returns the values of a range of indexes as primitive doubles.
+	 * <p></p>
+	 * Unknown values (null or not numbers) are returned as {@link Double#NaN}.
+	 * @param beginIndex the begin index (inclusive)
+	 * @param endIndex the end index (inclusive)
+	 * @return the values (the value of beginIndex at position 0)
+	 * @see #getDoubleValues(int, int, double[], int)
+	 */
+	default double[] getDoubleValues(int beginIndex, int endIndex) {
+		double[] values = new double[Math.max(0, endIndex - beginIndex + 1)];
+		getDoubleValues(beginIndex, endIndex, values, 0);
+		return values;
+	}
+
+	/**
+	 * Writes the values of a range of indexes as primitive doubles.
+	 * <p></p>
+	 * By default, calls {@link #getValue(int)} for each index. Indicators may calculate the whole range in a
+	 * tight loop instead (with double arithmetic, so that the values may slightly differ from the ones of
+	 * {@link #getValue(int)}).
+	 * @param beginIndex the begin index (inclusive)
+	 * @param endIndex the end index (inclusive)
+	 * @param values the array to write the values to
+	 * @param offset the position of the value of beginIndex in the array
+	 */
+	default void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+		for (int i = beginIndex; i <= endIndex; i++) {
+			T value = getValue(i);
+			values[offset + i - beginIndex] = value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+		}
+	}
+
+	/**
+	 * Returns the values of a range of indexes as bits (for boolean indicators).
+	 * @param beginIndex the begin index (inclusive)
+	 * @param endIndex the end index (inclusive)
+	 * @return the set of the (positions of the) indexes whose value is true (the value of beginIndex at position 0)
+	 */
+	default BitSet getBooleanValues(int beginIndex, int endIndex) {
+		BitSet values = new BitSet(Math.max(0, endIndex - beginIndex + 1));
+		for (int i = beginIndex; i <= endIndex; i++) {
+			if (Boolean.TRUE.equals(getValue(i))) {
+				values.set(i - beginIndex);
+			}
+		}
+		return values;
+	}
+
 	/**
 	 * Returns all values from an {@link Indicator} as a Array of Doubles. The
 	 * returned doubles could have a minor loss of precise, if {@link Indicator}
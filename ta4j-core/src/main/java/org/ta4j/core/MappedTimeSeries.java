@@ -0,0 +1,705 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Time series backed by a memory-mapped bar file.
+ * <p></p>
+ * A bar file is made of a 64 bytes header followed by fixed-size (80 bytes) little-endian bar records, so that
+ * opening a series does not parse anything: the file is only mapped, and its pages are loaded (and shared between
+ * the processes mapping the same file) by the operating system on demand.
+ * <p></p>
+ * Header: magic number (int), format version (int), record size (int), reserved (int), bar count (long), time zone
+ * of the bars (short length + UTF-8 id).<br>
+ * Record: end time (long, nanoseconds since epoch), time period (long, nanoseconds), open, max, min, close and last
+ * traded prices, volume and amount (doubles, NaN for unknown prices), trade count (int), padding (int).
+ * <p></p>
+ * An appendable series can add bars at the end of the file: each record is written before the bar count of the
+ * header, so that the other processes see the new bars once they {@link #refresh() refresh} their series.
+ * The file is grown by chunks: only the bar count of the header tells how many records are valid.
+ * A single mapping being limited to 2 GB, a bar file holds at most 26 843 544 bars.
+ */
+public class MappedTimeSeries implements TimeSeries, Closeable {
+
+    private static final long serialVersionUID = 2751963427813563312L;
+
+    /** Magic number of the bar files ("TA4J") */
+    private static final int MAGIC_NUMBER = 0x5441344A;
+    /** Version of the bar file format */
+    private static final int FORMAT_VERSION = 1;
+    /** Size of the header */
+    private static final int HEADER_SIZE = 64;
+    /** Size of a bar record */
+    private static final int RECORD_SIZE = 80;
+    /** Maximum length of the time zone id */
+    private static final int MAXIMUM_ZONE_LENGTH = HEADER_SIZE - 26;
+    /** Maximum number of bars of a file */
+    private static final int MAXIMUM_BAR_COUNT = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+    /** Initial number of bars mapped for an appendable series */
+    private static final int INITIAL_CAPACITY = 1024;
+    /** Number of nanoseconds in a second */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** Header offsets */
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int BAR_COUNT_OFFSET = 16;
+    private static final int ZONE_OFFSET = 24;
+
+    /** Record offsets */
+    private static final int END_TIME_OFFSET = 0;
+    private static final int TIME_PERIOD_OFFSET = 8;
+    private static final int OPEN_PRICE_OFFSET = 16;
+    private static final int MAX_PRICE_OFFSET = 24;
+    private static final int MIN_PRICE_OFFSET = 32;
+    private static final int CLOSE_PRICE_OFFSET = 40;
+    private static final int LTP_OFFSET = 48;
+    private static final int VOLUME_OFFSET = 56;
+    private static final int AMOUNT_OFFSET = 64;
+    private static final int TRADES_OFFSET = 72;
+
+    /** The logger */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    /** Name of the series */
+    private final String name;
+    /** Path of the bar file */
+    private final String file;
+    /** True if bars can be added to the file, false otherwise */
+    private final boolean appendable;
+    /** Factory of the decimals of the series */
+    private final DecimalFactory decimalFactory;
+    /** Maximum number of bars for the time series */
+    private int maximumBarCount = Integer.MAX_VALUE;
+    /** Number of bars of the file */
+    private int barCount;
+    /** Time zone of the bars */
+    private transient ZoneId zone;
+    /** Channel of the bar file */
+    private transient FileChannel channel;
+    /** Mapping of the bar file */
+    private transient MappedByteBuffer buffer;
+    /** Number of bars the mapping can hold */
+    private transient int capacity;
+
+    /**
+     * Opens a read-only series from an existing bar file.
+     * @param file the bar file
+     * @throws IOException if the file cannot be opened or is not a bar file
+     */
+    public MappedTimeSeries(Path file) throws IOException {
+        this(file.getFileName().toString(), file, false, DecimalFactory.DOUBLE);
+    }
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param file the bar file (created if it does not exist and the series is appendable)
+     * @param appendable true if bars can be added to the file, false otherwise
+     * @param decimalFactory the factory of the decimals of the series
+     * @throws IOException if the file cannot be opened/created or is not a bar file
+     */
+    public MappedTimeSeries(String name, Path file, boolean appendable, DecimalFactory decimalFactory) throws IOException {
+        this.name = name;
+        this.file = file.toString();
+        this.appendable = appendable;
+        this.decimalFactory = Objects.requireNonNull(decimalFactory);
+        open();
+    }
+
+    /**
+     * @return the path of the bar file
+     */
+    public Path getFile() {
+        return Paths.get(file);
+    }
+
+    /**
+     * @return true if bars can be added to the file, false otherwise
+     */
+    public boolean isAppendable() {
+        return appendable;
+    }
+
+    /**
+     * Reloads the bar count of the file, e.g. to see the bars appended by another process.
+     * @return the number of new bars
+     * @throws IOException if the file cannot be remapped
+     */
+    public int refresh() throws IOException {
+        int previousBarCount = barCount;
+        long fileBarCount = buffer.getLong(BAR_COUNT_OFFSET);
+        if (fileBarCount > capacity) {
+            // The file has been grown by a writer
+            map((int) Math.min(fileBarCount, MAXIMUM_BAR_COUNT));
+        }
+        barCount = (int) Math.min(fileBarCount, capacity);
+        if (zone == null) {
+            zone = readZone();
+        }
+        return barCount - previousBarCount;
+    }
+
+    /**
+     * Closes the bar file.
+     * <p></p>
+     * The mapping remains valid until it is garbage collected, but the series cannot be refreshed anymore.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (appendable) {
+            buffer.force();
+        }
+        channel.close();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public DecimalFactory getDecimalFactory() {
+        return decimalFactory;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        return new MappedBar(checkIndex(i));
+    }
+
+    @Override
+    public int getBarCount() {
+        return barCount - getRemovedBarsCount();
+    }
+
+    /**
+     * Returns a read-only view of the (not removed) bars of the series.
+     * <p></p>
+     * The bars are materialized on each access.
+     * @return the bar data
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new BarList();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return barCount == 0 ? -1 : 0;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return barCount - 1;
+    }
+
+    /**
+     * Sets the maximum number of bars that will be retained in the series.
+     * <p></p>
+     * The first bars are only hidden: the bar file is not modified.
+     * @param maximumBarCount the maximum bar count
+     */
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return Math.max(0, barCount - maximumBarCount);
+    }
+
+    @Override
+    public void addBar(Bar bar) {
+        if (bar == null) {
+            throw new IllegalArgumentException("Cannot add null bar");
+        }
+        addBar(bar.getTimePeriod(), bar.getEndTime(), toDouble(bar.getOpenPrice()), toDouble(bar.getMaxPrice()),
+                toDouble(bar.getMinPrice()), toDouble(bar.getClosePrice()), toDouble(bar.getLtp()),
+                bar.getVolume() == null ? 0 : bar.getVolume().doubleValue(),
+                bar.getAmount() == null ? 0 : bar.getAmount().doubleValue(), bar.getTrades());
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice, double volume) {
+        addBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, Double.NaN, volume, 0, 0);
+    }
+
+    /**
+     * Appends a bar to the bar file.
+     * @param timePeriod the time period of the bar
+     * @param endTime the end time of the bar
+     * @param openPrice the open price of the bar period
+     * @param highPrice the highest price of the bar period
+     * @param lowPrice the lowest price of the bar period
+     * @param closePrice the close price of the bar period
+     * @param ltp the last traded price of the bar period
+     * @param volume the volume of the bar period
+     * @param amount the amount of the bar period
+     * @param tradeCount the number of trades of the bar period
+     * @throws IllegalStateException if the series is not appendable or the file is full
+     * @throws UncheckedIOException if the file cannot be grown
+     * @see TimeSeries#addBar(Bar)
+     */
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice,
+                       double ltp, double volume, double amount, int tradeCount) {
+        if (!appendable) {
+            throw new IllegalStateException("Cannot add a bar to a read-only series");
+        }
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        if (endTime == null) {
+            throw new IllegalArgumentException("End time cannot be null");
+        }
+        long endNanos = toEpochNanos(endTime.toInstant());
+        if (barCount > 0 && endNanos <= buffer.getLong(recordOffset(barCount - 1) + END_TIME_OFFSET)) {
+            throw new IllegalArgumentException("Cannot add a bar with end time <= to series end time");
+        }
+        if (barCount == MAXIMUM_BAR_COUNT) {
+            throw new IllegalStateException("Bar file " + file + " is full");
+        }
+        if (barCount == capacity) {
+            try {
+                map((int) Math.min(Math.max(2L * capacity, INITIAL_CAPACITY), MAXIMUM_BAR_COUNT));
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("Unable to grow bar file " + file, ioe);
+            }
+        }
+        if (barCount == 0) {
+            zone = endTime.getZone();
+            writeZone(zone);
+        }
+
+        int offset = recordOffset(barCount);
+        buffer.putLong(offset + END_TIME_OFFSET, endNanos);
+        buffer.putLong(offset + TIME_PERIOD_OFFSET, timePeriod.toNanos());
+        buffer.putDouble(offset + OPEN_PRICE_OFFSET, openPrice);
+        buffer.putDouble(offset + MAX_PRICE_OFFSET, highPrice);
+        buffer.putDouble(offset + MIN_PRICE_OFFSET, lowPrice);
+        buffer.putDouble(offset + CLOSE_PRICE_OFFSET, closePrice);
+        buffer.putDouble(offset + LTP_OFFSET, ltp);
+        buffer.putDouble(offset + VOLUME_OFFSET, volume);
+        buffer.putDouble(offset + AMOUNT_OFFSET, amount);
+        buffer.putInt(offset + TRADES_OFFSET, tradeCount);
+        // Publishing the bar once its record is written
+        barCount++;
+        buffer.putLong(BAR_COUNT_OFFSET, barCount);
+    }
+
+    /**
+     * Returns a new in-memory series holding a copy of the bars between <tt>startIndex</tt> (inclusive) and
+     * <tt>endIndex</tt> (exclusive) of this series.
+     * @param startIndex the startIndex
+     * @param endIndex the endIndex (exclusive)
+     * @return a new {@link ColumnarTimeSeries} with bars from <tt>startIndex</tt> to <tt>endIndex</tt>-1
+     * @throws IllegalArgumentException if <tt>endIndex</tt> < <tt>startIndex</tt>
+     * @see BaseTimeSeries#getSubSeries(int, int)
+     */
+    @Override
+    public TimeSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException
+                    (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
+        }
+        int start = Math.max(startIndex, getRemovedBarsCount());
+        int end = Math.min(endIndex, barCount);
+        ColumnarTimeSeries subSeries = new ColumnarTimeSeries(name, Math.max(end - start, 0), decimalFactory);
+        for (int i = start; i < end; i++) {
+            int offset = recordOffset(i);
+            subSeries.addBar(Duration.ofNanos(buffer.getLong(offset + TIME_PERIOD_OFFSET)),
+                    toZonedDateTime(buffer.getLong(offset + END_TIME_OFFSET)),
+                    buffer.getDouble(offset + OPEN_PRICE_OFFSET), buffer.getDouble(offset + MAX_PRICE_OFFSET),
+                    buffer.getDouble(offset + MIN_PRICE_OFFSET), buffer.getDouble(offset + CLOSE_PRICE_OFFSET),
+                    buffer.getDouble(offset + LTP_OFFSET), buffer.getDouble(offset + VOLUME_OFFSET),
+                    buffer.getDouble(offset + AMOUNT_OFFSET), buffer.getInt(offset + TRADES_OFFSET));
+        }
+        return subSeries;
+    }
+
+    @Override
+    public Decimal getOpenPrice(int i) {
+        return readDecimal(checkIndex(i), OPEN_PRICE_OFFSET);
+    }
+
+    @Override
+    public Decimal getMaxPrice(int i) {
+        return readDecimal(checkIndex(i), MAX_PRICE_OFFSET);
+    }
+
+    @Override
+    public Decimal getMinPrice(int i) {
+        return readDecimal(checkIndex(i), MIN_PRICE_OFFSET);
+    }
+
+    @Override
+    public Decimal getClosePrice(int i) {
+        return readDecimal(checkIndex(i), CLOSE_PRICE_OFFSET);
+    }
+
+    @Override
+    public Decimal getVolume(int i) {
+        return readDecimal(checkIndex(i), VOLUME_OFFSET);
+    }
+
+    @Override
+    public Decimal getAmount(int i) {
+        return readDecimal(checkIndex(i), AMOUNT_OFFSET);
+    }
+
+    @Override
+    public int getTrades(int i) {
+        return buffer.getInt(recordOffset(checkIndex(i)) + TRADES_OFFSET);
+    }
+
+    /**
+     * Opens (or creates) the bar file and maps it.
+     * @throws IOException if the file cannot be opened/created or is not a bar file
+     */
+    private void open() throws IOException {
+        Path path = Paths.get(file);
+        if (appendable) {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        } else {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        if (channel.size() == 0 && appendable) {
+            // New file: writing the header
+            map(INITIAL_CAPACITY);
+            buffer.putInt(MAGIC_OFFSET, MAGIC_NUMBER);
+            buffer.putInt(VERSION_OFFSET, FORMAT_VERSION);
+            buffer.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+            buffer.putLong(BAR_COUNT_OFFSET, 0);
+            barCount = 0;
+            return;
+        }
+        if (channel.size() < HEADER_SIZE) {
+            channel.close();
+            throw new IOException(file + " is not a bar file");
+        }
+        map((int) ((channel.size() - HEADER_SIZE) / RECORD_SIZE));
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC_NUMBER
+                || buffer.getInt(VERSION_OFFSET) != FORMAT_VERSION
+                || buffer.getInt(RECORD_SIZE_OFFSET) != RECORD_SIZE) {
+            channel.close();
+            throw new IOException(file + " is not a bar file (or has an unsupported version)");
+        }
+        refresh();
+        log.debug("Bar file {} opened: {} bars", file, barCount);
+    }
+
+    /**
+     * Maps the bar file.
+     * @param barCapacity the number of bars the mapping has to hold
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map(int barCapacity) throws IOException {
+        long size = HEADER_SIZE + (long) barCapacity * RECORD_SIZE;
+        if (!appendable) {
+            size = Math.min(size, channel.size());
+        }
+        buffer = channel.map(appendable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        capacity = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    /**
+     * @return the time zone written in the header of the file (the system default one if not written yet)
+     */
+    private ZoneId readZone() {
+        int length = buffer.getShort(ZONE_OFFSET);
+        if (length <= 0) {
+            return barCount == 0 ? null : ZoneId.systemDefault();
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(ZONE_OFFSET + 2 + i);
+        }
+        return ZoneId.of(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a time zone in the header of the file.
+     * @param zoneId the time zone
+     */
+    private void writeZone(ZoneId zoneId) {
+        byte[] bytes = zoneId.getId().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAXIMUM_ZONE_LENGTH) {
+            // Too long id: only keeping the offset
+            bytes = zoneId.getRules().getOffset(Instant.now()).getId().getBytes(StandardCharsets.UTF_8);
+        }
+        buffer.putShort(ZONE_OFFSET, (short) bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(ZONE_OFFSET + 2 + i, bytes[i]);
+        }
+    }
+
+    /**
+     * Checks a bar index, returning the first remaining bar index if the bar has already been removed.
+     * @param i a bar index
+     * @return the index of the bar to be read
+     * @throws IndexOutOfBoundsException if the index is negative or after the last bar
+     * @see BaseTimeSeries#getBar(int)
+     */
+    private int checkIndex(int i) {
+        int removedBarsCount = getRemovedBarsCount();
+        if (i < 0 || i >= barCount) {
+            throw new IndexOutOfBoundsException("Size of series: " + getBarCount() + " bars, "
+                    + removedBarsCount + " bars removed, index = " + i);
+        }
+        if (i < removedBarsCount) {
+            log.trace("Time series `{}` ({} bars): bar {} already removed, use {}-th instead", name, getBarCount(), i, removedBarsCount);
+            return removedBarsCount;
+        }
+        return i;
+    }
+
+    /**
+     * @param i a bar index
+     * @param fieldOffset the offset of a price field in the bar record
+     * @return the decimal value of the field, null if it is NaN
+     */
+    private Decimal readDecimal(int i, int fieldOffset) {
+        double value = buffer.getDouble(recordOffset(i) + fieldOffset);
+        return Double.isNaN(value) ? null : decimalFactory.decimalOf(value);
+    }
+
+    /**
+     * @param i a bar index
+     * @return the offset of the bar record in the file
+     */
+    private static int recordOffset(int i) {
+        return HEADER_SIZE + i * RECORD_SIZE;
+    }
+
+    /**
+     * @param decimal a decimal
+     * @return the corresponding double value, NaN if the decimal is null
+     */
+    private static double toDouble(Decimal decimal) {
+        return decimal == null ? Double.NaN : decimal.doubleValue();
+    }
+
+    /**
+     * @param instant an instant
+     * @return the number of nanoseconds since epoch
+     */
+    private static long toEpochNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+    }
+
+    /**
+     * @param epochNanos a number of nanoseconds since epoch
+     * @return the corresponding time in the zone of the series
+     */
+    private ZonedDateTime toZonedDateTime(long epochNanos) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(0, epochNanos), zone);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        open();
+    }
+
+    /**
+     * Read-only list view of the (not removed) bars.
+     */
+    private class BarList extends AbstractList<Bar> implements RandomAccess {
+
+        @Override
+        public Bar get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return new MappedBar(getRemovedBarsCount() + index);
+        }
+
+        @Override
+        public int size() {
+            return getBarCount();
+        }
+    }
+
+    /**
+     * View of a bar record.
+     * <p></p>
+     * Trades can only be added to the bars of an appendable series.
+     */
+    private class MappedBar implements Bar {
+
+        private static final long serialVersionUID = -1180393539233315046L;
+
+        /** Offset of the bar record in the file */
+        private final int offset;
+
+        /**
+         * Constructor.
+         * @param index the index of the bar in the series
+         */
+        MappedBar(int index) {
+            this.offset = recordOffset(index);
+        }
+
+        @Override
+        public Decimal getOpenPrice() {
+            return readDouble(OPEN_PRICE_OFFSET);
+        }
+
+        @Override
+        public Decimal getMinPrice() {
+            return readDouble(MIN_PRICE_OFFSET);
+        }
+
+        @Override
+        public Decimal getMaxPrice() {
+            return readDouble(MAX_PRICE_OFFSET);
+        }
+
+        @Override
+        public Decimal getClosePrice() {
+            return readDouble(CLOSE_PRICE_OFFSET);
+        }
+
+        @Override
+        public Decimal getLtp() {
+            return readDouble(LTP_OFFSET);
+        }
+
+        @Override
+        public void setLtp(Decimal ltp) {
+            buffer.putDouble(offset + LTP_OFFSET, toDouble(ltp));
+        }
+
+        @Override
+        public Decimal getVolume() {
+            return decimalFactory.decimalOf(buffer.getDouble(offset + VOLUME_OFFSET));
+        }
+
+        @Override
+        public int getTrades() {
+            return buffer.getInt(offset + TRADES_OFFSET);
+        }
+
+        @Override
+        public Decimal getAmount() {
+            return decimalFactory.decimalOf(buffer.getDouble(offset + AMOUNT_OFFSET));
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            return Duration.ofNanos(buffer.getLong(offset + TIME_PERIOD_OFFSET));
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime() {
+            return toZonedDateTime(buffer.getLong(offset + END_TIME_OFFSET) - buffer.getLong(offset + TIME_PERIOD_OFFSET));
+        }
+
+        @Override
+        public ZonedDateTime getEndTime() {
+            return toZonedDateTime(buffer.getLong(offset + END_TIME_OFFSET));
+        }
+
+        @Override
+        public void addTrade(double tradeVolume, double tradePrice) {
+            if (!appendable) {
+                throw new IllegalStateException("Cannot add a trade to a read-only series");
+            }
+            if (Double.isNaN(buffer.getDouble(offset + OPEN_PRICE_OFFSET))) {
+                buffer.putDouble(offset + OPEN_PRICE_OFFSET, tradePrice);
+            }
+            buffer.putDouble(offset + CLOSE_PRICE_OFFSET, tradePrice);
+            double maxPrice = buffer.getDouble(offset + MAX_PRICE_OFFSET);
+            if (Double.isNaN(maxPrice) || maxPrice < tradePrice) {
+                buffer.putDouble(offset + MAX_PRICE_OFFSET, tradePrice);
+            }
+            double minPrice = buffer.getDouble(offset + MIN_PRICE_OFFSET);
+            if (Double.isNaN(minPrice) || minPrice > tradePrice) {
+                buffer.putDouble(offset + MIN_PRICE_OFFSET, tradePrice);
+            }
+            buffer.putDouble(offset + VOLUME_OFFSET, buffer.getDouble(offset + VOLUME_OFFSET) + tradeVolume);
+            buffer.putDouble(offset + AMOUNT_OFFSET, buffer.getDouble(offset + AMOUNT_OFFSET) + tradeVolume * tradePrice);
+            buffer.putInt(offset + TRADES_OFFSET, buffer.getInt(offset + TRADES_OFFSET) + 1);
+        }
+
+        @Override
+        public void addTrade(String tradeVolume, String tradePrice) {
+            addTrade(Double.parseDouble(tradeVolume), Double.parseDouble(tradePrice));
+        }
+
+        @Override
+        public void addTrade(Decimal tradeVolume, Decimal tradePrice) {
+            addTrade(tradeVolume.doubleValue(), tradePrice.doubleValue());
+        }
+
+        /**
+         * @param fieldOffset the offset of a price field in the bar record
+         * @return the decimal value of the field, null if it is NaN
+         */
+        private Decimal readDouble(int fieldOffset) {
+            double value = buffer.getDouble(offset + fieldOffset);
+            return Double.isNaN(value) ? null : decimalFactory.decimalOf(value);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{end time: %1s, close price: %2$f, open price: %3$f, min price: %4$f, max price: %5$f, volume: %6$f}",
+                    getEndTime().withZoneSameInstant(ZoneId.systemDefault()), buffer.getDouble(offset + CLOSE_PRICE_OFFSET),
+                    buffer.getDouble(offset + OPEN_PRICE_OFFSET), buffer.getDouble(offset + MIN_PRICE_OFFSET),
+                    buffer.getDouble(offset + MAX_PRICE_OFFSET), buffer.getDouble(offset + VOLUME_OFFSET));
+        }
+    }
+}
@@ -89,7 +89,7 @@ public class Order implements Serializable {
     protected Order(int index, TimeSeries series, OrderType type) {
         this.type = type;
         this.index = index;
-        this.amount = Decimal.valueOf(1);
+        this.amount = series.decimalOf(1);
         this.price = series.getBar(index).getClosePrice();
     }
 
@@ -0,0 +1,471 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read-only view of a base {@link TimeSeries time series} at a higher time frame.
+ * <p></p>
+ * Consecutive bars of the base series are grouped into buckets (see {@link Bucketing}: a number of bars, a time
+ * period, a day, a week, a trading session...), each bucket being a bar of this series. The data is not copied:
+ * the buckets are tracked as bars are added to the base series, the bars of the completed buckets are aggregated
+ * lazily (then cached), and the bar of the last bucket (which may still grow) is aggregated on each access. The
+ * {@link org.ta4j.core.indicators.CachedIndicator cached indicators} do not cache their value at the index of the
+ * last bucket either (see {@link #isLastBarForming()}).
+ * Several views (e.g. 5 minutes, 15 minutes, 1 hour) may share a single base series (e.g. 1 minute).
+ * <p></p>
+ * A bucket begins at the begin time of its first base bar and ends at the end time of its last base bar. When bars
+ * are removed from the base series (maximum bar count), the buckets of the removed bars are removed from this series,
+ * and the first remaining bucket is aggregated from its remaining bars. The base series is scanned on each access to
+ * this series, so that base bars removed before the first access are not part of any bucket.
+ * <p></p>
+ * Bars must be added to the base series: {@link #addBar(Bar)} and {@link #setMaximumBarCount(int)} are not
+ * supported.
+ */
+public class ResampledTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = 4317618813342432867L;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    /**
+     * A grouping of the consecutive bars of a series: consecutive bars with the same key belong to the same bucket.
+     */
+    public interface Bucketing extends Serializable {
+
+        /**
+         * @param series the base series
+         * @param index the index of a bar of the base series
+         * @return the key of the bucket of the bar
+         */
+        long key(TimeSeries series, int index);
+
+        /**
+         * @param barCount the number of base bars per bucket
+         * @return a bucketing of a fixed number of bars (the first bucket begins with the first bar of the series)
+         */
+        static Bucketing barCount(int barCount) {
+            if (barCount <= 0) {
+                throw new IllegalArgumentException("Bar count must be strictly positive");
+            }
+            return (series, index) -> index / barCount;
+        }
+
+        /**
+         * @param timePeriod the time period of the buckets
+         * @return a bucketing of the bars by time period, aligned on the epoch (e.g. a 1 hour bucket holds the bars
+         *         ending in ]10:00, 11:00])
+         */
+        static Bucketing timePeriod(Duration timePeriod) {
+            final long periodNanos = timePeriod.toNanos();
+            if (periodNanos <= 0) {
+                throw new IllegalArgumentException("Time period must be strictly positive");
+            }
+            return (series, index) -> {
+                ZonedDateTime endTime = series.getBar(index).getEndTime();
+                long epochNanos = Math.addExact(Math.multiplyExact(endTime.toEpochSecond(), 1_000_000_000L), endTime.getNano());
+                return Math.floorDiv(epochNanos - 1, periodNanos);
+            };
+        }
+
+        /**
+         * @param zoneId the time zone of the days
+         * @return a bucketing of the bars by day
+         */
+        static Bucketing day(ZoneId zoneId) {
+            return session(LocalTime.MIDNIGHT, zoneId);
+        }
+
+        /**
+         * @param zoneId the time zone of the weeks
+         * @return a bucketing of the bars by week (beginning on monday)
+         */
+        static Bucketing week(ZoneId zoneId) {
+            return (series, index) -> localEndTime(series, index, zoneId).toLocalDate()
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay();
+        }
+
+        /**
+         * @param sessionStart the start time of the daily trading sessions (e.g. 17:00 for sessions starting on the
+         *            previous evening)
+         * @param zoneId the time zone of the sessions
+         * @return a bucketing of the bars by daily session
+         */
+        static Bucketing session(LocalTime sessionStart, ZoneId zoneId) {
+            final long startNanos = sessionStart.toNanoOfDay();
+            return (series, index) -> localEndTime(series, index, zoneId).minusNanos(startNanos).toLocalDate().toEpochDay();
+        }
+
+        /**
+         * @return the end time of a bar in a time zone, minus one nanosecond (so that a bar ending at midnight belongs to
+         *         the previous day)
+         */
+        static ZonedDateTime localEndTime(TimeSeries series, int index, ZoneId zoneId) {
+            return series.getBar(index).getEndTime().withZoneSameInstant(zoneId).minusNanos(1);
+        }
+    }
+
+    private final String name;
+
+    private final TimeSeries baseSeries;
+
+    private final Bucketing bucketing;
+
+    /** Index of the first base bar of each bucket (from the bucket firstBucket) */
+    private int[] bucketStarts = new int[16];
+
+    /** Cached bars of the completed buckets (from the bucket firstBucket) */
+    private Bar[] bars = new Bar[16];
+
+    /** Index of the bucket stored at position 0 of the arrays */
+    private int firstBucket;
+
+    /** Number of buckets (i.e. end index + 1) */
+    private int bucketCount;
+
+    /** Number of buckets whose base bars have all been removed */
+    private int removedBucketCount;
+
+    /** Index of the last base bar assigned to a bucket */
+    private int lastBaseIndex = -1;
+
+    /** Key of the last bucket */
+    private long lastKey;
+
+    /**
+     * Constructor.
+     * @param name the name of the series
+     * @param baseSeries the base series
+     * @param bucketing the grouping of the base bars
+     */
+    public ResampledTimeSeries(String name, TimeSeries baseSeries, Bucketing bucketing) {
+        if (baseSeries == null || bucketing == null) {
+            throw new IllegalArgumentException("Base series and bucketing cannot be null");
+        }
+        this.name = name;
+        this.baseSeries = baseSeries;
+        this.bucketing = bucketing;
+    }
+
+    /**
+     * Constructor.
+     * @param baseSeries the base series
+     * @param timePeriod the time period of the buckets (see {@link Bucketing#timePeriod(Duration)})
+     */
+    public ResampledTimeSeries(TimeSeries baseSeries, Duration timePeriod) {
+        this(baseSeries.getName() + " " + timePeriod, baseSeries, Bucketing.timePeriod(timePeriod));
+    }
+
+    /**
+     * Constructor.
+     * @param baseSeries the base series
+     * @param barCount the number of base bars per bucket (see {@link Bucketing#barCount(int)})
+     */
+    public ResampledTimeSeries(TimeSeries baseSeries, int barCount) {
+        this(baseSeries.getName() + " x" + barCount, baseSeries, Bucketing.barCount(barCount));
+    }
+
+    /**
+     * @return the base series
+     */
+    public TimeSeries getBaseSeries() {
+        return baseSeries;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public DecimalFactory getDecimalFactory() {
+        return baseSeries.getDecimalFactory();
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        final int bucket = checkIndex(i);
+        if (bucket == bucketCount - 1 || bucketStarts[bucket - firstBucket] < baseSeries.getRemovedBarsCount()) {
+            // Last bucket (may still grow), or first bucket partly removed (aggregated from its remaining bars)
+            return aggregate(bucket);
+        }
+        final int position = bucket - firstBucket;
+        Bar bar = bars[position];
+        if (bar == null) {
+            bar = aggregate(bucket);
+            bars[position] = bar;
+        }
+        return bar;
+    }
+
+    @Override
+    public Decimal getOpenPrice(int i) {
+        final int bucket = checkIndex(i);
+        return baseSeries.getOpenPrice(firstBaseIndex(bucket));
+    }
+
+    @Override
+    public Decimal getClosePrice(int i) {
+        final int bucket = checkIndex(i);
+        return baseSeries.getClosePrice(lastBaseIndex(bucket));
+    }
+
+    /**
+     * @return true: the last bucket may still grow (the values of the indicators at its index are not cached)
+     */
+    @Override
+    public boolean isLastBarForming() {
+        return true;
+    }
+
+    @Override
+    public int getBarCount() {
+        update();
+        return bucketCount - removedBucketCount;
+    }
+
+    /**
+     * Returns a read-only view of the (not removed) bars of the series.
+     * @return the bar data
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new BarList();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        update();
+        return bucketCount == 0 ? -1 : 0;
+    }
+
+    @Override
+    public int getEndIndex() {
+        update();
+        return bucketCount - 1;
+    }
+
+    /**
+     * Not supported: the maximum bar count is the one of the base series.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        throw new UnsupportedOperationException("Maximum bar count must be set on the base series");
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return baseSeries.getMaximumBarCount();
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        update();
+        return removedBucketCount;
+    }
+
+    /**
+     * Not supported: bars must be added to the base series.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addBar(Bar bar) {
+        throw new UnsupportedOperationException("Bars must be added to the base series");
+    }
+
+    /**
+     * Not supported: bars must be added to the base series.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice, double volume) {
+        throw new UnsupportedOperationException("Bars must be added to the base series");
+    }
+
+    /**
+     * Returns a new series holding a copy of the (aggregated) bars between <tt>startIndex</tt> (inclusive) and
+     * <tt>endIndex</tt> (exclusive).
+     * @see BaseTimeSeries#getSubSeries(int, int)
+     */
+    @Override
+    public TimeSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException
+                    (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
+        }
+        update();
+        int start = Math.max(startIndex, removedBucketCount);
+        int end = Math.min(endIndex, bucketCount);
+        List<Bar> subBars = new ArrayList<>(Math.max(end - start, 0));
+        for (int i = start; i < end; i++) {
+            subBars.add(getBar(i));
+        }
+        return new BaseTimeSeries(name, subBars, getDecimalFactory());
+    }
+
+    /**
+     * Assigns the new bars of the base series to buckets, and drops the buckets of the removed base bars.
+     */
+    private void update() {
+        final int baseEndIndex = baseSeries.getEndIndex();
+        final int baseRemovedCount = baseSeries.getRemovedBarsCount();
+        for (int i = Math.max(lastBaseIndex + 1, baseRemovedCount); i <= baseEndIndex; i++) {
+            final long key = bucketing.key(baseSeries, i);
+            if (bucketCount == 0 || key != lastKey) {
+                addBucket(i);
+                lastKey = key;
+            }
+            lastBaseIndex = i;
+        }
+        // A bucket is removed when the first bar of the next one has been removed
+        while (removedBucketCount < bucketCount - 1 && bucketStarts[removedBucketCount + 1 - firstBucket] <= baseRemovedCount) {
+            removedBucketCount++;
+        }
+    }
+
+    private void addBucket(int baseIndex) {
+        int position = bucketCount - firstBucket;
+        if (position == bucketStarts.length) {
+            final int kept = bucketCount - removedBucketCount;
+            if (kept <= bucketStarts.length / 2) {
+                // Compacting (dropping the removed buckets)
+                final int removed = removedBucketCount - firstBucket;
+                System.arraycopy(bucketStarts, removed, bucketStarts, 0, kept);
+                System.arraycopy(bars, removed, bars, 0, kept);
+                Arrays.fill(bars, kept, bars.length, null);
+                firstBucket = removedBucketCount;
+            } else {
+                bucketStarts = Arrays.copyOf(bucketStarts, bucketStarts.length * 2);
+                bars = Arrays.copyOf(bars, bars.length * 2);
+            }
+            position = bucketCount - firstBucket;
+        }
+        bucketStarts[position] = baseIndex;
+        bucketCount++;
+    }
+
+    /**
+     * @param i an index
+     * @return the bucket of the index
+     * @throws IndexOutOfBoundsException if the index is negative or after the last bucket
+     * @see BaseTimeSeries#getBar(int)
+     */
+    private int checkIndex(int i) {
+        update();
+        if (i < 0 || i >= bucketCount) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        if (i < removedBucketCount) {
+            log.trace("Time series `{}`: bar {} already removed, use {}-th instead", name, i, removedBucketCount);
+            return removedBucketCount;
+        }
+        return i;
+    }
+
+    /**
+     * @param bucket a (not removed) bucket
+     * @return the index of the first (not removed) base bar of the bucket
+     */
+    private int firstBaseIndex(int bucket) {
+        return Math.max(bucketStarts[bucket - firstBucket], baseSeries.getRemovedBarsCount());
+    }
+
+    /**
+     * @param bucket a (not removed) bucket
+     * @return the index of the last base bar of the bucket
+     */
+    private int lastBaseIndex(int bucket) {
+        return bucket == bucketCount - 1 ? lastBaseIndex : bucketStarts[bucket + 1 - firstBucket] - 1;
+    }
+
+    /**
+     * @param bucket a (not removed) bucket
+     * @return the aggregated bar of the bucket
+     */
+    private Bar aggregate(int bucket) {
+        final int begin = firstBaseIndex(bucket);
+        final int end = lastBaseIndex(bucket);
+        Decimal maxPrice = baseSeries.getMaxPrice(begin);
+        Decimal minPrice = baseSeries.getMinPrice(begin);
+        Decimal volume = baseSeries.getVolume(begin);
+        Decimal amount = baseSeries.getAmount(begin);
+        int trades = baseSeries.getTrades(begin);
+        for (int i = begin + 1; i <= end; i++) {
+            Decimal max = baseSeries.getMaxPrice(i);
+            if (max != null && (maxPrice == null || max.isGreaterThan(maxPrice))) {
+                maxPrice = max;
+            }
+            Decimal min = baseSeries.getMinPrice(i);
+            if (min != null && (minPrice == null || min.isLessThan(minPrice))) {
+                minPrice = min;
+            }
+            volume = volume.plus(baseSeries.getVolume(i));
+            amount = amount.plus(baseSeries.getAmount(i));
+            trades += baseSeries.getTrades(i);
+        }
+        final Bar lastBar = baseSeries.getBar(end);
+        final Duration timePeriod = Duration.between(baseSeries.getBar(begin).getBeginTime(), lastBar.getEndTime());
+        return new BaseBar(timePeriod, lastBar.getEndTime(), baseSeries.getOpenPrice(begin), maxPrice, minPrice,
+                lastBar.getClosePrice(), lastBar.getLtp(), volume, amount, trades);
+    }
+
+    private String buildOutOfBoundsMessage(int index) {
+        return "Size of series: " + bucketCount + " bars, "
+                + removedBucketCount + " bars removed, index = " + index;
+    }
+
+    /**
+     * Read-only list view of the (not removed) bars.
+     */
+    private class BarList extends AbstractList<Bar> implements RandomAccess {
+
+        @Override
+        public Bar get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(index));
+            }
+            return getBar(removedBucketCount + index);
+        }
+
+        @Override
+        public int size() {
+            return getBarCount();
+        }
+    }
+}
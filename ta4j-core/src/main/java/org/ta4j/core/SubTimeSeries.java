@@ -0,0 +1,279 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read-only view of a range of bars of a parent {@link TimeSeries time series} (see
+ * {@link TimeSeries#getSubSeriesView(int, int)}).
+ * <p></p>
+ * The bars are not copied: the index i of the view is the index {@link #getParentIndex(int) offset + i} of the parent
+ * series (i.e. index 0 of the view is the first bar of the range). Several views (e.g. the overlapping windows of a
+ * walk-forward optimization) may share a single parent series.
+ * <p></p>
+ * Indicators built on the view calculate their values from the first bar of the view. Indicators may also read the
+ * (cached) values of an indicator of the parent series with a
+ * {@link org.ta4j.core.indicators.helpers.SubSeriesIndicator sub-series indicator}, so that overlapping views do not
+ * calculate the same values again: the values then depend on the bars of the parent series before the view (e.g.
+ * the first values of a moving average are not calculated over a partial window).
+ * <p></p>
+ * The bars of the range must remain in the parent series: once the parent series removed some of them (maximum bar
+ * count), the view throws an {@link IllegalStateException} instead of returning other bars.
+ * {@link #addBar(Bar)} and {@link #setMaximumBarCount(int)} are not supported.
+ */
+public class SubTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = -2630471254165279353L;
+
+    private final TimeSeries parent;
+
+    /** The index of the parent series of the first bar of the view */
+    private final int offset;
+
+    private final int barCount;
+
+    /**
+     * Constructor.
+     * <p></p>
+     * The range is bounded by the begin and end indexes of the parent series (and by the bars already removed from
+     * the parent series).
+     * @param parent the parent series
+     * @param startIndex the index of the parent series of the first bar of the view (inclusive)
+     * @param endIndex the index of the parent series after the last bar of the view (exclusive)
+     * @throws IllegalArgumentException if <tt>endIndex</tt> < <tt>startIndex</tt>
+     */
+    public SubTimeSeries(TimeSeries parent, int startIndex, int endIndex) {
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException
+                    (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
+        }
+        this.parent = parent;
+        if (parent.isEmpty()) {
+            offset = 0;
+            barCount = 0;
+        } else {
+            offset = Math.max(startIndex, Math.max(parent.getBeginIndex(), parent.getRemovedBarsCount()));
+            barCount = Math.max(Math.min(endIndex, parent.getEndIndex() + 1) - offset, 0);
+        }
+    }
+
+    /**
+     * @return the parent series
+     */
+    public TimeSeries getParent() {
+        return parent;
+    }
+
+    /**
+     * @param index an index of the view
+     * @return the index of the same bar in the parent series
+     */
+    public int getParentIndex(int index) {
+        return offset + index;
+    }
+
+    @Override
+    public String getName() {
+        return parent.getName();
+    }
+
+    @Override
+    public DecimalFactory getDecimalFactory() {
+        return parent.getDecimalFactory();
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        return parent.getBar(checkIndex(i));
+    }
+
+    @Override
+    public Decimal getOpenPrice(int i) {
+        return parent.getOpenPrice(checkIndex(i));
+    }
+
+    @Override
+    public Decimal getMaxPrice(int i) {
+        return parent.getMaxPrice(checkIndex(i));
+    }
+
+    @Override
+    public Decimal getMinPrice(int i) {
+        return parent.getMinPrice(checkIndex(i));
+    }
+
+    @Override
+    public Decimal getClosePrice(int i) {
+        return parent.getClosePrice(checkIndex(i));
+    }
+
+    @Override
+    public Decimal getVolume(int i) {
+        return parent.getVolume(checkIndex(i));
+    }
+
+    @Override
+    public Decimal getAmount(int i) {
+        return parent.getAmount(checkIndex(i));
+    }
+
+    @Override
+    public int getTrades(int i) {
+        return parent.getTrades(checkIndex(i));
+    }
+
+    @Override
+    public int getBarCount() {
+        return barCount;
+    }
+
+    /**
+     * Returns a read-only view of the bars of the series.
+     * @return the bar data
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new BarList();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return barCount == 0 ? -1 : 0;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return barCount - 1;
+    }
+
+    /**
+     * Not supported: a view has a fixed range of bars.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        throw new UnsupportedOperationException("Cannot set a maximum bar count on a sub-series");
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return 0;
+    }
+
+    /**
+     * Not supported: a view has a fixed range of bars.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addBar(Bar bar) {
+        throw new UnsupportedOperationException("Cannot add a bar to a sub-series");
+    }
+
+    /**
+     * Not supported: a view has a fixed range of bars.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice, double volume) {
+        throw new UnsupportedOperationException("Cannot add a bar to a sub-series");
+    }
+
+    /**
+     * Returns a new BaseTimeSeries holding a copy of the bars between <tt>startIndex</tt> (inclusive) and
+     * <tt>endIndex</tt> (exclusive) of this view.
+     * @see BaseTimeSeries#getSubSeries(int, int)
+     */
+    @Override
+    public TimeSeries getSubSeries(int startIndex, int endIndex) {
+        SubTimeSeries view = getSubSeriesView(startIndex, endIndex);
+        List<Bar> bars = new ArrayList<>(view.getBarData());
+        if (bars.isEmpty()) {
+            return new BaseTimeSeries(getName(), getDecimalFactory());
+        }
+        return new BaseTimeSeries(getName(), bars, getDecimalFactory());
+    }
+
+    /**
+     * Returns a view of the bars between <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive), sharing
+     * the parent series of this view.
+     */
+    @Override
+    public SubTimeSeries getSubSeriesView(int startIndex, int endIndex) {
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException
+                    (String.format("the endIndex: %s must be bigger than startIndex: %s", endIndex, startIndex));
+        }
+        int start = Math.max(startIndex, 0);
+        int end = Math.max(Math.min(endIndex, barCount), start);
+        return new SubTimeSeries(parent, offset + start, offset + end);
+    }
+
+    /**
+     * @param i an index of the view
+     * @return the index of the parent series
+     * @throws IndexOutOfBoundsException if the index is out of the view
+     * @throws IllegalStateException if some bars of the view have been removed from the parent series
+     */
+    private int checkIndex(int i) {
+        if (i < 0 || i >= barCount) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        if (parent.getRemovedBarsCount() > offset) {
+            throw new IllegalStateException("Bars of the sub-series (from index " + offset
+                    + " of the parent series) have been removed from the parent series ("
+                    + parent.getRemovedBarsCount() + " removed bars)");
+        }
+        return offset + i;
+    }
+
+    private String buildOutOfBoundsMessage(int index) {
+        return "Size of sub-series: " + barCount + " bars (from index " + offset + " of the parent series), index = " + index;
+    }
+
+    /**
+     * Read-only list view of the bars.
+     */
+    private class BarList extends AbstractList<Bar> implements RandomAccess {
+
+        @Override
+        public Bar get(int index) {
+            return getBar(index);
+        }
+
+        @Override
+        public int size() {
+            return barCount;
+        }
+    }
+}
@@ -23,6 +23,8 @@
 package org.ta4j.core;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
@@ -43,12 +45,92 @@ public interface TimeSeries extends Serializable {
      */
     String getName();
 
+    /**
+     * @return the decimal factory of the series, i.e. the arithmetic backend of its values
+     */
+    default DecimalFactory getDecimalFactory() {
+        return DecimalFactory.BIG_DECIMAL;
+    }
+
+    /**
+     * @param number a number
+     * @return the {@link Decimal} version of the number, according to the decimal factory of the series
+     * @see #getDecimalFactory()
+     */
+    default Decimal decimalOf(Number number) {
+        return getDecimalFactory().decimalOf(number);
+    }
+
     /**
      * @param i an index
      * @return the bar at the i-th position
      */
     Bar getBar(int i);
 
+    /**
+     * Returns the value of a field of a bar without materializing it for the series which store their bars column by
+     * column (e.g. {@link ColumnarTimeSeries}).
+     * @param i an index
+     * @return the open price of the bar at the i-th position
+     */
+    default Decimal getOpenPrice(int i) {
+        return getBar(i).getOpenPrice();
+    }
+
+    /**
+     * @param i an index
+     * @return the max price of the bar at the i-th position
+     * @see #getOpenPrice(int)
+     */
+    default Decimal getMaxPrice(int i) {
+        return getBar(i).getMaxPrice();
+    }
+
+    /**
+     * @param i an index
+     * @return the min price of the bar at the i-th position
+     * @see #getOpenPrice(int)
+     */
+    default Decimal getMinPrice(int i) {
+        return getBar(i).getMinPrice();
+    }
+
+    /**
+     * @param i an index
+     * @return the close price of the bar at the i-th position
+     * @see #getOpenPrice(int)
+     */
+    default Decimal getClosePrice(int i) {
+        return getBar(i).getClosePrice();
+    }
+
+    /**
+     * @param i an index
+     * @return the volume of the bar at the i-th position
+     * @see #getOpenPrice(int)
+     */
+    default Decimal getVolume(int i) {
+        return getBar(i).getVolume();
+    }
+
+    /**
+     * @param i an index
+     * @return the amount of the bar at the i-th position
+     * @see #getOpenPrice(int)
+     */
+    default Decimal getAmount(int i) {
+        return getBar(i).getAmount();
+    }
+
+    /**
+     * @param i an index
+     * @return the number of trades of the bar at the i-th position
+     * @see #getOpenPrice(int)
+     */
+    default int getTrades(int i) {
+        return getBar(i).getTrades();
+    }
+
     /**
      * @return the first bar of the series
      */
@@ -63,6 +145,15 @@ public interface TimeSeries extends Serializable {
         return getBar(getEndIndex());
     }
 
+    /**
+     * @return true if the last bar of the series may still change on its own (e.g. the forming bucket of a
+     *         {@link ResampledTimeSeries resampled series}), in which case the cached indicators do not cache the
+     *         values of the last index, false otherwise
+     */
+    default boolean isLastBarForming() {
+        return false;
+    }
+
     /**
      * @return the number of bars in the series
      */
@@ -81,7 +172,8 @@ public interface TimeSeries extends Serializable {
      * Returns the raw bar data.
      * It means that it returns the current List object used internally to store the {@link Bar bars}.
      * It may be:
-     *   - a shortened bar list if a maximum bar count has been set
+     *   - a shortened bar list if a maximum bar count has been set (in this case the bars are moved to a
+     *     {@link org.ta4j.core.utils.CircularList circular list} when the maximum bar count is set)
      *   - a extended bar list if it is a constrained time series
      * @return the raw bar data
      */
@@ -142,18 +234,53 @@ public interface TimeSeries extends Serializable {
      */
     void addBar(Bar bar);
 
+    /**
+     * Adds a bar at the end of the series.
+     * <p>
+     * The bar values are built according to the decimal factory of the series.
+     * @param timePeriod the time period of the bar
+     * @param endTime the end time of the bar period
+     * @param openPrice the open price of the bar period
+     * @param highPrice the highest price of the bar period
+     * @param lowPrice the lowest price of the bar period
+     * @param closePrice the close price of the bar period
+     * @param volume the volume of the bar period
+     * @see TimeSeries#addBar(Bar)
+     * @see #getDecimalFactory()
+     */
+    default void addBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice, double closePrice, double volume) {
+        addBar(new BaseBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, getDecimalFactory()));
+    }
+
     /**
      * Returns a new TimeSeries implementation that is a subset of this TimeSeries implementation.
      * It holds a copy of all {@link Bar bars} between <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive)
-     * of this TimeSeries.
+     * of this TimeSeries (see {@link #getSubSeriesView(int, int)} for a view without copy).
      * The indices of this TimeSeries and the new subset TimeSeries can be different. I. e. index 0 of the new TimeSeries will
      * be index <tt>startIndex</tt> of this TimeSeries.
      * If <tt>startIndex</tt> < this.seriesBeginIndex the new TimeSeries will start with the first available Bar of this TimeSeries.
      * If <tt>endIndex</tt> > this.seriesEndIndex the new TimeSeries will end at the last available Bar of this TimeSeries
      * @param startIndex the startIndex
      * @param endIndex the endIndex
-     * @return a new BaseTimeSeries with Bars from startIndex to endIndex-1
+     * @return a new TimeSeries with Bars from startIndex to endIndex-1
      * @throws IllegalArgumentException e.g. if endIndex < startIndex
      */
     TimeSeries getSubSeries(int startIndex, int endIndex);
+
+    /**
+     * Returns a read-only view of the {@link Bar bars} between <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt>
+     * (exclusive) of this TimeSeries, sharing the bars of this TimeSeries (no copy).
+     * <p></p>
+     * Index 0 of the view is index <tt>startIndex</tt> of this TimeSeries. The view is bounded by the begin and end
+     * indexes of this TimeSeries. The bars of the view must not be removed from this TimeSeries afterwards (maximum
+     * bar count): the view then throws an {@link IllegalStateException}.
+     * @param startIndex the startIndex
+     * @param endIndex the endIndex
+     * @return a view of the Bars from startIndex to endIndex-1
+     * @throws IllegalArgumentException if endIndex < startIndex
+     * @see SubTimeSeries
+     */
+    default SubTimeSeries getSubSeriesView(int startIndex, int endIndex) {
+        return new SubTimeSeries(this, startIndex, endIndex);
+    }
 }
@@ -25,6 +25,8 @@ package org.ta4j.core;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.ta4j.core.Order.OrderType;
+import org.ta4j.core.instrumentation.Instrumentation;
+import org.ta4j.core.instrumentation.InstrumentationListener;
 
 /**
  * A manager for {@link TimeSeries} objects.
@@ -145,11 +147,16 @@ public class TimeSeriesManager {
 
         log.trace("Running strategy (indexes: {} -> {}): {} (starting with {})", runBeginIndex, runEndIndex, strategy, orderType);
         TradingRecord tradingRecord = new BaseTradingRecord(orderType);
+        final InstrumentationListener listener = Instrumentation.getListener();
         for (int i = runBeginIndex; i <= runEndIndex; i++) {
             // For each bar between both indexes...
+            final long start = listener == null ? 0 : System.nanoTime();
             if (strategy.shouldOperate(i, tradingRecord)) {
                 tradingRecord.operate(i, timeSeries.getBar(i).getClosePrice(), amount);
             }
+            if (listener != null) {
+                listener.onBarProcessed(strategy, i, System.nanoTime() - start);
+            }
         }
 
         if (!tradingRecord.isClosed()) {
@@ -0,0 +1,137 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+
+/**
+ * A walk-forward optimizer.
+ * <p></p>
+ * For each {@link WalkForwardWindow window}, runs a parameterized strategy with each set of parameters of a grid over
+ * the in-sample bars, chooses the best parameters according to an {@link AnalysisCriterion analysis criterion}, then
+ * runs the strategy with the best parameters over the out-of-sample bars.
+ * <p></p>
+ * The strategies are built once per set of parameters on the series of the windows, and run over all the windows
+ * (see {@link BacktestExecutor#runShared(List, List)}): the indicator values are calculated once for all the
+ * overlapping windows, and reused by the out-of-sample runs. The indicators of a window therefore depend on the bars
+ * before it. Each set of parameters is run in its own task on the pool of the {@link BacktestExecutor executor}.
+ * @see <a href="http://en.wikipedia.org/wiki/Walk_forward_optimization">
+ *     http://en.wikipedia.org/wiki/Walk_forward_optimization</a>
+ */
+public class WalkForwardOptimizer {
+
+    /** The executor running the backtests */
+    private final BacktestExecutor executor;
+
+    /** The criterion used to choose the best parameters */
+    private final AnalysisCriterion criterion;
+
+    /**
+     * Constructor (common pool).
+     * @param criterion the criterion used to choose the best parameters (and to evaluate them out-of-sample)
+     */
+    public WalkForwardOptimizer(AnalysisCriterion criterion) {
+        this(new BacktestExecutor(), criterion);
+    }
+
+    /**
+     * Constructor.
+     * @param executor the executor running the backtests
+     * @param criterion the criterion used to choose the best parameters (and to evaluate them out-of-sample)
+     */
+    public WalkForwardOptimizer(BacktestExecutor executor, AnalysisCriterion criterion) {
+        if (executor == null || criterion == null) {
+            throw new IllegalArgumentException("Executor and criterion cannot be null");
+        }
+        this.executor = executor;
+        this.criterion = criterion;
+    }
+
+    /**
+     * Optimizes a parameterized strategy over walk-forward windows.
+     * @param windows the windows (e.g. from {@link WalkForwardWindow#rolling(TimeSeries, int, int)}), of a same series
+     * @param strategyFactory the factory of the strategy, from a series and a set of parameters
+     * @param parameters the sets of parameters (e.g. a grid)
+     * @param <P> the type of the strategy parameters
+     * @return the result of the optimization
+     * @throws IllegalArgumentException if there are no parameters, or if the windows have different series
+     */
+    public <P> WalkForwardResult<P> optimize(List<WalkForwardWindow> windows, BiFunction<TimeSeries, P, Strategy> strategyFactory,
+                                             List<P> parameters) {
+        if (parameters.isEmpty()) {
+            throw new IllegalArgumentException("Parameters cannot be empty");
+        }
+        final int windowCount = windows.size();
+        List<TimeSeries> inSamples = new ArrayList<>(windowCount);
+        for (WalkForwardWindow window : windows) {
+            if (window.getTimeSeries() != windows.get(0).getTimeSeries()) {
+                throw new IllegalArgumentException("Windows must have the same time series");
+            }
+            inSamples.add(window.getInSample());
+        }
+        if (windowCount == 0) {
+            return new WalkForwardResult<>(parameters, windows, new double[parameters.size()][0], new int[0],
+                    new TradingRecord[0], new double[0]);
+        }
+
+        // Building the strategies on the series (indicators shared by all the windows)
+        final TimeSeries series = windows.get(0).getTimeSeries();
+        List<Strategy> strategies = new ArrayList<>(parameters.size());
+        for (P p : parameters) {
+            strategies.add(strategyFactory.apply(series, p));
+        }
+
+        // In-sample: all the parameters
+        TradingRecord[][] inSampleRecords = executor.runShared(strategies, inSamples);
+        double[][] inSampleValues = executor.calculate(criterion, inSamples, inSampleRecords);
+        int[] bestParameters = BacktestExecutor.chooseBest(criterion, inSampleValues);
+
+        // Out-of-sample: the best parameters (one task per strategy, its indicators are not thread-safe)
+        Map<Integer, List<Integer>> windowsByParameters = new LinkedHashMap<>();
+        for (int windowIdx = 0; windowIdx < windowCount; windowIdx++) {
+            windowsByParameters.computeIfAbsent(bestParameters[windowIdx], k -> new ArrayList<>()).add(windowIdx);
+        }
+        final TradingRecord[] outOfSampleRecords = new TradingRecord[windowCount];
+        final double[] outOfSampleValues = new double[windowCount];
+        List<Callable<Void>> tasks = new ArrayList<>(windowsByParameters.size());
+        for (Map.Entry<Integer, List<Integer>> entry : windowsByParameters.entrySet()) {
+            final Strategy strategy = strategies.get(entry.getKey());
+            final List<Integer> windowIndexes = entry.getValue();
+            tasks.add(() -> {
+                for (int windowIdx : windowIndexes) {
+                    SubTimeSeries outOfSample = windows.get(windowIdx).getOutOfSample();
+                    outOfSampleRecords[windowIdx] = executor.runShared(strategy, outOfSample);
+                    outOfSampleValues[windowIdx] = criterion.calculate(outOfSample, outOfSampleRecords[windowIdx]);
+                }
+                return null;
+            });
+        }
+        executor.invokeAll(tasks);
+        return new WalkForwardResult<>(parameters, windows, inSampleValues, bestParameters, outOfSampleRecords, outOfSampleValues);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a walk-forward optimization.
+ * <p></p>
+ * For each {@link WalkForwardWindow window}: the in-sample criterion values of all the parameters, the best
+ * parameters and their out-of-sample trading record and criterion value.
+ * @param <P> the type of the strategy parameters
+ * @see WalkForwardOptimizer
+ */
+public class WalkForwardResult<P> {
+
+    private final List<P> parameters;
+
+    private final List<WalkForwardWindow> windows;
+
+    /** In-sample criterion values, indexed by [parameters][window] */
+    private final double[][] inSampleValues;
+
+    /** Index of the best parameters, by window */
+    private final int[] bestParameters;
+
+    /** Out-of-sample trading records (with the indexes of the out-of-sample views), by window */
+    private final TradingRecord[] outOfSampleRecords;
+
+    /** Out-of-sample criterion values, by window */
+    private final double[] outOfSampleValues;
+
+    /**
+     * Constructor.
+     * @param parameters the optimized parameters
+     * @param windows the windows
+     * @param inSampleValues the in-sample criterion values, indexed by [parameters][window]
+     * @param bestParameters the index of the best parameters, by window
+     * @param outOfSampleRecords the out-of-sample trading records (with the indexes of the out-of-sample views), by window
+     * @param outOfSampleValues the out-of-sample criterion values, by window
+     */
+    WalkForwardResult(List<P> parameters, List<WalkForwardWindow> windows, double[][] inSampleValues,
+                      int[] bestParameters, TradingRecord[] outOfSampleRecords, double[] outOfSampleValues) {
+        this.parameters = Collections.unmodifiableList(parameters);
+        this.windows = Collections.unmodifiableList(windows);
+        this.inSampleValues = inSampleValues;
+        this.bestParameters = bestParameters;
+        this.outOfSampleRecords = outOfSampleRecords;
+        this.outOfSampleValues = outOfSampleValues;
+    }
+
+    /**
+     * @return the optimized parameters
+     */
+    public List<P> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return the windows
+     */
+    public List<WalkForwardWindow> getWindows() {
+        return windows;
+    }
+
+    /**
+     * @param parametersIndex the index of parameters
+     * @param windowIndex the index of a window
+     * @return the in-sample criterion value of the parameters for the window
+     */
+    public double getInSampleValue(int parametersIndex, int windowIndex) {
+        return inSampleValues[parametersIndex][windowIndex];
+    }
+
+    /**
+     * @param windowIndex the index of a window
+     * @return the index of the best in-sample parameters for the window
+     */
+    public int getBestParametersIndex(int windowIndex) {
+        return bestParameters[windowIndex];
+    }
+
+    /**
+     * @param windowIndex the index of a window
+     * @return the best in-sample parameters for the window
+     */
+    public P getBestParameters(int windowIndex) {
+        return parameters.get(bestParameters[windowIndex]);
+    }
+
+    /**
+     * @param windowIndex the index of a window
+     * @return the in-sample criterion value of the best parameters for the window
+     */
+    public double getBestInSampleValue(int windowIndex) {
+        return inSampleValues[bestParameters[windowIndex]][windowIndex];
+    }
+
+    /**
+     * @param windowIndex the index of a window
+     * @return the trading record of the best parameters over the out-of-sample bars of the window (with the indexes
+     *         of the {@link WalkForwardWindow#getOutOfSample() out-of-sample view})
+     */
+    public TradingRecord getOutOfSampleRecord(int windowIndex) {
+        return outOfSampleRecords[windowIndex];
+    }
+
+    /**
+     * @param windowIndex the index of a window
+     * @return the criterion value of the best parameters over the out-of-sample bars of the window
+     */
+    public double getOutOfSampleValue(int windowIndex) {
+        return outOfSampleValues[windowIndex];
+    }
+
+    /**
+     * Returns the trades of all the out-of-sample records, with the indexes of the series (i.e. the out-of-sample
+     * performance of the walk-forward optimization). The trades still opened at the end of their window are dropped.
+     * @return the out-of-sample trading record over the series
+     */
+    public TradingRecord getOutOfSampleRecord() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < windows.size(); i++) {
+            SubTimeSeries outOfSample = windows.get(i).getOutOfSample();
+            for (Trade trade : outOfSampleRecords[i].getTrades()) {
+                orders.add(toSeriesOrder(trade.getEntry(), outOfSample));
+                orders.add(toSeriesOrder(trade.getExit(), outOfSample));
+            }
+        }
+        return orders.isEmpty() ? new BaseTradingRecord() : new BaseTradingRecord(orders.toArray(new Order[orders.size()]));
+    }
+
+    /**
+     * @param order an order (with the index of the view)
+     * @param view a view of the series
+     * @return the order with the index of the series
+     */
+    private static Order toSeriesOrder(Order order, SubTimeSeries view) {
+        final int index = view.getParentIndex(order.getIndex());
+        return order.isBuy() ? Order.buyAt(index, order.getPrice(), order.getAmount())
+                : Order.sellAt(index, order.getPrice(), order.getAmount());
+    }
+}
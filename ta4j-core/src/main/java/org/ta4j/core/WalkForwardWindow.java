@@ -0,0 +1,129 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A window of a walk-forward optimization.
+ * <p></p>
+ * The parameters of a strategy are optimized over the in-sample bars of the window, then evaluated over the
+ * out-of-sample bars following them. Both parts are {@link SubTimeSeries views} of the series (no copy).
+ * @see WalkForwardOptimizer
+ */
+public class WalkForwardWindow {
+
+    private final TimeSeries series;
+
+    private final SubTimeSeries inSample;
+
+    private final SubTimeSeries outOfSample;
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param inSampleBeginIndex the index of the first in-sample bar
+     * @param outOfSampleBeginIndex the index of the first out-of-sample bar (i.e. after the last in-sample bar)
+     * @param outOfSampleEndIndex the index after the last out-of-sample bar
+     * @throws IllegalArgumentException if the indexes are not in ascending order
+     */
+    public WalkForwardWindow(TimeSeries series, int inSampleBeginIndex, int outOfSampleBeginIndex, int outOfSampleEndIndex) {
+        if (inSampleBeginIndex > outOfSampleBeginIndex || outOfSampleBeginIndex > outOfSampleEndIndex) {
+            throw new IllegalArgumentException("Indexes must be in ascending order");
+        }
+        this.series = series;
+        this.inSample = new SubTimeSeries(series, inSampleBeginIndex, outOfSampleBeginIndex);
+        this.outOfSample = new SubTimeSeries(series, outOfSampleBeginIndex, outOfSampleEndIndex);
+    }
+
+    /**
+     * Builds anchored windows: the in-sample bars of each window begin with the first bar of the series, and end
+     * with the last out-of-sample bar of the previous window.
+     * @param series the time series
+     * @param inSampleBarCount the number of in-sample bars of the first window
+     * @param outOfSampleBarCount the number of out-of-sample bars of each window (the last window may be shorter)
+     * @return the windows, until the end of the series
+     */
+    public static List<WalkForwardWindow> anchored(TimeSeries series, int inSampleBarCount, int outOfSampleBarCount) {
+        return buildWindows(series, inSampleBarCount, outOfSampleBarCount, true);
+    }
+
+    /**
+     * Builds rolling windows: the in-sample bars of each window are the <tt>inSampleBarCount</tt> bars before its
+     * out-of-sample bars (i.e. the windows overlap when there are more in-sample than out-of-sample bars).
+     * @param series the time series
+     * @param inSampleBarCount the number of in-sample bars of each window
+     * @param outOfSampleBarCount the number of out-of-sample bars of each window (the last window may be shorter)
+     * @return the windows, until the end of the series
+     */
+    public static List<WalkForwardWindow> rolling(TimeSeries series, int inSampleBarCount, int outOfSampleBarCount) {
+        return buildWindows(series, inSampleBarCount, outOfSampleBarCount, false);
+    }
+
+    private static List<WalkForwardWindow> buildWindows(TimeSeries series, int inSampleBarCount, int outOfSampleBarCount, boolean anchored) {
+        if (inSampleBarCount <= 0 || outOfSampleBarCount <= 0) {
+            throw new IllegalArgumentException("Bar counts must be strictly positive");
+        }
+        List<WalkForwardWindow> windows = new ArrayList<>();
+        if (series.isEmpty()) {
+            return windows;
+        }
+        final int beginIndex = series.getBeginIndex();
+        final int endIndex = series.getEndIndex() + 1;
+        for (int outOfSampleBegin = beginIndex + inSampleBarCount; outOfSampleBegin < endIndex; outOfSampleBegin += outOfSampleBarCount) {
+            int inSampleBegin = anchored ? beginIndex : outOfSampleBegin - inSampleBarCount;
+            int outOfSampleEnd = Math.min(outOfSampleBegin + outOfSampleBarCount, endIndex);
+            windows.add(new WalkForwardWindow(series, inSampleBegin, outOfSampleBegin, outOfSampleEnd));
+        }
+        return windows;
+    }
+
+    /**
+     * @return the time series of the window (i.e. the parent series of the in-sample and out-of-sample views)
+     */
+    public TimeSeries getTimeSeries() {
+        return series;
+    }
+
+    /**
+     * @return the in-sample bars
+     */
+    public SubTimeSeries getInSample() {
+        return inSample;
+    }
+
+    /**
+     * @return the out-of-sample bars
+     */
+    public SubTimeSeries getOutOfSample() {
+        return outOfSample;
+    }
+
+    @Override
+    public String toString() {
+        return "in-sample: [" + inSample.getParentIndex(0) + ", " + inSample.getParentIndex(inSample.getBarCount())
+                + "[, out-of-sample: [" + outOfSample.getParentIndex(0) + ", "
+                + outOfSample.getParentIndex(outOfSample.getBarCount()) + "[";
+    }
+}
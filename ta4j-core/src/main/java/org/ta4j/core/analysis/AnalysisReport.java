@@ -0,0 +1,316 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Order;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Analysis report of a trading record over a time series.
+ * <p></p>
+ * Calculates, in a single pass over the trades and the bars (with primitive arrays), the values of the
+ * {@link org.ta4j.core.AnalysisCriterion analysis criteria} (total profit, maximum drawdown, etc.) and some ratios of
+ * the equity curve (Sharpe, Sortino, Calmar, exposure). The criteria read their value from a report with
+ * {@link org.ta4j.core.AnalysisCriterion#calculate(AnalysisReport)}: build one report per trading record to evaluate
+ * it with several criteria.
+ * <p></p>
+ * The equity curve is the {@link CashFlow cash flow} of the trading record. Values are calculated with double
+ * arithmetic: they may differ from the ones calculated by the criteria over the series by rounding errors.
+ */
+public class AnalysisReport {
+
+    /** Seconds in a year (365.25 days) */
+    private static final double SECONDS_PER_YEAR = 365.25 * 24 * 3600;
+
+    private final TimeSeries series;
+
+    private final TradingRecord tradingRecord;
+
+    /** Equity curve (cash flow), by index */
+    private final double[] equity;
+
+    private final int numberOfTrades;
+    private final int numberOfBars;
+    private final int numberOfProfitableTrades;
+    private final double totalProfit;
+    private final double buyAndHold;
+    private final double maximumDrawdown;
+    private final double sharpeRatio;
+    private final double sortinoRatio;
+    private final double annualizedReturn;
+
+    /** Buy and hold report (lazily built) */
+    private AnalysisReport buyAndHoldReport;
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param tradingRecord the trading record
+     */
+    public AnalysisReport(TimeSeries series, TradingRecord tradingRecord) {
+        this.series = series;
+        this.tradingRecord = tradingRecord;
+        final int beginIndex = series.getBeginIndex();
+        final int endIndex = series.getEndIndex();
+        final double[] closePrices = series.isEmpty() ? new double[0]
+                : new ClosePriceIndicator(series).getDoubleValues(0, endIndex);
+
+        // Trades: profits and equity curve (see CashFlow)
+        equity = new double[Math.max(endIndex + 1, 1)];
+        equity[0] = 1;
+        int equitySize = 1;
+        double profit = 1;
+        int bars = 0;
+        int profitableTrades = 0;
+        final List<Trade> trades = tradingRecord.getTrades();
+        for (Trade trade : trades) {
+            final int entryIndex = trade.getEntry().getIndex();
+            final int exitIndex = trade.getExit().getIndex();
+            final boolean buy = trade.getEntry().isBuy();
+            final double entryClosePrice = closePrices[entryIndex];
+            final double exitClosePrice = closePrices[exitIndex];
+
+            // Total profit: prices of the orders if any
+            final double entryPrice = orderPrice(trade.getEntry(), entryClosePrice);
+            final double exitPrice = orderPrice(trade.getExit(), exitClosePrice);
+            profit *= buy ? exitPrice / entryPrice : entryPrice / exitPrice;
+
+            bars += exitIndex + 1 - entryIndex;
+            if ((buy ? exitClosePrice / entryClosePrice : entryClosePrice / exitClosePrice) > 1) {
+                profitableTrades++;
+            }
+
+            final int begin = entryIndex + 1;
+            for (; equitySize < begin && equitySize < equity.length; equitySize++) {
+                equity[equitySize] = equity[equitySize - 1];
+            }
+            for (int i = Math.max(begin, 1); i <= exitIndex; i++) {
+                final double ratio = buy ? closePrices[i] / entryClosePrice : entryClosePrice / closePrices[i];
+                equity[equitySize++] = equity[entryIndex] * ratio;
+            }
+        }
+        for (; equitySize < equity.length; equitySize++) {
+            equity[equitySize] = equity[equitySize - 1];
+        }
+        numberOfTrades = trades.size();
+        numberOfBars = bars;
+        numberOfProfitableTrades = profitableTrades;
+        totalProfit = profit;
+
+        // Bars: drawdown and returns of the equity curve
+        double drawdown = 0;
+        double maxPeak = 0;
+        double sumReturns = 0;
+        double sumSquaredReturns = 0;
+        double sumSquaredDownsides = 0;
+        int returnCount = 0;
+        for (int i = Math.max(beginIndex, 0); i <= endIndex; i++) {
+            final double value = equity[i];
+            if (value > maxPeak) {
+                maxPeak = value;
+            }
+            final double currentDrawdown = (maxPeak - value) / maxPeak;
+            if (currentDrawdown > drawdown) {
+                drawdown = currentDrawdown;
+            }
+            if (i > beginIndex) {
+                final double periodReturn = value / equity[i - 1] - 1;
+                sumReturns += periodReturn;
+                sumSquaredReturns += periodReturn * periodReturn;
+                if (periodReturn < 0) {
+                    sumSquaredDownsides += periodReturn * periodReturn;
+                }
+                returnCount++;
+            }
+        }
+        maximumDrawdown = drawdown;
+        final double meanReturn = sumReturns / returnCount;
+        final double variance = sumSquaredReturns / returnCount - meanReturn * meanReturn;
+        sharpeRatio = meanReturn / Math.sqrt(Math.max(variance, 0));
+        sortinoRatio = meanReturn / Math.sqrt(sumSquaredDownsides / returnCount);
+
+        if (series.isEmpty()) {
+            buyAndHold = Double.NaN;
+            annualizedReturn = Double.NaN;
+        } else {
+            buyAndHold = closePrices[endIndex] / closePrices[beginIndex];
+            final double years = Duration.between(series.getFirstBar().getBeginTime(), series.getLastBar().getEndTime())
+                    .getSeconds() / SECONDS_PER_YEAR;
+            annualizedReturn = Math.pow(equity[endIndex] / equity[beginIndex], 1 / years) - 1;
+        }
+    }
+
+    private static double orderPrice(Order order, double closePrice) {
+        final Decimal price = order.getPrice();
+        return price.isNaN() ? closePrice : price.doubleValue();
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getTimeSeries() {
+        return series;
+    }
+
+    /**
+     * @return the trading record
+     */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /**
+     * @param index a bar index
+     * @return the value of the equity curve (cash flow, starting at 1) at the index
+     */
+    public double getEquity(int index) {
+        return equity[index];
+    }
+
+    /**
+     * @return the number of (closed) trades
+     * @see org.ta4j.core.analysis.criteria.NumberOfTradesCriterion
+     */
+    public int getNumberOfTrades() {
+        return numberOfTrades;
+    }
+
+    /**
+     * @return the number of bars of the trades (entry and exit bars included)
+     * @see org.ta4j.core.analysis.criteria.NumberOfBarsCriterion
+     */
+    public int getNumberOfBars() {
+        return numberOfBars;
+    }
+
+    /**
+     * @return the total profit (e.g. 1.1 for +10%)
+     * @see org.ta4j.core.analysis.criteria.TotalProfitCriterion
+     */
+    public double getTotalProfit() {
+        return totalProfit;
+    }
+
+    /**
+     * @return the total profit per bar of the trades
+     * @see org.ta4j.core.analysis.criteria.AverageProfitCriterion
+     */
+    public double getAverageProfit() {
+        return numberOfBars == 0 ? 1 : Math.pow(totalProfit, 1d / numberOfBars);
+    }
+
+    /**
+     * @return the ratio of the profitable trades
+     * @see org.ta4j.core.analysis.criteria.AverageProfitableTradesCriterion
+     */
+    public double getAverageProfitableTrades() {
+        return ((double) numberOfProfitableTrades) / numberOfTrades;
+    }
+
+    /**
+     * @return the profit of buying at the first bar and selling at the last one
+     * @see org.ta4j.core.analysis.criteria.BuyAndHoldCriterion
+     */
+    public double getBuyAndHold() {
+        return buyAndHold;
+    }
+
+    /**
+     * @return the maximum drawdown of the equity curve
+     * @see org.ta4j.core.analysis.criteria.MaximumDrawdownCriterion
+     */
+    public double getMaximumDrawdown() {
+        return maximumDrawdown;
+    }
+
+    /**
+     * @return the total profit over the maximum drawdown
+     * @see org.ta4j.core.analysis.criteria.RewardRiskRatioCriterion
+     */
+    public double getRewardRiskRatio() {
+        return totalProfit / maximumDrawdown;
+    }
+
+    /**
+     * @return the report of buying at the first bar and selling at the last one
+     * @see org.ta4j.core.analysis.criteria.VersusBuyAndHoldCriterion
+     */
+    public AnalysisReport getBuyAndHoldReport() {
+        if (buyAndHoldReport == null) {
+            TradingRecord fakeRecord = new BaseTradingRecord();
+            fakeRecord.enter(series.getBeginIndex());
+            fakeRecord.exit(series.getEndIndex());
+            buyAndHoldReport = new AnalysisReport(series, fakeRecord);
+        }
+        return buyAndHoldReport;
+    }
+
+    /**
+     * Returns the Sharpe ratio of the equity curve, per bar and with a risk-free rate of zero: the mean of the returns
+     * of the bars over their standard deviation. To annualize it, multiply it by the square root of the number of bars
+     * per year.
+     * @return the Sharpe ratio (per bar)
+     */
+    public double getSharpeRatio() {
+        return sharpeRatio;
+    }
+
+    /**
+     * Returns the Sortino ratio of the equity curve, per bar and with a target return of zero: the mean of the returns
+     * of the bars over their downside deviation.
+     * @return the Sortino ratio (per bar)
+     */
+    public double getSortinoRatio() {
+        return sortinoRatio;
+    }
+
+    /**
+     * @return the compound annual growth rate of the equity curve (e.g. 0.1 for +10% per year), over the period of the
+     *         series
+     */
+    public double getAnnualizedReturn() {
+        return annualizedReturn;
+    }
+
+    /**
+     * @return the Calmar ratio: the annualized return over the maximum drawdown
+     */
+    public double getCalmarRatio() {
+        return annualizedReturn / maximumDrawdown;
+    }
+
+    /**
+     * @return the ratio of the bars of the series spent in a trade (entry and exit bars included)
+     */
+    public double getExposure() {
+        return series.isEmpty() ? 0 : Math.min(1, ((double) numberOfBars) / series.getBarCount());
+    }
+}
@@ -43,7 +43,7 @@ public class CashFlow implements Indicator<Decimal> {
     private final TimeSeries timeSeries;
 
     /** The cash flow values */
-    private List<Decimal> values = new ArrayList<>(Collections.singletonList(Decimal.ONE));
+    private final List<Decimal> values;
 
     /**
      * Constructor.
@@ -52,6 +52,7 @@ public class CashFlow implements Indicator<Decimal> {
      */
     public CashFlow(TimeSeries timeSeries, Trade trade) {
         this.timeSeries = timeSeries;
+        values = new ArrayList<>(Collections.singletonList(timeSeries.decimalOf(1)));
         calculate(trade);
         fillToTheEnd();
     }
@@ -63,6 +64,7 @@ public class CashFlow implements Indicator<Decimal> {
      */
     public CashFlow(TimeSeries timeSeries, TradingRecord tradingRecord) {
         this.timeSeries = timeSeries;
+        values = new ArrayList<>(Collections.singletonList(timeSeries.decimalOf(1)));
         calculate(tradingRecord);
         fillToTheEnd();
     }
@@ -23,6 +23,9 @@
 package org.ta4j.core.analysis.criteria;
 
 import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
 
 /**
  * An abstract analysis criterion.
@@ -39,4 +42,12 @@ public abstract class AbstractAnalysisCriterion implements AnalysisCriterion {
         }
         return sb.toString().trim();
     }
+
+    /**
+     * @param trade a trade
+     * @return a trading record with the trade if it is closed, an empty trading record otherwise
+     */
+    protected static TradingRecord toTradingRecord(Trade trade) {
+        return trade.isClosed() ? new BaseTradingRecord(trade.getEntry(), trade.getExit()) : new BaseTradingRecord();
+    }
 }
@@ -26,6 +26,7 @@ import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisReport;
 
 /**
  * Average profit criterion.
@@ -56,6 +57,11 @@ public class AverageProfitCriterion extends AbstractAnalysisCriterion {
         return Math.pow(totalProfit.calculate(series, trade), 1d / bars);
     }
 
+    @Override
+    public double calculate(AnalysisReport report) {
+        return report.getAverageProfit();
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 > criterionValue2;
@@ -26,6 +26,7 @@ import org.ta4j.core.Decimal;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisReport;
 
 /**
  * Average profitable trades criterion.
@@ -73,6 +74,11 @@ public class AverageProfitableTradesCriterion extends AbstractAnalysisCriterion
         return ((double) numberOfProfitable) / tradingRecord.getTradeCount();
     }
 
+    @Override
+    public double calculate(AnalysisReport report) {
+        return report.getAverageProfitableTrades();
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 > criterionValue2;
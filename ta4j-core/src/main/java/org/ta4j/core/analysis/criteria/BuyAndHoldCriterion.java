@@ -25,6 +25,7 @@ package org.ta4j.core.analysis.criteria;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisReport;
 
 /**
  * Buy and hold criterion.
@@ -50,6 +51,11 @@ public class BuyAndHoldCriterion extends AbstractAnalysisCriterion {
         }
     }
 
+    @Override
+    public double calculate(AnalysisReport report) {
+        return report.getBuyAndHold();
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 > criterionValue2;
@@ -26,6 +26,7 @@ import org.ta4j.core.Decimal;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisReport;
 import org.ta4j.core.analysis.CashFlow;
 
 /**
@@ -52,6 +53,11 @@ public class MaximumDrawdownCriterion extends AbstractAnalysisCriterion {
         return 0;
     }
 
+    @Override
+    public double calculate(AnalysisReport report) {
+        return report.getMaximumDrawdown();
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 < criterionValue2;
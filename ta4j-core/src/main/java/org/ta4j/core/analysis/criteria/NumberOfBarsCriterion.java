@@ -25,6 +25,7 @@ package org.ta4j.core.analysis.criteria;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisReport;
 
 /**
  * Number of bars criterion.
@@ -47,6 +48,11 @@ public class NumberOfBarsCriterion extends AbstractAnalysisCriterion {
         return (1 + trade.getExit().getIndex()) - trade.getEntry().getIndex();
     }
 
+    @Override
+    public double calculate(AnalysisReport report) {
+        return report.getNumberOfBars();
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 < criterionValue2;
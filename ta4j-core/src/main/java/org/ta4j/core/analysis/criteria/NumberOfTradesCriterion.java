@@ -25,6 +25,7 @@ package org.ta4j.core.analysis.criteria;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisReport;
 
 /**
  * Number of trades criterion.
@@ -41,6 +42,11 @@ public class NumberOfTradesCriterion extends AbstractAnalysisCriterion {
         return 1d;
     }
 
+    @Override
+    public double calculate(AnalysisReport report) {
+        return report.getNumberOfTrades();
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 < criterionValue2;
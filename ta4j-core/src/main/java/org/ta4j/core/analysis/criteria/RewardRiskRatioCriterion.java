@@ -26,6 +26,7 @@ import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisReport;
 
 /**
  * Reward risk ratio criterion.
@@ -43,6 +44,11 @@ public class RewardRiskRatioCriterion extends AbstractAnalysisCriterion {
         return totalProfit.calculate(series, tradingRecord) / maxDrawdown.calculate(series, tradingRecord);
     }
 
+    @Override
+    public double calculate(AnalysisReport report) {
+        return report.getRewardRiskRatio();
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 > criterionValue2;
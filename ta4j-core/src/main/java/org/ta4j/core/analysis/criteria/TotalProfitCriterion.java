@@ -26,6 +26,7 @@ import org.ta4j.core.Decimal;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisReport;
 
 /**
  * Total profit criterion.
@@ -48,6 +49,11 @@ public class TotalProfitCriterion extends AbstractAnalysisCriterion {
         return calculateProfit(series, trade);
     }
 
+    @Override
+    public double calculate(AnalysisReport report) {
+        return report.getTotalProfit();
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 > criterionValue2;
@@ -23,6 +23,7 @@
 package org.ta4j.core.analysis.criteria;
 
 import org.ta4j.core.*;
+import org.ta4j.core.analysis.AnalysisReport;
 
 /**
  * Versus "buy and hold" criterion.
@@ -59,6 +60,11 @@ public class VersusBuyAndHoldCriterion extends AbstractAnalysisCriterion {
         return criterion.calculate(series, trade) / criterion.calculate(series, fakeRecord);
     }
 
+    @Override
+    public double calculate(AnalysisReport report) {
+        return criterion.calculate(report) / criterion.calculate(report.getBuyAndHoldReport());
+    }
+
     @Override
     public boolean betterThan(double criterionValue1, double criterionValue2) {
         return criterionValue1 > criterionValue2;
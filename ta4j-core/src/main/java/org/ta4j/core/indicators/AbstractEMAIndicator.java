@@ -44,6 +44,13 @@ public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Deci
         this.multiplier = multiplier;
     }
 
+    /**
+     * @return the time frame of the moving average
+     */
+    public int getTimeFrame() {
+        return timeFrame;
+    }
+
     @Override
     protected Decimal calculate(int index) {
         if (index == 0) {
@@ -53,6 +60,26 @@ public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Deci
         return indicator.getValue(index).minus(prevValue).multipliedBy(multiplier).plus(prevValue);
     }
 
+    /**
+     * Calculates the values of the range with double arithmetic, starting from the (cached) value preceding the range.
+     * The values of the range are not cached.
+     */
+    @Override
+    public void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+        if (endIndex < beginIndex) {
+            return;
+        }
+        final double[] inputs = indicator.getDoubleValues(beginIndex, endIndex);
+        final double m = multiplier.doubleValue();
+        double prevValue = beginIndex == 0 ? inputs[0] : getValue(beginIndex - 1).doubleValue();
+        for (int index = beginIndex; index <= endIndex; index++) {
+            double input = inputs[index - beginIndex];
+            double value = index == 0 ? input : (input - prevValue) * m + prevValue;
+            values[offset + index - beginIndex] = value;
+            prevValue = value;
+        }
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " timeFrame: " + timeFrame;
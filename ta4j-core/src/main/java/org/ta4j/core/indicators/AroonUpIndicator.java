@@ -82,7 +82,7 @@ public class AroonUpIndicator extends CachedIndicator<Decimal> {
             nbBars++;
         }
 
-        return Decimal.valueOf(timeFrame - nbBars).dividedBy(Decimal.valueOf(timeFrame)).multipliedBy(Decimal.HUNDRED);
+        return decimalOf(timeFrame - nbBars).dividedBy(decimalOf(timeFrame)).multipliedBy(Decimal.HUNDRED);
     }
 
     @Override
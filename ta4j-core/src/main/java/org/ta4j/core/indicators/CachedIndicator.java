@@ -24,23 +24,40 @@ package org.ta4j.core.indicators;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TimeSeries;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import org.ta4j.core.instrumentation.Instrumentation;
+import org.ta4j.core.instrumentation.InstrumentationListener;
+import org.ta4j.core.utils.ConcurrentIndexedBuffer;
+import org.ta4j.core.utils.IndexedRingBuffer;
 
 /**
  * Cached {@link Indicator indicator}.
  * <p></p>
  * Caches the constructor of the indicator. Avoid to calculate the same index of the indicator twice.
+ * <p>
+ * Results are kept in a circular buffer keyed by bar index. Its size is bounded by the maximum bar count of the series,
+ * so that storing a new result (and evicting the oldest one) is done in constant time. The result of the last index
+ * is not kept when the last bar of the series is still forming (see {@link TimeSeries#isLastBarForming()}).
+ * <p></p>
+ * In concurrent mode (see {@link #setConcurrent(boolean)}), the indicator may be shared between threads: computed
+ * results are read without locking, missing results are calculated under the lock of the indicator (calculations
+ * may rely on the state of the indicator) and published atomically.
  */
 public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
-    /** List of cached results */
-    private final List<T> results = new ArrayList<T>();
+    /**
+     * Cumulative calculation time of the sub-indicators of the current instrumented calculation (per thread), so
+     * that it can be subtracted from the calculation time of the indicator
+     */
+    private static final ThreadLocal<long[]> CHILD_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /** Cached results */
+    private final IndexedRingBuffer<T> results = new IndexedRingBuffer<>();
+
+    /** Cached results in concurrent mode, null otherwise */
+    private volatile ConcurrentIndexedBuffer<T> concurrentResults;
 
     /**
-     * Should always be the index of the last result in the results list.
+     * Should always be the index of the last result in the results buffer.
      * I.E. the last calculated result.
      */
     protected int highestResultIndex = -1;
@@ -73,85 +90,195 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
         // Series is not null
 
+        final ConcurrentIndexedBuffer<T> concurrentResults = this.concurrentResults;
+        if (concurrentResults != null) {
+            return getConcurrentValue(concurrentResults, series, index);
+        }
+
         final int removedBarsCount = series.getRemovedBarsCount();
-        final int maximumResultCount = series.getMaximumBarCount();
+        results.setMaximumSize(series.getMaximumBarCount());
 
         T result;
         if (index < removedBarsCount) {
             // Result already removed from cache
             log.trace("{}: result from bar {} already removed from cache, use {}-th instead",
                     getClass().getSimpleName(), index, removedBarsCount);
-            increaseLengthTo(removedBarsCount, maximumResultCount);
-            highestResultIndex = removedBarsCount;
-            result = results.get(0);
+            result = results.get(removedBarsCount);
             if (result == null) {
                 // It should be "result = calculate(removedBarsCount);".
                 // We use "result = calculate(0);" as a workaround
                 // to fix issue #120 (https://github.com/mdeverdelhan/ta4j/issues/120).
                 result = calculate(0);
-                results.set(0, result);
+                results.put(removedBarsCount, result);
             }
         } else {
-            increaseLengthTo(index, maximumResultCount);
-            if (index > highestResultIndex) {
-                // Result not calculated yet
-                highestResultIndex = index;
-                result = calculate(index);
-                results.set(results.size()-1, result);
-            } else {
-                // Result covered by current cache
-                int resultInnerIndex = results.size() - 1 - (highestResultIndex - index);
-                result = results.get(resultInnerIndex);
-                if (result == null) {
+            result = results.get(index);
+            final InstrumentationListener listener = Instrumentation.getListener();
+            if (result == null) {
+                // Result not calculated yet (or evicted)
+                if (listener == null) {
                     result = calculate(index);
-                    results.set(resultInnerIndex, result);
+                    if (isCacheable(series, index)) {
+                        results.put(index, result);
+                    }
+                } else {
+                    result = calculateInstrumented(listener, series, index);
                 }
+            } else if (listener != null) {
+                listener.onCacheHit(this, index);
             }
         }
+        highestResultIndex = results.getEndIndex();
         return result;
     }
 
     /**
+     * Calculates and caches the value of an index, notifying the instrumentation listener.
+     * @param listener the instrumentation listener
+     * @param series the related time series
      * @param index the bar index
      * @return the value of the indicator
      */
-    protected abstract T calculate(int index);
+    private T calculateInstrumented(InstrumentationListener listener, TimeSeries series, int index) {
+        final int beginIndex = results.getBeginIndex();
+        final boolean empty = results.size() == 0;
+        final T result = calculateTimed(listener, index, index);
+        if (!isCacheable(series, index)) {
+            return result;
+        }
+        results.put(index, result);
+        if (!empty && results.getBeginIndex() > beginIndex) {
+            listener.onCacheEviction(this, results.getBeginIndex() - beginIndex);
+        }
+        return result;
+    }
 
     /**
-     * Increases the size of cached results buffer.
-     * @param index the index to increase length to
-     * @param maxLength the maximum length of the results buffer
+     * Calculates a value, notifying the instrumentation listener of the cache miss.
+     * <p></p>
+     * The calculation time of the uncached values of the sub-indicators (on the same thread) is measured as well,
+     * so that the self time (excluding it) and the total time (including it) of the calculation are both reported.
+     * @param listener the instrumentation listener
+     * @param index the bar index to calculate
+     * @param resultIndex the bar index of the result (reported to the listener)
+     * @return the value of the indicator
      */
-    private void increaseLengthTo(int index, int maxLength) {
-        if (highestResultIndex > -1) {
-            int newResultsCount = Math.min(index-highestResultIndex, maxLength);
-            if (newResultsCount == maxLength) {
-                results.clear();
-                results.addAll(Collections.nCopies(maxLength, null));
-            } else if (newResultsCount > 0) {
-                results.addAll(Collections.nCopies(newResultsCount, null));
-                removeExceedingResults(maxLength);
-            }
+    private T calculateTimed(InstrumentationListener listener, int index, int resultIndex) {
+        final long[] childNanos = CHILD_NANOS.get();
+        final long outerChildNanos = childNanos[0];
+        childNanos[0] = 0;
+        final long start = System.nanoTime();
+        final long totalNanos;
+        final long selfNanos;
+        final T result;
+        try {
+            result = calculate(index);
+        } finally {
+            totalNanos = System.nanoTime() - start;
+            selfNanos = totalNanos - childNanos[0];
+            // Back to the enclosing calculation, this one being one of its sub-indicators
+            childNanos[0] = outerChildNanos + totalNanos;
+        }
+        listener.onCacheMiss(this, resultIndex, selfNanos, totalNanos);
+        return result;
+    }
+
+    /**
+     * Removes the cached value of an index, so that it is calculated again on the next call of {@link #getValue(int)}.
+     * <p></p>
+     * E.g. when the last bar of the series has been updated (new trade, last traded price, etc.).
+     * @param index the bar index
+     */
+    public void invalidate(int index) {
+        final ConcurrentIndexedBuffer<T> concurrentResults = this.concurrentResults;
+        if (concurrentResults != null) {
+            concurrentResults.remove(index);
         } else {
-            // First use of cache
-            assert results.isEmpty() : "Cache results list should be empty";
-            results.addAll(Collections.nCopies(Math.min(index+1, maxLength), null));
+            results.remove(index);
+        }
+    }
+
+    /**
+     * Enables or disables the concurrent mode of the cache (the cached results are dropped on change).
+     * <p></p>
+     * Only the cache of this indicator is concerned; see {@link IndicatorGraph#setConcurrent(boolean)} to set
+     * the mode of the whole indicator graph.
+     * @param concurrent true to allow concurrent calls of {@link #getValue(int)}, false otherwise
+     */
+    public synchronized void setConcurrent(boolean concurrent) {
+        if (concurrent == isConcurrent()) {
+            return;
         }
+        results.clear();
+        concurrentResults = concurrent ? new ConcurrentIndexedBuffer<>() : null;
+        highestResultIndex = -1;
+    }
+
+    /**
+     * @return true if the cache is in concurrent mode, false otherwise
+     */
+    public boolean isConcurrent() {
+        return concurrentResults != null;
     }
 
     /**
-     * Removes the N first results which exceed the maximum bar count.
-     * (i.e. keeps only the last maximumResultCount results)
-     * @param maximumResultCount the number of results to keep
+     * Returns a result in concurrent mode.
+     * @param concurrentResults the cached results
+     * @param series the related time series
+     * @param index the bar index
+     * @return the value of the indicator
      */
-    private void removeExceedingResults(int maximumResultCount) {
-        int resultCount = results.size();
-        if (resultCount > maximumResultCount) {
-            // Removing old results
-            final int nbResultsToRemove = resultCount - maximumResultCount;
-            for (int i = 0; i < nbResultsToRemove; i++) {
-                results.remove(0);
+    private T getConcurrentValue(ConcurrentIndexedBuffer<T> concurrentResults, TimeSeries series, int index) {
+        final int removedBarsCount = series.getRemovedBarsCount();
+        // Results from bars already removed are replaced by the result of the first kept bar (see issue #120)
+        final int resultIndex = Math.max(index, removedBarsCount);
+        T result = concurrentResults.get(resultIndex);
+        final InstrumentationListener listener = Instrumentation.getListener();
+        if (result == null) {
+            synchronized (this) {
+                result = concurrentResults.get(resultIndex);
+                if (result == null) {
+                    concurrentResults.setMaximumSize(series.getMaximumBarCount());
+                    final int calculatedIndex = index < removedBarsCount ? 0 : index;
+                    result = listener == null ? calculate(calculatedIndex)
+                            : calculateTimed(listener, calculatedIndex, resultIndex);
+                    if (isCacheable(series, resultIndex)) {
+                        concurrentResults.put(resultIndex, result);
+                        highestResultIndex = Math.max(highestResultIndex, resultIndex);
+                    }
+                    return result;
+                }
             }
         }
+        if (listener != null) {
+            listener.onCacheHit(this, resultIndex);
+        }
+        return result;
     }
+
+    /**
+     * @param series the related time series
+     * @param index the bar index
+     * @return true if the value of the index can be cached, false if its bar may still change (see
+     *         {@link TimeSeries#isLastBarForming()})
+     */
+    private static boolean isCacheable(TimeSeries series, int index) {
+        return !series.isLastBarForming() || index < series.getEndIndex();
+    }
+
+    /**
+     * @param index an index of the series
+     * @return true if the bar of the index has been removed from the series (maximum bar count), i.e. the values of
+     *         the index cannot be calculated anymore
+     */
+    protected boolean isRemoved(int index) {
+        final TimeSeries series = getTimeSeries();
+        return series != null && index < series.getRemovedBarsCount();
+    }
+
+    /**
+     * @param index the bar index
+     * @return the value of the indicator
+     */
+    protected abstract T calculate(int index);
 }
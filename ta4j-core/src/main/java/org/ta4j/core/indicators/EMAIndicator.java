@@ -38,6 +38,6 @@ public class EMAIndicator extends AbstractEMAIndicator {
      * @param timeFrame the EMA time frame
      */
     public EMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
-        super(indicator, timeFrame, Decimal.TWO.dividedBy(Decimal.valueOf(timeFrame + 1)));
+        super(indicator, timeFrame, indicator.decimalOf(2).dividedBy(indicator.decimalOf(timeFrame + 1)));
     }
 }
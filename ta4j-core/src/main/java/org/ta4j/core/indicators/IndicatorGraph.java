@@ -0,0 +1,216 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dependency graph of {@link Indicator indicators}.
+ * <p></p>
+ * Indicators, {@link Rule rules} and {@link Strategy strategies} are added to the graph. Their dependencies are
+ * sorted in topological order: an indicator always comes after the indicators it depends on.
+ * <p></p>
+ * The dependencies of an object implementing {@link Dependent} are the ones it declares. The dependencies of any
+ * other object are discovered from its fields: fields declared as an indicator, a rule, a strategy, an
+ * array/iterable (of them) or as a supertype of them (e.g. {@link Object}) are followed. A dependency held in a
+ * field of another type (e.g. a holder class) is not discovered: such an object has to implement {@link Dependent}.
+ */
+public class IndicatorGraph {
+
+    /**
+     * An indicator, a rule or a strategy declaring its own dependencies (instead of having them discovered from
+     * its fields).
+     */
+    public interface Dependent {
+
+        /**
+         * @return the indicators, rules and strategies this object directly depends on
+         */
+        Collection<?> getDependencies();
+    }
+
+    /** Indicators, in topological order */
+    private final List<Indicator<?>> indicators = new ArrayList<>();
+
+    /** Already visited objects (indicators, rules, strategies) */
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** Fields to follow, by class (not preventing the classes from being unloaded) */
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<List<Field>>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && isDependency(field.getType())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return Collections.unmodifiableList(fields);
+        }
+    };
+
+    /**
+     * Adds an indicator (and its dependencies) to the graph.
+     * @param indicator the indicator
+     * @return this graph
+     */
+    public IndicatorGraph add(Indicator<?> indicator) {
+        visit(indicator);
+        return this;
+    }
+
+    /**
+     * Adds the indicators used by a rule to the graph.
+     * @param rule the rule
+     * @return this graph
+     */
+    public IndicatorGraph add(Rule rule) {
+        visit(rule);
+        return this;
+    }
+
+    /**
+     * Adds the indicators used by a strategy to the graph.
+     * @param strategy the strategy
+     * @return this graph
+     */
+    public IndicatorGraph add(Strategy strategy) {
+        visit(strategy);
+        return this;
+    }
+
+    /**
+     * Enables or disables the concurrent mode of all the cached indicators of the graph.
+     * @param concurrent true to allow concurrent evaluations of the graph, false otherwise
+     * @return this graph
+     * @see CachedIndicator#setConcurrent(boolean)
+     */
+    public IndicatorGraph setConcurrent(boolean concurrent) {
+        for (Indicator<?> indicator : indicators) {
+            if (indicator instanceof CachedIndicator) {
+                ((CachedIndicator<?>) indicator).setConcurrent(concurrent);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the indicators of the graph, in topological order (dependencies first)
+     */
+    public List<Indicator<?>> getIndicators() {
+        return Collections.unmodifiableList(indicators);
+    }
+
+    /**
+     * Depth-first (post-order) traversal of the dependency graph.
+     * @param node an indicator, a rule, a strategy, an array or an iterable of them
+     */
+    private void visit(Object node) {
+        if (node == null || !visited.add(node)) {
+            return;
+        }
+        if (node instanceof Object[]) {
+            for (Object element : (Object[]) node) {
+                visitElement(element);
+            }
+            return;
+        }
+        if (node instanceof Iterable) {
+            for (Object element : (Iterable<?>) node) {
+                visitElement(element);
+            }
+            return;
+        }
+        if (node instanceof Dependent) {
+            Collection<?> dependencies = ((Dependent) node).getDependencies();
+            if (dependencies != null) {
+                for (Object dependency : dependencies) {
+                    visitElement(dependency);
+                }
+            }
+        } else {
+            for (Field field : FIELDS.get(node.getClass())) {
+                try {
+                    visitValue(field.get(node));
+                } catch (IllegalAccessException iae) {
+                    throw new IllegalStateException("Unable to read " + field, iae);
+                }
+            }
+        }
+        if (node instanceof Indicator) {
+            indicators.add((Indicator<?>) node);
+        }
+    }
+
+    /**
+     * @param element an element of an array or of an iterable
+     */
+    private void visitElement(Object element) {
+        if (element instanceof Indicator || element instanceof Rule || element instanceof Strategy) {
+            visit(element);
+        }
+    }
+
+    /**
+     * @param value the value of a field
+     */
+    private void visitValue(Object value) {
+        if (value instanceof Object[] || value instanceof Iterable) {
+            visit(value);
+        } else {
+            visitElement(value);
+        }
+    }
+
+    /**
+     * @param type the type of a field
+     * @return true if the field may hold an indicator, a rule, a strategy or an array/iterable of them
+     */
+    private static boolean isDependency(Class<?> type) {
+        if (type.isArray()) {
+            return !type.getComponentType().isPrimitive();
+        }
+        return Indicator.class.isAssignableFrom(type)
+                || Rule.class.isAssignableFrom(type)
+                || Strategy.class.isAssignableFrom(type)
+                || Iterable.class.isAssignableFrom(type)
+                // Supertypes (e.g. Object), which may hold any of them
+                || type.isAssignableFrom(Indicator.class)
+                || type.isAssignableFrom(Rule.class)
+                || type.isAssignableFrom(Strategy.class);
+    }
+}
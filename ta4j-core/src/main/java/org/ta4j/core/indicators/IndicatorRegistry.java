@@ -0,0 +1,165 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TimeSeries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of shared {@link Indicator indicators} over a {@link TimeSeries time series}.
+ * <p></p>
+ * Indicators are interned under an explicit key made of their parameters (see {@link #key(Class, Object...)}):
+ * the indicator supplied for the first request of a key is shared by all the later requests of an equal key, so
+ * that its values are calculated and cached only once. The calculation state of the shared indicator (cached
+ * values, sliding sums...) does not matter: a warm indicator is shared as well as a fresh one.
+ * <p></p>
+ * Sub-indicators are part of the key by identity (indicators do not override {@link Object#equals(Object)}):
+ * they should be interned first, so that equal parameters lead to the same sub-indicator instances. The composite
+ * indicators (e.g. {@link MACDIndicator}, {@link PPOIndicator}, the Bollinger bands, the Keltner channels or the
+ * {@link org.ta4j.core.indicators.statistics.CorrelationCoefficientIndicator correlation coefficient}) only share the
+ * sub-indicators given to their constructors: the ones they build privately (e.g. with
+ * {@link MACDIndicator#MACDIndicator(Indicator, int, int) time frames}) are not shared.
+ * <pre>
+ * ClosePriceIndicator closePrice = registry.intern(IndicatorRegistry.key(ClosePriceIndicator.class),
+ *         () -&gt; new ClosePriceIndicator(series));
+ * SMAIndicator sma = registry.intern(IndicatorRegistry.key(SMAIndicator.class, closePrice, 12),
+ *         () -&gt; new SMAIndicator(closePrice, 12));
+ * EMAIndicator shortEma = registry.intern(IndicatorRegistry.key(EMAIndicator.class, closePrice, 12),
+ *         () -&gt; new EMAIndicator(closePrice, 12));
+ * EMAIndicator longEma = registry.intern(IndicatorRegistry.key(EMAIndicator.class, closePrice, 26),
+ *         () -&gt; new EMAIndicator(closePrice, 26));
+ * MACDIndicator macd = new MACDIndicator(shortEma, longEma);
+ * </pre>
+ */
+public class IndicatorRegistry {
+
+    private final TimeSeries series;
+
+    /** Shared instances, by key */
+    private final Map<Object, Indicator<?>> sharedIndicators = new HashMap<>();
+
+    /** Number of requests answered with an already shared instance */
+    private int duplicateCount;
+
+    /**
+     * Constructor.
+     * @param series the time series of the indicators
+     */
+    public IndicatorRegistry(TimeSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        this.series = series;
+    }
+
+    /**
+     * Builds the key of an indicator.
+     * <p></p>
+     * Two keys are equal when they have the same type and equal parameters (in the same order). Arrays of objects
+     * are compared by content, arrays of primitives by identity.
+     * @param type the type of the indicator
+     * @param parameters the parameters of the indicator (sub-indicators, time frames, types...)
+     * @return the key of the indicator
+     */
+    public static List<Object> key(Class<?> type, Object... parameters) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        List<Object> key = new ArrayList<>(parameters.length + 1);
+        key.add(type);
+        for (Object parameter : parameters) {
+            key.add(parameter instanceof Object[] ? Arrays.asList((Object[]) parameter) : parameter);
+        }
+        return Collections.unmodifiableList(key);
+    }
+
+    /**
+     * Interns an indicator.
+     * <p></p>
+     * The same key must always be used for the same type of indicator.
+     * @param key the key of the indicator (with consistent {@link Object#equals(Object) equals} and
+     *            {@link Object#hashCode() hashCode} methods), see {@link #key(Class, Object...)}
+     * @param supplier the supplier of the indicator, only called if no indicator is registered for the key
+     * @param <I> the type of the indicator
+     * @return the shared instance of the key
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <I extends Indicator<?>> I intern(Object key, Supplier<? extends I> supplier) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        Indicator<?> shared = sharedIndicators.get(key);
+        if (shared != null) {
+            duplicateCount++;
+            return (I) shared;
+        }
+        I indicator = supplier.get();
+        if (indicator == null) {
+            throw new IllegalArgumentException("Supplied indicator cannot be null");
+        }
+        if (indicator.getTimeSeries() != null && indicator.getTimeSeries() != series) {
+            throw new IllegalArgumentException("Supplied indicator must be built on the series of the registry");
+        }
+        sharedIndicators.put(key, indicator);
+        return indicator;
+    }
+
+    /**
+     * @param key the key of an indicator
+     * @param <I> the type of the indicator
+     * @return the shared instance of the key, null if none
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <I extends Indicator<?>> I get(Object key) {
+        return (I) sharedIndicators.get(key);
+    }
+
+    /**
+     * @return the time series of the indicators
+     */
+    public TimeSeries getTimeSeries() {
+        return series;
+    }
+
+    /**
+     * @return the number of shared (i.e. distinct) indicators
+     */
+    public synchronized int getIndicatorCount() {
+        return sharedIndicators.size();
+    }
+
+    /**
+     * @return the number of requests answered with an already shared instance (i.e. of avoided duplicates)
+     */
+    public synchronized int getDuplicateCount() {
+        return duplicateCount;
+    }
+}
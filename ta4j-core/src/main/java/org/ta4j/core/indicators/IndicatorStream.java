@@ -0,0 +1,158 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+
+import java.util.List;
+
+/**
+ * Push-based evaluation of {@link Indicator indicators} over a live {@link TimeSeries time series}.
+ * <p></p>
+ * Indicators (and the indicators used by {@link Rule rules} and {@link Strategy strategies}) are registered once
+ * in an {@link IndicatorGraph indicator graph} (i.e. an indicator is always evaluated after the indicators it
+ * depends on). Then each time a bar is pushed, every indicator is evaluated once, at the new end index, from the
+ * bottom to the top of the graph.
+ * <p></p>
+ * The last bar may be updated while it is still forming (new trade, last traded price). In that case only the
+ * cached values of the last index are invalidated and evaluated again; the history is kept.
+ */
+public class IndicatorStream {
+
+    private final TimeSeries series;
+
+    /** Registered indicators and their dependencies */
+    private final IndicatorGraph graph = new IndicatorGraph();
+
+    /**
+     * Constructor.
+     * @param series the live time series
+     */
+    public IndicatorStream(TimeSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        this.series = series;
+    }
+
+    /**
+     * Registers an indicator (and its dependencies).
+     * @param indicator the indicator
+     * @param <I> the type of the indicator
+     * @return the registered indicator
+     */
+    public <I extends Indicator<?>> I register(I indicator) {
+        graph.add(indicator);
+        return indicator;
+    }
+
+    /**
+     * Registers the indicators used by a rule.
+     * @param rule the rule
+     * @return the rule
+     */
+    public Rule register(Rule rule) {
+        graph.add(rule);
+        return rule;
+    }
+
+    /**
+     * Registers the indicators used by a strategy.
+     * @param strategy the strategy
+     * @return the strategy
+     */
+    public Strategy register(Strategy strategy) {
+        graph.add(strategy);
+        return strategy;
+    }
+
+    /**
+     * Adds a new bar to the series and evaluates all the indicators for it.
+     * @param bar the new bar
+     * @return the index of the new bar
+     */
+    public int onBar(Bar bar) {
+        series.addBar(bar);
+        return evaluate();
+    }
+
+    /**
+     * Adds a trade to the last (forming) bar of the series and evaluates again all the indicators for it.
+     * @param tradeVolume the traded volume
+     * @param tradePrice the price
+     * @return the index of the last bar
+     */
+    public int onTrade(Decimal tradeVolume, Decimal tradePrice) {
+        series.getLastBar().addTrade(tradeVolume, tradePrice);
+        return onLastBarUpdate();
+    }
+
+    /**
+     * To be called when the last (forming) bar of the series has been modified.
+     * <p></p>
+     * Invalidates the values of the indicators for the last index only, and evaluates them again.
+     * @return the index of the last bar
+     */
+    public int onLastBarUpdate() {
+        final int endIndex = series.getEndIndex();
+        for (Indicator<?> indicator : graph.getIndicators()) {
+            if (indicator instanceof CachedIndicator) {
+                ((CachedIndicator<?>) indicator).invalidate(endIndex);
+            }
+        }
+        return evaluate();
+    }
+
+    /**
+     * @return the live time series
+     */
+    public TimeSeries getTimeSeries() {
+        return series;
+    }
+
+    /**
+     * @return the registered indicators and their dependencies, in evaluation order
+     */
+    public List<Indicator<?>> getIndicators() {
+        return graph.getIndicators();
+    }
+
+    /**
+     * Evaluates all the indicators for the last bar of the series.
+     * @return the index of the last bar
+     */
+    private int evaluate() {
+        final int endIndex = series.getEndIndex();
+        if (endIndex >= 0) {
+            for (Indicator<?> indicator : graph.getIndicators()) {
+                indicator.getValue(endIndex);
+            }
+        }
+        return endIndex;
+    }
+}
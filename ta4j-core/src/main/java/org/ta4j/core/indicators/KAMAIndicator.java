@@ -53,8 +53,8 @@ public class KAMAIndicator extends RecursiveCachedIndicator<Decimal> {
         super(price);
         this.price = price;
         this.timeFrameEffectiveRatio = timeFrameEffectiveRatio;
-        fastest = Decimal.TWO.dividedBy(Decimal.valueOf(timeFrameFast + 1));
-        slowest = Decimal.TWO.dividedBy(Decimal.valueOf(timeFrameSlow + 1));
+        fastest = decimalOf(2).dividedBy(decimalOf(timeFrameFast + 1));
+        slowest = decimalOf(2).dividedBy(decimalOf(timeFrameSlow + 1));
     }
 
     @Override
@@ -64,6 +64,21 @@ public class MACDIndicator extends CachedIndicator<Decimal> {
         longTermEma = new EMAIndicator(indicator, longTimeFrame);
     }
 
+    /**
+     * Constructor sharing the moving averages (e.g. interned in an {@link IndicatorRegistry indicator registry}).
+     *
+     * @param shortTermEma the short term EMA of the indicator
+     * @param longTermEma the long term EMA of the indicator
+     */
+    public MACDIndicator(EMAIndicator shortTermEma, EMAIndicator longTermEma) {
+        super(shortTermEma);
+        if (shortTermEma.getTimeFrame() > longTermEma.getTimeFrame()) {
+            throw new IllegalArgumentException("Long term period count must be greater than short term period count");
+        }
+        this.shortTermEma = shortTermEma;
+        this.longTermEma = longTermEma;
+    }
+
     @Override
     protected Decimal calculate(int index) {
         return shortTermEma.getValue(index).minus(longTermEma.getValue(index));
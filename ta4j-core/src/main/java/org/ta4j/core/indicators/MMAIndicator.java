@@ -40,6 +40,6 @@ public class MMAIndicator extends AbstractEMAIndicator {
      * @param timeFrame the MMA time frame
      */
     public MMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
-        super(indicator, timeFrame, Decimal.ONE.dividedBy(Decimal.valueOf(timeFrame)));
+        super(indicator, timeFrame, indicator.decimalOf(1).dividedBy(indicator.decimalOf(timeFrame)));
     }
 }
@@ -54,7 +54,7 @@ public class RandomWalkIndexHighIndicator extends CachedIndicator<Decimal> {
         maxPrice = new MaxPriceIndicator(series);
         minPrice = new MinPriceIndicator(series);
         averageTrueRange = new ATRIndicator(series, timeFrame);
-        sqrtTimeFrame = Decimal.valueOf(Math.sqrt(timeFrame));
+        sqrtTimeFrame = decimalOf(Math.sqrt(timeFrame));
     }
 
     @Override
@@ -24,6 +24,8 @@ package org.ta4j.core.indicators;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TimeSeries;
+import org.ta4j.core.instrumentation.Instrumentation;
+import org.ta4j.core.instrumentation.InstrumentationListener;
 
 /**
  * Recursive cached {@link Indicator indicator}.
@@ -71,6 +73,10 @@ public abstract class RecursiveCachedIndicator<T> extends CachedIndicator<T> {
                 if (index - startIndex > RECURSION_THRESHOLD) {
                     // Too many uncalculated values; the risk for a StackOverflowError becomes high.
                     // Calculating the previous values iteratively
+                    final InstrumentationListener listener = Instrumentation.getListener();
+                    if (listener != null) {
+                        listener.onRecursiveBackfill(this, startIndex, index);
+                    }
                     for (int prevIdx = startIndex; prevIdx < index; prevIdx++) {
                         super.getValue(prevIdx);
                     }
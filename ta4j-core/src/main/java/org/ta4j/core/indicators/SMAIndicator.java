@@ -28,6 +28,9 @@ import org.ta4j.core.Indicator;
 /**
  * Simple moving average (SMA) indicator.
  * <p></p>
+ * When the values are calculated sequentially, the sum of the time frame is slid from one index to the next one
+ * (constant time). It is fully recalculated on random access, and every <tt>timeFrame</tt> values to prevent the
+ * accumulation of rounding errors.
  */
 public class SMAIndicator extends CachedIndicator<Decimal> {
 
@@ -35,6 +38,15 @@ public class SMAIndicator extends CachedIndicator<Decimal> {
 
     private final int timeFrame;
 
+    /** Index of the last calculated value, -1 if none */
+    private int lastIndex = -1;
+
+    /** Sum of the values of the time frame ending at lastIndex, excluding the one at lastIndex */
+    private Decimal partialSum;
+
+    /** Number of times the sum has been slid since its last full calculation */
+    private int slideCount;
+
     public SMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
@@ -43,13 +55,60 @@ public class SMAIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal sum = Decimal.ZERO;
-        for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
-            sum = sum.plus(indicator.getValue(i));
+        final int startIndex = Math.max(0, index - timeFrame + 1);
+        if (index != lastIndex) {
+            if (index == lastIndex + 1 && lastIndex >= 0 && slideCount < timeFrame && !partialSum.isNaN() && !isRemoved(startIndex - 1)) {
+                // Sliding the time frame: adding the previous value, removing the one which left the time frame
+                partialSum = partialSum.plus(indicator.getValue(lastIndex));
+                if (startIndex > 0) {
+                    partialSum = partialSum.minus(indicator.getValue(startIndex - 1));
+                }
+                slideCount++;
+            } else {
+                partialSum = Decimal.ZERO;
+                for (int i = startIndex; i < index; i++) {
+                    partialSum = partialSum.plus(indicator.getValue(i));
+                }
+                slideCount = 0;
+            }
+            lastIndex = index;
         }
+        // The value at index is always read again (it may change if it is the one of the last bar)
+        Decimal sum = partialSum.plus(indicator.getValue(index));
 
         final int realTimeFrame = Math.min(timeFrame, index + 1);
-        return sum.dividedBy(Decimal.valueOf(realTimeFrame));
+        return sum.dividedBy(decimalOf(realTimeFrame));
+    }
+
+    /**
+     * Calculates the values of the range with double arithmetic, sliding the sum as {@link #calculate(int)} does.
+     * The cache is neither read nor filled.
+     */
+    @Override
+    public void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+        if (endIndex < beginIndex) {
+            return;
+        }
+        final int firstIndex = Math.max(0, beginIndex - timeFrame + 1);
+        final double[] inputs = indicator.getDoubleValues(firstIndex, endIndex);
+        double sum = Double.NaN;
+        int slides = timeFrame;
+        for (int index = beginIndex; index <= endIndex; index++) {
+            if (slides < timeFrame && !Double.isNaN(sum)) {
+                sum += inputs[index - firstIndex];
+                if (index - timeFrame >= 0) {
+                    sum -= inputs[index - timeFrame - firstIndex];
+                }
+                slides++;
+            } else {
+                sum = 0;
+                for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
+                    sum += inputs[i - firstIndex];
+                }
+                slides = 0;
+            }
+            values[offset + index - beginIndex] = sum / Math.min(timeFrame, index + 1);
+        }
     }
 
     @Override
@@ -113,6 +113,6 @@ public class TrendChannelDirectionIndicator extends RecursiveCachedIndicator<Dec
         }
         lastDirection = direction;
 
-        return Decimal.valueOf(direction);
+        return decimalOf(direction);
     }
 }
\ No newline at end of file
@@ -23,28 +23,19 @@
 package org.ta4j.core.indicators;
 
 import org.ta4j.core.*;
-import org.ta4j.core.indicators.helpers.*;
-import org.ta4j.core.indicators.statistics.SimpleLinearRegressionIndicator;
 import org.ta4j.core.utils.FixedQueue;
-import org.ta4j.core.utils.LinearRegression;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import org.ta4j.core.utils.TrendChannel;
 
 /**
  * Trend channel indicator.
+ * <p></p>
+ * Trend channel (see {@link TrendChannel}) of the bars between two indexes.
  */
 public class TrendChannelIndicator extends CachedIndicator<Decimal> {
 
     private final TimeSeries series;
 
-    private LinearRegression linearRegression;
-    private float containedCandlesRatio;
-    private boolean considerOnlyClose;
-
-    private double lastChannelRadius;
-    private boolean dirtyRadius = true;
+    private final TrendChannel trendChannel;
 
     private FixedQueue<Bar> candles;
 
@@ -71,13 +62,9 @@ public class TrendChannelIndicator extends CachedIndicator<Decimal> {
 
         if(containedCandlesRatio<0 || containedCandlesRatio>1) throw new IllegalArgumentException("containedCandlesRatio must be between 0 and 1. value=" + containedCandlesRatio);
 
-        ClosePriceIndicator indicator = new ClosePriceIndicator(series);
-        this.linearRegression = new LinearRegression(numberOfCandles);
+        this.trendChannel = new TrendChannel(numberOfCandles, containedCandlesRatio, considerOnlyClose);
         this.candles = new FixedQueue<Bar>(numberOfCandles);
 
-        this.containedCandlesRatio = containedCandlesRatio;
-        this.considerOnlyClose = considerOnlyClose;
-
         this.delayedQueue = new FixedQueue<Bar>(trendDelayCandles);
 
         fillIndicator(startIndex, endIndex);
@@ -99,10 +86,7 @@ public class TrendChannelIndicator extends CachedIndicator<Decimal> {
         delayedQueue.add(candle);
 
         if(delayedQueue.isFull()) {
-            Bar delayedBar = delayedQueue.get(0);
-
-            dirtyRadius = true;
-            linearRegression.addSample(candle.getEndTime().toEpochSecond() * 1000d, candle.getClosePrice().doubleValue());
+            trendChannel.addBar(candle);
             candles.add(candle);
         }
 
@@ -114,32 +98,18 @@ public class TrendChannelIndicator extends CachedIndicator<Decimal> {
      * @return
      */
     public Line getMainTrendLine() {
-        return linearRegression.regress();
+        return trendChannel.getMainTrendLine();
     }
 
     public double getChannelRadius() {
-        if(!dirtyRadius) return lastChannelRadius;
-
-        //order candles by error
-        Line mtl = getMainTrendLine();
-        List<BarError> errors = new ArrayList<BarError>();
-        for (Bar candle : candles) {
-            errors.add(new BarError(candle, calcError(candle, mtl)));
-        }
-        Collections.sort(errors);
-
-        int pos = (int)((errors.size()-1) * containedCandlesRatio);
-        lastChannelRadius = errors.get(pos).getError();
-        return lastChannelRadius;
+        return trendChannel.getChannelRadius();
     }
 
-    private double calcError(Bar candle, Line mtl) {
-        double ideal = mtl.getYForX(candle.getEndTime().toEpochSecond() * 1000d);
-        if(considerOnlyClose) {
-            return Math.abs(ideal - candle.getClosePrice().doubleValue());
-        } else {
-            return Math.max(Math.abs(ideal - candle.getMinPrice().doubleValue()), Math.abs(ideal - candle.getMaxPrice().doubleValue()));
-        }
+    /**
+     * @return the trend channel of the bars
+     */
+    public TrendChannel getTrendChannel() {
+        return trendChannel;
     }
 
     public FixedQueue<Bar> getCandles() {
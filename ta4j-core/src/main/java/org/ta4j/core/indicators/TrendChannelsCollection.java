@@ -1,7 +1,6 @@
 package org.ta4j.core.indicators;
 
 import org.ta4j.core.Decimal;
-import org.ta4j.core.Line;
 import org.ta4j.core.TimeSeries;
 
 import java.util.ArrayList;
@@ -13,26 +12,40 @@ import java.util.List;
  * 1. calculate a trend channel until we get a different direction
  * 2. after a different direction, create a new trend channel indicator for next index
  *
+ * The channels are updated incrementally: call {@link #update()} after adding bars to the series.
  */
 public class TrendChannelsCollection {
+    private final TimeSeries series;
+    private final int confirmationCandles;
     private TrendChannelDirectionIndicator directionIndicator;
     private List<TrendChannelIndicator> indicators;
 
+    private Decimal lastDirection = null;
+    private int lastDirectionChangeIndex = 0;
+    /** Index of the next bar to check */
+    private int nextIndex = 0;
+
     public TrendChannelsCollection(TimeSeries series, int confirmationCandles) {
+        this.series = series;
+        this.confirmationCandles = confirmationCandles;
         directionIndicator = new TrendChannelDirectionIndicator(series, confirmationCandles);
         indicators = new ArrayList<>();
 
-        fillIndicators(series, confirmationCandles);
+        update();
     }
 
     public List<TrendChannelIndicator> getIndicators() {
         return indicators;
     }
 
-    private void fillIndicators(TimeSeries series, int confirmationCandles) {
-        Decimal lastDirection = null;
-        int lastDirectionChangeIndex = 0;
-        for (int i = 0; i < series.getBarCount(); i++) {
+    /**
+     * Checks the bars added to the series since the last update, adding the channels of the direction changes.
+     *
+     * @return true if channels were added
+     */
+    public boolean update() {
+        int channelCount = indicators.size();
+        for (int i = nextIndex; i < series.getBarCount(); i++) {
             Decimal direction = directionIndicator.getValue(i);
             // the direction was changed
             if(lastDirection != null && ((direction.intValue() > 0 && lastDirection.intValue() <= 0)
@@ -48,12 +61,12 @@ public class TrendChannelsCollection {
                 }
             }
             lastDirection = direction;
+            nextIndex = i + 1;
         }
+        return indicators.size() > channelCount;
     }
 
     private void addChannelIndicator(TimeSeries series, int startIndex, int endIndex) {
-        TrendChannelIndicator indicator = new TrendChannelIndicator(series, startIndex, endIndex);
-        Line mainTrendLine = indicator.getMainTrendLine();
-        indicators.add(indicator);
+        indicators.add(new TrendChannelIndicator(series, startIndex, endIndex));
     }
 }
@@ -65,8 +65,8 @@ public class UlcerIndexIndicator extends CachedIndicator<Decimal> {
             Decimal percentageDrawdown = currentValue.minus(highestValue).dividedBy(highestValue).multipliedBy(Decimal.HUNDRED);
             squaredAverage = squaredAverage.plus(percentageDrawdown.pow(2));
         }
-        squaredAverage = squaredAverage.dividedBy(Decimal.valueOf(numberOfObservations));
-        return Decimal.valueOf(Math.sqrt(squaredAverage.doubleValue()));
+        squaredAverage = squaredAverage.dividedBy(decimalOf(numberOfObservations));
+        return squaredAverage.sqrt();
     }
 
     @Override
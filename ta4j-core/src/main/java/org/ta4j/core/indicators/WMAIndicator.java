@@ -50,17 +50,60 @@ public class WMAIndicator extends CachedIndicator<Decimal> {
         if(index - timeFrame < 0) {
             
             for(int i = index + 1; i > 0; i--) {
-                value = value.plus(Decimal.valueOf(i).multipliedBy(indicator.getValue(i-1)));
+                value = value.plus(decimalOf(i).multipliedBy(indicator.getValue(i-1)));
             }
-            return value.dividedBy(Decimal.valueOf(((index + 1) * (index + 2)) / 2));
+            return value.dividedBy(decimalOf(((index + 1) * (index + 2)) / 2));
         }
         
         int actualIndex = index;
         for(int i = timeFrame; i > 0; i--) {
-            value = value.plus(Decimal.valueOf(i).multipliedBy(indicator.getValue(actualIndex)));
+            value = value.plus(decimalOf(i).multipliedBy(indicator.getValue(actualIndex)));
             actualIndex--;
         }
-        return value.dividedBy(Decimal.valueOf((timeFrame * (timeFrame + 1)) / 2));
+        return value.dividedBy(decimalOf((timeFrame * (timeFrame + 1)) / 2));
+    }
+
+    /**
+     * Calculates the values of the range with double arithmetic, sliding the weighted sum (and the plain sum of the
+     * time frame) from one index to the next one. Both are fully recalculated every <tt>timeFrame</tt> values.
+     * The cache is neither read nor filled.
+     */
+    @Override
+    public void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+        if (endIndex < beginIndex) {
+            return;
+        }
+        final int firstIndex = Math.max(0, beginIndex - timeFrame + 1);
+        final double[] inputs = indicator.getDoubleValues(firstIndex, endIndex);
+        double weightedSum = Double.NaN;
+        double sum = Double.NaN;
+        int slides = timeFrame;
+        for (int index = beginIndex; index <= endIndex; index++) {
+            final int size = Math.min(timeFrame, index + 1);
+            final double input = inputs[index - firstIndex];
+            if (slides < timeFrame && !Double.isNaN(weightedSum)) {
+                if (index < timeFrame) {
+                    // Growing time frame: the previous weights are unchanged
+                    weightedSum += size * input;
+                    sum += input;
+                } else {
+                    // Full time frame: every previous weight decreases by one
+                    weightedSum += timeFrame * input - sum;
+                    sum += input - inputs[index - timeFrame - firstIndex];
+                }
+                slides++;
+            } else {
+                weightedSum = 0;
+                sum = 0;
+                int weight = 1;
+                for (int i = index - size + 1; i <= index; i++) {
+                    weightedSum += weight++ * inputs[i - firstIndex];
+                    sum += inputs[i - firstIndex];
+                }
+                slides = 0;
+            }
+            values[offset + index - beginIndex] = weightedSum / (size * (size + 1) / 2.0);
+        }
     }
 
     @Override
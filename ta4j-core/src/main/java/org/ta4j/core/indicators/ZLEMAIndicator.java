@@ -45,7 +45,7 @@ public class ZLEMAIndicator extends RecursiveCachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
-        k = Decimal.TWO.dividedBy(Decimal.valueOf(timeFrame + 1));
+        k = decimalOf(2).dividedBy(decimalOf(timeFrame + 1));
         lag = (timeFrame - 1) / 2;
     }
 
@@ -56,6 +56,21 @@ public class PercentBIndicator extends CachedIndicator<Decimal> {
         this.bbl = new BollingerBandsLowerIndicator(bbm, sd, k);
     }
 
+    /**
+     * Constructor sharing the bands (e.g. interned in an
+     * {@link org.ta4j.core.indicators.IndicatorRegistry indicator registry}).
+     * @param indicator an indicator (usually close price)
+     * @param bbu the upper band over the indicator
+     * @param bbl the lower band over the indicator
+     */
+    public PercentBIndicator(Indicator<Decimal> indicator, BollingerBandsUpperIndicator bbu,
+            BollingerBandsLowerIndicator bbl) {
+        super(indicator);
+        this.indicator = indicator;
+        this.bbu = bbu;
+        this.bbl = bbl;
+    }
+
     @Override
     protected Decimal calculate(int index) {
         Decimal value = indicator.getValue(index);
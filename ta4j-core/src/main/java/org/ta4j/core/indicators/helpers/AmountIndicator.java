@@ -41,6 +41,6 @@ public class AmountIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        return series.getBar(index).getAmount();
+        return series.getAmount(index);
     }
 }
\ No newline at end of file
@@ -48,7 +48,7 @@ public class ClosePriceFromIndexIndicator extends CachedIndicator<Decimal> {
     protected Decimal calculate(int index) {
         if(index >= fromIndex) {
             int movedIndex = index - fromIndex;
-            return series.getBar(movedIndex).getClosePrice();
+            return series.getClosePrice(movedIndex);
         }
         return defaultValue;
     }
@@ -41,6 +41,14 @@ public class ClosePriceIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        return series.getBar(index).getClosePrice();
+        return series.getClosePrice(index);
+    }
+
+    @Override
+    public void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+        for (int i = beginIndex; i <= endIndex; i++) {
+            Decimal price = series.getClosePrice(i);
+            values[offset + i - beginIndex] = price == null ? Double.NaN : price.doubleValue();
+        }
     }
 }
@@ -28,6 +28,9 @@ import org.ta4j.core.Rule;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.indicators.statistics.CorrelationCoefficientIndicator;
 import org.ta4j.core.indicators.statistics.SimpleLinearRegressionIndicator;
+import org.ta4j.core.indicators.statistics.SimpleLinearRegressionIndicator.SimpleLinearRegressionType;
+import org.ta4j.core.indicators.statistics.SlidingLinearRegressionIndicator;
+import org.ta4j.core.indicators.statistics.VarianceIndicator;
 import org.ta4j.core.trading.rules.IsFallingRule;
 import org.ta4j.core.trading.rules.IsRisingRule;
 
@@ -132,10 +135,22 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
 	private final ConvergenceDivergenceStrictType strictType;
 	
 	/** The minimum strenght for convergence or divergence. **/
-	private Decimal minStrenght;
+	private final Decimal minStrenght;
 	
 	/** The minimum slope for convergence or divergence. **/
-	private Decimal minSlope;
+	private final Decimal minSlope;
+
+	/** The correlation coefficient of both indicators (built once, for all the indexes) */
+	private final CorrelationCoefficientIndicator cc;
+
+	/** The linear regression of the actual indicator */
+	private final SimpleLinearRegressionIndicator slrRef;
+
+	/** The linear regression of the other indicator */
+	private final SimpleLinearRegressionIndicator slrOther;
+
+	/** The rule for the strict type, null for other types */
+	private final Rule strictRule;
     
 	/**
 	 * Constructor. <br/>
@@ -166,14 +181,7 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
 	 */
 	public ConvergenceDivergenceIndicator(Indicator<Decimal> ref, Indicator<Decimal> other, int timeFrame,
 			ConvergenceDivergenceType type, double minStrenght, double minSlope) {
-		super(ref);
-		this.ref = ref;
-		this.other = other;
-		this.timeFrame = timeFrame;
-		this.type = type;
-		this.strictType = null;
-		this.minStrenght = Decimal.valueOf(minStrenght).abs();
-		this.minSlope = Decimal.valueOf(minSlope);
+		this(ref, other, timeFrame, type, null, minStrenght, minSlope);
 	}
 	
 	/**
@@ -186,14 +194,7 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
 	 */
 	public ConvergenceDivergenceIndicator(Indicator<Decimal> ref, Indicator<Decimal> other, int timeFrame,
 			ConvergenceDivergenceType type) {
-		super(ref);
-		this.ref = ref;
-		this.other = other;
-		this.timeFrame = timeFrame;
-		this.type = type;
-		this.strictType = null;
-		this.minStrenght = Decimal.valueOf(0.8).abs();
-		this.minSlope = Decimal.valueOf(0.3);
+		this(ref, other, timeFrame, type, null, 0.8, 0.3);
 	}
 	
 	/**
@@ -205,14 +206,82 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
 	 */
 	public ConvergenceDivergenceIndicator(Indicator<Decimal> ref, Indicator<Decimal> other, int timeFrame,
 			ConvergenceDivergenceStrictType strictType) {
+		this(ref, other, timeFrame, null, strictType, 0.8, 0.3);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param ref the indicator
+	 * @param other the other indicator
+	 * @param timeFrame the time frame
+	 * @param type of convergence or divergence (null for a strict type)
+	 * @param strictType of strict convergence or divergence (null for a non-strict type)
+	 * @param minStrenght the minimum required strenght for convergence or divergence
+	 * @param minSlope the minimum required slope for convergence or divergence
+	 */
+	private ConvergenceDivergenceIndicator(Indicator<Decimal> ref, Indicator<Decimal> other, int timeFrame,
+			ConvergenceDivergenceType type, ConvergenceDivergenceStrictType strictType,
+			double minStrenght, double minSlope) {
+		this(ref, new SlidingLinearRegressionIndicator(ref, timeFrame), new VarianceIndicator(ref, timeFrame),
+				other, timeFrame, type, strictType, minStrenght, minSlope);
+	}
+
+	/**
+	 * Constructor sharing the sub-indicators of the actual indicator (e.g. between several other indicators, see
+	 * {@link ConvergenceDivergenceScanner}).
+	 * 
+	 * @param ref the indicator
+	 * @param refRegression the linear regression of the indicator, over the time frame
+	 * @param refVariance the variance of the indicator, over the time frame
+	 * @param other the other indicator
+	 * @param timeFrame the time frame
+	 * @param type of convergence or divergence (null for a strict type)
+	 * @param strictType of strict convergence or divergence (null for a non-strict type)
+	 * @param minStrenght the minimum required strenght for convergence or divergence
+	 * @param minSlope the minimum required slope for convergence or divergence
+	 */
+	public ConvergenceDivergenceIndicator(Indicator<Decimal> ref, SlidingLinearRegressionIndicator refRegression,
+			VarianceIndicator refVariance, Indicator<Decimal> other, int timeFrame,
+			ConvergenceDivergenceType type, ConvergenceDivergenceStrictType strictType,
+			double minStrenght, double minSlope) {
 		super(ref);
+		if ((type == null) == (strictType == null)) {
+			throw new IllegalArgumentException("Exactly one of type and strict type must be set");
+		}
+		if (refRegression.getTimeFrame() != timeFrame) {
+			throw new IllegalArgumentException("The regression of the indicator must have the same time frame");
+		}
 		this.ref = ref;
 		this.other = other;
 		this.timeFrame = timeFrame;
-		this.type = null;
+		this.type = type;
 		this.strictType = strictType;
-		this.minStrenght = Decimal.valueOf(0.8).abs();
-		this.minSlope = Decimal.valueOf(0.3);
+		this.minStrenght = Decimal.valueOf(Math.min(Math.abs(minStrenght), 1));
+		this.minSlope = Decimal.valueOf(minSlope);
+		this.cc = new CorrelationCoefficientIndicator(ref, refVariance, other, timeFrame);
+		this.slrRef = new SimpleLinearRegressionIndicator(refRegression, SimpleLinearRegressionType.y);
+		this.slrOther = new SimpleLinearRegressionIndicator(other, timeFrame);
+		this.strictRule = strictType == null ? null : buildStrictRule(strictType);
+	}
+
+	/**
+	 * @param strictType the type of strict convergence or divergence
+	 * @return the rule satisfied for a strict convergence or divergence
+	 */
+	private Rule buildStrictRule(ConvergenceDivergenceStrictType strictType) {
+		switch (strictType) {
+		case positiveConvergentStrict:
+			return new IsRisingRule(ref, timeFrame).and(new IsRisingRule(other, timeFrame));
+		case negativeConvergentStrict:
+			return new IsFallingRule(ref, timeFrame).and(new IsFallingRule(other, timeFrame));
+		case positiveDivergentStrict:
+			return new IsRisingRule(ref, timeFrame).and(new IsFallingRule(other, timeFrame));
+		case negativeDivergentStrict:
+			return new IsFallingRule(ref, timeFrame).and(new IsRisingRule(other, timeFrame));
+		default:
+			return null;
+		}
 	}
 
 	@Override
@@ -222,10 +291,6 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
 			return false;
 		}
 
-		if (minStrenght.isGreaterThan(Decimal.ONE)) {
-			minStrenght = Decimal.ONE;
-		}
-
 		if (type != null) {
 			switch (type) {
 			case positiveConvergent:
@@ -241,77 +306,21 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
 			}
 		}
 
-		else if (strictType != null) {
-			switch (strictType) {
-			case positiveConvergentStrict:
-				return calculatePositiveConvergenceStrict(index);
-			case negativeConvergentStrict:
-				return calculateNegativeConvergenceStrict(index);
-			case positiveDivergentStrict:
-				return calculatePositiveDivergenceStrict(index);
-			case negativeDivergentStrict:
-				return calculateNegativeDivergenceStrict(index);
-			default:
-				return false;
-			}
+		else if (strictRule != null) {
+			return strictRule.isSatisfied(index);
 		}
 		
 		return false;
 	}
 	
-	/**
-	 * @param index the actual index
-	 * @return true, if strict positive convergent
-	 */
-	private Boolean calculatePositiveConvergenceStrict(int index) {
-		Rule refIsRising = new IsRisingRule(ref, timeFrame);
-		Rule otherIsRising = new IsRisingRule(other, timeFrame);
-
-		return (refIsRising.and(otherIsRising)).isSatisfied(index);
-	}
-
-	/**
-	 * @param index the actual index
-	 * @return true, if strict negative convergent
-	 */
-	private Boolean calculateNegativeConvergenceStrict(int index) {
-		Rule refIsFalling = new IsFallingRule(ref, timeFrame);
-		Rule otherIsFalling = new IsFallingRule(other, timeFrame);
-
-		return (refIsFalling.and(otherIsFalling)).isSatisfied(index);
-	}
-
-	/**
-	 * @param index the actual index
-	 * @return true, if positive divergent
-	 */
-	private Boolean calculatePositiveDivergenceStrict(int index) {
-		Rule refIsRising = new IsRisingRule(ref, timeFrame);
-		Rule otherIsFalling = new IsFallingRule(other, timeFrame);
-
-		return (refIsRising.and(otherIsFalling)).isSatisfied(index);
-	}
-
-	/**
-	 * @param index the actual index
-	 * @return true, if negative divergent
-	 */
-	private Boolean calculateNegativeDivergenceStrict(int index) {
-		Rule refIsFalling = new IsFallingRule(ref, timeFrame);
-		Rule otherIsRising = new IsRisingRule(other, timeFrame);
-
-		return (refIsFalling.and(otherIsRising)).isSatisfied(index);
-	}
-    
     /**
      * @param index the actual index
      * @return true, if positive convergent
      */
 	private Boolean calculatePositiveConvergence(int index) {
-		CorrelationCoefficientIndicator cc = new CorrelationCoefficientIndicator(ref, other, timeFrame);
 		boolean isConvergent = cc.getValue(index).isGreaterThanOrEqual(minStrenght);
 
-		Decimal slope = calculateSlopeRel(index, ref);
+		Decimal slope = calculateSlopeRel(index, slrRef);
 		boolean isPositive = slope.isGreaterThanOrEqual(minSlope.abs());
 
 		return isConvergent && isPositive;
@@ -323,11 +332,10 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
      * @return true, if negative convergent
      */
     private Boolean calculateNegativeConvergence(int index) {
-		CorrelationCoefficientIndicator cc = new CorrelationCoefficientIndicator(ref, other, timeFrame);
 		boolean isConvergent = cc.getValue(index).isGreaterThanOrEqual(minStrenght);
 
-		Decimal slope = calculateSlopeRel(index, ref);
-		boolean isNegative = slope.isLessThanOrEqual(minSlope.abs().multipliedBy(Decimal.valueOf(-1)));
+		Decimal slope = calculateSlopeRel(index, slrRef);
+		boolean isNegative = slope.isLessThanOrEqual(minSlope.abs().multipliedBy(decimalOf(-1)));
 		
 		return isConvergent && isNegative;
     }
@@ -338,13 +346,12 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
      */
 	private Boolean calculatePositiveDivergence(int index) {
 		
-		CorrelationCoefficientIndicator cc = new CorrelationCoefficientIndicator(ref, other, timeFrame);
-		boolean isDivergent = cc.getValue(index).isLessThanOrEqual(minStrenght.multipliedBy(Decimal.valueOf(-1)));
+		boolean isDivergent = cc.getValue(index).isLessThanOrEqual(minStrenght.multipliedBy(decimalOf(-1)));
 
 		if (isDivergent) {
 			// If "isDivergent" and "ref" is positive, then "other" must be negative.
-			Decimal slopeRef = calculateSlopeRel(index, ref);
-			Decimal slopeOther = calculateSlopeRel(index, other);
+			Decimal slopeRef = calculateSlopeRel(index, slrRef);
+			Decimal slopeOther = calculateSlopeRel(index, slrOther);
 
 			//return slope.isGreaterThanOrEqual(minSlope.abs());
 			return slopeOther.doubleValue() < 0 && slopeRef.doubleValue() > 0;
@@ -359,15 +366,14 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
      */
 	private Boolean calculateNegativeDivergence(int index) {
 		
-		CorrelationCoefficientIndicator cc = new CorrelationCoefficientIndicator(ref, other, timeFrame);
-		boolean isDivergent = cc.getValue(index).isLessThanOrEqual(minStrenght.multipliedBy(Decimal.valueOf(-1)));
+		boolean isDivergent = cc.getValue(index).isLessThanOrEqual(minStrenght.multipliedBy(decimalOf(-1)));
 
 		if (isDivergent) {
 			// If "isDivergent" and "ref" is negative, then "other" must be positive.
-			Decimal slopeRef = calculateSlopeRel(index, ref);
-			Decimal slopeOther = calculateSlopeRel(index, other);
+			Decimal slopeRef = calculateSlopeRel(index, slrRef);
+			Decimal slopeOther = calculateSlopeRel(index, slrOther);
 
-			//return slopeRef.isLessThanOrEqual(minSlope.abs().multipliedBy(Decimal.valueOf(-1)));
+			//return slopeRef.isLessThanOrEqual(minSlope.abs().multipliedBy(decimalOf(-1)));
 			return slopeRef.doubleValue() < 0 && slopeOther.doubleValue() > 0;
 		}
 		return false;
@@ -375,21 +381,10 @@ public class ConvergenceDivergenceIndicator extends CachedIndicator<Boolean> {
 	
 	/**
 	 * @param index the actual index
-	 * @return the absolute slope
-	 */
-	private Decimal calculateSlopeAbs(int index) {
-		SimpleLinearRegressionIndicator slrRef = new SimpleLinearRegressionIndicator(ref, timeFrame);
-		int firstIndex = Math.max(0, index - timeFrame + 1);
-		return (slrRef.getValue(index).minus(slrRef.getValue(firstIndex)))
-				.dividedBy(Decimal.valueOf(timeFrame).minus(Decimal.valueOf(firstIndex)));
-	}
-	
-	/**
-	 * @param index the actual index
+	 * @param slr the linear regression of an indicator
 	 * @return the relative slope
 	 */
-	private Decimal calculateSlopeRel(int index, Indicator<Decimal> indicator) {
-		SimpleLinearRegressionIndicator slr = new SimpleLinearRegressionIndicator(indicator, timeFrame);
+	private Decimal calculateSlopeRel(int index, SimpleLinearRegressionIndicator slr) {
 		int firstIndex = Math.max(0, index - timeFrame + 1);
 
 		return (slr.getValue(index).minus(slr.getValue(firstIndex)))
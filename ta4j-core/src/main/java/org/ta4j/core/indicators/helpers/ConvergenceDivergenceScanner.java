@@ -0,0 +1,154 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ConvergenceDivergenceIndicator.ConvergenceDivergenceStrictType;
+import org.ta4j.core.indicators.helpers.ConvergenceDivergenceIndicator.ConvergenceDivergenceType;
+import org.ta4j.core.indicators.statistics.SlidingLinearRegressionIndicator;
+import org.ta4j.core.indicators.statistics.VarianceIndicator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Convergence-divergence scanner.
+ * <p></p>
+ * Scans one reference {@link Indicator indicator} against several other indicators (e.g. the close prices of
+ * several instruments) with a {@link ConvergenceDivergenceIndicator} per pair. The sub-indicators of the
+ * reference (linear regression and variance) are built once and shared between all the pairs, and the bars are
+ * scanned in a single pass (index by index, so that the sliding states of the sub-indicators are reused from one
+ * index to the next).
+ */
+public class ConvergenceDivergenceScanner {
+
+    /** The convergence-divergence indicators, one per other indicator */
+    private final List<ConvergenceDivergenceIndicator> indicators;
+
+    /**
+     * Constructor.
+     * @param ref the reference indicator
+     * @param others the other indicators
+     * @param timeFrame the time frame
+     * @param type of convergence or divergence
+     * @param minStrenght the minimum required strenght for convergence or divergence
+     * @param minSlope the minimum required slope for convergence or divergence
+     */
+    public ConvergenceDivergenceScanner(Indicator<Decimal> ref, List<? extends Indicator<Decimal>> others, int timeFrame,
+            ConvergenceDivergenceType type, double minStrenght, double minSlope) {
+        this.indicators = build(ref, others, timeFrame, type, null, minStrenght, minSlope);
+    }
+
+    /**
+     * Constructor for strong convergence or divergence.
+     * @param ref the reference indicator
+     * @param others the other indicators
+     * @param timeFrame the time frame
+     * @param type of convergence or divergence
+     */
+    public ConvergenceDivergenceScanner(Indicator<Decimal> ref, List<? extends Indicator<Decimal>> others, int timeFrame,
+            ConvergenceDivergenceType type) {
+        this.indicators = build(ref, others, timeFrame, type, null, 0.8, 0.3);
+    }
+
+    /**
+     * Constructor for strict convergence or divergence.
+     * @param ref the reference indicator
+     * @param others the other indicators
+     * @param timeFrame the time frame
+     * @param strictType of strict convergence or divergence
+     */
+    public ConvergenceDivergenceScanner(Indicator<Decimal> ref, List<? extends Indicator<Decimal>> others, int timeFrame,
+            ConvergenceDivergenceStrictType strictType) {
+        this.indicators = build(ref, others, timeFrame, null, strictType, 0.8, 0.3);
+    }
+
+    /**
+     * @return the convergence-divergence indicators (one per other indicator, in the same order)
+     */
+    public List<ConvergenceDivergenceIndicator> getIndicators() {
+        return indicators;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the set of the (positions of the) other indicators converging/diverging at the index
+     */
+    public BitSet scan(int index) {
+        BitSet satisfied = new BitSet(indicators.size());
+        for (int i = 0; i < indicators.size(); i++) {
+            if (indicators.get(i).getValue(index)) {
+                satisfied.set(i);
+            }
+        }
+        return satisfied;
+    }
+
+    /**
+     * Scans the bars between two indexes, in a single pass.
+     * @param beginIndex the begin index (inclusive)
+     * @param endIndex the end index (inclusive)
+     * @return for each other indicator (in the same order), the set of the indexes at which it converges/diverges
+     */
+    public List<BitSet> scan(int beginIndex, int endIndex) {
+        List<BitSet> results = new ArrayList<>(indicators.size());
+        for (int i = 0; i < indicators.size(); i++) {
+            results.add(new BitSet());
+        }
+        for (int index = beginIndex; index <= endIndex; index++) {
+            for (int i = 0; i < indicators.size(); i++) {
+                if (indicators.get(i).getValue(index)) {
+                    results.get(i).set(index);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Builds the convergence-divergence indicators, sharing the sub-indicators of the reference indicator.
+     * @param ref the reference indicator
+     * @param others the other indicators
+     * @param timeFrame the time frame
+     * @param type of convergence or divergence (null for a strict type)
+     * @param strictType of strict convergence or divergence (null for a non-strict type)
+     * @param minStrenght the minimum required strenght for convergence or divergence
+     * @param minSlope the minimum required slope for convergence or divergence
+     * @return the convergence-divergence indicators
+     */
+    private static List<ConvergenceDivergenceIndicator> build(Indicator<Decimal> ref,
+            List<? extends Indicator<Decimal>> others, int timeFrame, ConvergenceDivergenceType type,
+            ConvergenceDivergenceStrictType strictType, double minStrenght, double minSlope) {
+        SlidingLinearRegressionIndicator refRegression = new SlidingLinearRegressionIndicator(ref, timeFrame);
+        VarianceIndicator refVariance = new VarianceIndicator(ref, timeFrame);
+        List<ConvergenceDivergenceIndicator> cdIndicators = new ArrayList<>(others.size());
+        for (Indicator<Decimal> other : others) {
+            cdIndicators.add(new ConvergenceDivergenceIndicator(ref, refRegression, refVariance, other, timeFrame,
+                    type, strictType, minStrenght, minSlope));
+        }
+        return Collections.unmodifiableList(cdIndicators);
+    }
+}
@@ -159,11 +159,11 @@ public class DecimalTransformIndicator extends CachedIndicator<Decimal> {
 		else if (simpleType != null) {
 			switch (simpleType) {
 			case sqrt:
-				return Decimal.valueOf(Math.sqrt(val.doubleValue()));
+				return val.sqrt();
 			case abs:
 				return val.abs();
 			case log:
-				return Decimal.valueOf(Math.log(val.doubleValue()));
+				return decimalOf(Math.log(val.doubleValue()));
 			default:
 				break;
 			}
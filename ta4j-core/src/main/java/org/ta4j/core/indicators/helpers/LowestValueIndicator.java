@@ -29,6 +29,8 @@ import org.ta4j.core.indicators.CachedIndicator;
 /**
  * Lowest value indicator.
  * <p></p>
+ * Returns the lowest value of the time frame, ignoring the NaN values (NaN if all of them are NaN).
+ * When the values are calculated sequentially, a monotonic deque slides the time frame in amortized constant time.
  */
 public class LowestValueIndicator extends CachedIndicator<Decimal> {
 
@@ -36,6 +38,12 @@ public class LowestValueIndicator extends CachedIndicator<Decimal> {
 
     private final int timeFrame;
 
+    /** Candidate extrema of the time frame ending at lastIndex, excluding the value at lastIndex */
+    private final MonotonicDeque deque = new MonotonicDeque(false);
+
+    /** Index of the last calculated value, -1 if none */
+    private int lastIndex = -1;
+
     public LowestValueIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
@@ -44,16 +52,22 @@ public class LowestValueIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        if (indicator.getValue(index).isNaN() && timeFrame != 1)
-            return new LowestValueIndicator(indicator,timeFrame-1).getValue(index-1);
-        int end = Math.max(0, index - timeFrame + 1);
-        Decimal lowest = indicator.getValue(index);
-        for (int i = index - 1; i >= end; i--) {
-            if (lowest.isGreaterThan(indicator.getValue(i))) {
-                lowest = indicator.getValue(i);
+        final int startIndex = Math.max(0, index - timeFrame + 1);
+        if (index != lastIndex) {
+            if (index == lastIndex + 1 && lastIndex >= 0) {
+                // Sliding the time frame
+                deque.add(lastIndex, indicator.getValue(lastIndex));
+            } else {
+                deque.clear();
+                for (int i = startIndex; i < index; i++) {
+                    deque.add(i, indicator.getValue(i));
+                }
             }
+            deque.removeBefore(startIndex);
+            lastIndex = index;
         }
-        return lowest;
+        // The value at index is always read again (it may change if it is the one of the last bar)
+        return deque.getExtremum(indicator.getValue(index));
     }
 
     @Override
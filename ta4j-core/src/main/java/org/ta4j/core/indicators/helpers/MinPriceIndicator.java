@@ -41,6 +41,14 @@ public class MinPriceIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        return series.getBar(index).getMinPrice();
+        return series.getMinPrice(index);
+    }
+
+    @Override
+    public void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+        for (int i = beginIndex; i <= endIndex; i++) {
+            Decimal price = series.getMinPrice(i);
+            values[offset + i - beginIndex] = price == null ? Double.NaN : price.doubleValue();
+        }
     }
 }
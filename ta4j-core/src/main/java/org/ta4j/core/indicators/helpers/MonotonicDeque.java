@@ -0,0 +1,153 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import org.ta4j.core.Decimal;
+
+import java.io.Serializable;
+
+/**
+ * Monotonic deque of indexed values, giving the highest (or lowest) value of a sliding time frame.
+ * <p></p>
+ * The values which cannot be the extremum anymore (i.e. followed by a higher one, for the highest value) are
+ * dropped when a value is added: adding a value and getting the extremum are amortized O(1).
+ * NaN values are ignored.
+ */
+final class MonotonicDeque implements Serializable {
+
+    private static final long serialVersionUID = 4506287395432117609L;
+
+    /** True to keep the highest value, false to keep the lowest one */
+    private final boolean highest;
+
+    /** Indexes of the kept values (circular) */
+    private int[] indexes = new int[16];
+
+    /** Kept values (circular) */
+    private Decimal[] values = new Decimal[16];
+
+    /** Position of the first element */
+    private int head = 0;
+
+    /** Number of elements */
+    private int size = 0;
+
+    /**
+     * Constructor.
+     * @param highest true to keep the highest value, false to keep the lowest one
+     */
+    MonotonicDeque(boolean highest) {
+        this.highest = highest;
+    }
+
+    /**
+     * Removes all the values.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            values[position(i)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds a value (after all the previous ones).
+     * @param index the index of the value
+     * @param value the value
+     */
+    void add(int index, Decimal value) {
+        if (value.isNaN()) {
+            return;
+        }
+        // Dropping the values which cannot be the extremum anymore
+        while (size > 0 && !isBetter(values[position(size - 1)], value)) {
+            size--;
+            values[position(size)] = null;
+        }
+        if (size == indexes.length) {
+            grow();
+        }
+        int position = position(size);
+        indexes[position] = index;
+        values[position] = value;
+        size++;
+    }
+
+    /**
+     * Removes the values before an index.
+     * @param index the index of the first value to be kept
+     */
+    void removeBefore(int index) {
+        while (size > 0 && indexes[head] < index) {
+            values[head] = null;
+            head = position(1);
+            size--;
+        }
+    }
+
+    /**
+     * @param value a value following all the values of the deque
+     * @return the extremum of the values of the deque and the provided value, NaN if all of them are NaN
+     */
+    Decimal getExtremum(Decimal value) {
+        if (size == 0) {
+            return value;
+        }
+        Decimal extremum = values[head];
+        return value.isNaN() || isBetter(extremum, value) ? extremum : value;
+    }
+
+    /**
+     * @param value a value
+     * @param followingValue a value following the first one
+     * @return true if the first value is strictly better (i.e. higher for the highest value) than the following one
+     */
+    private boolean isBetter(Decimal value, Decimal followingValue) {
+        return highest ? value.isGreaterThan(followingValue) : value.isLessThan(followingValue);
+    }
+
+    /**
+     * @param i an element number
+     * @return the position of the i-th element in the arrays
+     */
+    private int position(int i) {
+        int position = head + i;
+        return position < indexes.length ? position : position - indexes.length;
+    }
+
+    /**
+     * Doubles the capacity of the deque.
+     */
+    private void grow() {
+        int[] grownIndexes = new int[indexes.length * 2];
+        Decimal[] grownValues = new Decimal[values.length * 2];
+        for (int i = 0; i < size; i++) {
+            grownIndexes[i] = indexes[position(i)];
+            grownValues[i] = values[position(i)];
+        }
+        indexes = grownIndexes;
+        values = grownValues;
+        head = 0;
+    }
+}
@@ -41,6 +41,14 @@ public class OpenPriceIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        return series.getBar(index).getOpenPrice();
+        return series.getOpenPrice(index);
+    }
+
+    @Override
+    public void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+        for (int i = beginIndex; i <= endIndex; i++) {
+            Decimal price = series.getOpenPrice(i);
+            values[offset + i - beginIndex] = price == null ? Double.NaN : price.doubleValue();
+        }
     }
 }
\ No newline at end of file
@@ -44,8 +44,8 @@ public class PlusDMIndicator extends CachedIndicator<Decimal> {
         if (index == 0) {
             return Decimal.ZERO;
         }
-        Decimal upMove = series.getBar(index).getMaxPrice().minus(series.getBar(index - 1).getMaxPrice());
-        Decimal downMove = series.getBar(index - 1).getMinPrice().minus(series.getBar(index).getMinPrice());
+        Decimal upMove = series.getMaxPrice(index).minus(series.getMaxPrice(index - 1));
+        Decimal downMove = series.getMinPrice(index - 1).minus(series.getMinPrice(index));
         if (upMove.isGreaterThan(downMove) && upMove.isGreaterThan(Decimal.ZERO)) {
             return upMove;
         } else {
@@ -41,8 +41,8 @@ public class PriceVariationIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal previousBarClosePrice = series.getBar(Math.max(0, index - 1)).getClosePrice();
-        Decimal currentBarClosePrice = series.getBar(index).getClosePrice();
+        Decimal previousBarClosePrice = series.getClosePrice(Math.max(0, index - 1));
+        Decimal currentBarClosePrice = series.getClosePrice(index);
         return currentBarClosePrice.dividedBy(previousBarClosePrice);
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.SubTimeSeries;
+import org.ta4j.core.indicators.AbstractIndicator;
+
+import java.util.BitSet;
+
+/**
+ * Sub-series indicator.
+ * <p></p>
+ * Returns the values of an indicator of the parent series of a {@link SubTimeSeries sub-series}, by index of the
+ * sub-series. The values are read from (the cache of) the parent indicator, so that the indicators of several
+ * overlapping sub-series calculate each value once.
+ */
+public class SubSeriesIndicator<T> extends AbstractIndicator<T> {
+
+    private final SubTimeSeries series;
+
+    private final Indicator<T> parentIndicator;
+
+    /**
+     * Constructor.
+     * @param series the sub-series
+     * @param parentIndicator an indicator of the parent series of the sub-series
+     * @throws IllegalArgumentException if the indicator is not related to the parent series
+     */
+    public SubSeriesIndicator(SubTimeSeries series, Indicator<T> parentIndicator) {
+        super(series);
+        if (parentIndicator.getTimeSeries() != series.getParent()) {
+            throw new IllegalArgumentException("The indicator must be related to the parent series of the sub-series");
+        }
+        this.series = series;
+        this.parentIndicator = parentIndicator;
+    }
+
+    @Override
+    public T getValue(int index) {
+        return parentIndicator.getValue(series.getParentIndex(index));
+    }
+
+    @Override
+    public void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+        parentIndicator.getDoubleValues(series.getParentIndex(beginIndex), series.getParentIndex(endIndex), values, offset);
+    }
+
+    @Override
+    public BitSet getBooleanValues(int beginIndex, int endIndex) {
+        return parentIndicator.getBooleanValues(series.getParentIndex(beginIndex), series.getParentIndex(endIndex));
+    }
+
+    /**
+     * @return the indicator of the parent series
+     */
+    public Indicator<T> getParentIndicator() {
+        return parentIndicator;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " " + parentIndicator;
+    }
+}
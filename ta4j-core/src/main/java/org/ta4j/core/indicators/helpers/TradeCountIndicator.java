@@ -40,6 +40,6 @@ public class TradeCountIndicator extends CachedIndicator<Integer> {
 
     @Override
     protected Integer calculate(int index) {
-        return series.getBar(index).getTrades();
+        return series.getTrades(index);
     }
 }
\ No newline at end of file
@@ -46,6 +46,21 @@ public class KeltnerChannelLowerIndicator extends CachedIndicator<Decimal> {
         averageTrueRangeIndicator = new ATRIndicator(keltnerMiddleIndicator.getTimeSeries(), timeFrameATR);
     }
 
+    /**
+     * Constructor sharing the average true range (e.g. interned in an
+     * {@link org.ta4j.core.indicators.IndicatorRegistry indicator registry}).
+     * @param keltnerMiddleIndicator the middle line
+     * @param ratio the multiplier of the average true range
+     * @param averageTrueRangeIndicator the average true range
+     */
+    public KeltnerChannelLowerIndicator(KeltnerChannelMiddleIndicator keltnerMiddleIndicator, Decimal ratio,
+            ATRIndicator averageTrueRangeIndicator) {
+        super(keltnerMiddleIndicator);
+        this.ratio = ratio;
+        this.keltnerMiddleIndicator = keltnerMiddleIndicator;
+        this.averageTrueRangeIndicator = averageTrueRangeIndicator;
+    }
+
     @Override
     protected Decimal calculate(int index) {
         return keltnerMiddleIndicator.getValue(index).minus(ratio.multipliedBy(averageTrueRangeIndicator.getValue(index)));
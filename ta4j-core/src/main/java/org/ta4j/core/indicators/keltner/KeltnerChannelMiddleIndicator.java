@@ -47,6 +47,16 @@ public class KeltnerChannelMiddleIndicator extends CachedIndicator<Decimal> {
         emaIndicator = new EMAIndicator(indicator, timeFrameEMA);
     }
 
+    /**
+     * Constructor sharing the moving average (e.g. interned in an
+     * {@link org.ta4j.core.indicators.IndicatorRegistry indicator registry}).
+     * @param emaIndicator the EMA of the indicator (usually the typical price)
+     */
+    public KeltnerChannelMiddleIndicator(EMAIndicator emaIndicator) {
+        super(emaIndicator);
+        this.emaIndicator = emaIndicator;
+    }
+
     @Override
     protected Decimal calculate(int index) {
         return emaIndicator.getValue(index);
@@ -94,7 +94,7 @@ public class DeMarkPivotPointIndicator extends RecursiveCachedIndicator<Decimal>
 		    x = high.plus(low).plus(Decimal.TWO.multipliedBy(close));
         }
 
-		return x.dividedBy(Decimal.valueOf(4));
+		return x.dividedBy(decimalOf(4));
 	}
 
     /**
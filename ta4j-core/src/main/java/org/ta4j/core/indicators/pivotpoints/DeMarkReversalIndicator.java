@@ -59,7 +59,7 @@ public class DeMarkReversalIndicator extends RecursiveCachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal x = pivotPointIndicator.getValue(index).multipliedBy(Decimal.valueOf(4));
+        Decimal x = pivotPointIndicator.getValue(index).multipliedBy(decimalOf(4));
         Decimal result;
 
         if(level == DeMarkPivotLevel.SUPPORT){
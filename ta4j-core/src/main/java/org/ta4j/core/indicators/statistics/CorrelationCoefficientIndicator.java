@@ -54,12 +54,43 @@ public class CorrelationCoefficientIndicator extends CachedIndicator<Decimal> {
         covariance = new CovarianceIndicator(indicator1, indicator2, timeFrame);
     }
 
+    /**
+     * Constructor sharing the variance of the first indicator (e.g. between the correlations of one indicator with
+     * several others).
+     * @param indicator1 the first indicator
+     * @param variance1 the variance of the first indicator, over the time frame
+     * @param indicator2 the second indicator
+     * @param timeFrame the time frame
+     */
+    public CorrelationCoefficientIndicator(Indicator<Decimal> indicator1, VarianceIndicator variance1,
+            Indicator<Decimal> indicator2, int timeFrame) {
+        super(indicator1);
+        this.variance1 = variance1;
+        variance2 = new VarianceIndicator(indicator2, timeFrame);
+        covariance = new CovarianceIndicator(indicator1, indicator2, timeFrame);
+    }
+
+    /**
+     * Constructor sharing all the sub-indicators (e.g. interned in an
+     * {@link org.ta4j.core.indicators.IndicatorRegistry indicator registry}).
+     * @param variance1 the variance of the first indicator, over the time frame
+     * @param variance2 the variance of the second indicator, over the time frame
+     * @param covariance the covariance of the two indicators, over the time frame
+     */
+    public CorrelationCoefficientIndicator(VarianceIndicator variance1, VarianceIndicator variance2,
+            CovarianceIndicator covariance) {
+        super(covariance);
+        this.variance1 = variance1;
+        this.variance2 = variance2;
+        this.covariance = covariance;
+    }
+
     @Override
     protected Decimal calculate(int index) {
         Decimal cov = covariance.getValue(index);
         Decimal var1 = variance1.getValue(index);
         Decimal var2 = variance2.getValue(index);
-        Decimal var1_2_sqrt = Decimal.valueOf(Math.sqrt(var1.multipliedBy(var2).doubleValue()));
+        Decimal var1_2_sqrt = var1.multipliedBy(var2).sqrt();
         return cov.dividedBy(var1_2_sqrt);
 
 
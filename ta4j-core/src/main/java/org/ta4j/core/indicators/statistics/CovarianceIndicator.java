@@ -25,11 +25,13 @@ package org.ta4j.core.indicators.statistics;
 import org.ta4j.core.Decimal;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
-import org.ta4j.core.indicators.SMAIndicator;
 
 /**
  * Covariance indicator.
  * <p></p>
+ * When the values are calculated sequentially, the sums of the (shifted) values and of their products are slid from
+ * one index to the next one (constant time). They are fully recalculated on random access, and every
+ * <tt>timeFrame</tt> values to prevent the accumulation of rounding errors.
  */
 public class CovarianceIndicator extends CachedIndicator<Decimal> {
 
@@ -39,9 +41,24 @@ public class CovarianceIndicator extends CachedIndicator<Decimal> {
 
     private int timeFrame;
 
-    private SMAIndicator sma1;
-    
-    private SMAIndicator sma2;
+    /** Index of the last calculated value, -1 if none */
+    private int lastIndex = -1;
+
+    /** Values subtracted from the values of the indicators before summing them (reduces the cancellation errors) */
+    private Decimal shift1;
+
+    private Decimal shift2;
+
+    /** Sums of the shifted values of the time frame ending at lastIndex, excluding the ones at lastIndex */
+    private Decimal partialSum1;
+
+    private Decimal partialSum2;
+
+    /** Sum of the products of the shifted values of the time frame ending at lastIndex, excluding the one at lastIndex */
+    private Decimal partialSumOfProducts;
+
+    /** Number of times the sums have been slid since their last full calculation */
+    private int slideCount;
 
     /**
      * Constructor.
@@ -54,23 +71,55 @@ public class CovarianceIndicator extends CachedIndicator<Decimal> {
         this.indicator1 = indicator1;
         this.indicator2 = indicator2;
         this.timeFrame = timeFrame;
-        sma1 = new SMAIndicator(indicator1, timeFrame);
-        sma2 = new SMAIndicator(indicator2, timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
         final int startIndex = Math.max(0, index - timeFrame + 1);
         final int numberOfObservations = index - startIndex + 1;
-        Decimal covariance = Decimal.ZERO;
-        Decimal average1 = sma1.getValue(index);
-        Decimal average2 = sma2.getValue(index);
-        for (int i = startIndex; i <= index; i++) {
-            Decimal mul = indicator1.getValue(i).minus(average1).multipliedBy(indicator2.getValue(i).minus(average2));
-            covariance = covariance.plus(mul);
+        if (index != lastIndex) {
+            if (index == lastIndex + 1 && lastIndex >= 0 && slideCount < timeFrame && !partialSumOfProducts.isNaN() && !isRemoved(startIndex - 1)) {
+                // Sliding the time frame: adding the previous values, removing the ones which left the time frame
+                Decimal added1 = indicator1.getValue(lastIndex).minus(shift1);
+                Decimal added2 = indicator2.getValue(lastIndex).minus(shift2);
+                partialSum1 = partialSum1.plus(added1);
+                partialSum2 = partialSum2.plus(added2);
+                partialSumOfProducts = partialSumOfProducts.plus(added1.multipliedBy(added2));
+                if (startIndex > 0) {
+                    Decimal removed1 = indicator1.getValue(startIndex - 1).minus(shift1);
+                    Decimal removed2 = indicator2.getValue(startIndex - 1).minus(shift2);
+                    partialSum1 = partialSum1.minus(removed1);
+                    partialSum2 = partialSum2.minus(removed2);
+                    partialSumOfProducts = partialSumOfProducts.minus(removed1.multipliedBy(removed2));
+                }
+                slideCount++;
+            } else {
+                shift1 = indicator1.getValue(startIndex);
+                shift2 = indicator2.getValue(startIndex);
+                partialSum1 = Decimal.ZERO;
+                partialSum2 = Decimal.ZERO;
+                partialSumOfProducts = Decimal.ZERO;
+                for (int i = startIndex; i < index; i++) {
+                    Decimal value1 = indicator1.getValue(i).minus(shift1);
+                    Decimal value2 = indicator2.getValue(i).minus(shift2);
+                    partialSum1 = partialSum1.plus(value1);
+                    partialSum2 = partialSum2.plus(value2);
+                    partialSumOfProducts = partialSumOfProducts.plus(value1.multipliedBy(value2));
+                }
+                slideCount = 0;
+            }
+            lastIndex = index;
         }
-        covariance = covariance.dividedBy(Decimal.valueOf(numberOfObservations));
-        return covariance;
+        // The values at index are always read again (they may change if they are the ones of the last bar)
+        Decimal value1 = indicator1.getValue(index).minus(shift1);
+        Decimal value2 = indicator2.getValue(index).minus(shift2);
+        Decimal sum1 = partialSum1.plus(value1);
+        Decimal sum2 = partialSum2.plus(value2);
+        Decimal sumOfProducts = partialSumOfProducts.plus(value1.multipliedBy(value2));
+
+        // covariance = (sum of products - sum1 * sum2 / n) / n
+        Decimal observations = decimalOf(numberOfObservations);
+        return sumOfProducts.minus(sum1.multipliedBy(sum2).dividedBy(observations)).dividedBy(observations);
     }
 
     @Override
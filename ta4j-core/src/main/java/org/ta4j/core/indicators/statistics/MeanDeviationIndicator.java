@@ -65,7 +65,7 @@ public class MeanDeviationIndicator extends CachedIndicator<Decimal> {
             // For each period...
             absoluteDeviations = absoluteDeviations.plus(indicator.getValue(i).minus(average).abs());
         }
-        return absoluteDeviations.dividedBy(Decimal.valueOf(nbValues));
+        return absoluteDeviations.dividedBy(decimalOf(nbValues));
     }
 
     @Override
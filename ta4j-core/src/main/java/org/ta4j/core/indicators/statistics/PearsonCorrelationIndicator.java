@@ -36,7 +36,7 @@ public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Decima
 	@Override
 	protected Decimal calculate(int index) {
 
-		Decimal n = Decimal.valueOf(timeFrame);
+		Decimal n = decimalOf(timeFrame);
 
 		Decimal Sx = Decimal.ZERO;
 		Decimal Sy = Decimal.ZERO;
@@ -62,7 +62,7 @@ public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Decima
 		
 		if (toSqrt.isGreaterThan(Decimal.ZERO)) {
 			// pearson = (n * Sxy - Sx * Sy) / sqrt((n * Sxx - Sx * Sx) * (n * Syy - Sy * Sy))
-			return (n.multipliedBy(Sxy).minus(Sx.multipliedBy(Sy))).dividedBy(Decimal.valueOf(Math.sqrt(toSqrt.doubleValue())));
+			return (n.multipliedBy(Sxy).minus(Sx.multipliedBy(Sy))).dividedBy(toSqrt.sqrt());
 		}
 
 		return Decimal.NaN;
@@ -123,7 +123,7 @@ public class PeriodicalGrowthRateIndicator extends CachedIndicator<Decimal> {
             Decimal movingSimpleReturn = (currentValue.minus(movingValue)).dividedBy(movingValue);
 
             double timeframedReturn_double = Math.pow((1 + movingSimpleReturn.doubleValue()), (1 / partialTimeframeHeld)) - 1;
-            timeframedReturn = Decimal.valueOf(timeframedReturn_double);
+            timeframedReturn = decimalOf(timeframedReturn_double);
         }
 
         return timeframedReturn;
@@ -32,6 +32,9 @@ import org.ta4j.core.indicators.CachedIndicator;
  * A moving (i.e. over the time frame) simple linear regression (least squares).
  * y = slope * x + intercept
  * See also: http://introcs.cs.princeton.edu/java/97data/LinearRegression.java.html
+ * <p></p>
+ * This indicator is a view (y, slope, intercept or R²) of a {@link SlidingLinearRegressionIndicator}: several views
+ * may share the same regression, which is then calculated once per index.
  */
 public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
 
@@ -39,14 +42,11 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
 	 * The type for the outcome of the {@link SimpleLinearRegressionIndicator}
 	 */
 	public enum SimpleLinearRegressionType {
-		y, slope, intercept
+		y, slope, intercept, rSquared
 	}
 
-	private Indicator<Decimal> indicator;
-	private int timeFrame;
-	private Decimal slope;
-	private Decimal intercept;
-	private SimpleLinearRegressionType type;
+	private final SlidingLinearRegressionIndicator regression;
+	private final SimpleLinearRegressionType type;
 
 	/**
 	 * Constructor for the y-values of the formula (y = slope * x + intercept).
@@ -63,64 +63,44 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
 	 * 
 	 * @param indicator the indicator for the x-values of the formula.
 	 * @param timeFrame the time frame
-	 * @param type the type of the outcome value (y, slope, intercept)
+	 * @param type the type of the outcome value (y, slope, intercept, rSquared)
 	 */
 	public SimpleLinearRegressionIndicator(Indicator<Decimal> indicator, int timeFrame,
 			SimpleLinearRegressionType type) {
-		super(indicator);
-		this.indicator = indicator;
-		this.timeFrame = timeFrame;
+		this(new SlidingLinearRegressionIndicator(indicator, timeFrame), type);
+	}
+
+	/**
+	 * Constructor of a view of a shared regression.
+	 * 
+	 * @param regression the regression
+	 * @param type the type of the outcome value (y, slope, intercept, rSquared)
+	 */
+	public SimpleLinearRegressionIndicator(SlidingLinearRegressionIndicator regression, SimpleLinearRegressionType type) {
+		super(regression);
+		this.regression = regression;
 		this.type = type;
 	}
 
+	/**
+	 * @return the regression of this view
+	 */
+	public SlidingLinearRegressionIndicator getRegression() {
+		return regression;
+	}
+
     @Override
     protected Decimal calculate(int index) {
-        final int startIndex = Math.max(0, index - timeFrame + 1);
-        if (index - startIndex + 1 < 2) {
-            // Not enough observations to compute a regression line
-            return Decimal.NaN;
-        }
-        calculateRegressionLine(startIndex, index);
-        
-        if (type == SimpleLinearRegressionType.slope) {
-            return slope;
-        }
-
-        if (type == SimpleLinearRegressionType.intercept) {
-            return intercept;
-        }
-      
-        return slope.multipliedBy(Decimal.valueOf(index)).plus(intercept);
-    }
-    
-    /**
-     * Calculates the regression line.
-     * @param startIndex the start index (inclusive) in the time series
-     * @param endIndex the end index (inclusive) in the time series
-     */
-    private void calculateRegressionLine(int startIndex, int endIndex) {
-        // First pass: compute xBar and yBar
-        Decimal sumX = Decimal.ZERO;
-        Decimal sumY = Decimal.ZERO;
-        for (int i = startIndex; i <= endIndex; i++) {
-            sumX = sumX.plus(Decimal.valueOf(i));
-            sumY = sumY.plus(indicator.getValue(i));
-        }
-        Decimal nbObservations = Decimal.valueOf(endIndex - startIndex + 1);
-        Decimal xBar = sumX.dividedBy(nbObservations);
-        Decimal yBar = sumY.dividedBy(nbObservations);
-        
-        // Second pass: compute slope and intercept
-        Decimal xxBar = Decimal.ZERO;
-        Decimal xyBar = Decimal.ZERO;
-        for (int i = startIndex; i <= endIndex; i++) {
-            Decimal dX = Decimal.valueOf(i).minus(xBar);
-            Decimal dY = indicator.getValue(i).minus(yBar);
-            xxBar = xxBar.plus(dX.multipliedBy(dX));
-            xyBar = xyBar.plus(dX.multipliedBy(dY));
+        final SlidingLinearRegressionIndicator.Regression line = regression.getValue(index);
+        switch (type) {
+            case slope:
+                return line.getSlope();
+            case intercept:
+                return line.getIntercept();
+            case rSquared:
+                return line.getRSquared();
+            default:
+                return line.getY();
         }
-        
-        slope = xyBar.dividedBy(xxBar);
-        intercept = yBar.minus(slope.multipliedBy(xBar));
     }
 }
@@ -0,0 +1,221 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.CachedIndicator;
+
+/**
+ * Sliding simple linear regression indicator.
+ * <p></p>
+ * The least squares regression line (y = slope * x + intercept, x being the index) of the values of an indicator over
+ * the time frame, with its coefficient of determination (R²).
+ * The sums of the regression are slid from an index to the next one, so that consecutive indexes are calculated in O(1):
+ * the sums of x and x² over the time frame are closed-form, and the sums of y, xy and y² are updated with the value
+ * entering and the value leaving the time frame. Against cancellation, x is taken relative to the first index of the
+ * time frame and y relative to a reference value (the first value of the time frame of the last full calculation).
+ * <p></p>
+ * This is the shared state of the {@link SimpleLinearRegressionIndicator views} of a regression (y, slope, intercept,
+ * R²): build it once, and the views on it.
+ */
+public class SlidingLinearRegressionIndicator extends CachedIndicator<SlidingLinearRegressionIndicator.Regression> {
+
+    /**
+     * A regression line over a time frame.
+     */
+    public static final class Regression {
+
+        private final Decimal slope;
+
+        private final Decimal intercept;
+
+        private final Decimal y;
+
+        private final Decimal rSquared;
+
+        Regression(Decimal slope, Decimal intercept, Decimal y, Decimal rSquared) {
+            this.slope = slope;
+            this.intercept = intercept;
+            this.y = y;
+            this.rSquared = rSquared;
+        }
+
+        /**
+         * @return the slope of the line
+         */
+        public Decimal getSlope() {
+            return slope;
+        }
+
+        /**
+         * @return the intercept of the line (i.e. y at the index 0)
+         */
+        public Decimal getIntercept() {
+            return intercept;
+        }
+
+        /**
+         * @return the y of the line at the index of the regression
+         */
+        public Decimal getY() {
+            return y;
+        }
+
+        /**
+         * @return the coefficient of determination (NaN if the values are constant)
+         */
+        public Decimal getRSquared() {
+            return rSquared;
+        }
+
+        @Override
+        public String toString() {
+            return "Regression{slope=" + slope + ", intercept=" + intercept + ", y=" + y + ", rSquared=" + rSquared + '}';
+        }
+    }
+
+    private static final Regression NAN = new Regression(Decimal.NaN, Decimal.NaN, Decimal.NaN, Decimal.NaN);
+
+    private final Indicator<Decimal> indicator;
+
+    private final int timeFrame;
+
+    /** Index of the last calculated regression, -1 if none */
+    private int lastIndex = -1;
+
+    /** First index of the time frame ending at lastIndex */
+    private int startIndex;
+
+    /** Reference value of the sums (y relative to it) */
+    private Decimal reference;
+
+    // Sums over the time frame ending at lastIndex, excluding the value at lastIndex (x relative to startIndex)
+    private Decimal partialSumY;
+    private Decimal partialSumXY;
+    private Decimal partialSumYY;
+
+    /** Number of times the sums have been slid since their last full calculation */
+    private int slideCount;
+
+    /**
+     * Constructor.
+     * @param indicator the indicator of the values (y)
+     * @param timeFrame the time frame
+     */
+    public SlidingLinearRegressionIndicator(Indicator<Decimal> indicator, int timeFrame) {
+        super(indicator);
+        this.indicator = indicator;
+        this.timeFrame = timeFrame;
+    }
+
+    /**
+     * @return the time frame
+     */
+    public int getTimeFrame() {
+        return timeFrame;
+    }
+
+    @Override
+    protected Regression calculate(int index) {
+        final int start = Math.max(0, index - timeFrame + 1);
+        final int n = index - start + 1;
+        if (n < 2) {
+            // Not enough observations to compute a regression line
+            return NAN;
+        }
+        if (index != lastIndex) {
+            if (index == lastIndex + 1 && slideCount < timeFrame && !partialSumYY.isNaN() && (start == startIndex || !isRemoved(startIndex))) {
+                slide(start);
+            } else {
+                sum(start, index);
+            }
+            lastIndex = index;
+            startIndex = start;
+        }
+        // The value at index is always read again (it may change if it is the one of the last bar)
+        final Decimal value = indicator.getValue(index).minus(reference);
+        final Decimal sumY = partialSumY.plus(value);
+        final Decimal sumXY = partialSumXY.plus(value.multipliedBy(decimalOf(n - 1)));
+        final Decimal sumYY = partialSumYY.plus(value.multipliedBy(value));
+
+        // x: 0 to n - 1
+        final Decimal nbObservations = decimalOf(n);
+        final Decimal xBar = decimalOf(n - 1).dividedBy(decimalOf(2));
+        final Decimal sxx = decimalOf((long) n * ((long) n * n - 1)).dividedBy(decimalOf(12));
+        final Decimal sxy = sumXY.minus(xBar.multipliedBy(sumY));
+        final Decimal syy = sumYY.minus(sumY.multipliedBy(sumY).dividedBy(nbObservations));
+
+        final Decimal slope = sxy.dividedBy(sxx);
+        final Decimal relativeIntercept = sumY.dividedBy(nbObservations).plus(reference).minus(slope.multipliedBy(xBar));
+        final Decimal intercept = relativeIntercept.minus(slope.multipliedBy(decimalOf(start)));
+        final Decimal y = relativeIntercept.plus(slope.multipliedBy(decimalOf(n - 1)));
+        final Decimal rSquared = syy.isZero() ? Decimal.NaN
+                : sxy.multipliedBy(sxy).dividedBy(sxx.multipliedBy(syy)).min(Decimal.ONE);
+        return new Regression(slope, intercept, y, rSquared);
+    }
+
+    /**
+     * Slides the partial sums from lastIndex to the next index.
+     * @param start the first index of the time frame of the next index
+     */
+    private void slide(int start) {
+        // Adding the previous value (at x = lastIndex - startIndex)
+        final Decimal previousValue = indicator.getValue(lastIndex).minus(reference);
+        partialSumY = partialSumY.plus(previousValue);
+        partialSumXY = partialSumXY.plus(previousValue.multipliedBy(decimalOf(lastIndex - startIndex)));
+        partialSumYY = partialSumYY.plus(previousValue.multipliedBy(previousValue));
+        if (start > startIndex) {
+            // Removing the value which left the time frame (at x = 0), then shifting x by -1
+            final Decimal leftValue = indicator.getValue(startIndex).minus(reference);
+            partialSumY = partialSumY.minus(leftValue);
+            partialSumYY = partialSumYY.minus(leftValue.multipliedBy(leftValue));
+            partialSumXY = partialSumXY.minus(partialSumY);
+        }
+        slideCount++;
+    }
+
+    /**
+     * Calculates the partial sums from scratch.
+     * @param start the first index of the time frame
+     * @param index the index (excluded from the sums)
+     */
+    private void sum(int start, int index) {
+        reference = indicator.getValue(start);
+        partialSumY = Decimal.ZERO;
+        partialSumXY = Decimal.ZERO;
+        partialSumYY = Decimal.ZERO;
+        for (int i = start; i < index; i++) {
+            final Decimal value = indicator.getValue(i).minus(reference);
+            partialSumY = partialSumY.plus(value);
+            partialSumXY = partialSumXY.plus(value.multipliedBy(decimalOf(i - start)));
+            partialSumYY = partialSumYY.plus(value.multipliedBy(value));
+        }
+        slideCount = 0;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " timeFrame: " + timeFrame;
+    }
+}
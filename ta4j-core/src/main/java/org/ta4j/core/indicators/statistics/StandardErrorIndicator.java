@@ -51,6 +51,6 @@ public class StandardErrorIndicator extends CachedIndicator<Decimal> {
     protected Decimal calculate(int index) {
         final int startIndex = Math.max(0, index - timeFrame + 1);
         final int numberOfObservations = index - startIndex + 1;
-        return sdev.getValue(index).dividedBy(Decimal.valueOf(Math.sqrt(numberOfObservations)));
+        return sdev.getValue(index).dividedBy(decimalOf(Math.sqrt(numberOfObservations)));
     }
 }
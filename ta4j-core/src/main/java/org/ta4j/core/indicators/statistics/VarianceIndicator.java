@@ -25,11 +25,13 @@ package org.ta4j.core.indicators.statistics;
 import org.ta4j.core.Decimal;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
-import org.ta4j.core.indicators.SMAIndicator;
 
 /**
  * Variance indicator.
  * <p></p>
+ * When the values are calculated sequentially, the sums of the (shifted) values and of their squares are slid from
+ * one index to the next one (constant time). They are fully recalculated on random access, and every
+ * <tt>timeFrame</tt> values to prevent the accumulation of rounding errors.
  */
 public class VarianceIndicator extends CachedIndicator<Decimal> {
 
@@ -37,7 +39,20 @@ public class VarianceIndicator extends CachedIndicator<Decimal> {
 
     private int timeFrame;
 
-    private SMAIndicator sma;
+    /** Index of the last calculated value, -1 if none */
+    private int lastIndex = -1;
+
+    /** Value subtracted from the values before summing them (reduces the cancellation errors) */
+    private Decimal shift;
+
+    /** Sum of the shifted values of the time frame ending at lastIndex, excluding the one at lastIndex */
+    private Decimal partialSum;
+
+    /** Sum of the squared shifted values of the time frame ending at lastIndex, excluding the one at lastIndex */
+    private Decimal partialSumOfSquares;
+
+    /** Number of times the sums have been slid since their last full calculation */
+    private int slideCount;
 
     /**
      * Constructor.
@@ -48,21 +63,90 @@ public class VarianceIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
-        sma = new SMAIndicator(indicator, timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
         final int startIndex = Math.max(0, index - timeFrame + 1);
         final int numberOfObservations = index - startIndex + 1;
-        Decimal variance = Decimal.ZERO;
-        Decimal average = sma.getValue(index);
-        for (int i = startIndex; i <= index; i++) {
-            Decimal pow = indicator.getValue(i).minus(average).pow(2);
-            variance = variance.plus(pow);
+        if (index != lastIndex) {
+            if (index == lastIndex + 1 && lastIndex >= 0 && slideCount < timeFrame && !partialSum.isNaN() && !isRemoved(startIndex - 1)) {
+                // Sliding the time frame: adding the previous value, removing the one which left the time frame
+                Decimal added = indicator.getValue(lastIndex).minus(shift);
+                partialSum = partialSum.plus(added);
+                partialSumOfSquares = partialSumOfSquares.plus(added.multipliedBy(added));
+                if (startIndex > 0) {
+                    Decimal removed = indicator.getValue(startIndex - 1).minus(shift);
+                    partialSum = partialSum.minus(removed);
+                    partialSumOfSquares = partialSumOfSquares.minus(removed.multipliedBy(removed));
+                }
+                slideCount++;
+            } else {
+                shift = indicator.getValue(startIndex);
+                partialSum = Decimal.ZERO;
+                partialSumOfSquares = Decimal.ZERO;
+                for (int i = startIndex; i < index; i++) {
+                    Decimal value = indicator.getValue(i).minus(shift);
+                    partialSum = partialSum.plus(value);
+                    partialSumOfSquares = partialSumOfSquares.plus(value.multipliedBy(value));
+                }
+                slideCount = 0;
+            }
+            lastIndex = index;
+        }
+        // The value at index is always read again (it may change if it is the one of the last bar)
+        Decimal value = indicator.getValue(index).minus(shift);
+        Decimal sum = partialSum.plus(value);
+        Decimal sumOfSquares = partialSumOfSquares.plus(value.multipliedBy(value));
+
+        // variance = (sum of squares - sum^2 / n) / n
+        Decimal observations = decimalOf(numberOfObservations);
+        Decimal variance = sumOfSquares.minus(sum.multipliedBy(sum).dividedBy(observations)).dividedBy(observations);
+        return variance.isNegative() ? decimalOf(0) : variance;
+    }
+
+    /**
+     * Calculates the values of the range with double arithmetic, sliding the sums as {@link #calculate(int)} does.
+     * The cache is neither read nor filled.
+     */
+    @Override
+    public void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+        if (endIndex < beginIndex) {
+            return;
+        }
+        final int firstIndex = Math.max(0, beginIndex - timeFrame + 1);
+        final double[] inputs = indicator.getDoubleValues(firstIndex, endIndex);
+        double shiftValue = 0;
+        double sum = Double.NaN;
+        double sumOfSquares = Double.NaN;
+        int slides = timeFrame;
+        for (int index = beginIndex; index <= endIndex; index++) {
+            final int startIndex = Math.max(0, index - timeFrame + 1);
+            if (slides < timeFrame && !Double.isNaN(sum)) {
+                double added = inputs[index - firstIndex] - shiftValue;
+                sum += added;
+                sumOfSquares += added * added;
+                if (startIndex > 0) {
+                    double removed = inputs[startIndex - 1 - firstIndex] - shiftValue;
+                    sum -= removed;
+                    sumOfSquares -= removed * removed;
+                }
+                slides++;
+            } else {
+                shiftValue = inputs[startIndex - firstIndex];
+                sum = 0;
+                sumOfSquares = 0;
+                for (int i = startIndex; i <= index; i++) {
+                    double value = inputs[i - firstIndex] - shiftValue;
+                    sum += value;
+                    sumOfSquares += value * value;
+                }
+                slides = 0;
+            }
+            final int observations = index - startIndex + 1;
+            double variance = (sumOfSquares - sum * sum / observations) / observations;
+            values[offset + index - beginIndex] = variance < 0 ? 0 : variance;
         }
-        variance = variance.dividedBy(Decimal.valueOf(numberOfObservations));
-        return variance;
     }
 
     @Override
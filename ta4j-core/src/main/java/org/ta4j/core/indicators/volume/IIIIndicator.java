@@ -59,7 +59,7 @@ public class IIIIndicator extends CachedIndicator<Decimal> {
         if (index == getTimeSeries().getBeginIndex()) {
             return Decimal.ZERO;
         }
-        Decimal doubleClosePrice =  Decimal.valueOf(2).multipliedBy(closePriceIndicator.getValue(index));
+        Decimal doubleClosePrice =  decimalOf(2).multipliedBy(closePriceIndicator.getValue(index));
         Decimal highmlow = maxPriceIndicator.getValue(index).minus(minPriceIndicator.getValue(index));
         Decimal highplow = maxPriceIndicator.getValue(index).plus(minPriceIndicator.getValue(index));
 
@@ -73,6 +73,58 @@ public class VWAPIndicator extends CachedIndicator<Decimal> {
         }
         return cumulativeTPV.dividedBy(cumulativeVolume);
     }
+
+    @Override
+    public void getDoubleValues(int beginIndex, int endIndex, double[] values, int offset) {
+        if (endIndex < beginIndex) {
+            return;
+        }
+        final TimeSeries series = getTimeSeries();
+        final int firstIndex = Math.max(0, beginIndex - timeFrame + 1);
+        final double[] typicalPrices = new double[endIndex - firstIndex + 1];
+        final double[] volumes = new double[endIndex - firstIndex + 1];
+        for (int i = firstIndex; i <= endIndex; i++) {
+            typicalPrices[i - firstIndex] = (toDouble(series.getMaxPrice(i)) + toDouble(series.getMinPrice(i))
+                    + toDouble(series.getClosePrice(i))) / 3;
+            volumes[i - firstIndex] = toDouble(series.getVolume(i));
+        }
+        double sumOfTPV = Double.NaN;
+        double sumOfVolume = Double.NaN;
+        int slides = timeFrame;
+        for (int index = beginIndex; index <= endIndex; index++) {
+            if (index <= 0) {
+                values[offset + index - beginIndex] = typicalPrices[index - firstIndex];
+                continue;
+            }
+            if (slides < timeFrame && !Double.isNaN(sumOfTPV) && !Double.isNaN(sumOfVolume)) {
+                // Sliding the time frame (resynchronized every time frame)
+                sumOfTPV += typicalPrices[index - firstIndex] * volumes[index - firstIndex];
+                sumOfVolume += volumes[index - firstIndex];
+                if (index - timeFrame >= 0) {
+                    sumOfTPV -= typicalPrices[index - timeFrame - firstIndex] * volumes[index - timeFrame - firstIndex];
+                    sumOfVolume -= volumes[index - timeFrame - firstIndex];
+                }
+                slides++;
+            } else {
+                sumOfTPV = 0;
+                sumOfVolume = 0;
+                for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
+                    sumOfTPV += typicalPrices[i - firstIndex] * volumes[i - firstIndex];
+                    sumOfVolume += volumes[i - firstIndex];
+                }
+                slides = 0;
+            }
+            values[offset + index - beginIndex] = sumOfTPV / sumOfVolume;
+        }
+    }
+
+    /**
+     * @param value a decimal
+     * @return the decimal as a double, NaN if null
+     */
+    private static double toDouble(Decimal value) {
+        return value == null ? Double.NaN : value.doubleValue();
+    }
     
     @Override
     public String toString() {
@@ -0,0 +1,117 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.instrumentation;
+
+/**
+ * Snapshot of the metrics of the cached indicators of a class.
+ */
+public class IndicatorMetrics {
+
+    private final String name;
+
+    private final long cacheHits;
+
+    private final long cacheMisses;
+
+    private final long evictions;
+
+    private final long recursiveBackfills;
+
+    private final long selfNanos;
+
+    private final long computeNanos;
+
+    /**
+     * Constructor.
+     * @param name the name of the indicator class
+     * @param cacheHits the number of cache hits
+     * @param cacheMisses the number of cache misses (i.e. of calculations)
+     * @param evictions the number of evicted indexes
+     * @param recursiveBackfills the number of back-fills of recursive indicators
+     * @param selfNanos the cumulative calculation time, in nanoseconds, excluding the sub-indicators
+     * @param computeNanos the cumulative calculation time, in nanoseconds, including the sub-indicators
+     */
+    public IndicatorMetrics(String name, long cacheHits, long cacheMisses, long evictions, long recursiveBackfills,
+            long selfNanos, long computeNanos) {
+        this.name = name;
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+        this.evictions = evictions;
+        this.recursiveBackfills = recursiveBackfills;
+        this.selfNanos = selfNanos;
+        this.computeNanos = computeNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * @return the number of cache misses, i.e. of calculations
+     */
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getRecursiveBackfills() {
+        return recursiveBackfills;
+    }
+
+    /**
+     * @return the cumulative self calculation time, in nanoseconds (excluding the calculation of the uncached values
+     *         of the sub-indicators)
+     */
+    public long getSelfNanos() {
+        return selfNanos;
+    }
+
+    /**
+     * @return the cumulative calculation time, in nanoseconds (including the calculation of the uncached values of
+     *         the sub-indicators)
+     */
+    public long getComputeNanos() {
+        return computeNanos;
+    }
+
+    /**
+     * @return the ratio of the cache hits to the calls, NaN if no call
+     */
+    public double getCacheHitRatio() {
+        final long calls = cacheHits + cacheMisses;
+        return calls == 0 ? Double.NaN : (double) cacheHits / calls;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: hits=%d, misses=%d, evictions=%d, backfills=%d, selfNanos=%d, computeNanos=%d",
+                name, cacheHits, cacheMisses, evictions, recursiveBackfills, selfNanos, computeNanos);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.instrumentation;
+
+/**
+ * Entry point of the instrumentation of indicators, rules and strategy runs.
+ * <p></p>
+ * The instrumentation is disabled by default: the hot paths only check that no listener is installed.
+ * <pre>
+ * MetricsCollector metrics = new MetricsCollector();
+ * metrics.registerMBean(); // optional, exposes the metrics through JMX
+ * Instrumentation.setListener(metrics);
+ * </pre>
+ */
+public final class Instrumentation {
+
+    /** The installed listener, null if disabled */
+    private static volatile InstrumentationListener listener;
+
+    private Instrumentation() {
+    }
+
+    /**
+     * @return the installed listener, null if the instrumentation is disabled
+     */
+    public static InstrumentationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Installs a listener (replacing the previous one).
+     * @param listener the listener, null to disable the instrumentation
+     */
+    public static void setListener(InstrumentationListener listener) {
+        Instrumentation.listener = listener;
+    }
+
+    /**
+     * @return true if a listener is installed, false otherwise
+     */
+    public static boolean isEnabled() {
+        return listener != null;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.instrumentation;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+
+/**
+ * A listener of the hot-path events of indicators, rules and strategy runs.
+ * <p></p>
+ * Listeners are installed with {@link Instrumentation#setListener(InstrumentationListener)}. The methods are called
+ * synchronously from the evaluating threads (possibly several at once): they must be fast and thread-safe.
+ * All the methods do nothing by default.
+ */
+public interface InstrumentationListener {
+
+    /**
+     * Called when a cached indicator returns a cached value.
+     * @param indicator the indicator
+     * @param index the bar index
+     */
+    default void onCacheHit(Indicator<?> indicator, int index) {
+    }
+
+    /**
+     * Called when a cached indicator has calculated (and cached) a value.
+     * @param indicator the indicator
+     * @param index the bar index
+     * @param selfNanos the calculation time, in nanoseconds, excluding the calculation of the uncached values of the
+     *            (cached) sub-indicators
+     * @param totalNanos the calculation time, in nanoseconds, including the calculation of the uncached values of
+     *            the sub-indicators
+     */
+    default void onCacheMiss(Indicator<?> indicator, int index, long selfNanos, long totalNanos) {
+    }
+
+    /**
+     * Called when cached values have been evicted from the cache of an indicator (moving series).
+     * @param indicator the indicator
+     * @param count the number of evicted indexes
+     */
+    default void onCacheEviction(Indicator<?> indicator, int count) {
+    }
+
+    /**
+     * Called when a recursive cached indicator calculates its previous values iteratively (back-fill).
+     * @param indicator the indicator
+     * @param beginIndex the first back-filled index
+     * @param index the requested index
+     */
+    default void onRecursiveBackfill(Indicator<?> indicator, int beginIndex, int index) {
+    }
+
+    /**
+     * Called when a rule has been evaluated.
+     * @param rule the rule
+     * @param index the bar index
+     * @param satisfied true if the rule is satisfied, false otherwise
+     */
+    default void onRuleEvaluated(Rule rule, int index, boolean satisfied) {
+    }
+
+    /**
+     * Called when a bar has been processed by a strategy run (see {@link org.ta4j.core.TimeSeriesManager}).
+     * @param strategy the strategy
+     * @param index the bar index
+     * @param nanos the processing time (strategy evaluation and order), in nanoseconds
+     */
+    default void onBarProcessed(Strategy strategy, int index, long nanos) {
+    }
+}
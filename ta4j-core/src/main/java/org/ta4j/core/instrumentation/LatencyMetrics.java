@@ -0,0 +1,107 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.instrumentation;
+
+/**
+ * Snapshot of a latency histogram.
+ * <p></p>
+ * The percentiles are upper bounds of the (power of two) histogram buckets.
+ */
+public class LatencyMetrics {
+
+    private final String name;
+
+    private final long count;
+
+    private final long totalNanos;
+
+    private final long maxNanos;
+
+    private final long medianNanos;
+
+    private final long p90Nanos;
+
+    private final long p99Nanos;
+
+    /**
+     * Constructor.
+     * @param name the name of the histogram
+     * @param count the number of measures
+     * @param totalNanos the sum of the measures, in nanoseconds
+     * @param maxNanos the maximum measure, in nanoseconds
+     * @param medianNanos the median, in nanoseconds
+     * @param p90Nanos the 90th percentile, in nanoseconds
+     * @param p99Nanos the 99th percentile, in nanoseconds
+     */
+    public LatencyMetrics(String name, long count, long totalNanos, long maxNanos, long medianNanos, long p90Nanos,
+            long p99Nanos) {
+        this.name = name;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.medianNanos = medianNanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return the mean measure, in nanoseconds, NaN if no measure
+     */
+    public double getMeanNanos() {
+        return count == 0 ? Double.NaN : (double) totalNanos / count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMedianNanos() {
+        return medianNanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d, mean=%.0fns, p50<=%dns, p90<=%dns, p99<=%dns, max=%dns",
+                name, count, getMeanNanos(), medianNanos, p90Nanos, p99Nanos, maxNanos);
+    }
+}
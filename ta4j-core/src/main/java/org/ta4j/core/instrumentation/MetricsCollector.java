@@ -0,0 +1,264 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.instrumentation;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link InstrumentationListener instrumentation listener} aggregating metrics.
+ * <p></p>
+ * Collects the cache hits/misses, evictions, back-fills and calculation times of the cached indicators (by class),
+ * the evaluations of the rules (by class), and the histograms of the bar processing latency of the strategy runs
+ * (by strategy name). The metrics can be exposed through JMX (see {@link #registerMBean()}).
+ * Thread-safe.
+ * <p></p>
+ * Both the self calculation time (excluding the uncached sub-indicators) and the total one (including them) of the
+ * indicators are collected; the indicator metrics are sorted by self time, so that the indicators which actually
+ * cost the most come first (composite indicators would always dominate the total time).
+ */
+public class MetricsCollector implements InstrumentationListener, MetricsCollectorMXBean {
+
+    /** The default JMX name */
+    public static final String DEFAULT_OBJECT_NAME = "org.ta4j:type=MetricsCollector";
+
+    /** Name of the histogram of the strategies without name */
+    private static final String UNNAMED_STRATEGY = "unnamed";
+
+    private final Map<Class<?>, IndicatorCounters> indicatorCounters = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, RuleCounters> ruleCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, LatencyHistogram> barLatencies = new ConcurrentHashMap<>();
+
+    private ObjectName objectName;
+
+    @Override
+    public void onCacheHit(Indicator<?> indicator, int index) {
+        indicatorCounters(indicator).hits.increment();
+    }
+
+    @Override
+    public void onCacheMiss(Indicator<?> indicator, int index, long selfNanos, long totalNanos) {
+        IndicatorCounters counters = indicatorCounters(indicator);
+        counters.misses.increment();
+        counters.selfNanos.add(selfNanos);
+        counters.nanos.add(totalNanos);
+    }
+
+    @Override
+    public void onCacheEviction(Indicator<?> indicator, int count) {
+        indicatorCounters(indicator).evictions.add(count);
+    }
+
+    @Override
+    public void onRecursiveBackfill(Indicator<?> indicator, int beginIndex, int index) {
+        indicatorCounters(indicator).backfills.increment();
+    }
+
+    @Override
+    public void onRuleEvaluated(Rule rule, int index, boolean satisfied) {
+        RuleCounters counters = ruleCounters.computeIfAbsent(rule.getClass(), c -> new RuleCounters());
+        counters.evaluations.increment();
+        if (satisfied) {
+            counters.satisfied.increment();
+        }
+    }
+
+    @Override
+    public void onBarProcessed(Strategy strategy, int index, long nanos) {
+        String name = strategy.getName() == null ? UNNAMED_STRATEGY : strategy.getName();
+        barLatencies.computeIfAbsent(name, n -> new LatencyHistogram()).record(nanos);
+    }
+
+    private IndicatorCounters indicatorCounters(Indicator<?> indicator) {
+        return indicatorCounters.computeIfAbsent(indicator.getClass(), c -> new IndicatorCounters());
+    }
+
+    @Override
+    public List<IndicatorMetrics> getIndicatorMetrics() {
+        List<IndicatorMetrics> metrics = new ArrayList<>();
+        indicatorCounters.forEach((type, c) -> metrics.add(new IndicatorMetrics(type.getName(), c.hits.sum(),
+                c.misses.sum(), c.evictions.sum(), c.backfills.sum(), c.selfNanos.sum(), c.nanos.sum())));
+        // Most expensive first (by self time: composite indicators would always come first by total time)
+        metrics.sort(Comparator.comparingLong(IndicatorMetrics::getSelfNanos).reversed());
+        return metrics;
+    }
+
+    @Override
+    public List<RuleMetrics> getRuleMetrics() {
+        List<RuleMetrics> metrics = new ArrayList<>();
+        ruleCounters.forEach((type, c) -> metrics.add(new RuleMetrics(type.getName(), c.evaluations.sum(),
+                c.satisfied.sum())));
+        metrics.sort(Comparator.comparingLong(RuleMetrics::getEvaluations).reversed());
+        return metrics;
+    }
+
+    @Override
+    public List<LatencyMetrics> getBarLatencyMetrics() {
+        List<LatencyMetrics> metrics = new ArrayList<>();
+        barLatencies.forEach((name, histogram) -> metrics.add(histogram.snapshot(name)));
+        metrics.sort(Comparator.comparing(LatencyMetrics::getName));
+        return metrics;
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+        long hits = 0;
+        long calls = 0;
+        for (IndicatorCounters counters : indicatorCounters.values()) {
+            long h = counters.hits.sum();
+            hits += h;
+            calls += h + counters.misses.sum();
+        }
+        return calls == 0 ? Double.NaN : (double) hits / calls;
+    }
+
+    @Override
+    public void reset() {
+        indicatorCounters.clear();
+        ruleCounters.clear();
+        barLatencies.clear();
+    }
+
+    /**
+     * Registers this collector in the platform MBean server, with the {@link #DEFAULT_OBJECT_NAME default name}.
+     * @return the name of the MBean
+     */
+    public ObjectName registerMBean() {
+        return registerMBean(DEFAULT_OBJECT_NAME);
+    }
+
+    /**
+     * Registers this collector in the platform MBean server.
+     * @param name the name of the MBean
+     * @return the name of the MBean
+     */
+    public synchronized ObjectName registerMBean(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            objectName = server.registerMBean(this, new ObjectName(name)).getObjectName();
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register the MBean " + name, e);
+        }
+    }
+
+    /**
+     * Unregisters this collector from the platform MBean server (if registered).
+     */
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister the MBean " + objectName, e);
+        }
+    }
+
+    private static final class IndicatorCounters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder backfills = new LongAdder();
+        final LongAdder selfNanos = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+
+    private static final class RuleCounters {
+        final LongAdder evaluations = new LongAdder();
+        final LongAdder satisfied = new LongAdder();
+    }
+
+    /**
+     * A lock-free histogram of durations, with power of two buckets.
+     */
+    static final class LatencyHistogram {
+
+        /** Bucket b counts the durations d such as 2^(b-1) <= d < 2^b (bucket 0: d <= 0) */
+        private final LongAdder[] buckets = new LongAdder[64];
+
+        private final LongAdder total = new LongAdder();
+
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        LatencyHistogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            final long duration = Math.max(0, nanos);
+            buckets[64 - Long.numberOfLeadingZeros(duration)].increment();
+            total.add(duration);
+            max.accumulate(duration);
+        }
+
+        LatencyMetrics snapshot(String name) {
+            final long[] counts = new long[buckets.length];
+            long count = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            final long maxNanos = max.get();
+            return new LatencyMetrics(name, count, total.sum(), maxNanos, percentile(counts, count, 0.5, maxNanos),
+                    percentile(counts, count, 0.9, maxNanos), percentile(counts, count, 0.99, maxNanos));
+        }
+
+        /**
+         * @return the upper bound of the bucket of the percentile (at most the maximum)
+         */
+        private static long percentile(long[] counts, long count, double percentile, long maxNanos) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = (long) Math.ceil(percentile * count);
+            long cumulative = 0;
+            for (int b = 0; b < counts.length; b++) {
+                cumulative += counts[b];
+                if (cumulative >= rank) {
+                    return b == 0 ? 0 : b == 63 ? maxNanos : Math.min(maxNanos, (1L << b) - 1);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
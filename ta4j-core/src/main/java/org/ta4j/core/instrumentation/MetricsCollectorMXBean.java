@@ -0,0 +1,56 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.instrumentation;
+
+import java.util.List;
+
+/**
+ * JMX interface of a {@link MetricsCollector}.
+ */
+public interface MetricsCollectorMXBean {
+
+    /**
+     * @return the metrics of the cached indicators (by class), the most expensive first (by self calculation time)
+     */
+    List<IndicatorMetrics> getIndicatorMetrics();
+
+    /**
+     * @return the metrics of the rules (by class)
+     */
+    List<RuleMetrics> getRuleMetrics();
+
+    /**
+     * @return the bar latency metrics of the strategy runs (by strategy name)
+     */
+    List<LatencyMetrics> getBarLatencyMetrics();
+
+    /**
+     * @return the ratio of the cache hits to the cached indicator calls (all indicators)
+     */
+    double getCacheHitRatio();
+
+    /**
+     * Resets all the metrics.
+     */
+    void reset();
+}
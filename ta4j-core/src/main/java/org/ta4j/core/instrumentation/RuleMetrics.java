@@ -0,0 +1,64 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.instrumentation;
+
+/**
+ * Snapshot of the metrics of the rules of a class.
+ */
+public class RuleMetrics {
+
+    private final String name;
+
+    private final long evaluations;
+
+    private final long satisfiedCount;
+
+    /**
+     * Constructor.
+     * @param name the name of the rule class
+     * @param evaluations the number of evaluations
+     * @param satisfiedCount the number of evaluations for which the rule was satisfied
+     */
+    public RuleMetrics(String name, long evaluations, long satisfiedCount) {
+        this.name = name;
+        this.evaluations = evaluations;
+        this.satisfiedCount = satisfiedCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getSatisfiedCount() {
+        return satisfiedCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: evaluations=%d, satisfied=%d", name, evaluations, satisfiedCount);
+    }
+}
@@ -25,6 +25,8 @@ package org.ta4j.core.trading.rules;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.ta4j.core.Rule;
+import org.ta4j.core.instrumentation.Instrumentation;
+import org.ta4j.core.instrumentation.InstrumentationListener;
 
 /**
  * An abstract trading {@link Rule rule}.
@@ -38,11 +40,17 @@ public abstract class AbstractRule implements Rule {
     protected final String className = getClass().getSimpleName();
 
     /**
-     * Traces the isSatisfied() method calls.
+     * Traces the isSatisfied() method calls (and notifies the instrumentation listener, if any).
      * @param index the bar index
      * @param isSatisfied true if the rule is satisfied, false otherwise
      */
     protected void traceIsSatisfied(int index, boolean isSatisfied) {
-        log.trace("{}#isSatisfied({}): {}", className, index, isSatisfied);
+        final InstrumentationListener listener = Instrumentation.getListener();
+        if (listener != null) {
+            listener.onRuleEvaluated(this, index, isSatisfied);
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("{}#isSatisfied({}): {}", className, index, isSatisfied);
+        }
     }
 }
@@ -0,0 +1,345 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.trading.rules;
+
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A compiled tree of {@link Rule rules}.
+ * <p></p>
+ * The {@link AndRule AND}, {@link OrRule OR}, {@link XorRule XOR} and {@link NotRule NOT} combinations of the source
+ * rule are flattened into a compact evaluator (e.g. <tt>a.and(b).and(c)</tt> becomes a single conjunction of three
+ * rules), double negations are removed, and the combinations are evaluated without tracing.
+ * <p></p>
+ * The operands of a conjunction (resp. disjunction) are reordered according to their observed cost and selectivity:
+ * the operands which are cheap and likely not satisfied (resp. satisfied) are evaluated first, so that the evaluation
+ * short-circuits sooner. The cost and the outcome of the operands are sampled on some evaluations only.
+ * <p></p>
+ * The result of the compiled rule is always the one of the source rule. Only the operands whose result only depends
+ * on the index and the trading record (e.g. indicator rules, {@link StopLossRule}, {@link WaitForRule}) are
+ * reordered: the operands of a combination including a stateful rule ({@link JustOnceRule}, {@link CountRule}, or any
+ * rule unknown to the compiler) are evaluated in their original order.
+ */
+public class CompiledRule extends AbstractRule {
+
+    /** The operands of a combination are sampled on one evaluation out of SAMPLING_PERIOD */
+    private static final int SAMPLING_PERIOD = 8;
+
+    /** The operands of a combination are reordered every REORDERING_PERIOD samples */
+    private static final int REORDERING_PERIOD = 64;
+
+    /** The source rule */
+    private final Rule rule;
+
+    /** The root of the compiled tree */
+    private final Node root;
+
+    private CompiledRule(Rule rule) {
+        this.rule = rule;
+        this.root = compileNode(rule);
+    }
+
+    /**
+     * Compiles a rule.
+     * @param rule the rule to compile
+     * @return the compiled rule (the provided one if already compiled)
+     */
+    public static CompiledRule compile(Rule rule) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule cannot be null");
+        }
+        return rule instanceof CompiledRule ? (CompiledRule) rule : new CompiledRule(rule);
+    }
+
+    /**
+     * Compiles the entry and exit rules of a strategy.
+     * @param strategy the strategy to compile
+     * @return a strategy with the same name, unstable period, and compiled entry and exit rules
+     */
+    public static Strategy compile(Strategy strategy) {
+        return new BaseStrategy(strategy.getName(), compile(strategy.getEntryRule()), compile(strategy.getExitRule()),
+                strategy.getUnstablePeriod());
+    }
+
+    /**
+     * @return the source rule
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    @Override
+    public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+        return root.isSatisfied(index, tradingRecord);
+    }
+
+    @Override
+    public String toString() {
+        return className + " " + root;
+    }
+
+    private static Node compileNode(Rule rule) {
+        if (rule instanceof CompiledRule) {
+            return ((CompiledRule) rule).root;
+        }
+        if (rule instanceof NotRule) {
+            Rule operand = ((NotRule) rule).getRule();
+            if (operand instanceof NotRule) {
+                // Double negation
+                return compileNode(((NotRule) operand).getRule());
+            }
+            return new NotNode(compileNode(operand));
+        }
+        if (rule instanceof XorRule) {
+            return new XorNode(compileNode(((XorRule) rule).getRule1()), compileNode(((XorRule) rule).getRule2()));
+        }
+        if (rule instanceof AndRule || rule instanceof OrRule) {
+            boolean conjunction = rule instanceof AndRule;
+            List<Node> operands = new ArrayList<>();
+            flatten(rule, conjunction, operands);
+            return new JunctionNode(conjunction, operands.toArray(new Node[operands.size()]));
+        }
+        return new LeafNode(rule, RuleClassification.isStateless(rule));
+    }
+
+    /**
+     * Collects the operands of nested conjunctions (or disjunctions), in their evaluation order.
+     */
+    private static void flatten(Rule rule, boolean conjunction, List<Node> operands) {
+        if (conjunction && rule instanceof AndRule) {
+            flatten(((AndRule) rule).getRule1(), true, operands);
+            flatten(((AndRule) rule).getRule2(), true, operands);
+        } else if (!conjunction && rule instanceof OrRule) {
+            flatten(((OrRule) rule).getRule1(), false, operands);
+            flatten(((OrRule) rule).getRule2(), false, operands);
+        } else {
+            operands.add(compileNode(rule));
+        }
+    }
+
+    /**
+     * A node of a compiled tree.
+     */
+    private static abstract class Node {
+
+        /** True if the result of the node only depends on the index and the trading record */
+        final boolean stateless;
+
+        Node(boolean stateless) {
+            this.stateless = stateless;
+        }
+
+        abstract boolean isSatisfied(int index, TradingRecord tradingRecord);
+    }
+
+    private static final class LeafNode extends Node {
+
+        private final Rule rule;
+
+        LeafNode(Rule rule, boolean stateless) {
+            super(stateless);
+            this.rule = rule;
+        }
+
+        @Override
+        boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            return rule.isSatisfied(index, tradingRecord);
+        }
+
+        @Override
+        public String toString() {
+            return rule.getClass().getSimpleName();
+        }
+    }
+
+    private static final class NotNode extends Node {
+
+        private final Node operand;
+
+        NotNode(Node operand) {
+            super(operand.stateless);
+            this.operand = operand;
+        }
+
+        @Override
+        boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            return !operand.isSatisfied(index, tradingRecord);
+        }
+
+        @Override
+        public String toString() {
+            return "not(" + operand + ")";
+        }
+    }
+
+    private static final class XorNode extends Node {
+
+        private final Node operand1;
+
+        private final Node operand2;
+
+        XorNode(Node operand1, Node operand2) {
+            super(operand1.stateless && operand2.stateless);
+            this.operand1 = operand1;
+            this.operand2 = operand2;
+        }
+
+        @Override
+        boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            return operand1.isSatisfied(index, tradingRecord) ^ operand2.isSatisfied(index, tradingRecord);
+        }
+
+        @Override
+        public String toString() {
+            return "xor(" + operand1 + "," + operand2 + ")";
+        }
+    }
+
+    /**
+     * A conjunction or a disjunction of several operands, evaluated with short-circuit.
+     */
+    private static final class JunctionNode extends Node {
+
+        /** True for a conjunction, false for a disjunction */
+        private final boolean conjunction;
+
+        /** The operands, in their original order */
+        private final Node[] operands;
+
+        /** The evaluation order (positions in operands), replaced (never modified) on reordering */
+        private volatile int[] order;
+
+        /** Number of evaluations */
+        private int evaluationCount;
+
+        /** Number of sampled evaluations since the last reordering */
+        private int sampleCount;
+
+        /** Sampled evaluations of each operand */
+        private final long[] sampledEvaluations;
+
+        /** Sampled evaluations of each operand short-circuiting the junction */
+        private final long[] sampledShortCircuits;
+
+        /** Sampled evaluation time of each operand (nanoseconds) */
+        private final long[] sampledNanos;
+
+        JunctionNode(boolean conjunction, Node[] operands) {
+            super(allStateless(operands));
+            this.conjunction = conjunction;
+            this.operands = operands;
+            this.order = new int[operands.length];
+            for (int i = 0; i < operands.length; i++) {
+                order[i] = i;
+            }
+            sampledEvaluations = new long[operands.length];
+            sampledShortCircuits = new long[operands.length];
+            sampledNanos = new long[operands.length];
+        }
+
+        private static boolean allStateless(Node[] operands) {
+            for (Node operand : operands) {
+                if (!operand.stateless) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            final int[] currentOrder = order;
+            if (stateless && (evaluationCount++ % SAMPLING_PERIOD) == 0) {
+                return sample(currentOrder, index, tradingRecord);
+            }
+            // A conjunction is short-circuited by a false operand, a disjunction by a true one
+            for (int position : currentOrder) {
+                if (operands[position].isSatisfied(index, tradingRecord) != conjunction) {
+                    return !conjunction;
+                }
+            }
+            return conjunction;
+        }
+
+        private boolean sample(int[] currentOrder, int index, TradingRecord tradingRecord) {
+            boolean result = conjunction;
+            for (int position : currentOrder) {
+                long start = System.nanoTime();
+                boolean shortCircuit = operands[position].isSatisfied(index, tradingRecord) != conjunction;
+                sampledNanos[position] += System.nanoTime() - start;
+                sampledEvaluations[position]++;
+                if (shortCircuit) {
+                    sampledShortCircuits[position]++;
+                    result = !conjunction;
+                    break;
+                }
+            }
+            if (++sampleCount == REORDERING_PERIOD) {
+                sampleCount = 0;
+                reorder();
+            }
+            return result;
+        }
+
+        /**
+         * Sorts the operands by expected cost per short-circuit (average cost / short-circuit probability).
+         */
+        private void reorder() {
+            final double[] ranks = new double[operands.length];
+            List<Integer> positions = new ArrayList<>(operands.length);
+            for (int i = 0; i < operands.length; i++) {
+                // Laplace smoothing: operands never (or rarely) evaluated are neither favored nor discarded
+                double averageNanos = (sampledNanos[i] + 1d) / (sampledEvaluations[i] + 1d);
+                double shortCircuitProbability = (sampledShortCircuits[i] + 1d) / (sampledEvaluations[i] + 2d);
+                ranks[i] = averageNanos / shortCircuitProbability;
+                positions.add(i);
+            }
+            Collections.sort(positions, (p1, p2) -> Double.compare(ranks[p1], ranks[p2]));
+            int[] newOrder = new int[operands.length];
+            for (int i = 0; i < newOrder.length; i++) {
+                newOrder[i] = positions.get(i);
+            }
+            order = newOrder;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(conjunction ? "and(" : "or(");
+            int[] currentOrder = order;
+            for (int i = 0; i < currentOrder.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(operands[currentOrder[i]]);
+            }
+            return sb.append(')').toString();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.trading.rules;
+
+import org.ta4j.core.Rule;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TradingRecord;
+
+import java.util.BitSet;
+
+/**
+ * A memoizing wrapper of a trading-record-independent {@link Rule rule}.
+ * <p></p>
+ * The result of the wrapped rule is calculated once per index and kept in bit sets. The result of the last index of
+ * the series is not kept (its bar may still change): it is kept once the series has grown. The results of the bars
+ * removed from a moving series are dropped.
+ * <p></p>
+ * The wrapped rule must not depend on the trading record (it is evaluated only once per index whatever the record).
+ * See {@link RuleMemoizer} to share the memoized rules of several rules or strategies.
+ */
+public class MemoizedRule extends AbstractRule {
+
+    /** Minimum number of removed bars before dropping their results */
+    private static final int TRIM_THRESHOLD = 1024;
+
+    /** The memoized rule */
+    private final Rule rule;
+
+    /** The series of the indexes */
+    private final TimeSeries series;
+
+    /** Index of the first bit of the bit sets */
+    private int offset;
+
+    /** The indexes whose result is known */
+    private BitSet calculated = new BitSet();
+
+    /** The indexes whose rule is satisfied */
+    private BitSet satisfied = new BitSet();
+
+    /**
+     * Constructor.
+     * @param rule a trading-record-independent rule
+     * @param series the series of the indexes
+     * @throws IllegalArgumentException if the rule cannot be memoized (see {@link #isMemoizable(Rule)})
+     */
+    public MemoizedRule(Rule rule, TimeSeries series) {
+        if (rule == null || series == null) {
+            throw new IllegalArgumentException("Rule and series cannot be null");
+        }
+        if (!isMemoizable(rule)) {
+            throw new IllegalArgumentException("Rule depends on the trading record or on its previous evaluations: "
+                    + rule);
+        }
+        this.rule = rule;
+        this.series = series;
+    }
+
+    /**
+     * @param rule a rule
+     * @return true if the rule (and all its sub-rules) is known not to depend on the trading record (nor on its
+     *         previous evaluations), i.e. can be memoized, false otherwise
+     */
+    public static boolean isMemoizable(Rule rule) {
+        if (rule instanceof AndRule) {
+            return isMemoizable(((AndRule) rule).getRule1()) && isMemoizable(((AndRule) rule).getRule2());
+        }
+        if (rule instanceof OrRule) {
+            return isMemoizable(((OrRule) rule).getRule1()) && isMemoizable(((OrRule) rule).getRule2());
+        }
+        if (rule instanceof XorRule) {
+            return isMemoizable(((XorRule) rule).getRule1()) && isMemoizable(((XorRule) rule).getRule2());
+        }
+        if (rule instanceof NotRule) {
+            return isMemoizable(((NotRule) rule).getRule());
+        }
+        return RuleClassification.isRecordIndependent(rule);
+    }
+
+    /**
+     * @return the memoized rule
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    @Override
+    public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+        final int removedBarsCount = series.getRemovedBarsCount();
+        if (removedBarsCount - offset >= TRIM_THRESHOLD) {
+            trim(removedBarsCount);
+        }
+        if (index < offset || index >= series.getEndIndex()) {
+            // Result dropped, or of the last bar (which may still change)
+            return rule.isSatisfied(index, tradingRecord);
+        }
+        final int bit = index - offset;
+        if (calculated.get(bit)) {
+            return satisfied.get(bit);
+        }
+        final boolean result = rule.isSatisfied(index, tradingRecord);
+        calculated.set(bit);
+        if (result) {
+            satisfied.set(bit);
+        }
+        return result;
+    }
+
+    /**
+     * Drops the results of the removed bars.
+     * @param removedBarsCount the number of removed bars
+     */
+    private void trim(int removedBarsCount) {
+        final int shift = removedBarsCount - offset;
+        calculated = calculated.get(shift, Math.max(shift, calculated.length()));
+        satisfied = satisfied.get(shift, Math.max(shift, satisfied.length()));
+        offset = removedBarsCount;
+    }
+
+    /**
+     * Drops all the memoized results.
+     */
+    public void clear() {
+        calculated.clear();
+        satisfied.clear();
+    }
+
+    @Override
+    public String toString() {
+        return className + " " + rule;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.trading.rules;
+
+import org.ta4j.core.Rule;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Classification of the {@link Rule rules} of this package, according to what their result depends on.
+ * <p></p>
+ * Shared by {@link CompiledRule} (which only reorders stateless rules) and {@link MemoizedRule} (which only memoizes
+ * record-independent rules). Rules unknown to the classification are considered stateful.
+ */
+final class RuleClassification {
+
+    /** Rules whose result only depends on the index */
+    private static final Set<Class<?>> RECORD_INDEPENDENT_RULES = new HashSet<>(Arrays.asList(
+            BooleanIndicatorRule.class, BooleanRule.class, CrossedDownIndicatorRule.class,
+            CrossedUpIndicatorRule.class, FixedRule.class, InPipeRule.class, InSlopeRule.class, IsEqualRule.class,
+            IsFallingRule.class, IsHighestRule.class, IsLowestRule.class, IsRisingRule.class,
+            OverIndicatorRule.class, UnderIndicatorRule.class, MemoizedRule.class));
+
+    /** Rules whose result only depends on the index and the trading record */
+    private static final Set<Class<?>> STATELESS_RULES = new HashSet<>(RECORD_INDEPENDENT_RULES);
+    static {
+        STATELESS_RULES.addAll(Arrays.asList(StopGainRule.class, StopLossRule.class, WaitForRule.class));
+    }
+
+    private RuleClassification() {
+    }
+
+    /**
+     * @param rule a rule
+     * @return true if the result of the rule only depends on the index, false otherwise
+     */
+    static boolean isRecordIndependent(Rule rule) {
+        return rule != null && RECORD_INDEPENDENT_RULES.contains(rule.getClass());
+    }
+
+    /**
+     * @param rule a rule
+     * @return true if the result of the rule only depends on the index and the trading record (i.e. not on its
+     *         previous evaluations), false otherwise
+     */
+    static boolean isStateless(Rule rule) {
+        return rule != null && STATELESS_RULES.contains(rule.getClass());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.trading.rules;
+
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * An evaluation context memoizing the results of the trading-record-independent {@link Rule rules} of a time series.
+ * <p></p>
+ * The rules are rebuilt so that every trading-record-independent rule (or combination of such rules) is wrapped in a
+ * {@link MemoizedRule}. A rule instance used several times (in the entry and exit rules of a strategy, in several
+ * strategies combined with {@link Strategy#and(Strategy)}/{@link Strategy#or(Strategy)}, in a strategy ensemble...)
+ * gets a single memoized rule, so that it is evaluated once per index.
+ * <p></p>
+ * Rules depending on the trading record (e.g. {@link StopLossRule}, {@link WaitForRule}) or on their previous
+ * evaluations (e.g. {@link JustOnceRule}) are kept as is. Not thread-safe.
+ */
+public class RuleMemoizer {
+
+    /** The series of the indexes */
+    private final TimeSeries series;
+
+    /** The memoized version of the rules (by identity) */
+    private final Map<Rule, Rule> memoizedRules = new IdentityHashMap<>();
+
+    /**
+     * Constructor.
+     * @param series the series of the indexes
+     */
+    public RuleMemoizer(TimeSeries series) {
+        this.series = series;
+    }
+
+    /**
+     * @param rule a rule
+     * @return the memoized version of the rule (the rule itself if it cannot be memoized)
+     */
+    public Rule memoize(Rule rule) {
+        Rule memoized = memoizedRules.get(rule);
+        if (memoized == null) {
+            memoized = rebuild(rule);
+            if (!(memoized instanceof MemoizedRule) && MemoizedRule.isMemoizable(memoized)) {
+                memoized = new MemoizedRule(memoized, series);
+            }
+            memoizedRules.put(rule, memoized);
+        }
+        return memoized;
+    }
+
+    /**
+     * @param strategy a strategy
+     * @return a strategy with the same name and unstable period, and the memoized versions of the entry and exit rules
+     */
+    public Strategy memoize(Strategy strategy) {
+        return new BaseStrategy(strategy.getName(), memoize(strategy.getEntryRule()), memoize(strategy.getExitRule()),
+                strategy.getUnstablePeriod());
+    }
+
+    /**
+     * @return the series of the indexes
+     */
+    public TimeSeries getTimeSeries() {
+        return series;
+    }
+
+    /**
+     * Drops the results of all the memoized rules.
+     */
+    public void clear() {
+        for (Rule rule : memoizedRules.values()) {
+            if (rule instanceof MemoizedRule) {
+                ((MemoizedRule) rule).clear();
+            }
+        }
+    }
+
+    /**
+     * Rebuilds a combination of rules with the memoized versions of its sub-rules.
+     * @param rule a rule
+     * @return the rebuilt rule (the rule itself if it is not a combination)
+     */
+    private Rule rebuild(Rule rule) {
+        if (rule instanceof AndRule) {
+            return new AndRule(memoize(((AndRule) rule).getRule1()), memoize(((AndRule) rule).getRule2()));
+        }
+        if (rule instanceof OrRule) {
+            return new OrRule(memoize(((OrRule) rule).getRule1()), memoize(((OrRule) rule).getRule2()));
+        }
+        if (rule instanceof XorRule) {
+            return new XorRule(memoize(((XorRule) rule).getRule1()), memoize(((XorRule) rule).getRule2()));
+        }
+        if (rule instanceof NotRule) {
+            return new NotRule(memoize(((NotRule) rule).getRule()));
+        }
+        return rule;
+    }
+}
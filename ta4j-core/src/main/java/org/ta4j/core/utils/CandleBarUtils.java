@@ -10,22 +10,22 @@ import java.util.*;
 public class CandleBarUtils {
 
 	// support and resistance parameters
-	private static int CONSECUTIVE_CANDLE_TO_CHECK_MIN = 5; // number of candles to check on each side
-	private static int MIN_SCORE_TO_PRINT = 5; // the minimum score required to draw an indication
+	static final int CONSECUTIVE_CANDLE_TO_CHECK_MIN = 5; // number of candles to check on each side
+	static final int MIN_SCORE_TO_PRINT = 5; // the minimum score required to draw an indication
 
 	// percentages
-	private static double DIFF_PERC_FROM_EXTREME = .3d;
-	private static double DIFF_PERC_FOR_INTRASR_DISTANCE = .8d;
-	private static double MIN_PERC_FOR_TREND = .8d;
-	private static double DIFF_PERC_FOR_CANDLE_CLOSE = .8d;
+	static final double DIFF_PERC_FROM_EXTREME = .3d;
+	static final double DIFF_PERC_FOR_INTRASR_DISTANCE = .8d;
+	static final double MIN_PERC_FOR_TREND = .8d;
+	static final double DIFF_PERC_FOR_CANDLE_CLOSE = .8d;
 
-	private static int MIN_DIFF_FOR_CONSECUTIVE_CUT = 5;
+	static final int MIN_DIFF_FOR_CONSECUTIVE_CUT = 5;
 
 	// scores
-	private static double SCORE_FOR_CUT_BODY = -2;
-	private static double SCORE_FOR_CUT_WICK = -1;
-	private static double SCORE_FOR_TOUCH_HIGH_LOW = 1;
-	private static double SCORE_FOR_TOUCH_NORMAL = 2;
+	static final double SCORE_FOR_CUT_BODY = -2;
+	static final double SCORE_FOR_CUT_WICK = -1;
+	static final double SCORE_FOR_TOUCH_HIGH_LOW = 1;
+	static final double SCORE_FOR_TOUCH_NORMAL = 2;
 
 	public static PointScore getStrongestResistance(TimeSeries series, int cumulativeCandleSize) {
 		List<PointScore> resistanceScores = getResistanceScores(getSupportAndResistanceByScore(series, cumulativeCandleSize));
@@ -52,70 +52,18 @@ public class CandleBarUtils {
 		return null;
 	}
 
+	/**
+	 * Scores the supports and resistances of a series.
+	 * <p></p>
+	 * To rescore the levels as bars are added to the series, keep a {@link SupportResistanceScorer} instead.
+	 *
+	 * @param series - the series
+	 * @param cumulativeCandleSize - number of bars joined into a cumulative candle
+	 *
+	 * @return the strongest supports and resistances, by decreasing score
+	 */
 	public static List<PointScore> getSupportAndResistanceByScore(TimeSeries series, int cumulativeCandleSize) {
-		List<PointScore> supportAndResistance = new ArrayList<>();
-
-		// Combining small candles to get larger candles of required timeframe. (I have 1 minute candles and here creating 1 Hr candles)
-		List<Bar> cumulativeCandles = CandleBarUtils.getCumulativeCandles(series.getBarData(), cumulativeCandleSize);
-
-		// Tell whether each point is a high(higher than two candles on each side) or a low(lower than two candles on each side)
-		List<Boolean> highLowValueList = CandleBarUtils.findHighLow(cumulativeCandles, 2);
-		Set<Double> impPoints = new HashSet<>();
-
-		int pos = 0;
-		for(Bar candle : cumulativeCandles){
-			//A candle is imp only if it is the highest / lowest among #CONSECUTIVE_CANDLE_TO_CHECK_MIN on each side
-			List<Bar> subList = cumulativeCandles.subList(Math.max(0, pos - CONSECUTIVE_CANDLE_TO_CHECK_MIN),
-					Math.min(cumulativeCandles.size(), pos + CONSECUTIVE_CANDLE_TO_CHECK_MIN));
-
-			if(subList.stream().min(Comparator.comparing(Bar::getMinPrice)).get().getMinPrice().equals(candle.getMinPrice()) ||
-					subList.stream().max(Comparator.comparing(Bar::getMaxPrice)).get().getMaxPrice().equals(candle.getMaxPrice())) {
-
-				impPoints.add(candle.getMaxPrice().doubleValue());
-				impPoints.add(candle.getMinPrice().doubleValue());
-			}
-			pos++;
-		}
-
-		Iterator<Double> iterator = impPoints.iterator();
-		List<PointScore> score = new ArrayList<PointScore>();
-
-		while (iterator.hasNext()){
-			Double currentValue = iterator.next();
-			//Get score of each point
-			score.add(CandleBarUtils.getCandlesScore(cumulativeCandles, highLowValueList, currentValue));
-		}
-		score.sort((o1, o2) -> o2.getScore().compareTo(o1.getScore()));
-
-		List<Double> used = new ArrayList<Double>();
-		int total = 0;
-		int totalPointsToPrint = 30;
-
-		Double min = CandleBarUtils.getMin(cumulativeCandles).doubleValue();
-		Double max = CandleBarUtils.getMax(cumulativeCandles).doubleValue();
-
-		for(PointScore pointScore : score){
-			// Each point should have at least #MIN_SCORE_TO_PRINT point
-			if(pointScore.getScore() < MIN_SCORE_TO_PRINT){
-				continue;
-			}
-			// The extremes always come as a Strong SR, so I remove some of them
-			// I also reject a price which is very close the one already used
-			List<PointScoreEvent> pointEventList = pointScore.getPointEventList();
-			if (!CandleBarUtils.similar(pointScore.getPrice(), used) && !CandleBarUtils.closeFromExtreme(pointScore.getPrice(), min, max)) {
-				System.out.println(String.format("Strong SR %s and score %s", pointScore.getPrice(), pointScore.getScore()));
-				System.out.println("Events at point are " + pointEventList);
-
-				supportAndResistance.add(pointScore);
-
-				used.add(pointScore.getPrice());
-				total += 1;
-			}
-			if(total >= totalPointsToPrint){
-				break;
-			}
-		}
-		return supportAndResistance;
+		return new SupportResistanceScorer(series, cumulativeCandleSize).getSupportAndResistance();
 	}
 
 	public static List<PointScore> getResistanceScores(List<PointScore> scores) {
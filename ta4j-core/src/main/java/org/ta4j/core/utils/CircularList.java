@@ -0,0 +1,210 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Random access list backed by a circular array.
+ * <p></p>
+ * Unlike an {@link java.util.ArrayList}, removing the first elements does not shift the other ones:
+ * appending at the end and removing from the beginning are both O(1).
+ * @param <E> the type of the elements
+ */
+public class CircularList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = -7185916232738232317L;
+
+    /** Default initial capacity */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The backing array */
+    private Object[] elements;
+
+    /** Position of the first element in the backing array */
+    private int head = 0;
+
+    /** Number of elements */
+    private int size = 0;
+
+    /**
+     * Constructor of an empty list.
+     */
+    public CircularList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor of an empty list.
+     * @param initialCapacity the initial capacity of the list
+     */
+    public CircularList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive or zero");
+        }
+        elements = new Object[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Constructor.
+     * @param collection the initial elements of the list
+     */
+    public CircularList(Collection<? extends E> collection) {
+        elements = collection.toArray();
+        if (elements.length == 0) {
+            elements = new Object[DEFAULT_CAPACITY];
+        } else if (elements.getClass() != Object[].class) {
+            Object[] copy = new Object[elements.length];
+            System.arraycopy(elements, 0, copy, 0, elements.length);
+            elements = copy;
+        }
+        size = collection.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index, size);
+        return (E) elements[position(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        int position = position(index);
+        E previous = (E) elements[position];
+        elements[position] = element;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(E element) {
+        ensureCapacity(size + 1);
+        elements[position(size)] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        if (index == 0) {
+            head = position(elements.length - 1);
+        } else {
+            for (int i = size; i > index; i--) {
+                elements[position(i)] = elements[position(i - 1)];
+            }
+        }
+        elements[position(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index, size);
+        E removed = (E) elements[position(index)];
+        if (index == 0) {
+            elements[head] = null;
+            head = position(1);
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[position(i)] = elements[position(i + 1)];
+            }
+            elements[position(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the first elements of the list.
+     * @param count the number of elements to be removed
+     */
+    public void removeFirst(int count) {
+        if (count < 0 || count > size) {
+            throw new IllegalArgumentException("Cannot remove " + count + " elements from a list of size " + size);
+        }
+        for (int i = 0; i < count; i++) {
+            elements[position(i)] = null;
+        }
+        head = position(count);
+        size -= count;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        removeFirst(size);
+        head = 0;
+    }
+
+    /**
+     * @param index an index of the list
+     * @return the position of the index-th element in the backing array
+     */
+    private int position(int index) {
+        int position = head + index;
+        return position < elements.length ? position : position - elements.length;
+    }
+
+    /**
+     * Ensures the backing array can hold the provided number of elements.
+     * @param capacity the required capacity
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            int newCapacity = (int) Math.min(Math.max((long) elements.length * 2, capacity), Integer.MAX_VALUE - 8);
+            Object[] grown = new Object[newCapacity];
+            for (int i = 0; i < size; i++) {
+                grown[i] = elements[position(i)];
+            }
+            elements = grown;
+            head = 0;
+        }
+    }
+
+    /**
+     * @param index an index
+     * @param bound the (exclusive) upper bound of the index
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
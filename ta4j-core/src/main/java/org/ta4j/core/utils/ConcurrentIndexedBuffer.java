@@ -0,0 +1,194 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe buffer of values keyed by an absolute (i.e. ever increasing) index.
+ * <p></p>
+ * Concurrent counterpart of {@link IndexedRingBuffer}. Each slot holds an immutable (index, value) entry, so that:
+ * <ul>
+ *     <li>reads are lock-free (a volatile read of the slot, the value is returned only if the entry has the asked index)
+ *     <li>values are published with a single atomic write of the slot
+ *     <li>when two indexes collide (or when a write races with a resize), a value may be lost; it is then only a
+ *     cache miss, never a wrong value
+ * </ul>
+ * The backing array grows (by powers of two) up to the maximum size; the values of the last {@code maximumSize}
+ * indexes never collide.
+ * @param <T> the type of the values
+ */
+public class ConcurrentIndexedBuffer<T> implements Serializable {
+
+    private static final long serialVersionUID = -2425385734151297306L;
+
+    /** Initial capacity of the backing array */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Maximum capacity of the backing array */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * An immutable (index, value) entry.
+     * @param <T> the type of the value
+     */
+    private static final class Entry<T> implements Serializable {
+
+        private static final long serialVersionUID = 4497413829245389210L;
+
+        private final int index;
+
+        private final T value;
+
+        Entry(int index, T value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+
+    /** The backing array (index i is stored at position i & (length - 1)) */
+    private volatile AtomicReferenceArray<Entry<T>> entries = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /** Maximum number of values retained by the buffer */
+    private volatile int maximumSize;
+
+    /**
+     * Constructor of an unbounded buffer.
+     */
+    public ConcurrentIndexedBuffer() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     * @param maximumSize the maximum number of values retained by the buffer
+     */
+    public ConcurrentIndexedBuffer(int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * @param index an absolute index
+     * @return the value stored for the index, null if there is none (or if it has been evicted)
+     */
+    public T get(int index) {
+        if (index < 0) {
+            return null;
+        }
+        AtomicReferenceArray<Entry<T>> array = entries;
+        Entry<T> entry = array.get(index & (array.length() - 1));
+        return entry != null && entry.index == index ? entry.value : null;
+    }
+
+    /**
+     * Stores a value for an index.
+     * @param index an absolute index (positive or zero)
+     * @param value the value to be stored
+     */
+    public void put(int index, T value) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index must be positive or zero: " + index);
+        }
+        AtomicReferenceArray<Entry<T>> array = entries;
+        if (index >= array.length() && array.length() < capacityFor(maximumSize)) {
+            array = grow(index);
+        }
+        array.set(index & (array.length() - 1), new Entry<>(index, value));
+    }
+
+    /**
+     * Removes the value stored for an index.
+     * @param index an absolute index
+     */
+    public void remove(int index) {
+        if (index < 0) {
+            return;
+        }
+        AtomicReferenceArray<Entry<T>> array = entries;
+        int slot = index & (array.length() - 1);
+        Entry<T> entry = array.get(slot);
+        if (entry != null && entry.index == index) {
+            array.compareAndSet(slot, entry, null);
+        }
+    }
+
+    /**
+     * @return the maximum number of values retained by the buffer
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of values retained by the buffer.
+     * @param maximumSize the maximum size
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be strictly positive");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Removes all the values.
+     */
+    public synchronized void clear() {
+        entries = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Grows the backing array so that it can hold the provided index (up to the maximum size).
+     * @param index the index to be stored
+     * @return the new backing array
+     */
+    private synchronized AtomicReferenceArray<Entry<T>> grow(int index) {
+        AtomicReferenceArray<Entry<T>> array = entries;
+        int capacity = Math.min(capacityFor(index + 1L), capacityFor(maximumSize));
+        if (capacity > array.length()) {
+            AtomicReferenceArray<Entry<T>> grown = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < array.length(); i++) {
+                Entry<T> entry = array.get(i);
+                if (entry != null) {
+                    grown.set(entry.index & (capacity - 1), entry);
+                }
+            }
+            entries = grown;
+            array = grown;
+        }
+        return array;
+    }
+
+    /**
+     * @param size a number of values
+     * @return the smallest power of two holding the number of values (bounded to the maximum capacity)
+     */
+    private static int capacityFor(long size) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < size && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -6,6 +6,8 @@ public class FixedQueue<T> implements Iterable<T> {
 
 	private int n;
 	private Object[] elements;
+	/** Position of the first (oldest) element in the circular array */
+	private int head;
 
 	public FixedQueue(int maxSize) {
 		elements = new Object[maxSize];
@@ -13,19 +15,18 @@ public class FixedQueue<T> implements Iterable<T> {
 
 	public void add(T obj) {
 		if (n < elements.length) {
+			elements[(head + n) % elements.length] = obj;
 			n++;
 		} else {
-			//put new sample in tail
-			for (int i = 0; i < elements.length-1; i++) {
-				elements[i] = elements[i+1];
-			}
+			//put new sample in tail: overwrite the oldest one (no shift)
+			elements[head] = obj;
+			head = (head + 1) % elements.length;
 		}
-		elements[n-1] = obj;
 	}
 	
 	public T get(int i) {
 		if((i+1)>n) throw new IllegalStateException("Cannot get element at position " + i + ". Number of elements=" + getSize());
-		return (T)elements[i];
+		return (T)elements[(head + i) % elements.length];
 	}
 	
 	public int getSize() {
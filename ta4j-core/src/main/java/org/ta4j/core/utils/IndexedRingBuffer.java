@@ -0,0 +1,211 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import java.io.Serializable;
+
+/**
+ * Circular buffer of values keyed by an absolute (i.e. ever increasing) index.
+ * <p></p>
+ * The buffer retains the values of the last {@code maximumSize} indexes (the window).
+ * Storing a value after the end of the window moves the window forward and evicts the oldest values.
+ * Appending and evicting are O(1); the backing array grows (up to the maximum size) as values are stored.
+ * @param <T> the type of the values
+ */
+public class IndexedRingBuffer<T> implements Serializable {
+
+    private static final long serialVersionUID = 3203658720424316521L;
+
+    /** Initial capacity of the backing array */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The backing array (index i is stored at position i % elements.length) */
+    private Object[] elements = new Object[0];
+
+    /** Maximum number of values retained by the buffer */
+    private int maximumSize;
+
+    /** Lowest index of the window (inclusive) */
+    private int beginIndex = 0;
+
+    /** Highest index of the window (inclusive), -1 if nothing has been stored yet */
+    private int endIndex = -1;
+
+    /**
+     * Constructor of an unbounded buffer.
+     */
+    public IndexedRingBuffer() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     * @param maximumSize the maximum number of values retained by the buffer
+     */
+    public IndexedRingBuffer(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be strictly positive");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @param index an absolute index
+     * @return the value stored for the index, null if there is none (or if it has been evicted)
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < beginIndex || index > endIndex) {
+            return null;
+        }
+        return (T) elements[index % elements.length];
+    }
+
+    /**
+     * Stores a value for an index.
+     * <p>
+     * If the index is after the end of the window, the window is moved forward (the values between
+     * the previous end and the index are null). Values stored for indexes before the window are ignored.
+     * @param index an absolute index (positive or zero)
+     * @param value the value to be stored
+     */
+    public void put(int index, T value) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index must be positive or zero: " + index);
+        }
+        if (index > endIndex) {
+            moveTo(index);
+        } else if (index < beginIndex) {
+            return;
+        }
+        elements[index % elements.length] = value;
+    }
+
+    /**
+     * Removes the value stored for an index (the window is not modified).
+     * @param index an absolute index
+     */
+    public void remove(int index) {
+        if (index >= beginIndex && index <= endIndex) {
+            elements[index % elements.length] = null;
+        }
+    }
+
+    /**
+     * @return the lowest index of the window (i.e. of the oldest retained value)
+     */
+    public int getBeginIndex() {
+        return beginIndex;
+    }
+
+    /**
+     * @return the highest index of the window (i.e. of the newest value), -1 if nothing has been stored yet
+     */
+    public int getEndIndex() {
+        return endIndex;
+    }
+
+    /**
+     * @return the number of indexes covered by the window
+     */
+    public int size() {
+        return endIndex < 0 ? 0 : endIndex - beginIndex + 1;
+    }
+
+    /**
+     * @return the maximum number of values retained by the buffer
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of values retained by the buffer.
+     * The oldest values are evicted if the buffer holds more values than the new maximum size.
+     * @param maximumSize the maximum size
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize == this.maximumSize) {
+            return;
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be strictly positive");
+        }
+        this.maximumSize = maximumSize;
+        if (endIndex >= 0) {
+            beginIndex = Math.max(beginIndex, endIndex - maximumSize + 1);
+        }
+        if (elements.length > maximumSize) {
+            resize(maximumSize);
+        }
+    }
+
+    /**
+     * Removes all the values and resets the window.
+     */
+    public void clear() {
+        elements = new Object[0];
+        beginIndex = 0;
+        endIndex = -1;
+    }
+
+    /**
+     * Moves the end of the window to the provided index.
+     * @param index the new end index (greater than the current one)
+     */
+    private void moveTo(int index) {
+        if (endIndex < 0) {
+            // First value
+            beginIndex = Math.max(0, index - maximumSize + 1);
+        }
+        int requiredCapacity = index - beginIndex + 1;
+        if (requiredCapacity > elements.length && elements.length < maximumSize) {
+            long grownCapacity = Math.max((long) elements.length * 2, INITIAL_CAPACITY);
+            resize((int) Math.min(Math.max(grownCapacity, requiredCapacity), maximumSize));
+        }
+        final int capacity = elements.length;
+        if (requiredCapacity > capacity) {
+            // Evicting the oldest values
+            beginIndex = index - capacity + 1;
+        }
+        // Clearing the positions of the new indexes (they may hold evicted values)
+        for (int i = Math.max(endIndex + 1, beginIndex); i < index; i++) {
+            elements[i % capacity] = null;
+        }
+        endIndex = index;
+    }
+
+    /**
+     * Resizes the backing array, keeping the last values of the window.
+     * @param capacity the new capacity
+     */
+    private void resize(int capacity) {
+        Object[] resized = new Object[capacity];
+        if (endIndex >= 0) {
+            for (int i = Math.max(beginIndex, endIndex - capacity + 1); i <= endIndex; i++) {
+                resized[i % capacity] = elements[i % elements.length];
+            }
+        }
+        elements = resized;
+    }
+}
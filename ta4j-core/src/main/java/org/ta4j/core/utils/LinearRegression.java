@@ -2,59 +2,96 @@ package org.ta4j.core.utils;
 
 import org.ta4j.core.Line;
 
-import java.awt.geom.Point2D;
-
+/**
+ * Least squares linear regression over the last samples (sliding window).
+ * <p></p>
+ * The sums of the regression are updated as samples are added and evicted, so that adding a sample and regressing
+ * are O(1). The x values are summed relative to an origin (the first sample of the window), and the sums are
+ * recomputed from the samples once per window, against cancellation and accumulated rounding errors.
+ */
 public class LinearRegression {
 
-    private FixedQueue<Point2D> fixedList;
+    /** Samples (circular arrays) */
+    private final double[] xs;
+    private final double[] ys;
+    /** Position of the oldest sample */
+    private int head;
+    /** Number of samples */
+    private int n;
+
+    /** Origin of the x values of the sums */
+    private double origin;
+    private double sumx, sumy, sumxx, sumxy;
+    /** Number of samples evicted since the sums were recomputed */
+    private int evictedCount;
+
     private double lastx;
     private Line lastResult = null;
     private boolean dirty = true;//optimization. don't regress again if no new sample was added
 
     public LinearRegression(int numberOfSamples) {
-        fixedList = new FixedQueue<Point2D>(numberOfSamples);
+        if (numberOfSamples <= 0) {
+            throw new IllegalArgumentException("Number of samples must be strictly positive");
+        }
+        xs = new double[numberOfSamples];
+        ys = new double[numberOfSamples];
     }
 
     /**
-     * Performs a regression on samples and returns an array containing the
-     * elements "a" and "b" for the form "y = a + bx".
+     * Performs a regression on samples and returns the line of the form "y = a + bx".
      *
-     * @return
+     * @return the regression line (the previous one if all the samples have the same x)
      */
     public Line regress() {
         if(!dirty) return lastResult;
 
-        int n = fixedList.getSize();
         if (n == 0) {
             throw new IllegalStateException("No sample was added to this calculator");
         }
 
-        double sumx=0, sumy=0, sumxx=0, sumxy=0;
-        for (int i = 0; i < n; i++) {
-            Point2D cv = fixedList.get(i);
-            double x = cv.getX();
-            double y = cv.getY();
-            sumx += x;
-            sumy += y;
-            sumxx += x*x;
-            sumxy += x*y;
-        }
-
         double sxx = sumxx-(sumx*sumx/n);
         double sxy = sumxy-(sumx*sumy/n);
-        if(sxx==0) return lastResult;
+        if(sxx <= 0) return lastResult;
 
         double b = sxy/sxx;
-        double a = (sumy-(b*sumx))/n;
+        double a = (sumy-(b*sumx))/n - b*origin;
 
         lastResult = new Line(a,b);
+        dirty = false;
         return lastResult;
     }
 
     public void addSample(double x, double y) {
         dirty = true;
         lastx = x;
-        fixedList.add(new Point2D.Double(x,y));
+        if (n == 0) {
+            origin = x;
+        }
+        if (n == xs.length) {
+            // Evicting the oldest sample
+            double dx = xs[head] - origin;
+            double evictedY = ys[head];
+            sumx -= dx;
+            sumy -= evictedY;
+            sumxx -= dx*dx;
+            sumxy -= dx*evictedY;
+            head = (head + 1) % xs.length;
+            n--;
+            evictedCount++;
+        }
+        int tail = (head + n) % xs.length;
+        xs[tail] = x;
+        ys[tail] = y;
+        n++;
+        if (evictedCount >= xs.length) {
+            resum();
+        } else {
+            double dx = x - origin;
+            sumx += dx;
+            sumy += y;
+            sumxx += dx*dx;
+            sumxy += dx*y;
+        }
     }
 
     public void addSample(double y) {
@@ -62,7 +99,25 @@ public class LinearRegression {
     }
 
     public int getNumberOfSamples() {
-        return fixedList.getSize();
+        return n;
+    }
+
+    /**
+     * Recomputes the sums from the samples, with the oldest sample as origin.
+     */
+    private void resum() {
+        origin = xs[head];
+        sumx = sumy = sumxx = sumxy = 0;
+        for (int i = 0; i < n; i++) {
+            int position = (head + i) % xs.length;
+            double dx = xs[position] - origin;
+            double y = ys[position];
+            sumx += dx;
+            sumy += y;
+            sumxx += dx*dx;
+            sumxy += dx*y;
+        }
+        evictedCount = 0;
     }
 
 }
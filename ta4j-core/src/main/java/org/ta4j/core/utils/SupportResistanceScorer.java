@@ -0,0 +1,627 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.analysis.PointScore;
+import org.ta4j.core.analysis.PointScoreEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.ta4j.core.utils.CandleBarUtils.*;
+
+/**
+ * Incremental scoring of the supports and resistances of a time series.
+ * <p></p>
+ * Computes the same scores as {@link CandleBarUtils#getCandlesScore(List, List, Double)} for the levels of
+ * {@link CandleBarUtils#getSupportAndResistanceByScore(TimeSeries, int)}, without scanning every cumulative candle for
+ * every level:
+ * <ul>
+ *     <li>the cumulative candles are indexed by price bucket: a level only visits the candles which may cut or touch it
+ *     (i.e. the candles of its bucket)</li>
+ *     <li>the trend checks are range searches on a segment tree of the highs and lows of the candles</li>
+ *     <li>the score of each level is kept, and only the new candles are visited as bars are added to the series (the
+ *     last candles, whose high/low flags and candidate status depend on the following candles, are visited on each
+ *     scoring)</li>
+ * </ul>
+ * <p></p>
+ * The bars of the series are read as they are added (the scorer keeps its own copy of the candles, so that removed bars
+ * are still taken into account). A candle without last traded price uses its close price.
+ * This class is not thread-safe.
+ */
+public class SupportResistanceScorer {
+
+    /** Number of candles checked on the high/low flags (see {@link CandleBarUtils#findHighLow(List, int)}) */
+    private static final int HIGH_LOW_BAR_PADDING = 2;
+
+    /** Maximum number of supports and resistances returned */
+    private static final int MAX_LEVELS = 30;
+
+    private final TimeSeries series;
+
+    private final int cumulativeCandleSize;
+
+    /** Width of the price buckets (0 until the first candle) */
+    private double bucketWidth;
+
+    // Cumulative candles (the last one may be forming)
+    private double[] openPrices = new double[64];
+    private double[] highPrices = new double[64];
+    private double[] lowPrices = new double[64];
+    private double[] closePrices = new double[64];
+    private double[] ltps = new double[64];
+    private long[] endTimes = new long[64];
+    private int candleCount;
+
+    /** Segment tree of the highs and lows of the candles */
+    private final ExtremumTree tree = new ExtremumTree();
+
+    /** Candles (indexes) by price bucket */
+    private final Map<Long, IntList> buckets = new HashMap<>();
+
+    /** Buckets of the last candle: [firstBucket, lastBucket] */
+    private long firstBucket, lastBucket;
+
+    /** Series index of the first bar of the first candle (-1 before the first bar) */
+    private int firstBarIndex = -1;
+
+    /** Series index of the next bar to read */
+    private int nextBarIndex;
+
+    /** Group (of cumulativeCandleSize bars from the first bar) of the last candle */
+    private int lastGroup = -1;
+
+    /** Levels of the candidate candles whose status is final, by price */
+    private final Map<Double, Level> levels = new LinkedHashMap<>();
+
+    /** Number of candles whose candidate status has been checked */
+    private int checkedCandleCount;
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param cumulativeCandleSize the number of bars joined into a cumulative candle
+     * @see CandleBarUtils#getCumulativeCandles(List, int)
+     */
+    public SupportResistanceScorer(TimeSeries series, int cumulativeCandleSize) {
+        if (cumulativeCandleSize <= 0) {
+            throw new IllegalArgumentException("Cumulative candle size must be strictly positive");
+        }
+        this.series = series;
+        this.cumulativeCandleSize = cumulativeCandleSize;
+    }
+
+    /**
+     * Scores the levels of the series (reading the bars added since the last call).
+     * @return the strongest supports and resistances, by decreasing score (then increasing price)
+     * @see CandleBarUtils#getSupportAndResistanceByScore(TimeSeries, int)
+     */
+    public List<PointScore> getSupportAndResistance() {
+        update();
+        final int completeCount = getCompleteCandleCount();
+        final int stableCount = getStableCandleCount(completeCount);
+
+        // Candidate levels: a candle is a candidate if it is the highest / lowest among its neighbours
+        final int checkedCount = Math.max(0, completeCount - CONSECUTIVE_CANDLE_TO_CHECK_MIN + 1);
+        for (; checkedCandleCount < checkedCount; checkedCandleCount++) {
+            if (isCandidate(checkedCandleCount)) {
+                levels.computeIfAbsent(highPrices[checkedCandleCount], this::newLevel);
+                levels.computeIfAbsent(lowPrices[checkedCandleCount], this::newLevel);
+            }
+        }
+        Set<Double> lastPrices = new LinkedHashSet<>();
+        for (int i = checkedCandleCount; i < candleCount; i++) {
+            if (isCandidate(i)) {
+                lastPrices.add(highPrices[i]);
+                lastPrices.add(lowPrices[i]);
+            }
+        }
+
+        // Scores
+        List<Level> scoredLevels = new ArrayList<>();
+        for (Level level : levels.values()) {
+            scoreLevel(level, stableCount, scoredLevels);
+        }
+        for (Double price : lastPrices) {
+            if (!levels.containsKey(price)) {
+                scoreLevel(newLevel(price), stableCount, scoredLevels);
+            }
+        }
+        scoredLevels.sort((l1, l2) -> {
+            int comparison = Double.compare(l2.totalScore, l1.totalScore);
+            return comparison != 0 ? comparison : Double.compare(l1.price, l2.price);
+        });
+
+        // Selection: the extremes always come as strong levels, and the levels close to a selected one are rejected
+        List<PointScore> supportAndResistance = new ArrayList<>();
+        if (candleCount == 0) {
+            return supportAndResistance;
+        }
+        final Double min = tree.getMinLow();
+        final Double max = tree.getMaxHigh();
+        TreeSet<Double> used = new TreeSet<>();
+        for (Level level : scoredLevels) {
+            if (!isSimilar(level.price, used) && !closeFromExtreme(level.price, min, max)) {
+                supportAndResistance.add(new PointScore(level.price, level.totalScore, level.totalEvents()));
+                used.add(level.price);
+                if (supportAndResistance.size() >= MAX_LEVELS) {
+                    break;
+                }
+            }
+        }
+        return supportAndResistance;
+    }
+
+    /**
+     * Scores a price level (reading the bars added since the last call).
+     * @param price the price of the level
+     * @return the score of the level
+     * @see CandleBarUtils#getCandlesScore(List, List, Double)
+     */
+    public PointScore getPointScore(double price) {
+        update();
+        Level level = levels.get(price);
+        if (level == null) {
+            level = newLevel(price);
+        }
+        level.advance(getStableCandleCount(getCompleteCandleCount()));
+        level.scoreTail();
+        return new PointScore(price, level.totalScore, level.totalEvents());
+    }
+
+    /**
+     * @return the number of cumulative candles (including the forming one)
+     */
+    public int getCandleCount() {
+        update();
+        return candleCount;
+    }
+
+    private void scoreLevel(Level level, int stableCount, List<Level> scoredLevels) {
+        level.advance(stableCount);
+        level.scoreTail();
+        // Each level should have at least MIN_SCORE_TO_PRINT points
+        if (level.totalScore >= MIN_SCORE_TO_PRINT) {
+            scoredLevels.add(level);
+        }
+    }
+
+    private Level newLevel(double price) {
+        return new Level(price, buckets.computeIfAbsent(bucketOf(price), k -> new IntList()));
+    }
+
+    /**
+     * @return the number of candles whose bars have all been read
+     */
+    private int getCompleteCandleCount() {
+        final boolean forming = nextBarIndex - firstBarIndex < (lastGroup + 1) * cumulativeCandleSize;
+        return forming ? candleCount - 1 : candleCount;
+    }
+
+    /**
+     * @param completeCount the number of complete candles
+     * @return the number of candles whose events are final (i.e. whose high/low flag cannot change)
+     */
+    private static int getStableCandleCount(int completeCount) {
+        return Math.max(0, completeCount - HIGH_LOW_BAR_PADDING);
+    }
+
+    /**
+     * Reads the new bars of the series into the cumulative candles.
+     * @see CandleBarUtils#getCumulativeCandles(List, int)
+     */
+    private void update() {
+        final int endIndex = series.getEndIndex();
+        if (endIndex < 0) {
+            return;
+        }
+        if (firstBarIndex < 0) {
+            firstBarIndex = series.getBeginIndex();
+            nextBarIndex = firstBarIndex;
+        }
+        for (int i = Math.max(nextBarIndex, series.getBeginIndex()); i <= endIndex; i++) {
+            final Bar bar = series.getBar(i);
+            final int group = (i - firstBarIndex) / cumulativeCandleSize;
+            final boolean newCandle = group != lastGroup;
+            if (newCandle) {
+                appendCandle(bar);
+                lastGroup = group;
+            } else {
+                final int last = candleCount - 1;
+                highPrices[last] = Math.max(highPrices[last], bar.getMaxPrice().doubleValue());
+                lowPrices[last] = Math.min(lowPrices[last], bar.getMinPrice().doubleValue());
+                closePrices[last] = bar.getClosePrice().doubleValue();
+                endTimes[last] = bar.getEndTime().toInstant().toEpochMilli();
+                tree.set(last, highPrices[last], lowPrices[last]);
+            }
+            indexLastCandle(newCandle);
+            nextBarIndex = i + 1;
+        }
+    }
+
+    private void appendCandle(Bar bar) {
+        if (candleCount == openPrices.length) {
+            final int capacity = candleCount * 2;
+            openPrices = Arrays.copyOf(openPrices, capacity);
+            highPrices = Arrays.copyOf(highPrices, capacity);
+            lowPrices = Arrays.copyOf(lowPrices, capacity);
+            closePrices = Arrays.copyOf(closePrices, capacity);
+            ltps = Arrays.copyOf(ltps, capacity);
+            endTimes = Arrays.copyOf(endTimes, capacity);
+        }
+        final int index = candleCount++;
+        openPrices[index] = bar.getOpenPrice().doubleValue();
+        highPrices[index] = bar.getMaxPrice().doubleValue();
+        lowPrices[index] = bar.getMinPrice().doubleValue();
+        closePrices[index] = bar.getClosePrice().doubleValue();
+        final Decimal ltp = bar.getLtp();
+        ltps[index] = ltp == null ? closePrices[index] : ltp.doubleValue();
+        endTimes[index] = bar.getEndTime().toInstant().toEpochMilli();
+        tree.set(index, highPrices[index], lowPrices[index]);
+        if (bucketWidth == 0) {
+            final double width = Math.abs(closePrices[index] * DIFF_PERC_FOR_CANDLE_CLOSE / 100);
+            bucketWidth = width > 0 && !Double.isInfinite(width) ? width : 1;
+        }
+    }
+
+    /**
+     * Adds the last candle to the buckets of the prices it may cut or touch.
+     * @param newCandle true if the candle has just been appended, false if it has grown
+     */
+    private void indexLastCandle(boolean newCandle) {
+        final int index = candleCount - 1;
+        final double tolerance = Math.abs(ltps[index] * DIFF_PERC_FOR_CANDLE_CLOSE / 100);
+        // One more bucket on each side against rounding errors
+        final long first = bucketOf(lowPrices[index] - tolerance) - 1;
+        final long last = bucketOf(highPrices[index] + tolerance) + 1;
+        if (newCandle) {
+            addToBuckets(index, first, last);
+        } else {
+            // The range of a forming candle can only grow
+            addToBuckets(index, first, firstBucket - 1);
+            addToBuckets(index, lastBucket + 1, last);
+        }
+        firstBucket = newCandle ? first : Math.min(first, firstBucket);
+        lastBucket = newCandle ? last : Math.max(last, lastBucket);
+    }
+
+    private void addToBuckets(int index, long first, long last) {
+        for (long bucket = first; bucket <= last; bucket++) {
+            buckets.computeIfAbsent(bucket, k -> new IntList()).add(index);
+        }
+    }
+
+    private long bucketOf(double price) {
+        return (long) Math.floor(price / bucketWidth);
+    }
+
+    /**
+     * @param index the index of a candle
+     * @return true if the candle is the highest / lowest among CONSECUTIVE_CANDLE_TO_CHECK_MIN candles on each side
+     */
+    private boolean isCandidate(int index) {
+        final int begin = Math.max(0, index - CONSECUTIVE_CANDLE_TO_CHECK_MIN);
+        final int end = Math.min(candleCount, index + CONSECUTIVE_CANDLE_TO_CHECK_MIN);
+        double min = lowPrices[begin];
+        double max = highPrices[begin];
+        for (int i = begin + 1; i < end; i++) {
+            min = Math.min(min, lowPrices[i]);
+            max = Math.max(max, highPrices[i]);
+        }
+        return lowPrices[index] == min || highPrices[index] == max;
+    }
+
+    /**
+     * @param index the index of a candle
+     * @return true if the candle is higher or lower than the HIGH_LOW_BAR_PADDING candles on each side
+     * @see CandleBarUtils#findHighLow(List, int)
+     */
+    private boolean isHighLow(int index) {
+        final int begin = Math.max(0, index - HIGH_LOW_BAR_PADDING);
+        final int end = Math.min(candleCount - 1, index + HIGH_LOW_BAR_PADDING);
+        double highestHigh = Double.NEGATIVE_INFINITY;
+        double lowestLow = Double.POSITIVE_INFINITY;
+        for (int i = begin; i <= end; i++) {
+            if (i != index) {
+                highestHigh = Math.max(highestHigh, highPrices[i]);
+                lowestLow = Math.min(lowestLow, lowPrices[i]);
+            }
+        }
+        return begin < end && (highPrices[index] > highestHigh || lowPrices[index] < lowestLow);
+    }
+
+    private boolean isSimilar(double price, TreeSet<Double> used) {
+        // The similar prices are within DIFF_PERC_FOR_INTRASR_DISTANCE %: searching within 2 %
+        final double margin = Math.abs(price) * 0.02;
+        return similar(price, new ArrayList<>(used.subSet(price - margin, true, price + margin, true)));
+    }
+
+    /**
+     * @return true if the price was reached by the highs, coming from below (enough), before the index
+     */
+    private boolean inUpTrend(double price, int index) {
+        final int lastAbove = tree.lastIndexWithHighAbove(index, price);
+        final int lastRise = tree.lastIndexWithLowBelow(index, price, price * MIN_PERC_FOR_TREND / 100);
+        return lastRise > lastAbove;
+    }
+
+    /**
+     * @return true if the price was reached by the lows, coming from above (enough), before the index
+     */
+    private boolean inDownTrend(double price, int index) {
+        final int lastBelow = tree.lastIndexWithLowBelow(index, price, 0);
+        final int lastFall = tree.lastIndexWithLowAbove(index, price, price * MIN_PERC_FOR_TREND / 100);
+        return lastFall > lastBelow;
+    }
+
+    /**
+     * A scored price level.
+     */
+    private class Level {
+
+        private final double price;
+
+        /** Candles of the bucket of the price */
+        private final IntList candles;
+
+        // Score of the stable candles
+        private double score;
+        private int lastCutIndex = -10;
+        private final List<PointScoreEvent> events = new ArrayList<>();
+        /** Position (in candles) of the first candle not scored yet */
+        private int position;
+
+        // Score including the last candles
+        private double totalScore;
+        private List<PointScoreEvent> tailEvents;
+
+        Level(double price, IntList candles) {
+            this.price = price;
+            this.candles = candles;
+        }
+
+        /**
+         * Scores the stable candles.
+         * @param stableCount the number of stable candles
+         */
+        void advance(int stableCount) {
+            for (; position < candles.size() && candles.get(position) < stableCount; position++) {
+                final int index = candles.get(position);
+                final PointScoreEvent event = score(index, lastCutIndex);
+                if (event != null) {
+                    score += event.getScoreChange();
+                    events.add(event);
+                    if (isCut(event)) {
+                        lastCutIndex = index;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Scores the last candles (after the stable ones) into the total score.
+         */
+        void scoreTail() {
+            totalScore = score;
+            tailEvents = null;
+            int cutIndex = lastCutIndex;
+            for (int p = position; p < candles.size(); p++) {
+                final int index = candles.get(p);
+                final PointScoreEvent event = score(index, cutIndex);
+                if (event != null) {
+                    totalScore += event.getScoreChange();
+                    if (tailEvents == null) {
+                        tailEvents = new ArrayList<>();
+                    }
+                    tailEvents.add(event);
+                    if (isCut(event)) {
+                        cutIndex = index;
+                    }
+                }
+            }
+        }
+
+        List<PointScoreEvent> totalEvents() {
+            List<PointScoreEvent> totalEvents = new ArrayList<>(events);
+            if (tailEvents != null) {
+                totalEvents.addAll(tailEvents);
+            }
+            return totalEvents;
+        }
+
+        private boolean isCut(PointScoreEvent event) {
+            return event.getType() == PointScoreEvent.Type.CUT_BODY || event.getType() == PointScoreEvent.Type.CUT_WICK;
+        }
+
+        /**
+         * @return the event of the price at a candle, or null
+         * @see CandleBarUtils#getCandlesScore(List, List, Double)
+         */
+        private PointScoreEvent score(int index, int lastCutIndex) {
+            final double high = highPrices[index];
+            final double low = lowPrices[index];
+            final boolean cutBody = Math.max(openPrices[index], closePrices[index]) > price
+                    && Math.min(openPrices[index], closePrices[index]) < price;
+            final boolean canCut = index - lastCutIndex > MIN_DIFF_FOR_CONSECUTIVE_CUT;
+            if (cutBody && canCut) {
+                return event(PointScoreEvent.Type.CUT_BODY, index, SCORE_FOR_CUT_BODY);
+            } else if (!cutBody && high > price && low < price && canCut) {
+                return event(PointScoreEvent.Type.CUT_WICK, index, SCORE_FOR_CUT_WICK);
+            }
+            final double tolerance = ltps[index] * DIFF_PERC_FOR_CANDLE_CLOSE / 100;
+            if (high <= price && Math.abs(high - price) < tolerance && inUpTrend(price, index)) {
+                return isHighLow(index)
+                        ? event(PointScoreEvent.Type.TOUCH_UP_HIGHLOW, index, SCORE_FOR_TOUCH_HIGH_LOW)
+                        : event(PointScoreEvent.Type.TOUCH_UP, index, SCORE_FOR_TOUCH_NORMAL);
+            } else if (low >= price && Math.abs(low - price) < tolerance && inDownTrend(price, index)) {
+                return !isHighLow(index)
+                        ? event(PointScoreEvent.Type.TOUCH_DOWN, index, SCORE_FOR_TOUCH_HIGH_LOW)
+                        : event(PointScoreEvent.Type.TOUCH_DOWN_HIGHLOW, index, SCORE_FOR_TOUCH_NORMAL);
+            }
+            return null;
+        }
+
+        private PointScoreEvent event(PointScoreEvent.Type type, int index, double scoreChange) {
+            return new PointScoreEvent(type, new Date(endTimes[index]), scoreChange);
+        }
+    }
+
+    /**
+     * Growable list of ints.
+     */
+    private static class IntList {
+
+        private int[] values = new int[4];
+
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int position) {
+            return values[position];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Segment tree of the highs and lows of the candles, searching the last candle (up to an index) matching a price
+     * condition in O(log n).
+     */
+    private static class ExtremumTree {
+
+        private int capacity = 64;
+
+        private double[] maxHighs = newArray(capacity, Double.NEGATIVE_INFINITY);
+
+        private double[] minLows = newArray(capacity, Double.POSITIVE_INFINITY);
+
+        private double[] maxLows = newArray(capacity, Double.NEGATIVE_INFINITY);
+
+        private static double[] newArray(int capacity, double value) {
+            double[] array = new double[2 * capacity];
+            Arrays.fill(array, value);
+            return array;
+        }
+
+        void set(int index, double high, double low) {
+            if (index >= capacity) {
+                grow();
+            }
+            int node = capacity + index;
+            maxHighs[node] = high;
+            minLows[node] = low;
+            maxLows[node] = low;
+            for (node /= 2; node >= 1; node /= 2) {
+                maxHighs[node] = Math.max(maxHighs[2 * node], maxHighs[2 * node + 1]);
+                minLows[node] = Math.min(minLows[2 * node], minLows[2 * node + 1]);
+                maxLows[node] = Math.max(maxLows[2 * node], maxLows[2 * node + 1]);
+            }
+        }
+
+        private void grow() {
+            final int oldCapacity = capacity;
+            capacity *= 2;
+            double[] oldMaxHighs = maxHighs, oldMinLows = minLows, oldMaxLows = maxLows;
+            maxHighs = newArray(capacity, Double.NEGATIVE_INFINITY);
+            minLows = newArray(capacity, Double.POSITIVE_INFINITY);
+            maxLows = newArray(capacity, Double.NEGATIVE_INFINITY);
+            System.arraycopy(oldMaxHighs, oldCapacity, maxHighs, capacity, oldCapacity);
+            System.arraycopy(oldMinLows, oldCapacity, minLows, capacity, oldCapacity);
+            System.arraycopy(oldMaxLows, oldCapacity, maxLows, capacity, oldCapacity);
+            for (int node = capacity - 1; node >= 1; node--) {
+                maxHighs[node] = Math.max(maxHighs[2 * node], maxHighs[2 * node + 1]);
+                minLows[node] = Math.min(minLows[2 * node], minLows[2 * node + 1]);
+                maxLows[node] = Math.max(maxLows[2 * node], maxLows[2 * node + 1]);
+            }
+        }
+
+        double getMaxHigh() {
+            return maxHighs[1];
+        }
+
+        double getMinLow() {
+            return minLows[1];
+        }
+
+        /** @return the last index (up to index) with high &gt; price, or -1 */
+        int lastIndexWithHighAbove(int index, double price) {
+            return lastIndex(1, 0, capacity - 1, index, HIGH_ABOVE, price, 0);
+        }
+
+        /** @return the last index (up to index) with price - low &gt; distance, or -1 */
+        int lastIndexWithLowBelow(int index, double price, double distance) {
+            return lastIndex(1, 0, capacity - 1, index, LOW_BELOW, price, distance);
+        }
+
+        /** @return the last index (up to index) with low - price &gt; distance, or -1 */
+        int lastIndexWithLowAbove(int index, double price, double distance) {
+            return lastIndex(1, 0, capacity - 1, index, LOW_ABOVE, price, distance);
+        }
+
+        private static final int HIGH_ABOVE = 0;
+        private static final int LOW_BELOW = 1;
+        private static final int LOW_ABOVE = 2;
+
+        private boolean matches(int node, int condition, double price, double distance) {
+            switch (condition) {
+                case HIGH_ABOVE:
+                    return maxHighs[node] > price;
+                case LOW_BELOW:
+                    return price - minLows[node] > distance;
+                default:
+                    return maxLows[node] - price > distance;
+            }
+        }
+
+        private int lastIndex(int node, int from, int to, int index, int condition, double price, double distance) {
+            if (from > index || !matches(node, condition, price, distance)) {
+                return -1;
+            }
+            if (from == to) {
+                return from;
+            }
+            final int middle = (from + to) >>> 1;
+            final int last = lastIndex(2 * node + 1, middle + 1, to, index, condition, price, distance);
+            return last >= 0 ? last : lastIndex(2 * node, from, middle, index, condition, price, distance);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.Line;
+
+/**
+ * Trend channel over the last bars (sliding window): a main trend line (linear regression of the close prices)
+ * and a radius containing a ratio of the bars.
+ * <p></p>
+ * Adding a bar is O(1): the regression sums are updated incrementally, and the bars are kept in circular arrays
+ * of primitives (no shift on eviction).
+ * The radius is the error at the containment quantile: as the main trend line moves on each bar (so do all the errors),
+ * it is found by selection (O(n) average) rather than by sorting the errors, and only when requested after a change.
+ * <p></p>
+ * The x values of the bars are their end time in milliseconds (truncated to the second).
+ */
+public class TrendChannel {
+
+    /** Ratio of the bars contained in the channel */
+    private final float containedRatio;
+
+    /** True to contain only the close prices, false to contain the whole bars */
+    private final boolean considerOnlyClose;
+
+    private final LinearRegression linearRegression;
+
+    // Bars (circular arrays)
+    private final double[] xs;
+    private final double[] closePrices;
+    private final double[] minPrices;
+    private final double[] maxPrices;
+    private int head;
+    private int size;
+
+    /** Errors of the bars (selection buffer) */
+    private final double[] errors;
+
+    private double channelRadius;
+    private boolean dirtyRadius = true;
+
+    /**
+     * Constructor.
+     * @param barCount the number of bars of the channel
+     * @param containedRatio the ratio (0-1) of the bars contained in the channel
+     * @param considerOnlyClose true to contain only the close prices, false to contain the whole bars
+     */
+    public TrendChannel(int barCount, float containedRatio, boolean considerOnlyClose) {
+        if (barCount <= 0) {
+            throw new IllegalArgumentException("Bar count must be strictly positive");
+        }
+        if (containedRatio < 0 || containedRatio > 1) {
+            throw new IllegalArgumentException("containedRatio must be between 0 and 1. value=" + containedRatio);
+        }
+        this.containedRatio = containedRatio;
+        this.considerOnlyClose = considerOnlyClose;
+        this.linearRegression = new LinearRegression(barCount);
+        this.xs = new double[barCount];
+        this.closePrices = new double[barCount];
+        this.minPrices = new double[barCount];
+        this.maxPrices = new double[barCount];
+        this.errors = new double[barCount];
+    }
+
+    /**
+     * Adds a bar to the channel (evicting the oldest one if full).
+     * @param bar the bar
+     */
+    public void addBar(Bar bar) {
+        addBar(bar.getEndTime().toEpochSecond() * 1000d, bar.getClosePrice().doubleValue(),
+                bar.getMinPrice().doubleValue(), bar.getMaxPrice().doubleValue());
+    }
+
+    /**
+     * Adds a bar to the channel (evicting the oldest one if full).
+     * @param x the x value of the bar
+     * @param closePrice the close price of the bar
+     * @param minPrice the min price of the bar
+     * @param maxPrice the max price of the bar
+     */
+    public void addBar(double x, double closePrice, double minPrice, double maxPrice) {
+        final int position;
+        if (size < xs.length) {
+            position = (head + size) % xs.length;
+            size++;
+        } else {
+            position = head;
+            head = (head + 1) % xs.length;
+        }
+        xs[position] = x;
+        closePrices[position] = closePrice;
+        minPrices[position] = minPrice;
+        maxPrices[position] = maxPrice;
+        linearRegression.addSample(x, closePrice);
+        dirtyRadius = true;
+    }
+
+    /**
+     * @return the main trend line, of the form y = a + bx
+     */
+    public Line getMainTrendLine() {
+        return linearRegression.regress();
+    }
+
+    /**
+     * @return the distance to the main trend line containing the contained ratio of the bars
+     */
+    public double getChannelRadius() {
+        if (!dirtyRadius) {
+            return channelRadius;
+        }
+        if (size == 0) {
+            throw new IllegalStateException("No bar was added to this channel");
+        }
+        final Line mainTrendLine = getMainTrendLine();
+        for (int i = 0; i < size; i++) {
+            final double ideal = mainTrendLine.getYForX(xs[i]);
+            errors[i] = considerOnlyClose
+                    ? Math.abs(ideal - closePrices[i])
+                    : Math.max(Math.abs(ideal - minPrices[i]), Math.abs(ideal - maxPrices[i]));
+        }
+        channelRadius = select(errors, size, (int) ((size - 1) * containedRatio));
+        dirtyRadius = false;
+        return channelRadius;
+    }
+
+    /**
+     * @return the number of bars in the channel
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return true if the channel holds its number of bars
+     */
+    public boolean isFull() {
+        return size == xs.length;
+    }
+
+    /**
+     * @return the x value of the first (oldest) bar
+     */
+    public double getFirstX() {
+        checkNotEmpty();
+        return xs[head];
+    }
+
+    /**
+     * @return the x value of the last bar
+     */
+    public double getLastX() {
+        checkNotEmpty();
+        return xs[(head + size - 1) % xs.length];
+    }
+
+    /**
+     * @param x an x value
+     * @return the price of the main trend line at x
+     */
+    public double getMainPrice(double x) {
+        return getMainTrendLine().getYForX(x);
+    }
+
+    /**
+     * @param x an x value
+     * @return the price of the upper line of the channel at x
+     */
+    public double getUpperPrice(double x) {
+        return getMainPrice(x) + getChannelRadius();
+    }
+
+    /**
+     * @param x an x value
+     * @return the price of the lower line of the channel at x
+     */
+    public double getLowerPrice(double x) {
+        return getMainPrice(x) - getChannelRadius();
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("No bar was added to this channel");
+        }
+    }
+
+    /**
+     * Selects the k-th smallest value (i.e. the value at position k once sorted), partially reordering the values.
+     * @param values the values
+     * @param size the number of values
+     * @param k the position (0 to size - 1)
+     * @return the k-th smallest value
+     */
+    static double select(double[] values, int size, int k) {
+        int left = 0;
+        int right = size - 1;
+        while (left < right) {
+            // Median of three as pivot
+            final int middle = (left + right) >>> 1;
+            if (values[middle] < values[left]) {
+                swap(values, left, middle);
+            }
+            if (values[right] < values[left]) {
+                swap(values, left, right);
+            }
+            if (values[right] < values[middle]) {
+                swap(values, middle, right);
+            }
+            final double pivot = values[middle];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        final double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.SubSeriesIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class BacktestExecutorTest {
+
+    private ForkJoinPool pool;
+
+    private BacktestExecutor executor;
+
+    private List<TimeSeries> slices;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        executor = new BacktestExecutor(pool);
+        double[] data = new double[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 7d) + 5 * Math.cos(i / 3d);
+        }
+        TimeSeries series = new MockTimeSeries(data);
+        slices = Arrays.asList(series.getSubSeriesView(0, 100), series.getSubSeriesView(100, 200), series.getSubSeriesView(200, 300));
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static Strategy buildStrategy(TimeSeries series, int shortTimeFrame, int longTimeFrame) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, shortTimeFrame);
+        SMAIndicator longSma = new SMAIndicator(closePrice, longTimeFrame);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    private static List<Function<TimeSeries, Strategy>> buildStrategyBuilders() {
+        List<Function<TimeSeries, Strategy>> builders = new ArrayList<>();
+        for (int shortTimeFrame = 2; shortTimeFrame <= 6; shortTimeFrame++) {
+            for (int longTimeFrame = 8; longTimeFrame <= 20; longTimeFrame += 4) {
+                final int s = shortTimeFrame;
+                final int l = longTimeFrame;
+                builders.add(series -> buildStrategy(series, s, l));
+            }
+        }
+        return builders;
+    }
+
+    @Test
+    public void buildIsEqualToSequentialRuns() {
+        List<Function<TimeSeries, Strategy>> builders = buildStrategyBuilders();
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        TradingRecord[][] records = executor.build(builders, slices);
+        double[][] values = executor.calculate(criterion, slices, records);
+
+        assertEquals(builders.size(), records.length);
+        for (int i = 0; i < builders.size(); i++) {
+            for (int j = 0; j < slices.size(); j++) {
+                TimeSeries slice = slices.get(j);
+                TradingRecord expected = new TimeSeriesManager(slice).run(builders.get(i).apply(slice));
+                assertEquals(expected.getTradeCount(), records[i][j].getTradeCount());
+                assertEquals(criterion.calculate(slice, expected), values[i][j], 0);
+            }
+        }
+    }
+
+    @Test
+    public void buildSharedReadsTheIndicatorsOfTheParentSeries() {
+        TimeSeries series = ((SubTimeSeries) slices.get(0)).getParent();
+        List<TimeSeries> windows = Arrays.asList(series.getSubSeriesView(0, 150), series.getSubSeriesView(50, 200),
+                series.getSubSeriesView(100, 250), series.getSubSeriesView(150, 300), series);
+        List<Function<TimeSeries, Strategy>> builders = buildStrategyBuilders();
+        TradingRecord[][] records = executor.buildShared(builders, windows);
+
+        assertEquals(builders.size(), records.length);
+        int i = 0;
+        for (int shortTimeFrame = 2; shortTimeFrame <= 6; shortTimeFrame++) {
+            for (int longTimeFrame = 8; longTimeFrame <= 20; longTimeFrame += 4) {
+                ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+                SMAIndicator shortSma = new SMAIndicator(closePrice, shortTimeFrame);
+                SMAIndicator longSma = new SMAIndicator(closePrice, longTimeFrame);
+                for (int j = 0; j < windows.size(); j++) {
+                    TimeSeries window = windows.get(j);
+                    TradingRecord expected;
+                    if (window instanceof SubTimeSeries) {
+                        // Strategy of the view, reading the indicators of the parent series
+                        SubTimeSeries view = (SubTimeSeries) window;
+                        SubSeriesIndicator<Decimal> viewShortSma = new SubSeriesIndicator<>(view, shortSma);
+                        SubSeriesIndicator<Decimal> viewLongSma = new SubSeriesIndicator<>(view, longSma);
+                        expected = new TimeSeriesManager(view).run(new BaseStrategy(
+                                new CrossedUpIndicatorRule(viewShortSma, viewLongSma),
+                                new CrossedDownIndicatorRule(viewShortSma, viewLongSma)));
+                    } else {
+                        expected = new TimeSeriesManager(window).run(buildStrategy(window, shortTimeFrame, longTimeFrame));
+                    }
+                    assertEquals(expected.getTradeCount(), records[i][j].getTradeCount());
+                    for (int k = 0; k < expected.getTradeCount(); k++) {
+                        assertEquals(expected.getTrades().get(k).getEntry(), records[i][j].getTrades().get(k).getEntry());
+                        assertEquals(expected.getTrades().get(k).getExit(), records[i][j].getTrades().get(k).getExit());
+                    }
+                    assertEquals(expected.getCurrentTrade().isOpened(), records[i][j].getCurrentTrade().isOpened());
+                }
+                i++;
+            }
+        }
+    }
+
+    @Test
+    public void chooseBest() {
+        TimeSeries slice = slices.get(1);
+        List<Strategy> strategies = new ArrayList<>();
+        for (Function<TimeSeries, Strategy> builder : buildStrategyBuilders()) {
+            strategies.add(builder.apply(slice));
+        }
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        Strategy expected = criterion.chooseBest(new TimeSeriesManager(slice), strategies);
+        assertSame(expected, executor.chooseBest(criterion, slice, strategies));
+    }
+
+    @Test
+    public void chooseBestOfEachSeries() {
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        double[][] values = {
+                { 1, 5, 2 },
+                { 3, 4, 2 },
+                { 2, 6, 1 }
+        };
+        int[] best = BacktestExecutor.chooseBest(criterion, values);
+        assertEquals(1, best[0]);
+        assertEquals(2, best[1]);
+        assertEquals(0, best[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void exceptionOfTaskIsRethrown() {
+        List<Function<TimeSeries, Strategy>> builders = new ArrayList<>();
+        builders.add(series -> {
+            throw new IllegalArgumentException();
+        });
+        executor.build(builders, slices);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class BarAggregatorTest {
+
+    /** 2018-01-01T10:00:00Z */
+    private static final long T0 = ZonedDateTime.of(2018, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli();
+
+    private TimeSeries seconds;
+
+    private TimeSeries minutes;
+
+    private TimeSeries fiveMinutes;
+
+    private BarAggregator aggregator;
+
+    @Before
+    public void setUp() {
+        seconds = new BaseTimeSeries("1s");
+        minutes = new BaseTimeSeries("1m");
+        fiveMinutes = new BaseTimeSeries("5m");
+        aggregator = new BarAggregator(ZoneOffset.UTC)
+                .attach(Duration.ofSeconds(1), seconds)
+                .attach(Duration.ofMinutes(1), minutes)
+                .attach(Duration.ofMinutes(5), fiveMinutes);
+    }
+
+    @Test
+    public void aggregatesSeveralTimePeriods() {
+        aggregator.onTrade(T0 + 100, 10, 1);
+        aggregator.onTrade(T0 + 900, 12, 2);
+        aggregator.onTrade(T0 + 1500, 9, 1);
+        aggregator.onTrade(T0 + 65_000, 11, 3);
+        aggregator.onTrade(T0 + 61_000 * 5, 13, 1);
+
+        assertEquals(3, seconds.getBarCount());
+        assertEquals(2, minutes.getBarCount());
+        assertEquals(1, fiveMinutes.getBarCount());
+
+        Bar first = seconds.getBar(0);
+        assertEquals(ZonedDateTime.of(2018, 1, 1, 10, 0, 1, 0, ZoneOffset.UTC), first.getEndTime());
+        assertDecimalEquals(first.getOpenPrice(), 10);
+        assertDecimalEquals(first.getMaxPrice(), 12);
+        assertDecimalEquals(first.getMinPrice(), 10);
+        assertDecimalEquals(first.getClosePrice(), 12);
+        assertDecimalEquals(first.getVolume(), 3);
+        assertDecimalEquals(first.getAmount(), 34);
+        assertEquals(2, first.getTrades());
+
+        Bar minute = minutes.getBar(0);
+        assertEquals(ZonedDateTime.of(2018, 1, 1, 10, 1, 0, 0, ZoneOffset.UTC), minute.getEndTime());
+        assertDecimalEquals(minute.getClosePrice(), 9);
+        assertEquals(3, minute.getTrades());
+
+        Bar fiveMinute = fiveMinutes.getBar(0);
+        assertEquals(ZonedDateTime.of(2018, 1, 1, 10, 5, 0, 0, ZoneOffset.UTC), fiveMinute.getEndTime());
+        assertDecimalEquals(fiveMinute.getOpenPrice(), 10);
+        assertDecimalEquals(fiveMinute.getMaxPrice(), 12);
+        assertDecimalEquals(fiveMinute.getMinPrice(), 9);
+        assertDecimalEquals(fiveMinute.getClosePrice(), 11);
+        assertDecimalEquals(fiveMinute.getVolume(), 7);
+        assertEquals(4, fiveMinute.getTrades());
+
+        aggregator.flush();
+        assertEquals(4, seconds.getBarCount());
+        assertEquals(2, fiveMinutes.getBarCount());
+        assertEquals(ZonedDateTime.of(2018, 1, 1, 10, 10, 0, 0, ZoneOffset.UTC), fiveMinutes.getLastBar().getEndTime());
+        assertDecimalEquals(fiveMinutes.getLastBar().getClosePrice(), 13);
+    }
+
+    @Test
+    public void formingBar() {
+        TimeSeries live = new BaseTimeSeries("live");
+        aggregator.attach(Duration.ofMinutes(1), live, true);
+
+        aggregator.onTrade(T0 + 1000, 10, 1);
+        assertEquals(1, live.getBarCount());
+        Bar forming = live.getLastBar();
+        aggregator.onTrade(T0 + 2000, 14, 1);
+        assertEquals(1, live.getBarCount());
+        assertSame(forming, live.getLastBar());
+        assertDecimalEquals(forming.getMaxPrice(), 14);
+        assertEquals(2, forming.getTrades());
+
+        aggregator.onTrade(T0 + 60_000, 12, 1);
+        assertEquals(2, live.getBarCount());
+        assertDecimalEquals(live.getLastBar().getOpenPrice(), 12);
+        assertEquals(minutes.getBarCount(), 1);
+        assertEquals(minutes.getBar(0).getClosePrice(), live.getBar(0).getClosePrice());
+
+        // The forming bar is already in the series
+        aggregator.flush();
+        assertEquals(2, live.getBarCount());
+    }
+
+    @Test
+    public void lateTradesInFormingBar() {
+        aggregator.onTrade(T0 + 1500, 10, 1);
+        aggregator.onTrade(T0 + 500, 8, 1);
+        aggregator.flush();
+        assertEquals(1, seconds.getBarCount());
+        assertDecimalEquals(seconds.getBar(0).getMinPrice(), 8);
+        assertEquals(ZonedDateTime.of(2018, 1, 1, 10, 0, 2, 0, ZoneOffset.UTC), seconds.getBar(0).getEndTime());
+    }
+
+    @Test
+    public void tradeInTheFlushedPeriodIsRejected() {
+        TimeSeries live = new BaseTimeSeries("live");
+        aggregator.attach(Duration.ofMinutes(1), live, true);
+        aggregator.onTrade(T0 + 1000, 10, 1);
+        aggregator.flush();
+        try {
+            aggregator.onTrade(T0 + 2000, 11, 1);
+            fail("A trade in a flushed period must be rejected");
+        } catch (IllegalArgumentException expected) {
+            // The rejected trade is aggregated in no time period
+        }
+        aggregator.flush();
+        assertEquals(1, seconds.getBarCount());
+        assertEquals(1, minutes.getBarCount());
+        assertEquals(1, live.getBarCount());
+        assertEquals(1, minutes.getBar(0).getTrades());
+
+        // The next period (of every time period) starts a new bar
+        aggregator.onTrade(T0 + 300_000, 12, 1);
+        aggregator.flush();
+        assertEquals(2, minutes.getBarCount());
+        assertEquals(2, fiveMinutes.getBarCount());
+        assertEquals(2, live.getBarCount());
+        assertDecimalEquals(minutes.getLastBar().getClosePrice(), 12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void subMillisecondPeriod() {
+        aggregator.attach(Duration.ofNanos(10), new BaseTimeSeries());
+    }
+}
@@ -0,0 +1,200 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.MaxPriceIndicator;
+import org.ta4j.core.indicators.helpers.TypicalPriceIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class ColumnarTimeSeriesTest {
+
+    private List<Bar> bars;
+
+    private ZonedDateTime startTime;
+
+    @Before
+    public void setUp() {
+        startTime = ZonedDateTime.of(2018, 1, 1, 9, 0, 0, 0, ZoneId.of("Europe/Paris"));
+        bars = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            double close = 100 + Math.sin(i) * 5;
+            bars.add(new BaseBar(Duration.ofMinutes(1), startTime.plusMinutes(i + 1),
+                    Decimal.valueOf(close - 0.5), Decimal.valueOf(close + 1), Decimal.valueOf(close - 1),
+                    Decimal.valueOf(close), null, Decimal.valueOf(1000 + i), Decimal.valueOf(i)));
+        }
+    }
+
+    @Test
+    public void barViews() {
+        ColumnarTimeSeries series = new ColumnarTimeSeries("columnar", bars, DecimalFactory.DOUBLE);
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(19, series.getEndIndex());
+        assertEquals(20, series.getBarCount());
+        assertEquals(20, series.getBarData().size());
+        for (int i = 0; i < bars.size(); i++) {
+            Bar expected = bars.get(i);
+            Bar actual = series.getBar(i);
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getBeginTime(), actual.getBeginTime());
+            assertEquals(expected.getTimePeriod(), actual.getTimePeriod());
+            assertDecimalEquals(actual.getOpenPrice(), expected.getOpenPrice().doubleValue());
+            assertDecimalEquals(actual.getMaxPrice(), expected.getMaxPrice().doubleValue());
+            assertDecimalEquals(actual.getMinPrice(), expected.getMinPrice().doubleValue());
+            assertDecimalEquals(actual.getClosePrice(), expected.getClosePrice().doubleValue());
+            assertDecimalEquals(actual.getVolume(), expected.getVolume().doubleValue());
+            assertDecimalEquals(actual.getAmount(), expected.getAmount().doubleValue());
+            if (i < bars.size() - 1) {
+                // Closed bar: the last traded price is the close price
+                assertDecimalEquals(actual.getLtp(), expected.getClosePrice().doubleValue());
+            } else {
+                assertNull(actual.getLtp());
+            }
+            assertDecimalEquals(series.getClosePrice(i), expected.getClosePrice().doubleValue());
+        }
+    }
+
+    @Test
+    public void indicatorsMatchBaseTimeSeries() {
+        TimeSeries baseSeries = new BaseTimeSeries("base", bars);
+        TimeSeries columnarSeries = new ColumnarTimeSeries("columnar", bars, DecimalFactory.DOUBLE);
+        List<Indicator<Decimal>> baseIndicators = new ArrayList<>();
+        List<Indicator<Decimal>> columnarIndicators = new ArrayList<>();
+        for (TimeSeries series : new TimeSeries[] { baseSeries, columnarSeries }) {
+            List<Indicator<Decimal>> indicators = series == baseSeries ? baseIndicators : columnarIndicators;
+            indicators.add(new SMAIndicator(new ClosePriceIndicator(series), 5));
+            indicators.add(new MaxPriceIndicator(series));
+            indicators.add(new TypicalPriceIndicator(series));
+            indicators.add(new VolumeIndicator(series, 3));
+        }
+        for (int i = 0; i < baseIndicators.size(); i++) {
+            for (int j = 0; j < bars.size(); j++) {
+                assertEquals(baseIndicators.get(i).getValue(j).doubleValue(), columnarIndicators.get(i).getValue(j).doubleValue(), 1e-10);
+            }
+        }
+    }
+
+    @Test
+    public void addTradeToBarView() {
+        ColumnarTimeSeries series = new ColumnarTimeSeries();
+        series.addBar(new BaseBar(Duration.ofMinutes(1), startTime));
+        Bar bar = series.getLastBar();
+        assertNull(bar.getClosePrice());
+        bar.addTrade(2, 10);
+        bar.addTrade(1, 12);
+        bar.addTrade(3, 9);
+        bar = series.getBar(0);
+        assertDecimalEquals(bar.getOpenPrice(), 10);
+        assertDecimalEquals(bar.getMaxPrice(), 12);
+        assertDecimalEquals(bar.getMinPrice(), 9);
+        assertDecimalEquals(bar.getClosePrice(), 9);
+        assertDecimalEquals(bar.getVolume(), 6);
+        assertDecimalEquals(bar.getAmount(), 59);
+        assertEquals(3, bar.getTrades());
+    }
+
+    @Test
+    public void timePeriodsAndLastTradedPrices() {
+        ColumnarTimeSeries series = new ColumnarTimeSeries("columnar", 2, DecimalFactory.DOUBLE);
+        series.addBar(Duration.ofMinutes(1), startTime.plusMinutes(1), 1, 2, 0, 1, 1.5, 10, 10, 1);
+        series.addBar(Duration.ofMinutes(1), startTime.plusMinutes(2), 1, 2, 0, 2, 2.5, 10, 20, 1);
+        assertDecimalEquals(series.getBar(0).getLtp(), 1);
+        assertDecimalEquals(series.getBar(1).getLtp(), 2.5);
+        series.getLastBar().setLtp(Decimal.valueOf(3));
+        assertDecimalEquals(series.getBar(1).getLtp(), 3);
+
+        // Bar of another time period
+        series.addBar(Duration.ofMinutes(5), startTime.plusMinutes(7), 1, 2, 0, 3, 3, 10, 30, 1);
+        series.addBar(Duration.ofMinutes(1), startTime.plusMinutes(8), 1, 2, 0, 4, 4, 10, 40, 1);
+        assertEquals(Duration.ofMinutes(1), series.getBar(0).getTimePeriod());
+        assertEquals(Duration.ofMinutes(1), series.getBar(1).getTimePeriod());
+        assertEquals(Duration.ofMinutes(5), series.getBar(2).getTimePeriod());
+        assertEquals(startTime.plusMinutes(2), series.getBar(2).getBeginTime());
+        assertEquals(Duration.ofMinutes(1), series.getBar(3).getTimePeriod());
+        assertDecimalEquals(series.getBar(1).getLtp(), 2);
+
+        TimeSeries subSeries = series.getSubSeries(1, 3);
+        assertEquals(Duration.ofMinutes(5), subSeries.getLastBar().getTimePeriod());
+        assertDecimalEquals(subSeries.getLastBar().getLtp(), 3);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void setLtpOfClosedBar() {
+        new ColumnarTimeSeries("columnar", bars, DecimalFactory.DOUBLE).getBar(0).setLtp(Decimal.ONE);
+    }
+
+    @Test
+    public void maximumBarCount() {
+        ColumnarTimeSeries series = new ColumnarTimeSeries("columnar", 2, DecimalFactory.DOUBLE);
+        series.setMaximumBarCount(5);
+        for (int i = 0; i < 100; i++) {
+            series.addBar(Duration.ofMinutes(1), startTime.plusMinutes(i + 1), i, i + 1, i - 1, i, 10);
+        }
+        assertEquals(95, series.getRemovedBarsCount());
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(99, series.getEndIndex());
+        assertEquals(5, series.getBarCount());
+        assertEquals(5, series.getBarData().size());
+        for (int i = 95; i < 100; i++) {
+            assertDecimalEquals(series.getBar(i).getClosePrice(), i);
+            assertEquals(startTime.plusMinutes(i + 1), series.getBar(i).getEndTime());
+        }
+        // Already removed bar: first remaining one
+        assertDecimalEquals(series.getClosePrice(10), 95);
+        assertDecimalEquals(series.getBarData().get(0).getClosePrice(), 95);
+    }
+
+    @Test
+    public void subSeries() {
+        ColumnarTimeSeries series = new ColumnarTimeSeries("columnar", bars, DecimalFactory.DOUBLE);
+        TimeSeries subSeries = series.getSubSeries(5, 10);
+        assertEquals(5, subSeries.getBarCount());
+        assertEquals(0, subSeries.getBeginIndex());
+        assertEquals(4, subSeries.getEndIndex());
+        assertEquals(series.getBar(5).getEndTime(), subSeries.getFirstBar().getEndTime());
+        assertDecimalEquals(subSeries.getClosePrice(4), series.getClosePrice(9).doubleValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addBarWithEndTimePriorToSeriesEndTimeShouldThrowException() {
+        ColumnarTimeSeries series = new ColumnarTimeSeries("columnar", bars, DecimalFactory.DOUBLE);
+        series.addBar(bars.get(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getBarWithIndexGreaterThanBarCountShouldThrowException() {
+        new ColumnarTimeSeries("columnar", bars, DecimalFactory.DOUBLE).getBar(20);
+    }
+}
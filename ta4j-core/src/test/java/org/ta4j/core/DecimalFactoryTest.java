@@ -0,0 +1,200 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.analysis.criteria.AverageProfitCriterion;
+import org.ta4j.core.analysis.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.analysis.criteria.RewardRiskRatioCriterion;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.analysis.criteria.VersusBuyAndHoldCriterion;
+import org.ta4j.core.indicators.*;
+import org.ta4j.core.indicators.adx.ADXIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsLowerIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuKijunSenIndicator;
+import org.ta4j.core.indicators.keltner.KeltnerChannelMiddleIndicator;
+import org.ta4j.core.indicators.keltner.KeltnerChannelUpperIndicator;
+import org.ta4j.core.indicators.statistics.CorrelationCoefficientIndicator;
+import org.ta4j.core.indicators.statistics.SimpleLinearRegressionIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.indicators.statistics.VarianceIndicator;
+import org.ta4j.core.indicators.volume.ChaikinMoneyFlowIndicator;
+import org.ta4j.core.indicators.volume.OnBalanceVolumeIndicator;
+import org.ta4j.core.indicators.volume.VWAPIndicator;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class DecimalFactoryTest {
+
+    /** Relative tolerance between the BigDecimal and the double backends */
+    private static final double TOLERANCE = 1e-8;
+
+    private TimeSeries bigDecimalSeries;
+
+    private TimeSeries doubleSeries;
+
+    @Before
+    public void setUp() {
+        bigDecimalSeries = new BaseTimeSeries("big decimal", DecimalFactory.BIG_DECIMAL);
+        doubleSeries = new BaseTimeSeries("double", DecimalFactory.DOUBLE);
+        ZonedDateTime time = ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault());
+        double previousClose = 100;
+        for (int i = 0; i < 400; i++) {
+            double close = Math.round((100 + 10 * Math.sin(i / 15d) + i * 0.05 + 3 * Math.cos(i * 1.7)) * 100) / 100d;
+            double open = previousClose;
+            double high = Math.max(open, close) + 0.25 + (i % 7) * 0.1;
+            double low = Math.min(open, close) - 0.25 - (i % 5) * 0.1;
+            double volume = 1000 + (i * 37) % 500;
+            time = time.plusMinutes(1);
+            bigDecimalSeries.addBar(Duration.ofMinutes(1), time, open, high, low, close, volume);
+            doubleSeries.addBar(Duration.ofMinutes(1), time, open, high, low, close, volume);
+            previousClose = close;
+        }
+    }
+
+    @Test
+    public void decimalOf() {
+        assertFalse(DecimalFactory.BIG_DECIMAL.decimalOf(1.5).isDoubleBacked());
+        assertFalse(DecimalFactory.BIG_DECIMAL.decimalOf("1.5").isDoubleBacked());
+        assertFalse(DecimalFactory.BIG_DECIMAL.decimalOf(Decimal.doubleOf(1.5)).isDoubleBacked());
+        assertTrue(DecimalFactory.DOUBLE.decimalOf(2).isDoubleBacked());
+        assertTrue(DecimalFactory.DOUBLE.decimalOf("1.5").isDoubleBacked());
+        assertTrue(DecimalFactory.DOUBLE.decimalOf(Decimal.valueOf(1.5)).isDoubleBacked());
+        assertEquals(Decimal.valueOf(1.5), DecimalFactory.DOUBLE.decimalOf(1.5));
+        assertEquals(Decimal.NaN, DecimalFactory.DOUBLE.decimalOf("NaN"));
+        assertEquals(Decimal.NaN, DecimalFactory.BIG_DECIMAL.decimalOf(Decimal.NaN));
+    }
+
+    @Test
+    public void seriesBackend() {
+        assertEquals(DecimalFactory.BIG_DECIMAL, new BaseTimeSeries().getDecimalFactory());
+        assertFalse(bigDecimalSeries.getBar(10).getClosePrice().isDoubleBacked());
+        assertTrue(doubleSeries.getBar(10).getClosePrice().isDoubleBacked());
+        assertTrue(doubleSeries.getBar(10).getAmount().isDoubleBacked());
+        assertEquals(DecimalFactory.DOUBLE, doubleSeries.getSubSeries(5, 10).getDecimalFactory());
+        assertTrue(new SMAIndicator(new ClosePriceIndicator(doubleSeries), 10).getValue(20).isDoubleBacked());
+        assertTrue(Order.buyAt(10, doubleSeries).getAmount().isDoubleBacked());
+
+        BaseBar bar = new BaseBar(Duration.ofMinutes(1), ZonedDateTime.now(), DecimalFactory.DOUBLE);
+        bar.addTrade(2, 10.5);
+        bar.addTrade("3", "11.5");
+        assertTrue(bar.getClosePrice().isDoubleBacked());
+        assertEquals(5, bar.getVolume().doubleValue(), 0);
+        assertEquals(55.5, bar.getAmount().doubleValue(), 0);
+    }
+
+    @Test
+    public void indicatorsGiveSameResultsWithBothBackends() {
+        List<Function<TimeSeries, Indicator<Decimal>>> indicators = Arrays.asList(
+                s -> new SMAIndicator(new ClosePriceIndicator(s), 20),
+                s -> new EMAIndicator(new ClosePriceIndicator(s), 20),
+                s -> new WMAIndicator(new ClosePriceIndicator(s), 20),
+                s -> new MMAIndicator(new ClosePriceIndicator(s), 20),
+                s -> new ZLEMAIndicator(new ClosePriceIndicator(s), 20),
+                s -> new HMAIndicator(new ClosePriceIndicator(s), 20),
+                s -> new KAMAIndicator(new ClosePriceIndicator(s), 10, 2, 30),
+                s -> new TripleEMAIndicator(new ClosePriceIndicator(s), 10),
+                s -> new RSIIndicator(new ClosePriceIndicator(s), 14),
+                s -> new MACDIndicator(new ClosePriceIndicator(s), 12, 26),
+                s -> new PPOIndicator(new ClosePriceIndicator(s), 12, 26),
+                s -> new ROCIndicator(new ClosePriceIndicator(s), 12),
+                s -> new CMOIndicator(new ClosePriceIndicator(s), 9),
+                s -> new CCIIndicator(s, 20),
+                s -> new ATRIndicator(s, 14),
+                s -> new ADXIndicator(s, 14),
+                s -> new AroonUpIndicator(s, 25),
+                s -> new StochasticOscillatorKIndicator(s, 14),
+                s -> new WilliamsRIndicator(s, 14),
+                s -> new ParabolicSarIndicator(s),
+                s -> new RandomWalkIndexHighIndicator(s, 10),
+                s -> new UlcerIndexIndicator(new ClosePriceIndicator(s), 14),
+                s -> new FisherIndicator(s),
+                s -> new IchimokuKijunSenIndicator(s),
+                s -> new BollingerBandsUpperIndicator(new BollingerBandsMiddleIndicator(new SMAIndicator(new ClosePriceIndicator(s), 20)),
+                        new StandardDeviationIndicator(new ClosePriceIndicator(s), 20)),
+                s -> new BollingerBandsLowerIndicator(new BollingerBandsMiddleIndicator(new SMAIndicator(new ClosePriceIndicator(s), 20)),
+                        new StandardDeviationIndicator(new ClosePriceIndicator(s), 20)),
+                s -> new KeltnerChannelUpperIndicator(new KeltnerChannelMiddleIndicator(s, 20), Decimal.TWO, 10),
+                s -> new VarianceIndicator(new ClosePriceIndicator(s), 30),
+                s -> new SimpleLinearRegressionIndicator(new ClosePriceIndicator(s), 30),
+                s -> new CorrelationCoefficientIndicator(new ClosePriceIndicator(s), new VolumeIndicator(s), 30),
+                s -> new VWAPIndicator(s, 20),
+                s -> new OnBalanceVolumeIndicator(s),
+                s -> new ChaikinMoneyFlowIndicator(s, 20));
+
+        for (Function<TimeSeries, Indicator<Decimal>> factory : indicators) {
+            Indicator<Decimal> expected = factory.apply(bigDecimalSeries);
+            Indicator<Decimal> actual = factory.apply(doubleSeries);
+            for (int i = bigDecimalSeries.getBeginIndex(); i <= bigDecimalSeries.getEndIndex(); i++) {
+                assertDecimalClose(expected + " at index " + i, expected.getValue(i), actual.getValue(i));
+            }
+        }
+    }
+
+    @Test
+    public void criteriaGiveSameResultsWithBothBackends() {
+        List<AnalysisCriterion> criteria = Arrays.asList(new TotalProfitCriterion(), new AverageProfitCriterion(),
+                new MaximumDrawdownCriterion(), new RewardRiskRatioCriterion(),
+                new VersusBuyAndHoldCriterion(new TotalProfitCriterion()));
+
+        TradingRecord expectedRecord = new TimeSeriesManager(bigDecimalSeries).run(buildStrategy(bigDecimalSeries));
+        TradingRecord actualRecord = new TimeSeriesManager(doubleSeries).run(buildStrategy(doubleSeries));
+        assertEquals(expectedRecord.getTradeCount(), actualRecord.getTradeCount());
+        assertTrue(actualRecord.getTradeCount() > 0);
+        for (AnalysisCriterion criterion : criteria) {
+            double expected = criterion.calculate(bigDecimalSeries, expectedRecord);
+            double actual = criterion.calculate(doubleSeries, actualRecord);
+            assertEquals(criterion.toString(), expected, actual, TOLERANCE * Math.max(1, Math.abs(expected)));
+        }
+    }
+
+    private static Strategy buildStrategy(TimeSeries series) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, 5);
+        SMAIndicator longSma = new SMAIndicator(closePrice, 30);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    private static void assertDecimalClose(String message, Decimal expected, Decimal actual) {
+        if (expected.isNaN() || actual.isNaN()) {
+            assertEquals(message, expected, actual);
+            return;
+        }
+        double expectedValue = expected.doubleValue();
+        assertEquals(message, expectedValue, actual.doubleValue(), TOLERANCE * Math.max(1, Math.abs(expectedValue)));
+    }
+}
@@ -40,4 +40,63 @@ public class DecimalTest {
         assertEquals(tenPlaces.multiply(ten), decimalTen.multipliedBy(tenPlacesDecimal).getDelegate()); // BigDecimal = BigDecimal
         assertEquals(Decimal.valueOf(tenPlaces.multiply(ten)), decimalTen.multipliedBy(tenPlacesDecimal)); // Decimal = Decimal
     }
+
+    @Test
+    public void testDoubleBackedArithmetic() {
+        Decimal ten = Decimal.doubleOf(10);
+        Decimal three = Decimal.valueOf(3);
+
+        assertTrue(ten.isDoubleBacked());
+        assertFalse(three.isDoubleBacked());
+        assertTrue(ten.plus(three).isDoubleBacked());
+        assertTrue(three.minus(ten).isDoubleBacked());
+        assertDecimalEquals(ten.plus(three), 13);
+        assertDecimalEquals(three.minus(ten), -7);
+        assertDecimalEquals(ten.multipliedBy(three), 30);
+        assertDecimalEquals(ten.dividedBy(three), 3.3333);
+        assertDecimalEquals(ten.remainder(three), 1);
+        assertDecimalEquals(ten.pow(2), 100);
+        assertDecimalEquals(ten.sqrt(), 3.1623);
+        assertEquals(Decimal.NaN, ten.dividedBy(Decimal.ZERO));
+        assertEquals(Decimal.NaN, ten.plus(Decimal.NaN));
+        assertEquals(Decimal.NaN, Decimal.doubleOf(Double.NaN));
+    }
+
+    @Test
+    public void testDoubleBackedComparison() {
+        Decimal doubleBacked = Decimal.doubleOf(0.33);
+        Decimal bigDecimalBacked = Decimal.valueOf("0.33");
+
+        // Exact equality across backends, comparison in double precision
+        assertNotEquals(bigDecimalBacked, doubleBacked);
+        assertNotEquals(doubleBacked, bigDecimalBacked);
+        assertEquals(0, bigDecimalBacked.compareTo(doubleBacked));
+        assertEquals(Decimal.valueOf(new BigDecimal(0.33)), doubleBacked);
+        assertEquals(doubleBacked, Decimal.valueOf(new BigDecimal(0.33)));
+        assertEquals(Decimal.valueOf("0.5"), Decimal.doubleOf(0.5));
+        assertEquals(Decimal.valueOf("0.5").hashCode(), Decimal.doubleOf(0.5).hashCode());
+        assertTrue(doubleBacked.isLessThan(Decimal.ONE));
+        assertTrue(Decimal.ONE.isGreaterThan(doubleBacked));
+        assertEquals(Decimal.ONE, Decimal.ONE.max(doubleBacked));
+        assertEquals(0.33, doubleBacked.getDelegate().doubleValue(), 0);
+    }
+
+    @Test
+    public void testEqualityIsTransitiveAcrossBackends() {
+        Decimal a = Decimal.valueOf("0.1");
+        Decimal b = Decimal.doubleOf(0.1);
+        Decimal c = Decimal.valueOf("0.10000000000000001");
+        assertNotEquals(a, c);
+        assertNotEquals(a, b);
+        assertNotEquals(b, c);
+        assertNotEquals(Decimal.doubleOf(Double.POSITIVE_INFINITY), Decimal.valueOf(1));
+    }
+
+    @Test
+    public void testSqrtOfNegativeValueIsNaN() {
+        assertEquals(Decimal.NaN, Decimal.valueOf(-4).sqrt());
+        assertEquals(Decimal.NaN, Decimal.doubleOf(-4).sqrt());
+        assertDecimalEquals(Decimal.valueOf(4).sqrt(), 2);
+        assertEquals(Decimal.NaN, Decimal.NaN.sqrt());
+    }
 }
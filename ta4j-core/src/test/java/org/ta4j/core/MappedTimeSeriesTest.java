@@ -0,0 +1,155 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class MappedTimeSeriesTest {
+
+    private Path file;
+
+    private ZonedDateTime startTime;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("ta4j", ".bars");
+        Files.delete(file);
+        startTime = ZonedDateTime.of(2018, 2, 5, 9, 30, 0, 0, ZoneId.of("America/New_York"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void appendAndReopen() throws IOException {
+        TimeSeries baseSeries = new BaseTimeSeries("base");
+        try (MappedTimeSeries series = new MappedTimeSeries("mapped", file, true, DecimalFactory.DOUBLE)) {
+            assertTrue(series.isEmpty());
+            for (int i = 0; i < 3000; i++) {
+                double close = 100 + Math.cos(i / 10d);
+                series.addBar(Duration.ofMinutes(1), startTime.plusMinutes(i + 1), close - 0.1, close + 1, close - 1, close, 1000 + i);
+                baseSeries.addBar(Duration.ofMinutes(1), startTime.plusMinutes(i + 1), close - 0.1, close + 1, close - 1, close, 1000 + i);
+            }
+            assertEquals(3000, series.getBarCount());
+        }
+
+        try (MappedTimeSeries series = new MappedTimeSeries(file)) {
+            assertFalse(series.isAppendable());
+            assertEquals(0, series.getBeginIndex());
+            assertEquals(2999, series.getEndIndex());
+            assertEquals(3000, series.getBarData().size());
+            for (int i = 0; i < 3000; i += 7) {
+                Bar expected = baseSeries.getBar(i);
+                Bar actual = series.getBar(i);
+                assertEquals(expected.getEndTime(), actual.getEndTime());
+                assertEquals(expected.getBeginTime(), actual.getBeginTime());
+                assertDecimalEquals(actual.getOpenPrice(), expected.getOpenPrice().doubleValue());
+                assertDecimalEquals(actual.getMaxPrice(), expected.getMaxPrice().doubleValue());
+                assertDecimalEquals(actual.getMinPrice(), expected.getMinPrice().doubleValue());
+                assertDecimalEquals(actual.getClosePrice(), expected.getClosePrice().doubleValue());
+                assertDecimalEquals(actual.getVolume(), expected.getVolume().doubleValue());
+                assertNull(actual.getLtp());
+            }
+            SMAIndicator expectedSma = new SMAIndicator(new ClosePriceIndicator(baseSeries), 20);
+            SMAIndicator actualSma = new SMAIndicator(new ClosePriceIndicator(series), 20);
+            for (int i = 0; i < 3000; i++) {
+                assertEquals(expectedSma.getValue(i).doubleValue(), actualSma.getValue(i).doubleValue(), 1e-10);
+            }
+        }
+    }
+
+    @Test
+    public void refreshShowsBarsAppendedToLiveFile() throws IOException {
+        try (MappedTimeSeries writer = new MappedTimeSeries("mapped", file, true, DecimalFactory.DOUBLE)) {
+            writer.addBar(Duration.ofMinutes(1), startTime.plusMinutes(1), 1, 2, 0.5, 1.5, 10);
+            try (MappedTimeSeries reader = new MappedTimeSeries(file)) {
+                assertEquals(1, reader.getBarCount());
+                for (int i = 2; i <= 2000; i++) {
+                    writer.addBar(Duration.ofMinutes(1), startTime.plusMinutes(i), i, i + 1, i - 1, i, 10);
+                }
+                assertEquals(1, reader.getBarCount());
+                assertEquals(1999, reader.refresh());
+                assertEquals(2000, reader.getBarCount());
+                assertDecimalEquals(reader.getLastBar().getClosePrice(), 2000);
+                assertEquals(startTime.plusMinutes(2000), reader.getLastBar().getEndTime());
+            }
+        }
+    }
+
+    @Test
+    public void addTradeAndSubSeries() throws IOException {
+        try (MappedTimeSeries series = new MappedTimeSeries("mapped", file, true, DecimalFactory.DOUBLE)) {
+            for (int i = 1; i <= 10; i++) {
+                series.addBar(new BaseBar(Duration.ofMinutes(1), startTime.plusMinutes(i)));
+                series.getLastBar().addTrade(1, i);
+                series.getLastBar().addTrade(2, i + 0.5);
+            }
+            Bar bar = series.getBar(4);
+            assertDecimalEquals(bar.getOpenPrice(), 5);
+            assertDecimalEquals(bar.getClosePrice(), 5.5);
+            assertDecimalEquals(bar.getVolume(), 3);
+            assertDecimalEquals(bar.getAmount(), 16);
+            assertEquals(2, bar.getTrades());
+
+            TimeSeries subSeries = series.getSubSeries(2, 5);
+            assertEquals(3, subSeries.getBarCount());
+            assertEquals(series.getBar(2).getEndTime(), subSeries.getFirstBar().getEndTime());
+            assertDecimalEquals(subSeries.getClosePrice(2), 5.5);
+
+            series.setMaximumBarCount(4);
+            assertEquals(6, series.getRemovedBarsCount());
+            assertEquals(4, series.getBarCount());
+            assertDecimalEquals(series.getClosePrice(0), 7.5);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addBarToReadOnlySeriesShouldThrowException() throws IOException {
+        new MappedTimeSeries("mapped", file, true, DecimalFactory.DOUBLE).close();
+        try (MappedTimeSeries series = new MappedTimeSeries(file)) {
+            series.addBar(Duration.ofMinutes(1), startTime, 1, 1, 1, 1, 1);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void openingNonBarFileShouldThrowException() throws IOException {
+        Files.write(file, new byte[100]);
+        new MappedTimeSeries(file);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class ResampledTimeSeriesTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private TimeSeries base;
+
+    @Before
+    public void setUp() {
+        base = new BaseTimeSeries("base");
+    }
+
+    /** Adds a 1 minute bar ending <tt>minutes</tt> after the start */
+    private void addMinuteBar(int minutes, double open, double high, double low, double close, double volume) {
+        base.addBar(Duration.ofMinutes(1), START.plusMinutes(minutes), open, high, low, close, volume);
+    }
+
+    @Test
+    public void aggregateByTimePeriod() {
+        TimeSeries resampled = new ResampledTimeSeries(base, Duration.ofMinutes(5));
+        assertEquals(0, resampled.getBarCount());
+        assertEquals(-1, resampled.getBeginIndex());
+        assertEquals(-1, resampled.getEndIndex());
+
+        for (int i = 1; i <= 7; i++) {
+            addMinuteBar(i, i, i + 2, i - 1, i + 1, 10);
+        }
+        // ]00:00, 00:05] and ]00:05, 00:10] (forming)
+        assertEquals(2, resampled.getBarCount());
+        Bar first = resampled.getBar(0);
+        assertEquals(START.plusMinutes(5), first.getEndTime());
+        assertEquals(START, first.getBeginTime());
+        assertDecimalEquals(first.getOpenPrice(), 1);
+        assertDecimalEquals(first.getMaxPrice(), 7);
+        assertDecimalEquals(first.getMinPrice(), 0);
+        assertDecimalEquals(first.getClosePrice(), 6);
+        assertDecimalEquals(first.getVolume(), 50);
+        assertSame(first, resampled.getBar(0));
+
+        Bar last = resampled.getBar(1);
+        assertEquals(START.plusMinutes(7), last.getEndTime());
+        assertDecimalEquals(last.getOpenPrice(), 6);
+        assertDecimalEquals(last.getClosePrice(), 8);
+        assertDecimalEquals(last.getVolume(), 20);
+
+        // The last bucket grows with the base series
+        addMinuteBar(8, 8, 20, 8, 9, 10);
+        assertEquals(2, resampled.getBarCount());
+        last = resampled.getBar(1);
+        assertDecimalEquals(last.getMaxPrice(), 20);
+        assertDecimalEquals(resampled.getClosePrice(1), 9);
+        assertDecimalEquals(last.getVolume(), 30);
+
+        addMinuteBar(11, 11, 11, 11, 11, 10);
+        assertEquals(3, resampled.getBarCount());
+        assertDecimalEquals(resampled.getOpenPrice(2), 11);
+        assertDecimalEquals(resampled.getClosePrice(1), 9);
+    }
+
+    @Test
+    public void aggregateByBarCount() {
+        TimeSeries resampled = new ResampledTimeSeries(base, 3);
+        for (int i = 1; i <= 8; i++) {
+            addMinuteBar(i, i, i, i, i, i);
+        }
+        assertEquals(3, resampled.getBarCount());
+        assertDecimalEquals(resampled.getOpenPrice(0), 1);
+        assertDecimalEquals(resampled.getClosePrice(0), 3);
+        assertDecimalEquals(resampled.getVolume(1), 15);
+        assertDecimalEquals(resampled.getOpenPrice(2), 7);
+        assertDecimalEquals(resampled.getClosePrice(2), 8);
+        assertEquals(Duration.ofMinutes(2), resampled.getBar(2).getTimePeriod());
+        assertEquals(3, resampled.getBarData().size());
+        assertDecimalEquals(resampled.getBarData().get(1).getMaxPrice(), 6);
+    }
+
+    @Test
+    public void aggregateByCalendar() {
+        ZoneId zone = ZoneOffset.UTC;
+        base.addBar(Duration.ofHours(12), START.plusHours(12), 1, 1, 1, 1, 1); // monday
+        base.addBar(Duration.ofHours(12), START.plusHours(24), 2, 2, 2, 2, 1);
+        base.addBar(Duration.ofHours(12), START.plusHours(36), 3, 3, 3, 3, 1); // tuesday
+        base.addBar(Duration.ofHours(12), START.plusDays(7).plusHours(12), 4, 4, 4, 4, 1); // next monday
+
+        TimeSeries daily = new ResampledTimeSeries("daily", base, ResampledTimeSeries.Bucketing.day(zone));
+        assertEquals(3, daily.getBarCount());
+        assertDecimalEquals(daily.getVolume(0), 2);
+        assertEquals(START.plusDays(1), daily.getBar(0).getEndTime());
+
+        TimeSeries weekly = new ResampledTimeSeries("weekly", base, ResampledTimeSeries.Bucketing.week(zone));
+        assertEquals(2, weekly.getBarCount());
+        assertDecimalEquals(weekly.getClosePrice(0), 3);
+        assertDecimalEquals(weekly.getVolume(0), 3);
+
+        // Sessions starting at 18:00
+        TimeSeries sessions = new ResampledTimeSeries("sessions", base,
+                ResampledTimeSeries.Bucketing.session(LocalTime.of(18, 0), zone));
+        assertEquals(3, sessions.getBarCount());
+        assertDecimalEquals(sessions.getClosePrice(0), 1);
+        assertDecimalEquals(sessions.getClosePrice(1), 3);
+    }
+
+    @Test
+    public void followBaseMaximumBarCount() {
+        base.setMaximumBarCount(4);
+        TimeSeries resampled = new ResampledTimeSeries(base, 2);
+        for (int i = 1; i <= 7; i++) {
+            addMinuteBar(i, i, i, i, i, 1);
+            resampled.getEndIndex();
+        }
+        // Base keeps the bars 3 to 6 (prices 4 to 7): buckets {0, 1} (removed), {2, 3}, {4, 5}, {6}
+        assertEquals(1, resampled.getRemovedBarsCount());
+        assertEquals(3, resampled.getBarCount());
+        assertEquals(3, resampled.getEndIndex());
+        assertDecimalEquals(resampled.getOpenPrice(2), 5);
+        assertDecimalEquals(resampled.getClosePrice(3), 7);
+        // Partially removed first bucket
+        assertDecimalEquals(resampled.getVolume(1), 1);
+        assertDecimalEquals(resampled.getOpenPrice(1), 4);
+        assertDecimalEquals(resampled.getBar(0).getOpenPrice(), 4);
+        assertEquals(3, resampled.getBarData().size());
+    }
+
+    @Test
+    public void cachedBarOfPartiallyRemovedFirstBucketIsAggregatedAgain() {
+        base.setMaximumBarCount(4);
+        TimeSeries resampled = new ResampledTimeSeries(base, 2);
+        for (int i = 1; i <= 4; i++) {
+            addMinuteBar(i, i, i, i, i, 1);
+        }
+        // Buckets {0, 1}, {2, 3}: the first one is complete and cached
+        Bar first = resampled.getBar(0);
+        assertDecimalEquals(first.getOpenPrice(), 1);
+        assertDecimalEquals(first.getVolume(), 2);
+        assertSame(first, resampled.getBar(0));
+
+        // Base keeps the bars 1 to 4 (prices 2 to 5): first bucket {1} partially removed
+        addMinuteBar(5, 5, 5, 5, 5, 1);
+        assertEquals(0, resampled.getRemovedBarsCount());
+        assertDecimalEquals(resampled.getBar(0).getOpenPrice(), 2);
+        assertDecimalEquals(resampled.getBar(0).getVolume(), 1);
+        assertDecimalEquals(resampled.getBar(1).getVolume(), 2);
+    }
+
+    @Test
+    public void indicatorsFollowTheFormingBucket() {
+        TimeSeries resampled = new ResampledTimeSeries(base, 5);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(resampled);
+        SMAIndicator sma = new SMAIndicator(closePrice, 2);
+        for (int i = 1; i <= 12; i++) {
+            addMinuteBar(i, i, i, i, i, 1);
+            final int endIndex = resampled.getEndIndex();
+            assertDecimalEquals(closePrice.getValue(endIndex), i);
+            assertEquals(resampled.getBar(endIndex).getClosePrice(), closePrice.getValue(endIndex));
+            final double previousClose = endIndex == 0 ? i : resampled.getClosePrice(endIndex - 1).doubleValue();
+            assertDecimalEquals(sma.getValue(endIndex), (previousClose + i) / 2);
+        }
+        // Closed buckets are cached with their final values
+        assertDecimalEquals(closePrice.getValue(0), 5);
+        assertDecimalEquals(closePrice.getValue(1), 10);
+        assertDecimalEquals(sma.getValue(1), 7.5);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addBarIsNotSupported() {
+        new ResampledTimeSeries(base, 2).addBar(new BaseBar(START, 1, 1, 1, 1, 1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getBarOutOfBounds() {
+        addMinuteBar(1, 1, 1, 1, 1, 1);
+        new ResampledTimeSeries(base, 2).getBar(1);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.SubSeriesIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class SubTimeSeriesTest {
+
+    private TimeSeries series;
+
+    @Before
+    public void setUp() {
+        series = new MockTimeSeries(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    @Test
+    public void subSeriesViewIsAView() {
+        SubTimeSeries subSeries = series.getSubSeriesView(2, 6);
+        assertSame(series, subSeries.getParent());
+        assertEquals(4, subSeries.getBarCount());
+        assertEquals(0, subSeries.getBeginIndex());
+        assertEquals(3, subSeries.getEndIndex());
+        assertEquals(series.getName(), subSeries.getName());
+        assertEquals(series.getDecimalFactory(), subSeries.getDecimalFactory());
+        for (int i = 0; i < 4; i++) {
+            assertSame(series.getBar(i + 2), subSeries.getBar(i));
+            assertSame(series.getBar(i + 2), subSeries.getBarData().get(i));
+            assertDecimalEquals(subSeries.getClosePrice(i), i + 3);
+        }
+        assertEquals(4, subSeries.getBarData().size());
+        assertEquals(5, subSeries.getParentIndex(3));
+    }
+
+    @Test
+    public void subSeriesViewIsBoundedByTheParentSeries() {
+        TimeSeries subSeries = series.getSubSeriesView(-5, 100);
+        assertEquals(10, subSeries.getBarCount());
+        assertEquals(9, subSeries.getEndIndex());
+
+        subSeries = series.getSubSeriesView(20, 30);
+        assertEquals(0, subSeries.getBarCount());
+        assertEquals(-1, subSeries.getBeginIndex());
+        assertEquals(-1, subSeries.getEndIndex());
+        assertTrue(subSeries.getBarData().isEmpty());
+    }
+
+    @Test
+    public void subSeriesViewOfSubSeriesViewSharesTheParentSeries() {
+        SubTimeSeries subSeries = series.getSubSeriesView(2, 8).getSubSeriesView(1, 10);
+        assertSame(series, subSeries.getParent());
+        assertEquals(5, subSeries.getBarCount());
+        assertEquals(3, subSeries.getParentIndex(0));
+        assertSame(series.getBar(7), subSeries.getLastBar());
+    }
+
+    @Test
+    public void barsAddedToTheParentSeriesAreShared() {
+        TimeSeries subSeries = series.getSubSeriesView(8, 10);
+        Bar last = series.getLastBar();
+        series.addBar(Duration.ofDays(1), last.getEndTime().plusDays(1), 11, 11, 11, 11, 1);
+        assertEquals(2, subSeries.getBarCount());
+        assertSame(last, subSeries.getLastBar());
+    }
+
+    @Test
+    public void subSeriesIsAModifiableCopy() {
+        TimeSeries subSeries = series.getSubSeries(6, 8);
+        assertFalse(subSeries instanceof SubTimeSeries);
+        assertEquals(2, subSeries.getBarCount());
+        assertDecimalEquals(subSeries.getClosePrice(0), 7);
+        subSeries.setMaximumBarCount(1);
+        assertEquals(1, subSeries.getBarCount());
+        assertEquals(10, series.getBarCount());
+
+        subSeries = series.getSubSeriesView(2, 8).getSubSeries(1, 3);
+        assertFalse(subSeries instanceof SubTimeSeries);
+        assertEquals(2, subSeries.getBarCount());
+        assertSame(series.getBar(3), subSeries.getBar(0));
+        subSeries.addBar(Duration.ofDays(1), subSeries.getLastBar().getEndTime().plusDays(1), 1, 1, 1, 1, 1);
+        assertEquals(3, subSeries.getBarCount());
+    }
+
+    @Test
+    public void subSeriesViewOfMovingSeriesStartsAtTheFirstAvailableBar() {
+        series.setMaximumBarCount(5);
+        SubTimeSeries subSeries = series.getSubSeriesView(2, 8);
+        assertEquals(3, subSeries.getBarCount());
+        assertEquals(5, subSeries.getParentIndex(0));
+        assertDecimalEquals(subSeries.getClosePrice(0), 6);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void subSeriesViewFailsWhenItsBarsAreRemovedFromTheParentSeries() {
+        SubTimeSeries subSeries = series.getSubSeriesView(2, 6);
+        series.setMaximumBarCount(5);
+        subSeries.getClosePrice(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void barOutOfTheView() {
+        series.getSubSeriesView(2, 6).getBar(4);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void negativeIndex() {
+        series.getSubSeriesView(2, 6).getClosePrice(-1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addBarIsNotSupported() {
+        series.getSubSeriesView(2, 6).addBar(Duration.ofDays(1), ZonedDateTime.now(), 1, 1, 1, 1, 1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void setMaximumBarCountIsNotSupported() {
+        series.getSubSeriesView(2, 6).setMaximumBarCount(2);
+    }
+
+    @Test
+    public void indicatorsOfTheViewAndOfTheParentSeries() {
+        SubTimeSeries subSeries = series.getSubSeriesView(4, 10);
+        SMAIndicator parentSma = new SMAIndicator(new ClosePriceIndicator(series), 3);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(subSeries), 3);
+        SubSeriesIndicator<Decimal> sharedSma = new SubSeriesIndicator<>(subSeries, parentSma);
+
+        // Calculated from the first bar of the view
+        assertDecimalEquals(sma.getValue(0), 5);
+        assertDecimalEquals(sma.getValue(1), 5.5);
+        assertDecimalEquals(sma.getValue(2), 6);
+        // Read from the parent indicator
+        assertDecimalEquals(sharedSma.getValue(0), 4);
+        assertDecimalEquals(sharedSma.getValue(1), 5);
+        assertDecimalEquals(sharedSma.getValue(5), 9);
+        double[] values = sharedSma.getDoubleValues(0, 5);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(parentSma.getValue(i + 4).doubleValue(), values[i], TATestsUtils.TA_OFFSET);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void subSeriesIndicatorOfAnotherSeries() {
+        SubTimeSeries subSeries = series.getSubSeriesView(4, 10);
+        new SubSeriesIndicator<>(subSeries, new ClosePriceIndicator(subSeries));
+    }
+}
@@ -105,4 +105,40 @@ public class TATestsUtils {
                     expected.getValue(i).doubleValue(), actual.getValue(i).doubleValue(), TATestsUtils.TA_OFFSET);
         }
     }
+
+    /**
+     * Verifies that the bulk double values of an indicator match its values, on the full series and on a sub-range
+     * @param indicator the indicator
+     */
+    public static void assertDoubleValuesEquals(Indicator<Decimal> indicator) {
+        final int endIndex = indicator.getTimeSeries().getEndIndex();
+        final double[] values = indicator.getDoubleValues(0, endIndex);
+        final double[] rangeValues = indicator.getDoubleValues(endIndex / 2, endIndex);
+        org.junit.Assert.assertEquals(endIndex + 1, values.length);
+        for (int i = 0; i <= endIndex; i++) {
+            double expected = indicator.getValue(i).doubleValue();
+            org.junit.Assert.assertEquals(String.format("Values at index <%d> does not match,", i),
+                    expected, values[i], TATestsUtils.TA_OFFSET);
+            if (i >= endIndex / 2) {
+                org.junit.Assert.assertEquals(String.format("Range values at index <%d> does not match,", i),
+                        expected, rangeValues[i - endIndex / 2], TATestsUtils.TA_OFFSET);
+            }
+        }
+    }
+
+    /**
+     * Verifies that the values of an indicator calculated in order (e.g. sliding a sum from an index to the next one)
+     * match the values of another instance calculated in reverse order (i.e. from scratch at each index)
+     * @param sequential the indicator calculated in order
+     * @param randomAccess another instance of the same indicator, calculated in reverse order
+     */
+    public static void assertSequentialAndRandomAccessValuesEquals(Indicator<Decimal> sequential, Indicator<Decimal> randomAccess) {
+        final int endIndex = sequential.getTimeSeries().getEndIndex();
+        for (int i = sequential.getTimeSeries().getBeginIndex(); i <= endIndex; i++) {
+            sequential.getValue(i);
+        }
+        for (int i = endIndex; i >= sequential.getTimeSeries().getBeginIndex(); i--) {
+            assertDecimalEquals(sequential.getValue(i), randomAccess.getValue(i).doubleValue());
+        }
+    }
 }
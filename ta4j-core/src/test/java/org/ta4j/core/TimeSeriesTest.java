@@ -34,6 +34,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import static org.junit.Assert.*;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
 
 public class TimeSeriesTest {
 
@@ -135,10 +136,21 @@ public class TimeSeriesTest {
     @Test(expected = IndexOutOfBoundsException.class)
     public void getBarOnMovingAndEmptySeriesShouldThrowException() {
         defaultSeries.setMaximumBarCount(2);
-        bars.clear(); // Should not be used like this
+        defaultSeries.getBarData().clear(); // Should not be used like this
         defaultSeries.getBar(1);
     }
 
+    @Test
+    public void movingSeriesShouldNotShareTheListGivenAtConstruction() {
+        Bar lastBar = defaultSeries.getLastBar();
+        defaultSeries.setMaximumBarCount(2);
+        bars.clear(); // Should not be used like this
+        // The bars have been moved to the internal storage of the moving series
+        assertEquals(2, defaultSeries.getBarCount());
+        assertSame(lastBar, defaultSeries.getBar(5));
+        assertNotSame(bars, defaultSeries.getBarData());
+    }
+
     @Test(expected = IndexOutOfBoundsException.class)
     public void getBarWithNegativeIndexShouldThrowException() {
         defaultSeries.getBar(-1);
@@ -202,6 +214,29 @@ public class TimeSeriesTest {
         assertEquals(3, defaultSeries.getBarCount());
     }
 
+    @Test
+    public void addBarOnMovingSeries() {
+        defaultSeries = new BaseTimeSeries();
+        defaultSeries.setMaximumBarCount(3);
+        List<Bar> barData = defaultSeries.getBarData();
+        ZonedDateTime time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 50; i++) {
+            defaultSeries.addBar(new MockBar(time.plusDays(i), i));
+        }
+
+        // Bar data is not copied
+        assertSame(barData, defaultSeries.getBarData());
+        assertEquals(3, barData.size());
+        assertEquals(47, defaultSeries.getRemovedBarsCount());
+        assertEquals(49, defaultSeries.getEndIndex());
+        assertEquals(3, defaultSeries.getBarCount());
+        for (int i = 47; i < 50; i++) {
+            assertDecimalEquals(defaultSeries.getBar(i).getClosePrice(), i);
+            assertSame(defaultSeries.getBar(i), barData.get(i - 47));
+        }
+        assertDecimalEquals(defaultSeries.getBar(10).getClosePrice(), 47);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void addNullBarshouldThrowException() {
         defaultSeries.addBar(null);
@@ -0,0 +1,193 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.analysis.criteria.NumberOfTradesCriterion;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.SubSeriesIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WalkForwardOptimizerTest {
+
+    private ForkJoinPool pool;
+
+    private TimeSeries series;
+
+    /** Sets of parameters: short and long time frames of moving averages */
+    private List<int[]> parameters;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        double[] data = new double[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 7d) + 5 * Math.cos(i / 3d);
+        }
+        series = new MockTimeSeries(data);
+        parameters = new ArrayList<>();
+        for (int shortTimeFrame = 2; shortTimeFrame <= 6; shortTimeFrame++) {
+            for (int longTimeFrame = 8; longTimeFrame <= 20; longTimeFrame += 4) {
+                parameters.add(new int[] { shortTimeFrame, longTimeFrame });
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private static Strategy buildStrategy(TimeSeries series, int[] timeFrames) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, timeFrames[0]);
+        SMAIndicator longSma = new SMAIndicator(closePrice, timeFrames[1]);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    /**
+     * @return the strategy of a view, reading the indicators of the parent series
+     */
+    private static Strategy buildViewStrategy(SubTimeSeries view, int[] timeFrames) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(view.getParent());
+        SubSeriesIndicator<Decimal> shortSma = new SubSeriesIndicator<>(view, new SMAIndicator(closePrice, timeFrames[0]));
+        SubSeriesIndicator<Decimal> longSma = new SubSeriesIndicator<>(view, new SMAIndicator(closePrice, timeFrames[1]));
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+    }
+
+    private static void assertWindow(WalkForwardWindow window, int inSampleBegin, int outOfSampleBegin, int outOfSampleEnd) {
+        assertEquals(inSampleBegin, window.getInSample().getParentIndex(0));
+        assertEquals(outOfSampleBegin - inSampleBegin, window.getInSample().getBarCount());
+        assertEquals(outOfSampleBegin, window.getOutOfSample().getParentIndex(0));
+        assertEquals(outOfSampleEnd - outOfSampleBegin, window.getOutOfSample().getBarCount());
+    }
+
+    @Test
+    public void rollingWindows() {
+        List<WalkForwardWindow> windows = WalkForwardWindow.rolling(new MockTimeSeries(new double[100]), 40, 25);
+        assertEquals(3, windows.size());
+        assertWindow(windows.get(0), 0, 40, 65);
+        assertWindow(windows.get(1), 25, 65, 90);
+        assertWindow(windows.get(2), 50, 90, 100);
+    }
+
+    @Test
+    public void anchoredWindows() {
+        List<WalkForwardWindow> windows = WalkForwardWindow.anchored(new MockTimeSeries(new double[100]), 40, 30);
+        assertEquals(2, windows.size());
+        assertWindow(windows.get(0), 0, 40, 70);
+        assertWindow(windows.get(1), 0, 70, 100);
+        assertTrue(WalkForwardWindow.anchored(new MockTimeSeries(new double[40]), 40, 30).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void windowsWithWrongBarCount() {
+        WalkForwardWindow.rolling(series, 40, 0);
+    }
+
+    @Test
+    public void optimizeIsEqualToSequentialOptimization() {
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        List<WalkForwardWindow> windows = WalkForwardWindow.rolling(series, 100, 40);
+        WalkForwardResult<int[]> result = new WalkForwardOptimizer(new BacktestExecutor(pool), criterion)
+                .optimize(windows, WalkForwardOptimizerTest::buildStrategy, parameters);
+
+        assertEquals(5, result.getWindows().size());
+        int outOfSampleTradeCount = 0;
+        for (int w = 0; w < windows.size(); w++) {
+            WalkForwardWindow window = windows.get(w);
+            int best = 0;
+            double bestValue = Double.NaN;
+            for (int p = 0; p < parameters.size(); p++) {
+                SubTimeSeries inSample = window.getInSample();
+                TradingRecord record = new TimeSeriesManager(inSample).run(buildViewStrategy(inSample, parameters.get(p)));
+                double value = criterion.calculate(inSample, record);
+                assertEquals(value, result.getInSampleValue(p, w), 0);
+                if (p == 0 || criterion.betterThan(value, bestValue)) {
+                    best = p;
+                    bestValue = value;
+                }
+            }
+            assertEquals(best, result.getBestParametersIndex(w));
+            assertEquals(parameters.get(best), result.getBestParameters(w));
+            assertEquals(bestValue, result.getBestInSampleValue(w), 0);
+
+            SubTimeSeries outOfSample = window.getOutOfSample();
+            TradingRecord record = new TimeSeriesManager(outOfSample).run(buildViewStrategy(outOfSample, parameters.get(best)));
+            assertEquals(record.getTradeCount(), result.getOutOfSampleRecord(w).getTradeCount());
+            assertEquals(criterion.calculate(outOfSample, record), result.getOutOfSampleValue(w), 0);
+            outOfSampleTradeCount += record.getTradeCount();
+        }
+
+        TradingRecord outOfSampleRecord = result.getOutOfSampleRecord();
+        assertEquals(outOfSampleTradeCount, outOfSampleRecord.getTradeCount());
+        double profit = 1;
+        for (int w = 0; w < windows.size(); w++) {
+            profit *= result.getOutOfSampleValue(w);
+        }
+        assertEquals(profit, criterion.calculate(series, outOfSampleRecord), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void chooseBestAccordingToTheCriterion() {
+        // Lower is better
+        AnalysisCriterion criterion = new NumberOfTradesCriterion();
+        List<WalkForwardWindow> windows = WalkForwardWindow.anchored(series, 150, 50);
+        WalkForwardResult<int[]> result = new WalkForwardOptimizer(new BacktestExecutor(pool), criterion)
+                .optimize(windows, WalkForwardOptimizerTest::buildStrategy, parameters);
+        for (int w = 0; w < windows.size(); w++) {
+            for (int p = 0; p < parameters.size(); p++) {
+                assertTrue(result.getBestInSampleValue(w) <= result.getInSampleValue(p, w));
+            }
+        }
+    }
+
+    @Test
+    public void optimizeWithoutWindows() {
+        WalkForwardResult<int[]> result = new WalkForwardOptimizer(new BacktestExecutor(pool), new TotalProfitCriterion())
+                .optimize(new ArrayList<>(), WalkForwardOptimizerTest::buildStrategy, parameters);
+        assertTrue(result.getWindows().isEmpty());
+        assertEquals(0, result.getOutOfSampleRecord().getTradeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void windowsOfDifferentSeries() {
+        List<WalkForwardWindow> windows = new ArrayList<>(WalkForwardWindow.rolling(series, 100, 40));
+        windows.addAll(WalkForwardWindow.rolling(new MockTimeSeries(new double[300]), 100, 40));
+        new WalkForwardOptimizer(new BacktestExecutor(pool), new TotalProfitCriterion())
+                .optimize(windows, WalkForwardOptimizerTest::buildStrategy, parameters);
+    }
+}
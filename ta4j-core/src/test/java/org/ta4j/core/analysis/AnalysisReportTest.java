@@ -0,0 +1,164 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import org.junit.Test;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Order;
+import org.ta4j.core.TATestsUtils;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.criteria.*;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AnalysisReportTest {
+
+    private static final List<AnalysisCriterion> CRITERIA = Arrays.asList(
+            new TotalProfitCriterion(),
+            new AverageProfitCriterion(),
+            new AverageProfitableTradesCriterion(),
+            new BuyAndHoldCriterion(),
+            new MaximumDrawdownCriterion(),
+            new NumberOfBarsCriterion(),
+            new NumberOfTradesCriterion(),
+            new RewardRiskRatioCriterion(),
+            new VersusBuyAndHoldCriterion(new TotalProfitCriterion()),
+            new VersusBuyAndHoldCriterion(new MaximumDrawdownCriterion()),
+            new LinearTransactionCostCriterion(1000, 0.005, 0.2));
+
+    private static void assertSameAsCriteria(TimeSeries series, TradingRecord tradingRecord) {
+        AnalysisReport report = new AnalysisReport(series, tradingRecord);
+        for (AnalysisCriterion criterion : CRITERIA) {
+            assertEquals(criterion.toString(), criterion.calculate(series, tradingRecord), criterion.calculate(report),
+                    TATestsUtils.TA_OFFSET);
+        }
+    }
+
+    @Test
+    public void sameValuesAsCriteriaWithBuyTrades() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 3, 6, 5, 20, 3);
+        assertSameAsCriteria(series, new BaseTradingRecord(
+                Order.buyAt(0, series), Order.sellAt(1, series),
+                Order.buyAt(3, series), Order.sellAt(4, series),
+                Order.buyAt(5, series), Order.sellAt(6, series)));
+        assertSameAsCriteria(series, new BaseTradingRecord(
+                Order.buyAt(1, series), Order.sellAt(3, series),
+                Order.buyAt(3, series), Order.sellAt(5, series)));
+    }
+
+    @Test
+    public void sameValuesAsCriteriaWithSellTrades() {
+        MockTimeSeries series = new MockTimeSeries(2, 1, 3, 5, 6, 3, 20);
+        assertSameAsCriteria(series, new BaseTradingRecord(
+                Order.buyAt(0, series), Order.sellAt(1, series),
+                Order.buyAt(3, series), Order.sellAt(4, series),
+                Order.sellAt(5, series), Order.buyAt(6, series)));
+    }
+
+    @Test
+    public void sameValuesAsCriteriaWithOrderPrices() {
+        MockTimeSeries series = new MockTimeSeries(100, 105, 110, 100, 95, 105);
+        assertSameAsCriteria(series, new BaseTradingRecord(
+                Order.buyAt(0, Decimal.valueOf(101), Decimal.ONE), Order.sellAt(2, Decimal.valueOf(108), Decimal.ONE),
+                Order.buyAt(3, Decimal.valueOf(99), Decimal.ONE), Order.sellAt(5, Decimal.valueOf(104), Decimal.ONE)));
+    }
+
+    @Test
+    public void sameValuesAsCriteriaWithNoTrades() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 3, 6, 5, 20, 3);
+        assertSameAsCriteria(series, new BaseTradingRecord());
+    }
+
+    @Test
+    public void sameValuesAsCriteriaWithOpenedTrade() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 3, 6, 5, 20, 3);
+        TradingRecord tradingRecord = new BaseTradingRecord(
+                Order.buyAt(0, series), Order.sellAt(2, series), Order.buyAt(4, series));
+        assertSameAsCriteria(series, tradingRecord);
+        assertEquals(3d, new AnalysisReport(series, tradingRecord).getEquity(6), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void equityCurve() {
+        MockTimeSeries series = new MockTimeSeries(2, 1, 3, 5, 6, 3, 20);
+        TradingRecord tradingRecord = new BaseTradingRecord(
+                Order.buyAt(0, series), Order.sellAt(1, series),
+                Order.buyAt(3, series), Order.sellAt(4, series),
+                Order.sellAt(5, series), Order.buyAt(6, series));
+        AnalysisReport report = new AnalysisReport(series, tradingRecord);
+        CashFlow cashFlow = new CashFlow(series, tradingRecord);
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            assertEquals(cashFlow.getValue(i).doubleValue(), report.getEquity(i), TATestsUtils.TA_OFFSET);
+        }
+    }
+
+    @Test
+    public void ratios() {
+        MockTimeSeries series = new MockTimeSeries(1, 2, 4, 2, 2, 2, 2, 2);
+        TradingRecord tradingRecord = new BaseTradingRecord(Order.buyAt(0, series), Order.sellAt(3, series));
+        AnalysisReport report = new AnalysisReport(series, tradingRecord);
+        // Returns: 1, 1, -0.5, 0, 0, 0, 0
+        double mean = 1.5 / 7;
+        double std = Math.sqrt(2.25 / 7 - mean * mean);
+        assertEquals(mean / std, report.getSharpeRatio(), TATestsUtils.TA_OFFSET);
+        assertEquals(mean / Math.sqrt(0.25 / 7), report.getSortinoRatio(), TATestsUtils.TA_OFFSET);
+        assertEquals(0.5, report.getMaximumDrawdown(), TATestsUtils.TA_OFFSET);
+        assertEquals(0.5, report.getExposure(), TATestsUtils.TA_OFFSET);
+
+        assertEquals(report.getSharpeRatio(), new SharpeRatioCriterion().calculate(series, tradingRecord), TATestsUtils.TA_OFFSET);
+        assertEquals(report.getSortinoRatio(), new SortinoRatioCriterion().calculate(series, tradingRecord), TATestsUtils.TA_OFFSET);
+        assertEquals(0.5, new ExposureCriterion().calculate(series, tradingRecord.getTrades().get(0)), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void annualizedReturnAndCalmarRatio() {
+        ZonedDateTime first = ZonedDateTime.of(2016, 1, 2, 0, 0, 0, 0, ZoneId.systemDefault());
+        ZonedDateTime last = ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault());
+        MockTimeSeries series = new MockTimeSeries(new double[] { 100, 80, 121 },
+                new ZonedDateTime[] { first, first.plusDays(1), last });
+        TradingRecord tradingRecord = new BaseTradingRecord(Order.buyAt(0, series), Order.sellAt(2, series));
+        AnalysisReport report = new AnalysisReport(series, tradingRecord);
+        // From 2016-01-01 (begin of the first bar) to 2018-01-01: 731 days
+        double annualizedReturn = Math.pow(1.21, 365.25 / 731) - 1;
+        assertEquals(annualizedReturn, report.getAnnualizedReturn(), TATestsUtils.TA_OFFSET);
+        assertEquals(annualizedReturn / 0.2, report.getCalmarRatio(), TATestsUtils.TA_OFFSET);
+        assertEquals(report.getCalmarRatio(), new CalmarRatioCriterion().calculate(series, tradingRecord), TATestsUtils.TA_OFFSET);
+    }
+
+    @Test
+    public void betterThan() {
+        assertEquals(true, new SharpeRatioCriterion().betterThan(1.2, 0.8));
+        assertEquals(true, new SortinoRatioCriterion().betterThan(1.2, 0.8));
+        assertEquals(true, new CalmarRatioCriterion().betterThan(1.2, 0.8));
+        assertEquals(true, new ExposureCriterion().betterThan(0.2, 0.8));
+    }
+}
@@ -25,16 +25,24 @@ package org.ta4j.core.indicators;
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.BaseTimeSeries;
 import org.ta4j.core.Decimal;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.mocks.MockBar;
 import org.ta4j.core.mocks.MockTimeSeries;
 import org.ta4j.core.trading.rules.OverIndicatorRule;
 import org.ta4j.core.trading.rules.UnderIndicatorRule;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
@@ -158,4 +166,71 @@ public class CachedIndicatorTest {
             fail(t.getMessage());
         }
     }
+
+    @Test
+    public void getValueOnMovingTimeSeries() {
+        TimeSeries movingSeries = new BaseTimeSeries();
+        movingSeries.setMaximumBarCount(10);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(movingSeries), 3);
+        ZonedDateTime time = ZonedDateTime.now();
+        for (int i = 0; i < 100; i++) {
+            movingSeries.addBar(new MockBar(time.plusSeconds(i), i));
+            if (i >= 2) {
+                assertDecimalEquals(sma.getValue(i), i - 1);
+            }
+        }
+        assertEquals(90, movingSeries.getRemovedBarsCount());
+        // Cached results are still valid for the remaining bars
+        for (int i = 92; i < 100; i++) {
+            assertDecimalEquals(sma.getValue(i), i - 1);
+        }
+    }
+
+    @Test
+    public void concurrentMode() throws Exception {
+        double[] data = new double[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 7d);
+        }
+        TimeSeries sharedSeries = new MockTimeSeries(data);
+        RSIIndicator sharedRsi = new RSIIndicator(new ClosePriceIndicator(sharedSeries), 14);
+        SMAIndicator sharedSma = new SMAIndicator(sharedRsi, 10);
+        new IndicatorGraph().add(sharedSma).setConcurrent(true);
+        assertTrue(sharedSma.isConcurrent());
+        assertTrue(sharedRsi.isConcurrent());
+
+        SMAIndicator expected = new SMAIndicator(new RSIIndicator(new ClosePriceIndicator(sharedSeries), 14), 10);
+        Decimal[] expectedValues = new Decimal[data.length];
+        for (int i = 0; i < data.length; i++) {
+            expectedValues[i] = expected.getValue(i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int direction = t % 2;
+                results.add(executor.submit(() -> {
+                    boolean equal = true;
+                    for (int i = 0; i < data.length; i++) {
+                        int index = direction == 0 ? i : data.length - 1 - i;
+                        // Sliding sums may differ in the last digits according to the order of the calculations
+                        equal &= Math.abs(sharedSma.getValue(index).doubleValue() - expectedValues[index].doubleValue()) < 1e-9;
+                    }
+                    return equal;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        sharedSma.invalidate(10);
+        assertDecimalEquals(sharedSma.getValue(10), expected.getValue(10).doubleValue());
+        sharedSma.setConcurrent(false);
+        assertFalse(sharedSma.isConcurrent());
+        assertDecimalEquals(sharedSma.getValue(20), expected.getValue(20).doubleValue());
+    }
 }
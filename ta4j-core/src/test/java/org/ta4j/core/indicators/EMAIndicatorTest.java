@@ -34,6 +34,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+import static org.ta4j.core.TATestsUtils.assertDoubleValuesEquals;
 import static org.ta4j.core.TATestsUtils.assertIndicatorEquals;
 
 public class EMAIndicatorTest extends IndicatorTest<Indicator<Decimal>, Decimal> {
@@ -100,4 +101,9 @@ public class EMAIndicatorTest extends IndicatorTest<Indicator<Decimal>, Decimal>
         assertEquals(327.4076, indicator.getValue(indicator.getTimeSeries().getEndIndex()).doubleValue(), TATestsUtils.TA_OFFSET);
     }
 
+    @Test
+    public void doubleValues() {
+        assertDoubleValuesEquals(new EMAIndicator(new ClosePriceIndicator(data), 10));
+        assertDoubleValuesEquals(new MMAIndicator(new ClosePriceIndicator(data), 3));
+    }
 }
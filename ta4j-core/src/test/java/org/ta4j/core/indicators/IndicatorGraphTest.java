@@ -0,0 +1,122 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.junit.Test;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IndicatorGraphTest {
+
+    private final TimeSeries series = new BaseTimeSeries("graph");
+
+    /** Indicator holding its input in a field declared as Object */
+    private static class ObjectFieldIndicator extends CachedIndicator<Decimal> {
+
+        private final Object input;
+
+        ObjectFieldIndicator(Indicator<Decimal> input) {
+            super(input);
+            this.input = input;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Decimal calculate(int index) {
+            return ((Indicator<Decimal>) input).getValue(index);
+        }
+    }
+
+    /** Holder of an indicator (neither an indicator, a rule nor a strategy) */
+    private static class Holder {
+
+        private final Indicator<Decimal> indicator;
+
+        Holder(Indicator<Decimal> indicator) {
+            this.indicator = indicator;
+        }
+    }
+
+    /** Indicator holding its input in a holder, declaring it explicitly */
+    private static class DependentIndicator extends CachedIndicator<Decimal> implements IndicatorGraph.Dependent {
+
+        private final Holder holder;
+
+        DependentIndicator(Indicator<Decimal> input) {
+            super(input);
+            this.holder = new Holder(input);
+        }
+
+        @Override
+        protected Decimal calculate(int index) {
+            return holder.indicator.getValue(index);
+        }
+
+        @Override
+        public Collection<?> getDependencies() {
+            return Arrays.asList(holder.indicator);
+        }
+    }
+
+    @Test
+    public void dependenciesComeFirst() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        EMAIndicator ema = new EMAIndicator(sma, 2);
+        List<Indicator<?>> indicators = new IndicatorGraph().add(ema).getIndicators();
+        assertEquals(Arrays.asList(closePrice, sma, ema), indicators);
+    }
+
+    @Test
+    public void followsFieldsDeclaredAsObject() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ObjectFieldIndicator indicator = new ObjectFieldIndicator(closePrice);
+        List<Indicator<?>> indicators = new IndicatorGraph().add(indicator).getIndicators();
+        assertEquals(Arrays.asList(closePrice, indicator), indicators);
+    }
+
+    @Test
+    public void usesDeclaredDependencies() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        DependentIndicator indicator = new DependentIndicator(closePrice);
+        List<Indicator<?>> indicators = new IndicatorGraph().add(indicator).getIndicators();
+        assertEquals(Arrays.asList(closePrice, indicator), indicators);
+    }
+
+    @Test
+    public void concurrentModeReachesDeclaredDependencies() {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 3);
+        new IndicatorGraph().add(new DependentIndicator(sma)).setConcurrent(true);
+        assertTrue(sma.isConcurrent());
+    }
+}
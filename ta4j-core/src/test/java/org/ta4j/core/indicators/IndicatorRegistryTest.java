@@ -0,0 +1,193 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesManager;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.keltner.KeltnerChannelMiddleIndicator;
+import org.ta4j.core.indicators.keltner.KeltnerChannelUpperIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.trading.rules.OverIndicatorRule;
+import org.ta4j.core.trading.rules.UnderIndicatorRule;
+
+import static org.junit.Assert.*;
+
+public class IndicatorRegistryTest {
+
+    private TimeSeries series;
+
+    private IndicatorRegistry registry;
+
+    @Before
+    public void setUp() {
+        double[] data = new double[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 7d) + 5 * Math.cos(i / 3d);
+        }
+        series = new MockTimeSeries(data);
+        registry = new IndicatorRegistry(series);
+    }
+
+    private ClosePriceIndicator closePrice() {
+        return registry.intern(IndicatorRegistry.key(ClosePriceIndicator.class), () -> new ClosePriceIndicator(series));
+    }
+
+    private EMAIndicator ema(Indicator<Decimal> indicator, int timeFrame) {
+        return registry.intern(IndicatorRegistry.key(EMAIndicator.class, indicator, timeFrame),
+                () -> new EMAIndicator(indicator, timeFrame));
+    }
+
+    private Strategy buildMovingMomentumStrategy() {
+        ClosePriceIndicator closePrice = closePrice();
+        EMAIndicator shortEma = ema(closePrice, 9);
+        EMAIndicator longEma = ema(closePrice, 26);
+        MACDIndicator macd = registry.intern(IndicatorRegistry.key(MACDIndicator.class, shortEma, longEma),
+                () -> new MACDIndicator(shortEma, longEma));
+        EMAIndicator emaMacd = ema(macd, 18);
+        return new BaseStrategy(
+                new OverIndicatorRule(shortEma, longEma).and(new CrossedUpIndicatorRule(macd, emaMacd)),
+                new UnderIndicatorRule(shortEma, longEma).and(new CrossedDownIndicatorRule(macd, emaMacd)));
+    }
+
+    @Test
+    public void internEquivalentIndicators() {
+        ClosePriceIndicator closePrice = closePrice();
+        SMAIndicator sma = registry.intern(IndicatorRegistry.key(SMAIndicator.class, closePrice, 12),
+                () -> new SMAIndicator(closePrice, 12));
+        assertEquals(2, registry.getIndicatorCount());
+        assertEquals(0, registry.getDuplicateCount());
+
+        assertSame(closePrice, closePrice());
+        assertSame(sma, registry.intern(IndicatorRegistry.key(SMAIndicator.class, closePrice(), 12), () -> {
+            throw new AssertionError("Shared indicator should not be built again");
+        }));
+        assertSame(sma, registry.get(IndicatorRegistry.key(SMAIndicator.class, closePrice, 12)));
+        assertEquals(2, registry.getIndicatorCount());
+        assertEquals(3, registry.getDuplicateCount());
+    }
+
+    @Test
+    public void differentParametersAreNotShared() {
+        ClosePriceIndicator closePrice = closePrice();
+        EMAIndicator ema12 = ema(closePrice, 12);
+        assertNotSame(ema12, ema(closePrice, 20));
+        assertNotSame(ema12, ema(new ClosePriceIndicator(series), 12));
+        assertNotSame(ema12, registry.intern(IndicatorRegistry.key(SMAIndicator.class, closePrice, 12),
+                () -> new SMAIndicator(closePrice, 12)));
+        assertEquals(5, registry.getIndicatorCount());
+        assertEquals(0, registry.getDuplicateCount());
+        assertNull(registry.get(IndicatorRegistry.key(SMAIndicator.class, closePrice, 20)));
+    }
+
+    @Test
+    public void arrayParametersAreComparedByContent() {
+        assertEquals(IndicatorRegistry.key(SMAIndicator.class, (Object) new Object[] { closePrice(), 12 }),
+                IndicatorRegistry.key(SMAIndicator.class, (Object) new Object[] { closePrice(), 12 }));
+    }
+
+    @Test
+    public void calculatedIndicatorsAreShared() {
+        ClosePriceIndicator closePrice = closePrice();
+        SMAIndicator sma = registry.intern(IndicatorRegistry.key(SMAIndicator.class, closePrice, 12),
+                () -> new SMAIndicator(closePrice, 12));
+        Decimal value = sma.getValue(50);
+        SMAIndicator shared = registry.intern(IndicatorRegistry.key(SMAIndicator.class, closePrice, 12),
+                () -> new SMAIndicator(closePrice, 12));
+        assertSame(sma, shared);
+        assertEquals(value, shared.getValue(50));
+    }
+
+    @Test
+    public void compositeIndicatorsShareTheInternedSubIndicators() {
+        ClosePriceIndicator closePrice = closePrice();
+        EMAIndicator shortEma = ema(closePrice, 12);
+        EMAIndicator longEma = ema(closePrice, 26);
+        MACDIndicator macd = new MACDIndicator(shortEma, longEma);
+        PPOIndicator ppo = new PPOIndicator(shortEma, longEma);
+        assertEquals(3, registry.getIndicatorCount());
+
+        ATRIndicator atr = registry.intern(IndicatorRegistry.key(ATRIndicator.class, 10),
+                () -> new ATRIndicator(series, 10));
+        KeltnerChannelMiddleIndicator keltnerMiddle = new KeltnerChannelMiddleIndicator(ema(closePrice, 20));
+        KeltnerChannelUpperIndicator keltnerUpper = new KeltnerChannelUpperIndicator(keltnerMiddle, Decimal.TWO, atr);
+
+        MACDIndicator privateMacd = new MACDIndicator(closePrice, 12, 26);
+        PPOIndicator privatePpo = new PPOIndicator(closePrice, 12, 26);
+        KeltnerChannelUpperIndicator privateKeltnerUpper = new KeltnerChannelUpperIndicator(
+                new KeltnerChannelMiddleIndicator(closePrice, 20), Decimal.TWO, 10);
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            assertEquals(privateMacd.getValue(i), macd.getValue(i));
+            assertEquals(privatePpo.getValue(i), ppo.getValue(i));
+            assertEquals(privateKeltnerUpper.getValue(i), keltnerUpper.getValue(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sharedMovingAveragesInTheWrongOrder() {
+        ClosePriceIndicator closePrice = closePrice();
+        new MACDIndicator(ema(closePrice, 26), ema(closePrice, 12));
+    }
+
+    @Test
+    public void indicatorsOfStrategiesAreShared() {
+        Strategy strategy1 = buildMovingMomentumStrategy();
+        int indicatorCount = registry.getIndicatorCount();
+        Strategy strategy2 = buildMovingMomentumStrategy();
+        assertEquals(indicatorCount, registry.getIndicatorCount());
+        assertEquals(indicatorCount, registry.getDuplicateCount());
+
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        MACDIndicator macd = new MACDIndicator(closePrice, 9, 26);
+        EMAIndicator emaMacd = new EMAIndicator(macd, 18);
+        EMAIndicator shortEma = new EMAIndicator(closePrice, 9);
+        EMAIndicator longEma = new EMAIndicator(closePrice, 26);
+        TradingRecord expected = manager.run(new BaseStrategy(
+                new OverIndicatorRule(shortEma, longEma).and(new CrossedUpIndicatorRule(macd, emaMacd)),
+                new UnderIndicatorRule(shortEma, longEma).and(new CrossedDownIndicatorRule(macd, emaMacd))));
+        TradingRecord record1 = manager.run(strategy1);
+        TradingRecord record2 = manager.run(strategy2);
+        assertEquals(expected.getTradeCount(), record1.getTradeCount());
+        assertEquals(expected.getTradeCount(), record2.getTradeCount());
+        for (int i = 0; i < expected.getTradeCount(); i++) {
+            assertEquals(expected.getTrades().get(i).getEntry(), record1.getTrades().get(i).getEntry());
+            assertEquals(expected.getTrades().get(i).getEntry(), record2.getTrades().get(i).getEntry());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indicatorOfAnotherSeriesIsRejected() {
+        TimeSeries otherSeries = new MockTimeSeries(1, 2, 3);
+        registry.intern(IndicatorRegistry.key(ClosePriceIndicator.class), () -> new ClosePriceIndicator(otherSeries));
+    }
+}
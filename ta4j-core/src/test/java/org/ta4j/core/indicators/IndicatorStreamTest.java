@@ -0,0 +1,146 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.HighestValueIndicator;
+import org.ta4j.core.trading.rules.OverIndicatorRule;
+import org.ta4j.core.trading.rules.UnderIndicatorRule;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class IndicatorStreamTest {
+
+    private TimeSeries series;
+
+    private ZonedDateTime time;
+
+    @Before
+    public void setUp() {
+        series = new BaseTimeSeries("stream");
+        time = ZonedDateTime.now();
+    }
+
+    private BaseBar bar(double closePrice) {
+        time = time.plusMinutes(1);
+        return new BaseBar(time, closePrice, closePrice, closePrice, closePrice, 1);
+    }
+
+    @Test
+    public void dependenciesAreEvaluatedFirst() {
+        IndicatorStream stream = new IndicatorStream(series);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        EMAIndicator ema = new EMAIndicator(sma, 2);
+        stream.register(ema);
+        stream.register(sma);
+
+        List<Indicator<?>> indicators = stream.getIndicators();
+        assertEquals(3, indicators.size());
+        assertTrue(indicators.indexOf(closePrice) < indicators.indexOf(sma));
+        assertTrue(indicators.indexOf(sma) < indicators.indexOf(ema));
+    }
+
+    @Test
+    public void indicatorsOfStrategyAreRegistered() {
+        IndicatorStream stream = new IndicatorStream(series);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        Strategy strategy = new BaseStrategy(new OverIndicatorRule(sma, closePrice),
+                new UnderIndicatorRule(sma, closePrice));
+        stream.register(strategy);
+
+        List<Indicator<?>> indicators = stream.getIndicators();
+        assertEquals(2, indicators.size());
+        assertTrue(indicators.contains(closePrice));
+        assertTrue(indicators.contains(sma));
+    }
+
+    @Test
+    public void pushedValuesAreEqualToPulledValues() {
+        IndicatorStream stream = new IndicatorStream(series);
+        SMAIndicator sma = stream.register(new SMAIndicator(new ClosePriceIndicator(series), 3));
+        HighestValueIndicator highest = stream.register(new HighestValueIndicator(sma, 4));
+
+        double[] data = { 1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2 };
+        for (int i = 0; i < data.length; i++) {
+            assertEquals(i, stream.onBar(bar(data[i])));
+        }
+
+        TimeSeries pulledSeries = new BaseTimeSeries("pulled");
+        time = ZonedDateTime.now();
+        for (double closePrice : data) {
+            pulledSeries.addBar(bar(closePrice));
+        }
+        SMAIndicator pulledSma = new SMAIndicator(new ClosePriceIndicator(pulledSeries), 3);
+        HighestValueIndicator pulledHighest = new HighestValueIndicator(pulledSma, 4);
+        for (int i = series.getEndIndex(); i >= 0; i--) {
+            assertEquals(pulledSma.getValue(i), sma.getValue(i));
+            assertEquals(pulledHighest.getValue(i), highest.getValue(i));
+        }
+    }
+
+    @Test
+    public void onTradeOnlyUpdatesTheLastValue() {
+        IndicatorStream stream = new IndicatorStream(series);
+        SMAIndicator sma = stream.register(new SMAIndicator(new ClosePriceIndicator(series), 2));
+
+        stream.onBar(bar(1));
+        stream.onBar(bar(3));
+        assertDecimalEquals(sma.getValue(1), 2);
+
+        assertEquals(1, stream.onTrade(Decimal.ONE, Decimal.valueOf(5)));
+        assertDecimalEquals(sma.getValue(0), 1);
+        assertDecimalEquals(sma.getValue(1), 3);
+
+        stream.onBar(bar(7));
+        assertDecimalEquals(sma.getValue(2), 6);
+    }
+
+    @Test
+    public void onBarOnMovingSeries() {
+        series.setMaximumBarCount(3);
+        IndicatorStream stream = new IndicatorStream(series);
+        SMAIndicator sma = stream.register(new SMAIndicator(new ClosePriceIndicator(series), 2));
+        for (int i = 1; i <= 10; i++) {
+            stream.onBar(bar(i));
+        }
+        assertEquals(9, series.getEndIndex());
+        assertDecimalEquals(sma.getValue(9), 9.5);
+        assertDecimalEquals(sma.getValue(8), 8.5);
+    }
+}
@@ -30,7 +30,9 @@ import org.ta4j.core.mocks.MockTimeSeries;
 
 import static org.junit.Assert.assertEquals;
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+import static org.ta4j.core.TATestsUtils.assertDoubleValuesEquals;
 import static org.ta4j.core.TATestsUtils.assertIndicatorEquals;
+import static org.ta4j.core.TATestsUtils.assertSequentialAndRandomAccessValuesEquals;
 
 public class SMAIndicatorTest extends IndicatorTest<Indicator<Decimal>, Decimal> {
 
@@ -93,4 +95,20 @@ public class SMAIndicatorTest extends IndicatorTest<Indicator<Decimal>, Decimal>
         assertEquals(327.7846, actualIndicator.getValue(actualIndicator.getTimeSeries().getEndIndex()).doubleValue(), TATestsUtils.TA_OFFSET);
     }
 
+    @Test
+    public void sequentialAndRandomAccessValuesAreEqual() throws Exception {
+        double[] prices = new double[500];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 1000 + 50 * Math.sin(i / 20d);
+        }
+        TimeSeries series = new MockTimeSeries(prices);
+        assertSequentialAndRandomAccessValuesEquals(getIndicator(new ClosePriceIndicator(series), 200),
+                getIndicator(new ClosePriceIndicator(series), 200));
+    }
+
+    @Test
+    public void doubleValues() {
+        assertDoubleValuesEquals(new SMAIndicator(new ClosePriceIndicator(data), 3));
+        assertDoubleValuesEquals(new SMAIndicator(new ClosePriceIndicator(data), 20));
+    }
 }
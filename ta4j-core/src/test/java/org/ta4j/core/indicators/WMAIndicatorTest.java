@@ -30,6 +30,7 @@ import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockTimeSeries;
 
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+import static org.ta4j.core.TATestsUtils.assertDoubleValuesEquals;
 
 public class WMAIndicatorTest {
 
@@ -89,4 +90,12 @@ public class WMAIndicatorTest {
         assertDecimalEquals(wma.getValue(19), 78.1504);
         assertDecimalEquals(wma.getValue(20), 77.6133);
     }
+
+    @Test
+    public void doubleValues() {
+        MockTimeSeries series = new MockTimeSeries(1d, 2d, 3d, 4d, 5d, 6d, 4d, 2d, 7d, 3d, 9d, 1d, 5d);
+        assertDoubleValuesEquals(new WMAIndicator(new ClosePriceIndicator(series), 3));
+        assertDoubleValuesEquals(new WMAIndicator(new ClosePriceIndicator(series), 5));
+        assertDoubleValuesEquals(new WMAIndicator(new ClosePriceIndicator(series), 20));
+    }
 }
@@ -30,8 +30,10 @@ import org.ta4j.core.mocks.MockBar;
 import org.ta4j.core.mocks.MockTimeSeries;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -60,4 +62,15 @@ public class BullishEngulfingIndicatorTest {
         assertFalse(bep.getValue(3));
         assertFalse(bep.getValue(4));
     }
+
+    @Test
+    public void getBooleanValues() {
+        BullishEngulfingIndicator bep = new BullishEngulfingIndicator(series);
+        BitSet values = bep.getBooleanValues(0, 4);
+        assertEquals(1, values.cardinality());
+        assertTrue(values.get(2));
+        BitSet rangeValues = bep.getBooleanValues(2, 4);
+        assertEquals(1, rangeValues.cardinality());
+        assertTrue(rangeValues.get(0));
+    }
 }
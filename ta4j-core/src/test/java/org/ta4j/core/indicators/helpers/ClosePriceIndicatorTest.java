@@ -46,4 +46,14 @@ public class ClosePriceIndicatorTest {
             assertEquals(closePrice.getValue(i), timeSeries.getBar(i).getClosePrice());
         }
     }
+
+    @Test
+    public void doubleValues() {
+        double[] values = new double[12];
+        closePrice.getDoubleValues(2, 9, values, 4);
+        for (int i = 2; i <= 9; i++) {
+            assertEquals(timeSeries.getBar(i).getClosePrice().doubleValue(), values[i + 2], 0d);
+        }
+        assertEquals(0d, values[3], 0d);
+    }
 }
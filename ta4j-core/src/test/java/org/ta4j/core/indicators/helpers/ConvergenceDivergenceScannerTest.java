@@ -0,0 +1,105 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.helpers.ConvergenceDivergenceIndicator.ConvergenceDivergenceStrictType;
+import org.ta4j.core.indicators.helpers.ConvergenceDivergenceIndicator.ConvergenceDivergenceType;
+import org.ta4j.core.indicators.statistics.SlidingLinearRegressionIndicator;
+import org.ta4j.core.indicators.statistics.VarianceIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConvergenceDivergenceScannerTest {
+
+    private Indicator<Decimal> ref;
+
+    private List<Indicator<Decimal>> others;
+
+    @Before
+    public void setUp() {
+        double[] refData = new double[200];
+        for (int i = 0; i < refData.length; i++) {
+            refData[i] = 100 + 10 * Math.sin(i / 9d);
+        }
+        ref = new ClosePriceIndicator(new MockTimeSeries(refData));
+        others = new ArrayList<>();
+        for (int j = 0; j < 5; j++) {
+            double[] data = new double[refData.length];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = 50 + 5 * Math.sin(i / (5d + j)) * (j % 2 == 0 ? 1 : -1) + i % 3;
+            }
+            TimeSeries otherSeries = new MockTimeSeries(data);
+            others.add(new ClosePriceIndicator(otherSeries));
+        }
+    }
+
+    private static void assertScanEquals(ConvergenceDivergenceScanner scanner, List<ConvergenceDivergenceIndicator> expected) {
+        List<BitSet> results = scanner.scan(0, 199);
+        assertEquals(expected.size(), results.size());
+        for (int j = 0; j < expected.size(); j++) {
+            for (int i = 0; i < 200; i++) {
+                assertEquals(expected.get(j).getValue(i), results.get(j).get(i));
+                assertEquals(expected.get(j).getValue(i), scanner.scan(i).get(j));
+            }
+        }
+    }
+
+    @Test
+    public void scanIsEqualToSeparateIndicators() {
+        for (ConvergenceDivergenceType type : ConvergenceDivergenceType.values()) {
+            List<ConvergenceDivergenceIndicator> expected = new ArrayList<>();
+            for (Indicator<Decimal> other : others) {
+                expected.add(new ConvergenceDivergenceIndicator(ref, other, 10, type, 0.5, 0.01));
+            }
+            assertScanEquals(new ConvergenceDivergenceScanner(ref, others, 10, type, 0.5, 0.01), expected);
+        }
+    }
+
+    @Test
+    public void strictScanIsEqualToSeparateIndicators() {
+        for (ConvergenceDivergenceStrictType strictType : ConvergenceDivergenceStrictType.values()) {
+            List<ConvergenceDivergenceIndicator> expected = new ArrayList<>();
+            for (Indicator<Decimal> other : others) {
+                expected.add(new ConvergenceDivergenceIndicator(ref, other, 3, strictType));
+            }
+            assertScanEquals(new ConvergenceDivergenceScanner(ref, others, 3, strictType), expected);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sharedRegressionWithAnotherTimeFrameIsRejected() {
+        new ConvergenceDivergenceIndicator(ref, new SlidingLinearRegressionIndicator(ref, 5),
+                new VarianceIndicator(ref, 10), others.get(0), 10,
+                ConvergenceDivergenceType.positiveConvergent, null, 0.8, 0.3);
+    }
+}
@@ -105,4 +105,31 @@ public class HighestValueIndicatorTest {
                 assertEquals(series.getBar(i).getClosePrice().toString(),highestValue.getValue(i).toString());
         }
     }
+
+    @Test
+    public void sequentialAndRandomAccessValuesAreEqual() {
+        List<Bar> bars = new ArrayList<>();
+        ZonedDateTime time = ZonedDateTime.now();
+        for (int i = 0; i < 1000; i++) {
+            // Pseudo-random prices, with some NaN ones
+            Decimal closePrice = i % 13 == 5 ? Decimal.NaN : Decimal.valueOf((i * 7919) % 1009);
+            bars.add(new BaseBar(time.plusDays(i), Decimal.NaN, Decimal.NaN, Decimal.NaN, closePrice, Decimal.NaN, Decimal.NaN));
+        }
+        BaseTimeSeries series = new BaseTimeSeries("random test", bars);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        HighestValueIndicator sequential = new HighestValueIndicator(closePrice, 30);
+        HighestValueIndicator randomAccess = new HighestValueIndicator(closePrice, 30);
+        for (int i = 0; i < bars.size(); i++) {
+            Decimal expected = Decimal.NaN;
+            for (int j = Math.max(0, i - 29); j <= i; j++) {
+                Decimal value = closePrice.getValue(j);
+                if (!value.isNaN() && (expected.isNaN() || value.compareTo(expected) > 0)) {
+                    expected = value;
+                }
+            }
+            assertEquals(expected.toString(), sequential.getValue(i).toString());
+            int randomIndex = (i * 31) % bars.size();
+            assertEquals(randomAccess.getValue(randomIndex).toString(), sequential.getValue(randomIndex).toString());
+        }
+    }
 }
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+import static org.ta4j.core.TATestsUtils.assertSequentialAndRandomAccessValuesEquals;
 
 public class CovarianceIndicatorTest {
 
@@ -106,4 +107,17 @@ public class CovarianceIndicatorTest {
         assertDecimalEquals(covar.getValue(3), 0);
         assertDecimalEquals(covar.getValue(8), 0);
     }
+
+    @Test
+    public void sequentialAndRandomAccessValuesAreEqual() {
+        List<Bar> bars = new ArrayList<Bar>();
+        for (int i = 0; i < 500; i++) {
+            bars.add(new MockBar(1000 + 50 * Math.sin(i / 20d), 10000 + 300 * Math.cos(i / 15d)));
+        }
+        TimeSeries series = new BaseTimeSeries(bars);
+        Indicator<Decimal> close = new ClosePriceIndicator(series);
+        Indicator<Decimal> volume = new VolumeIndicator(series);
+        assertSequentialAndRandomAccessValuesEquals(new CovarianceIndicator(close, volume, 200),
+                new CovarianceIndicator(close, volume, 200));
+    }
 }
@@ -28,6 +28,7 @@ import org.junit.Test;
 import org.ta4j.core.Decimal;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.statistics.SimpleLinearRegressionIndicator.SimpleLinearRegressionType;
 import org.ta4j.core.mocks.MockTimeSeries;
 
 import static org.junit.Assert.assertTrue;
@@ -99,6 +100,18 @@ public class SimpleLinearRegressionIndicatorTest {
         assertDecimalEquals(reg.getValue(4), origReg.predict(4));
     }
     
+    @Test
+    public void calculateSlopeInterceptAndRSquared() {
+        double[] values = new double[] { 1, 2, 1.3, 3.75, 2.25 };
+        ClosePriceIndicator indicator = new ClosePriceIndicator(new MockTimeSeries(values));
+        SlidingLinearRegressionIndicator regression = new SlidingLinearRegressionIndicator(indicator, 5);
+
+        SimpleRegression origReg = buildSimpleRegression(values);
+        assertDecimalEquals(new SimpleLinearRegressionIndicator(regression, SimpleLinearRegressionType.slope).getValue(4), origReg.getSlope());
+        assertDecimalEquals(new SimpleLinearRegressionIndicator(regression, SimpleLinearRegressionType.intercept).getValue(4), origReg.getIntercept());
+        assertDecimalEquals(new SimpleLinearRegressionIndicator(regression, SimpleLinearRegressionType.rSquared).getValue(4), origReg.getRSquare());
+    }
+    
     /**
      * @param values values
      * @return a simple linear regression based on provided values
@@ -0,0 +1,142 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.junit.Test;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.DecimalFactory;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.statistics.SimpleLinearRegressionIndicator.SimpleLinearRegressionType;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+
+public class SlidingLinearRegressionIndicatorTest {
+
+    /**
+     * @return {slope, intercept, y, rSquared} of the regression over [startIndex, index] (two passes)
+     */
+    private static double[] regress(double[] values, int startIndex, int index) {
+        int n = index - startIndex + 1;
+        double xBar = 0, yBar = 0;
+        for (int i = startIndex; i <= index; i++) {
+            xBar += i;
+            yBar += values[i];
+        }
+        xBar /= n;
+        yBar /= n;
+        double xx = 0, xy = 0, yy = 0;
+        for (int i = startIndex; i <= index; i++) {
+            xx += (i - xBar) * (i - xBar);
+            xy += (i - xBar) * (values[i] - yBar);
+            yy += (values[i] - yBar) * (values[i] - yBar);
+        }
+        double slope = xy / xx;
+        double intercept = yBar - slope * xBar;
+        return new double[]{slope, intercept, slope * index + intercept, xy * xy / (xx * yy)};
+    }
+
+    private static void assertRegression(double[] values, int timeFrame, SlidingLinearRegressionIndicator regression, int index) {
+        double[] expected = regress(values, Math.max(0, index - timeFrame + 1), index);
+        SlidingLinearRegressionIndicator.Regression actual = regression.getValue(index);
+        assertEquals(expected[0], actual.getSlope().doubleValue(), 1e-9);
+        assertEquals(expected[1], actual.getIntercept().doubleValue(), 1e-6);
+        assertEquals(expected[2], actual.getY().doubleValue(), 1e-9);
+        assertEquals(expected[3], actual.getRSquared().doubleValue(), 1e-9);
+    }
+
+    private static double[] randomWalk(int count) {
+        Random random = new Random(42);
+        double[] values = new double[count];
+        double value = 100;
+        for (int i = 0; i < count; i++) {
+            value += random.nextGaussian();
+            values[i] = value;
+        }
+        return values;
+    }
+
+    @Test
+    public void slideOverTimeFrame() {
+        double[] values = randomWalk(300);
+        for (DecimalFactory decimalFactory : new DecimalFactory[]{DecimalFactory.BIG_DECIMAL, DecimalFactory.DOUBLE}) {
+            TimeSeries series = new BaseTimeSeries("walk", decimalFactory);
+            ZonedDateTime endTime = ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+            for (double value : values) {
+                endTime = endTime.plusMinutes(1);
+                series.addBar(Duration.ofMinutes(1), endTime, value, value, value, value, 1);
+            }
+            for (int timeFrame : new int[]{2, 5, 30}) {
+                SlidingLinearRegressionIndicator regression = new SlidingLinearRegressionIndicator(new ClosePriceIndicator(series), timeFrame);
+                for (int i = 1; i < values.length; i++) {
+                    assertRegression(values, timeFrame, regression, i);
+                }
+                // Random access (full calculations)
+                regression = new SlidingLinearRegressionIndicator(new ClosePriceIndicator(series), timeFrame);
+                for (int i = values.length - 1; i > 0; i -= 7) {
+                    assertRegression(values, timeFrame, regression, i);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void notEnoughObservations() {
+        Indicator<Decimal> closePrice = new ClosePriceIndicator(new MockTimeSeries(1, 2, 3));
+        assertTrue(new SlidingLinearRegressionIndicator(closePrice, 5).getValue(0).getY().isNaN());
+        assertTrue(new SlidingLinearRegressionIndicator(closePrice, 1).getValue(2).getSlope().isNaN());
+    }
+
+    @Test
+    public void viewsShareTheRegression() {
+        Indicator<Decimal> closePrice = new ClosePriceIndicator(new MockTimeSeries(1, 3, 5, 7, 9, 8));
+        SlidingLinearRegressionIndicator regression = new SlidingLinearRegressionIndicator(closePrice, 4);
+        SimpleLinearRegressionIndicator y = new SimpleLinearRegressionIndicator(regression, SimpleLinearRegressionType.y);
+        SimpleLinearRegressionIndicator slope = new SimpleLinearRegressionIndicator(regression, SimpleLinearRegressionType.slope);
+        SimpleLinearRegressionIndicator intercept = new SimpleLinearRegressionIndicator(regression, SimpleLinearRegressionType.intercept);
+        SimpleLinearRegressionIndicator rSquared = new SimpleLinearRegressionIndicator(regression, SimpleLinearRegressionType.rSquared);
+
+        // Perfect line y = 2x + 1
+        assertDecimalEquals(y.getValue(4), 9);
+        assertDecimalEquals(slope.getValue(4), 2);
+        assertDecimalEquals(intercept.getValue(4), 1);
+        assertDecimalEquals(rSquared.getValue(4), 1);
+        assertEquals(regression.getValue(4).getSlope(), slope.getValue(4));
+
+        // Constant values: undefined R²
+        closePrice = new ClosePriceIndicator(new MockTimeSeries(4, 4, 4));
+        regression = new SlidingLinearRegressionIndicator(closePrice, 3);
+        assertDecimalEquals(regression.getValue(2).getSlope(), 0);
+        assertTrue(regression.getValue(2).getRSquared().isNaN());
+    }
+}
@@ -29,6 +29,8 @@ import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockTimeSeries;
 
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+import static org.ta4j.core.TATestsUtils.assertDoubleValuesEquals;
+import static org.ta4j.core.TATestsUtils.assertSequentialAndRandomAccessValuesEquals;
 
 public class VarianceIndicatorTest {
     private TimeSeries data;
@@ -79,4 +81,21 @@ public class VarianceIndicatorTest {
         assertDecimalEquals(var.getValue(9), 2.25);
         assertDecimalEquals(var.getValue(10), 20.25);
     }
+
+    @Test
+    public void sequentialAndRandomAccessValuesAreEqual() {
+        double[] prices = new double[500];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 1000 + 50 * Math.sin(i / 20d) + (i % 7) * 0.01;
+        }
+        TimeSeries series = new MockTimeSeries(prices);
+        assertSequentialAndRandomAccessValuesEquals(new VarianceIndicator(new ClosePriceIndicator(series), 200),
+                new VarianceIndicator(new ClosePriceIndicator(series), 200));
+    }
+
+    @Test
+    public void doubleValues() {
+        assertDoubleValuesEquals(new VarianceIndicator(new ClosePriceIndicator(data), 4));
+        assertDoubleValuesEquals(new VarianceIndicator(new ClosePriceIndicator(data), 2));
+    }
 }
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.ta4j.core.TATestsUtils.assertDecimalEquals;
+import static org.ta4j.core.TATestsUtils.assertDoubleValuesEquals;
 
 public class VWAPIndicatorTest {
 
@@ -85,4 +86,10 @@ public class VWAPIndicatorTest {
         assertDecimalEquals(vwap.getValue(17), 44.0840);
         assertDecimalEquals(vwap.getValue(18), 43.8247);
     }
+
+    @Test
+    public void doubleValues() {
+        assertDoubleValuesEquals(new VWAPIndicator(data, 5));
+        assertDoubleValuesEquals(new VWAPIndicator(data, 30));
+    }
 }
@@ -0,0 +1,196 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.instrumentation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesManager;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsCollectorTest {
+
+    private TimeSeries series;
+
+    private MetricsCollector metrics;
+
+    @Before
+    public void setUp() {
+        series = new BaseTimeSeries();
+        ZonedDateTime time = ZonedDateTime.now();
+        for (int i = 0; i < 500; i++) {
+            double price = 100 + 10 * Math.sin(i / 10d);
+            series.addBar(Duration.ofDays(1), time.plusDays(i), price, price, price, price, 1);
+        }
+        metrics = new MetricsCollector();
+    }
+
+    @After
+    public void tearDown() {
+        Instrumentation.setListener(null);
+        metrics.unregisterMBean();
+    }
+
+    private IndicatorMetrics indicatorMetrics(Class<?> type) {
+        for (IndicatorMetrics m : metrics.getIndicatorMetrics()) {
+            if (m.getName().equals(type.getName())) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertFalse(Instrumentation.isEnabled());
+        new SMAIndicator(new ClosePriceIndicator(series), 5).getValue(10);
+        Instrumentation.setListener(metrics);
+        assertTrue(Instrumentation.isEnabled());
+        assertTrue(metrics.getIndicatorMetrics().isEmpty());
+        assertTrue(Double.isNaN(metrics.getCacheHitRatio()));
+    }
+
+    @Test
+    public void cacheHitsAndMisses() {
+        Instrumentation.setListener(metrics);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 5);
+        for (int run = 0; run < 3; run++) {
+            for (int i = 0; i < 100; i++) {
+                sma.getValue(i);
+            }
+        }
+        IndicatorMetrics smaMetrics = indicatorMetrics(SMAIndicator.class);
+        assertEquals(100, smaMetrics.getCacheMisses());
+        assertEquals(200, smaMetrics.getCacheHits());
+        assertEquals(2d / 3, smaMetrics.getCacheHitRatio(), 1e-9);
+        assertTrue(smaMetrics.getComputeNanos() > 0);
+        assertTrue(smaMetrics.getSelfNanos() <= smaMetrics.getComputeNanos());
+        assertNotNull(indicatorMetrics(ClosePriceIndicator.class));
+
+        metrics.reset();
+        assertTrue(metrics.getIndicatorMetrics().isEmpty());
+    }
+
+    @Test
+    public void selfTimeExcludesSubIndicators() {
+        Instrumentation.setListener(metrics);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 5);
+        SMAIndicator smaOfSma = new SMAIndicator(sma, 5);
+        for (int i = 0; i < 500; i++) {
+            smaOfSma.getValue(i);
+        }
+        IndicatorMetrics closeMetrics = indicatorMetrics(ClosePriceIndicator.class);
+        IndicatorMetrics smaMetrics = indicatorMetrics(SMAIndicator.class);
+        assertEquals(1000, smaMetrics.getCacheMisses());
+        assertTrue(smaMetrics.getSelfNanos() >= 0);
+        assertTrue(smaMetrics.getSelfNanos() < smaMetrics.getComputeNanos());
+        assertEquals(closeMetrics.getSelfNanos(), closeMetrics.getComputeNanos());
+        // The self times add up to the total time of the root calculations
+        assertTrue(smaMetrics.getSelfNanos() + closeMetrics.getSelfNanos() <= smaMetrics.getComputeNanos());
+    }
+
+    @Test
+    public void recursiveBackfillsAndEvictions() {
+        Instrumentation.setListener(metrics);
+        new EMAIndicator(new ClosePriceIndicator(series), 10).getValue(450);
+        assertEquals(1, indicatorMetrics(EMAIndicator.class).getRecursiveBackfills());
+
+        series.setMaximumBarCount(100);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 5);
+        ZonedDateTime time = series.getLastBar().getEndTime();
+        for (int i = 1; i <= 50; i++) {
+            series.addBar(Duration.ofDays(1), time.plusDays(i), 1, 1, 1, 1, 1);
+            sma.getValue(series.getEndIndex());
+        }
+        assertEquals(49, indicatorMetrics(SMAIndicator.class).getEvictions());
+    }
+
+    @Test
+    public void rulesAndBarLatencies() {
+        Instrumentation.setListener(metrics);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        Strategy strategy = new BaseStrategy("sma", new CrossedUpIndicatorRule(closePrice, sma),
+                new CrossedDownIndicatorRule(closePrice, sma));
+        new TimeSeriesManager(series).run(strategy);
+
+        List<RuleMetrics> ruleMetrics = metrics.getRuleMetrics();
+        assertEquals(2, ruleMetrics.size());
+        long evaluations = 0;
+        for (RuleMetrics m : ruleMetrics) {
+            evaluations += m.getEvaluations();
+        }
+        assertEquals(500, evaluations);
+
+        List<LatencyMetrics> latencies = metrics.getBarLatencyMetrics();
+        assertEquals(1, latencies.size());
+        LatencyMetrics latency = latencies.get(0);
+        assertEquals("sma", latency.getName());
+        assertEquals(500, latency.getCount());
+        assertTrue(latency.getMedianNanos() <= latency.getP90Nanos());
+        assertTrue(latency.getP90Nanos() <= latency.getP99Nanos());
+        assertTrue(latency.getP99Nanos() <= latency.getMaxNanos());
+    }
+
+    @Test
+    public void jmx() throws Exception {
+        Instrumentation.setListener(metrics);
+        ObjectName name = metrics.registerMBean();
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 5);
+        sma.getValue(10);
+        sma.getValue(10);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertTrue(server.isRegistered(name));
+        CompositeData[] indicators = (CompositeData[]) server.getAttribute(name, "IndicatorMetrics");
+        assertEquals(2, indicators.length);
+        assertTrue((Double) server.getAttribute(name, "CacheHitRatio") > 0);
+        server.invoke(name, "reset", null, null);
+        assertEquals(0, ((CompositeData[]) server.getAttribute(name, "IndicatorMetrics")).length);
+
+        metrics.unregisterMBean();
+        assertFalse(server.isRegistered(name));
+    }
+}
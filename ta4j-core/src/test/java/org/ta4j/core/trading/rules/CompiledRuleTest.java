@@ -0,0 +1,148 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.trading.rules;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Order.OrderType;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesManager;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class CompiledRuleTest {
+
+    private TimeSeries series;
+
+    private ClosePriceIndicator closePrice;
+
+    @Before
+    public void setUp() {
+        series = new MockTimeSeries(10, 11, 12, 11, 9, 8, 9, 12, 14, 13, 11, 10, 9, 11, 13, 15, 14, 12, 10, 9);
+        closePrice = new ClosePriceIndicator(series);
+    }
+
+    @Test
+    public void sameResultsAsSourceRule() {
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        Rule rule = new OverIndicatorRule(closePrice, sma)
+                .and(new UnderIndicatorRule(closePrice, Decimal.valueOf(14)))
+                .and(new FixedRule(1, 4, 7, 8, 9, 15).or(new CrossedUpIndicatorRule(closePrice, sma)))
+                .or(new IsFallingRule(closePrice, 2).negation().negation().xor(new FixedRule(5, 6)))
+                .and(new BooleanRule(true).negation().or(new IsRisingRule(sma, 2)));
+        CompiledRule compiled = CompiledRule.compile(rule);
+        for (int run = 0; run < 100; run++) {
+            for (int i = 0; i < series.getBarCount(); i++) {
+                assertEquals(rule.isSatisfied(i), compiled.isSatisfied(i));
+            }
+        }
+        assertSame(compiled, CompiledRule.compile(compiled));
+        assertSame(rule, compiled.getRule());
+    }
+
+    @Test
+    public void flattensCombinations() {
+        Rule rule = new FixedRule(1).and(new FixedRule(2)).and(new FixedRule(3).and(new FixedRule(4)))
+                .or(new FixedRule(5).negation().negation());
+        assertEquals("CompiledRule or(and(FixedRule,FixedRule,FixedRule,FixedRule),FixedRule)",
+                CompiledRule.compile(rule).toString());
+    }
+
+    @Test
+    public void cheapSelectiveOperandsEvaluatedFirst() {
+        final int[] expensiveCount = new int[1];
+        Indicator<Boolean> expensive = new Indicator<Boolean>() {
+            @Override
+            public Boolean getValue(int index) {
+                expensiveCount[0]++;
+                double sum = 0;
+                for (int i = 0; i < 10000; i++) {
+                    sum += Math.sqrt(i + index);
+                }
+                return sum > 0;
+            }
+
+            @Override
+            public TimeSeries getTimeSeries() {
+                return series;
+            }
+        };
+        CompiledRule compiled = CompiledRule.compile(new BooleanIndicatorRule(expensive).and(BooleanRule.FALSE));
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(false, compiled.isSatisfied(i % series.getBarCount()));
+        }
+        expensiveCount[0] = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(false, compiled.isSatisfied(i % series.getBarCount()));
+        }
+        assertEquals(0, expensiveCount[0]);
+    }
+
+    @Test
+    public void statefulRulesKeepTheirOrder() {
+        for (int run = 0; run < 2; run++) {
+            Rule rule = new FixedRule(3, 5, 6).and(new JustOnceRule(new OverIndicatorRule(closePrice, Decimal.valueOf(8))))
+                    .or(new CountRule(new FixedRule(2, 7, 12, 17), 3).and(BooleanRule.TRUE));
+            Rule sameRule = new FixedRule(3, 5, 6).and(new JustOnceRule(new OverIndicatorRule(closePrice, Decimal.valueOf(8))))
+                    .or(new CountRule(new FixedRule(2, 7, 12, 17), 3).and(BooleanRule.TRUE));
+            CompiledRule compiled = CompiledRule.compile(sameRule);
+            for (int i = 0; i < 1000; i++) {
+                int index = i % series.getBarCount();
+                assertEquals(rule.isSatisfied(index), compiled.isSatisfied(index));
+            }
+        }
+    }
+
+    @Test
+    public void compiledStrategyRunsTheSameTrades() {
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        Strategy strategy = new BaseStrategy("sma",
+                new CrossedUpIndicatorRule(closePrice, sma).and(new WaitForRule(OrderType.SELL, 2)),
+                new CrossedDownIndicatorRule(closePrice, sma)
+                        .or(new StopLossRule(closePrice, Decimal.valueOf(5)))
+                        .or(new StopGainRule(closePrice, Decimal.valueOf(10))), 1);
+        Strategy compiled = CompiledRule.compile(strategy);
+        assertEquals("sma", compiled.getName());
+        assertEquals(1, compiled.getUnstablePeriod());
+
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        for (int run = 0; run < 50; run++) {
+            TradingRecord expected = manager.run(strategy);
+            TradingRecord actual = manager.run(compiled);
+            assertEquals(expected.getTradeCount(), actual.getTradeCount());
+            for (int i = 0; i < expected.getTradeCount(); i++) {
+                assertEquals(expected.getTrades().get(i), actual.getTrades().get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.trading.rules;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.PreviousValueIndicator;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MemoizedRuleTest {
+
+    private TimeSeries series;
+
+    private ZonedDateTime time;
+
+    private int[] evaluationCount;
+
+    @Before
+    public void setUp() {
+        series = new BaseTimeSeries();
+        time = ZonedDateTime.now();
+        for (double price : new double[] { 10, 11, 12, 11, 9, 8, 9, 12, 14, 13 }) {
+            addBar(price);
+        }
+        evaluationCount = new int[1];
+    }
+
+    private void addBar(double price) {
+        time = time.plusDays(1);
+        series.addBar(Duration.ofDays(1), time, price, price, price, price, 1);
+    }
+
+    /**
+     * @return a rule satisfied when the close price is rising, counting its evaluations
+     */
+    private Rule risingRule() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        Indicator<Boolean> rising = new Indicator<Boolean>() {
+            private final Indicator<Decimal> previous = new PreviousValueIndicator(closePrice);
+
+            @Override
+            public Boolean getValue(int index) {
+                evaluationCount[0]++;
+                return closePrice.getValue(index).isGreaterThan(previous.getValue(index));
+            }
+
+            @Override
+            public TimeSeries getTimeSeries() {
+                return series;
+            }
+        };
+        return new BooleanIndicatorRule(rising);
+    }
+
+    @Test
+    public void evaluatedOncePerIndex() {
+        Rule rule = risingRule();
+        MemoizedRule memoized = new MemoizedRule(rule, series);
+        for (int run = 0; run < 3; run++) {
+            for (int i = 0; i < series.getEndIndex(); i++) {
+                assertEquals(rule.isSatisfied(i), memoized.isSatisfied(i, null));
+            }
+        }
+        // Source rule: 3 * 9 evaluations, memoized rule: 9 evaluations
+        assertEquals(36, evaluationCount[0]);
+        memoized.clear();
+        memoized.isSatisfied(0);
+        assertEquals(37, evaluationCount[0]);
+    }
+
+    @Test
+    public void lastIndexMemoizedOnceSeriesGrows() {
+        MemoizedRule memoized = new MemoizedRule(risingRule(), series);
+        assertFalse(memoized.isSatisfied(9));
+        assertFalse(memoized.isSatisfied(9));
+        assertEquals(2, evaluationCount[0]);
+
+        addBar(15);
+        assertFalse(memoized.isSatisfied(9));
+        assertTrue(memoized.isSatisfied(10));
+        assertFalse(memoized.isSatisfied(9));
+        assertEquals(4, evaluationCount[0]);
+    }
+
+    @Test
+    public void movingSeries() {
+        series.setMaximumBarCount(100);
+        Rule rule = risingRule();
+        MemoizedRule memoized = new MemoizedRule(rule, series);
+        for (int i = 0; i < 3000; i++) {
+            addBar(10 + (i * 7) % 13);
+            int endIndex = series.getEndIndex();
+            for (int index = Math.max(series.getBeginIndex() + 1, endIndex - 5); index <= endIndex; index++) {
+                assertEquals(rule.isSatisfied(index), memoized.isSatisfied(index));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void recordDependentRuleIsRejected() {
+        new MemoizedRule(new StopLossRule(new ClosePriceIndicator(series), Decimal.ONE), series);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void statefulRuleIsRejected() {
+        new MemoizedRule(new JustOnceRule(risingRule()), series);
+    }
+
+    @Test
+    public void isMemoizable() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        Rule over = new OverIndicatorRule(closePrice, Decimal.TEN);
+        Rule under = new UnderIndicatorRule(closePrice, Decimal.TEN);
+        assertTrue(MemoizedRule.isMemoizable(over));
+        assertTrue(MemoizedRule.isMemoizable(over.and(under.negation()).xor(new FixedRule(1)).or(BooleanRule.TRUE)));
+        assertTrue(MemoizedRule.isMemoizable(new MemoizedRule(over, series)));
+        assertFalse(MemoizedRule.isMemoizable(over.and(new StopLossRule(closePrice, Decimal.ONE))));
+        assertFalse(MemoizedRule.isMemoizable(new WaitForRule(org.ta4j.core.Order.OrderType.BUY, 2)));
+        assertFalse(MemoizedRule.isMemoizable(new JustOnceRule(over)));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.trading.rules;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Order.OrderType;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.TimeSeriesManager;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockTimeSeries;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RuleMemoizerTest {
+
+    private TimeSeries series;
+
+    private ClosePriceIndicator closePrice;
+
+    private SMAIndicator sma;
+
+    @Before
+    public void setUp() {
+        series = new MockTimeSeries(10, 11, 12, 11, 9, 8, 9, 12, 14, 13, 11, 10, 9, 11, 13, 15, 14, 12, 10, 9);
+        closePrice = new ClosePriceIndicator(series);
+        sma = new SMAIndicator(closePrice, 3);
+    }
+
+    @Test
+    public void sharedRulesMemoizedOnce() {
+        RuleMemoizer memoizer = new RuleMemoizer(series);
+        Rule crossedUp = new CrossedUpIndicatorRule(closePrice, sma);
+        Rule memoized = memoizer.memoize(crossedUp);
+        assertTrue(memoized instanceof MemoizedRule);
+        assertSame(memoized, memoizer.memoize(crossedUp));
+        assertSame(memoized, memoizer.memoize(memoized));
+
+        Rule stopLoss = new StopLossRule(closePrice, Decimal.valueOf(5));
+        assertSame(stopLoss, memoizer.memoize(stopLoss));
+
+        // Combination depending on the trading record: rebuilt with the memoized sub-rules
+        AndRule combination = (AndRule) memoizer.memoize(crossedUp.and(stopLoss));
+        assertSame(memoized, combination.getRule1());
+        assertSame(stopLoss, combination.getRule2());
+    }
+
+    @Test
+    public void memoizedStrategiesRunTheSameTrades() {
+        Rule crossedUp = new CrossedUpIndicatorRule(closePrice, sma);
+        Rule crossedDown = new CrossedDownIndicatorRule(closePrice, sma);
+        Strategy strategy1 = new BaseStrategy("s1", crossedUp.and(new WaitForRule(OrderType.SELL, 2)),
+                crossedDown.or(new StopLossRule(closePrice, Decimal.valueOf(5))));
+        Strategy strategy2 = new BaseStrategy("s2", crossedUp.or(new IsRisingRule(sma, 2)),
+                crossedDown.and(new OverIndicatorRule(closePrice, Decimal.valueOf(10))), 2);
+        Strategy combined = strategy1.or(strategy2);
+
+        RuleMemoizer memoizer = new RuleMemoizer(series);
+        TimeSeriesManager manager = new TimeSeriesManager(series);
+        for (Strategy strategy : new Strategy[] { strategy1, strategy2, combined, strategy1.and(strategy2) }) {
+            Strategy memoized = memoizer.memoize(strategy);
+            assertEquals(strategy.getName(), memoized.getName());
+            assertEquals(strategy.getUnstablePeriod(), memoized.getUnstablePeriod());
+            TradingRecord expected = manager.run(strategy);
+            TradingRecord actual = manager.run(memoized);
+            assertEquals(expected.getTrades(), actual.getTrades());
+        }
+    }
+}
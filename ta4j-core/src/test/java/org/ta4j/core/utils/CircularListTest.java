@@ -0,0 +1,110 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CircularListTest {
+
+    @Test
+    public void addAndGet() {
+        CircularList<Integer> list = new CircularList<>(2);
+        assertTrue(list.isEmpty());
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        assertEquals(10, list.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), list.get(i));
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), list);
+    }
+
+    @Test
+    public void removeFirstElements() {
+        CircularList<Integer> list = new CircularList<>(Arrays.asList(0, 1, 2, 3));
+        list.remove(0);
+        list.removeFirst(2);
+        assertEquals(1, list.size());
+        assertEquals(Integer.valueOf(3), list.get(0));
+
+        // Wrapping around the backing array
+        for (int i = 4; i < 100; i++) {
+            list.add(i);
+            list.remove(0);
+        }
+        assertEquals(1, list.size());
+        assertEquals(Integer.valueOf(99), list.get(0));
+        list.add(100);
+        list.add(101);
+        assertEquals(Arrays.asList(99, 100, 101), list);
+    }
+
+    @Test
+    public void insertAndRemoveInTheMiddle() {
+        CircularList<String> list = new CircularList<>(Arrays.asList("b", "d"));
+        list.add(0, "a");
+        list.add(2, "c");
+        list.add(4, "e");
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), list);
+        assertEquals("c", list.remove(2));
+        assertEquals("e", list.remove(3));
+        assertEquals(Arrays.asList("a", "b", "d"), list);
+        list.set(1, "B");
+        assertEquals(Arrays.asList("a", "B", "d"), list);
+    }
+
+    @Test
+    public void subListAndClear() {
+        CircularList<Integer> list = new CircularList<>(4);
+        for (int i = 0; i < 8; i++) {
+            list.add(i);
+            if (list.size() > 4) {
+                list.remove(0);
+            }
+        }
+        List<Integer> subList = list.subList(1, 3);
+        assertEquals(Arrays.asList(5, 6), subList);
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.add(42);
+        assertEquals(Integer.valueOf(42), list.get(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfBoundsShouldThrowException() {
+        CircularList<Integer> list = new CircularList<>(Arrays.asList(0, 1));
+        list.remove(0);
+        list.get(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void removeTooManyElementsShouldThrowException() {
+        new CircularList<>(Arrays.asList(0, 1)).removeFirst(3);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentIndexedBufferTest {
+
+    @Test
+    public void putAndGet() {
+        ConcurrentIndexedBuffer<String> buffer = new ConcurrentIndexedBuffer<>();
+        assertNull(buffer.get(0));
+        assertNull(buffer.get(-1));
+
+        buffer.put(0, "a");
+        buffer.put(2, "c");
+        assertEquals("a", buffer.get(0));
+        assertNull(buffer.get(1));
+        assertEquals("c", buffer.get(2));
+
+        buffer.remove(2);
+        assertNull(buffer.get(2));
+        buffer.clear();
+        assertNull(buffer.get(0));
+    }
+
+    @Test
+    public void unboundedBufferKeepsAllValues() {
+        ConcurrentIndexedBuffer<Integer> buffer = new ConcurrentIndexedBuffer<>();
+        for (int i = 0; i < 1000; i++) {
+            buffer.put(i, i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), buffer.get(i));
+        }
+    }
+
+    @Test
+    public void boundedBufferKeepsLastValues() {
+        ConcurrentIndexedBuffer<Integer> buffer = new ConcurrentIndexedBuffer<>(20);
+        for (int i = 0; i < 1000; i++) {
+            buffer.put(i, i);
+        }
+        for (int i = 980; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), buffer.get(i));
+        }
+        // Collided indexes are never returned with a wrong value
+        assertNull(buffer.get(0));
+        assertNull(buffer.get(900));
+    }
+
+    @Test
+    public void concurrentPutsAndGets() throws InterruptedException {
+        final ConcurrentIndexedBuffer<Integer> buffer = new ConcurrentIndexedBuffer<>();
+        final int count = 10000;
+        final List<Throwable> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = offset; i < count; i += 4) {
+                        buffer.put(i, i);
+                        for (int j = 0; j < i; j += 97) {
+                            Integer value = buffer.get(j);
+                            assertTrue(value == null || value == j);
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.isEmpty());
+    }
+}
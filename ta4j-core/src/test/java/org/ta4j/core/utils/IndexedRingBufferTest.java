@@ -0,0 +1,127 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IndexedRingBufferTest {
+
+    @Test
+    public void putAndGet() {
+        IndexedRingBuffer<String> buffer = new IndexedRingBuffer<>();
+        assertEquals(0, buffer.size());
+        assertNull(buffer.get(0));
+
+        buffer.put(0, "a");
+        buffer.put(2, "c");
+        assertEquals("a", buffer.get(0));
+        assertNull(buffer.get(1));
+        assertEquals("c", buffer.get(2));
+        assertNull(buffer.get(3));
+        assertEquals(3, buffer.size());
+
+        buffer.put(1, "b");
+        assertEquals("b", buffer.get(1));
+        assertEquals(0, buffer.getBeginIndex());
+        assertEquals(2, buffer.getEndIndex());
+    }
+
+    @Test
+    public void unboundedBufferKeepsAllValues() {
+        IndexedRingBuffer<Integer> buffer = new IndexedRingBuffer<>();
+        for (int i = 0; i < 1000; i++) {
+            buffer.put(i, i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), buffer.get(i));
+        }
+    }
+
+    @Test
+    public void firstValueAfterMaximumSize() {
+        IndexedRingBuffer<Integer> buffer = new IndexedRingBuffer<>(10);
+        buffer.put(100, 100);
+        assertEquals(91, buffer.getBeginIndex());
+        assertEquals(100, buffer.getEndIndex());
+        assertNull(buffer.get(91));
+        assertEquals(Integer.valueOf(100), buffer.get(100));
+    }
+
+    @Test
+    public void oldestValuesAreEvicted() {
+        IndexedRingBuffer<Integer> buffer = new IndexedRingBuffer<>(5);
+        for (int i = 0; i < 12; i++) {
+            buffer.put(i, i);
+        }
+        assertEquals(5, buffer.size());
+        assertEquals(7, buffer.getBeginIndex());
+        assertNull(buffer.get(6));
+        for (int i = 7; i < 12; i++) {
+            assertEquals(Integer.valueOf(i), buffer.get(i));
+        }
+
+        // Values before the window are ignored
+        buffer.put(3, 3);
+        assertNull(buffer.get(3));
+
+        // Skipped indexes do not expose evicted values
+        buffer.put(14, 14);
+        assertNull(buffer.get(12));
+        assertNull(buffer.get(13));
+        assertEquals(Integer.valueOf(14), buffer.get(14));
+        assertEquals(Integer.valueOf(11), buffer.get(11));
+        assertNull(buffer.get(9));
+
+        buffer.put(100, 100);
+        assertEquals(96, buffer.getBeginIndex());
+        for (int i = 96; i < 100; i++) {
+            assertNull(buffer.get(i));
+        }
+    }
+
+    @Test
+    public void setMaximumSize() {
+        IndexedRingBuffer<Integer> buffer = new IndexedRingBuffer<>();
+        for (int i = 0; i < 50; i++) {
+            buffer.put(i, i);
+        }
+        buffer.setMaximumSize(8);
+        assertEquals(8, buffer.size());
+        assertEquals(42, buffer.getBeginIndex());
+        assertNull(buffer.get(41));
+        for (int i = 42; i < 50; i++) {
+            assertEquals(Integer.valueOf(i), buffer.get(i));
+        }
+        buffer.put(50, 50);
+        assertEquals(43, buffer.getBeginIndex());
+        assertEquals(Integer.valueOf(50), buffer.get(50));
+        assertEquals(Integer.valueOf(43), buffer.get(43));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maximumSizeMustBePositive() {
+        new IndexedRingBuffer<>(0);
+    }
+}
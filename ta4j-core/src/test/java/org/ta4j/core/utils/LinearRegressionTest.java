@@ -0,0 +1,106 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import org.junit.Test;
+import org.ta4j.core.Line;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LinearRegressionTest {
+
+    /** Regression of samples from scratch */
+    private static Line regress(double[] xs, double[] ys, int from, int to) {
+        double sumx = 0, sumy = 0, sumxx = 0, sumxy = 0;
+        int n = to - from;
+        for (int i = from; i < to; i++) {
+            double x = xs[i] - xs[from];
+            sumx += x;
+            sumy += ys[i];
+            sumxx += x * x;
+            sumxy += x * ys[i];
+        }
+        double b = (sumxy - sumx * sumy / n) / (sumxx - sumx * sumx / n);
+        double a = (sumy - b * sumx) / n - b * xs[from];
+        return new Line(a, b);
+    }
+
+    @Test
+    public void regressLine() {
+        LinearRegression regression = new LinearRegression(10);
+        for (int x = 0; x < 5; x++) {
+            regression.addSample(x, 3 + 2 * x);
+        }
+        Line line = regression.regress();
+        assertEquals(3, line.getA(), 1e-9);
+        assertEquals(2, line.getB(), 1e-9);
+        assertEquals(5, regression.getNumberOfSamples());
+    }
+
+    @Test
+    public void regressSlidingWindow() {
+        Random random = new Random(42);
+        int window = 50;
+        double[] xs = new double[1000];
+        double[] ys = new double[1000];
+        // Epoch millis: large x values
+        double x = 1.5e12;
+        LinearRegression regression = new LinearRegression(window);
+        for (int i = 0; i < xs.length; i++) {
+            x += 60000;
+            xs[i] = x;
+            ys[i] = 100 + i * 0.1 + random.nextGaussian();
+            regression.addSample(xs[i], ys[i]);
+            if (i > 0) {
+                int from = Math.max(0, i + 1 - window);
+                Line expected = regress(xs, ys, from, i + 1);
+                Line actual = regression.regress();
+                assertEquals(expected.getB(), actual.getB(), 1e-12);
+                assertEquals(expected.getYForX(xs[i]), actual.getYForX(xs[i]), 1e-6);
+            }
+        }
+        assertEquals(window, regression.getNumberOfSamples());
+    }
+
+    @Test
+    public void sameXKeepsPreviousLine() {
+        LinearRegression regression = new LinearRegression(3);
+        regression.addSample(1, 1);
+        assertNull(regression.regress());
+        regression.addSample(2, 2);
+        Line line = regression.regress();
+        assertEquals(1, line.getB(), 1e-9);
+        regression.addSample(2, 3);
+        regression.addSample(2, 4);
+        regression.addSample(2, 5);
+        assertEquals(line, regression.regress());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void regressWithoutSample() {
+        new LinearRegression(3).regress();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import org.junit.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.analysis.PointScore;
+import org.ta4j.core.analysis.PointScoreEvent;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SupportResistanceScorerTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2018, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static List<Bar> randomWalk(int barCount) {
+        Random random = new Random(42);
+        List<Bar> bars = new ArrayList<>();
+        double closePrice = 100;
+        for (int i = 0; i < barCount; i++) {
+            double openPrice = closePrice;
+            closePrice = Math.max(1, openPrice * (1 + 0.01 * random.nextGaussian()));
+            double highPrice = Math.max(openPrice, closePrice) * (1 + 0.005 * random.nextDouble());
+            double lowPrice = Math.min(openPrice, closePrice) * (1 - 0.005 * random.nextDouble());
+            bars.add(new BaseBar(START.plusMinutes(i + 1), openPrice, highPrice, lowPrice, closePrice, closePrice, 1000));
+        }
+        return bars;
+    }
+
+    /**
+     * Scores the levels by scanning all the candles for each level (as before the scorer), ordering the equal scores
+     * by price.
+     */
+    private static List<PointScore> scanSupportAndResistance(TimeSeries series, int cumulativeCandleSize) {
+        List<Bar> candles = CandleBarUtils.getCumulativeCandles(series.getBarData(), cumulativeCandleSize);
+        List<Boolean> highLows = CandleBarUtils.findHighLow(candles, 2);
+        Set<Double> points = new LinkedHashSet<>();
+        for (int pos = 0; pos < candles.size(); pos++) {
+            Bar candle = candles.get(pos);
+            List<Bar> window = candles.subList(Math.max(0, pos - 5), Math.min(candles.size(), pos + 5));
+            if (window.stream().min(Comparator.comparing(Bar::getMinPrice)).get().getMinPrice().equals(candle.getMinPrice())
+                    || window.stream().max(Comparator.comparing(Bar::getMaxPrice)).get().getMaxPrice().equals(candle.getMaxPrice())) {
+                points.add(candle.getMaxPrice().doubleValue());
+                points.add(candle.getMinPrice().doubleValue());
+            }
+        }
+        List<PointScore> scores = points.stream().map(p -> CandleBarUtils.getCandlesScore(candles, highLows, p))
+                .sorted(Comparator.comparing(PointScore::getScore).reversed().thenComparing(PointScore::getPrice))
+                .collect(Collectors.toList());
+        double min = CandleBarUtils.getMin(candles).doubleValue();
+        double max = CandleBarUtils.getMax(candles).doubleValue();
+        List<Double> used = new ArrayList<>();
+        List<PointScore> supportAndResistance = new ArrayList<>();
+        for (PointScore score : scores) {
+            if (score.getScore() >= 5 && !CandleBarUtils.similar(score.getPrice(), used)
+                    && !CandleBarUtils.closeFromExtreme(score.getPrice(), min, max)) {
+                supportAndResistance.add(score);
+                used.add(score.getPrice());
+                if (supportAndResistance.size() >= 30) {
+                    break;
+                }
+            }
+        }
+        return supportAndResistance;
+    }
+
+    private static void assertPointScoresEquals(List<PointScore> expected, List<PointScore> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertPointScoreEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static void assertPointScoreEquals(PointScore expected, PointScore actual) {
+        assertEquals(expected.getPrice(), actual.getPrice());
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.getPointEventList().size(), actual.getPointEventList().size());
+        for (int i = 0; i < expected.getPointEventList().size(); i++) {
+            PointScoreEvent expectedEvent = expected.getPointEventList().get(i);
+            PointScoreEvent actualEvent = actual.getPointEventList().get(i);
+            assertEquals(expectedEvent.getType(), actualEvent.getType());
+            assertEquals(expectedEvent.getTimestamp(), actualEvent.getTimestamp());
+            assertEquals(expectedEvent.getScoreChange(), actualEvent.getScoreChange());
+        }
+    }
+
+    @Test
+    public void pointScoresMatchCandlesScores() {
+        TimeSeries series = new BaseTimeSeries(randomWalk(500));
+        for (int cumulativeCandleSize : new int[]{1, 3}) {
+            SupportResistanceScorer scorer = new SupportResistanceScorer(series, cumulativeCandleSize);
+            List<Bar> candles = CandleBarUtils.getCumulativeCandles(series.getBarData(), cumulativeCandleSize);
+            List<Boolean> highLows = CandleBarUtils.findHighLow(candles, 2);
+            assertEquals(candles.size(), scorer.getCandleCount());
+            for (Bar candle : candles) {
+                for (double price : new double[]{candle.getMaxPrice().doubleValue(), candle.getMinPrice().doubleValue()}) {
+                    assertPointScoreEquals(CandleBarUtils.getCandlesScore(candles, highLows, price), scorer.getPointScore(price));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void supportAndResistanceMatchFullScan() {
+        TimeSeries series = new BaseTimeSeries(randomWalk(2000));
+        for (int cumulativeCandleSize : new int[]{1, 7}) {
+            List<PointScore> expected = scanSupportAndResistance(series, cumulativeCandleSize);
+            assertFalse(expected.isEmpty());
+            assertPointScoresEquals(expected, CandleBarUtils.getSupportAndResistanceByScore(series, cumulativeCandleSize));
+        }
+    }
+
+    @Test
+    public void rescoreAsBarsAreAdded() {
+        List<Bar> bars = randomWalk(1000);
+        TimeSeries series = new BaseTimeSeries();
+        SupportResistanceScorer scorer = new SupportResistanceScorer(series, 4);
+        for (int i = 0; i < bars.size(); i++) {
+            series.addBar(bars.get(i));
+            List<PointScore> scores = scorer.getSupportAndResistance();
+            if (i % 97 == 0 || i == bars.size() - 1) {
+                // Forming last candle included
+                assertPointScoresEquals(scanSupportAndResistance(series, 4), scores);
+            }
+        }
+        assertEquals(250, scorer.getCandleCount());
+    }
+
+    @Test
+    public void emptySeries() {
+        assertTrue(new SupportResistanceScorer(new BaseTimeSeries(), 1).getSupportAndResistance().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCumulativeCandleSize() {
+        new SupportResistanceScorer(new BaseTimeSeries(), 0);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import org.junit.Test;
+import org.ta4j.core.Line;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TrendChannelTest {
+
+    @Test
+    public void select() {
+        Random random = new Random(42);
+        for (int size = 1; size < 50; size++) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                // Few distinct values: duplicates
+                values[i] = random.nextInt(size / 2 + 1);
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            for (int k = 0; k < size; k++) {
+                assertEquals(sorted[k], TrendChannel.select(values.clone(), size, k), 0);
+            }
+        }
+    }
+
+    @Test
+    public void channelRadius() {
+        TrendChannel channel = new TrendChannel(5, 0.5F, true);
+        // Line y = x, with errors 0, 1, 2, 3, 4 (alternating sides)
+        double[] errors = {0, 1, -2, 3, -4};
+        for (int x = 0; x < errors.length; x++) {
+            channel.addBar(x, x + errors[x], 0, 0);
+        }
+        assertTrue(channel.isFull());
+        Line line = channel.getMainTrendLine();
+        double radius = channel.getChannelRadius();
+        assertEquals(channel.getMainPrice(10) + radius, channel.getUpperPrice(10), 1e-9);
+        assertEquals(channel.getMainPrice(10) - radius, channel.getLowerPrice(10), 1e-9);
+
+        // Radius at the position 2 of the sorted errors
+        double[] expectedErrors = new double[5];
+        for (int x = 0; x < 5; x++) {
+            expectedErrors[x] = Math.abs(line.getYForX(x) - (x + errors[x]));
+        }
+        Arrays.sort(expectedErrors);
+        assertEquals(expectedErrors[2], radius, 1e-9);
+    }
+
+    @Test
+    public void slidingChannel() {
+        Random random = new Random(42);
+        int barCount = 20;
+        TrendChannel channel = new TrendChannel(barCount, 0.95F, false);
+        double[] closes = new double[200];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = 100 + 0.5 * i + 3 * random.nextGaussian();
+            channel.addBar(i * 60000d, closes[i], closes[i] - 1, closes[i] + 2);
+            if (i < 2) {
+                continue;
+            }
+            int from = Math.max(0, i + 1 - barCount);
+            assertEquals(from * 60000d, channel.getFirstX(), 0);
+            assertEquals(i * 60000d, channel.getLastX(), 0);
+            Line line = channel.getMainTrendLine();
+            double[] errors = new double[i + 1 - from];
+            for (int j = from; j <= i; j++) {
+                double ideal = line.getYForX(j * 60000d);
+                errors[j - from] = Math.max(Math.abs(ideal - (closes[j] - 1)), Math.abs(ideal - (closes[j] + 2)));
+            }
+            Arrays.sort(errors);
+            assertEquals(errors[(int) ((errors.length - 1) * 0.95F)], channel.getChannelRadius(), 0);
+        }
+        assertEquals(barCount, channel.getSize());
+    }
+
+    @Test
+    public void fixedQueueKeepsOrder() {
+        FixedQueue<Integer> queue = new FixedQueue<>(3);
+        for (int i = 0; i < 7; i++) {
+            queue.add(i);
+        }
+        assertTrue(queue.isFull());
+        assertEquals(4, (int) queue.get(0));
+        assertEquals(6, (int) queue.get(2));
+        int expected = 4;
+        for (Integer value : queue) {
+            assertEquals(expected++, (int) value);
+        }
+        assertFalse(new FixedQueue<Integer>(3).isFull());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidContainedRatio() {
+        new TrendChannel(10, 1.5F, true);
+    }
+}
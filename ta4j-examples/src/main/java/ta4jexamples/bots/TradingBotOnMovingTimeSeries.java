@@ -23,6 +23,7 @@
 package ta4jexamples.bots;
 
 import org.ta4j.core.*;
+import org.ta4j.core.indicators.IndicatorStream;
 import org.ta4j.core.indicators.SMAIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.trading.rules.OverIndicatorRule;
@@ -116,6 +117,10 @@ public class TradingBotOnMovingTimeSeries {
         // Building the trading strategy
         Strategy strategy = buildStrategy(series);
 
+        // Pushing the new bars to the indicators of the strategy
+        IndicatorStream stream = new IndicatorStream(series);
+        stream.register(strategy);
+
         // Initializing the trading history
         TradingRecord tradingRecord = new BaseTradingRecord();
         System.out.println("************************************************************");
@@ -130,9 +135,7 @@ public class TradingBotOnMovingTimeSeries {
             Bar newBar = generateRandomBar();
             System.out.println("------------------------------------------------------\n"
                     + "Bar "+i+" added, close price = " + newBar.getClosePrice().doubleValue());
-            series.addBar(newBar);
-
-            int endIndex = series.getEndIndex();
+            int endIndex = stream.onBar(newBar);
             if (strategy.shouldEnter(endIndex)) {
                 // Our strategy should enter
                 System.out.println("Strategy should ENTER on " + endIndex);
@@ -22,6 +22,7 @@
  */
 package ta4jexamples.indicators;
 
+import org.ta4j.core.Indicator;
 import org.ta4j.core.TimeSeries;
 import org.ta4j.core.indicators.*;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
@@ -84,22 +85,21 @@ public class IndicatorsToCsv {
         /*
           Adding indicators values
          */
-        final int nbBars = series.getBarCount();
-        for (int i = 0; i < nbBars; i++) {
-            sb.append(series.getBar(i).getEndTime()).append(',')
-            .append(closePrice.getValue(i)).append(',')
-            .append(typicalPrice.getValue(i)).append(',')
-            .append(priceVariation.getValue(i)).append(',')
-            .append(shortSma.getValue(i)).append(',')
-            .append(longSma.getValue(i)).append(',')
-            .append(shortEma.getValue(i)).append(',')
-            .append(longEma.getValue(i)).append(',')
-            .append(ppo.getValue(i)).append(',')
-            .append(roc.getValue(i)).append(',')
-            .append(rsi.getValue(i)).append(',')
-            .append(williamsR.getValue(i)).append(',')
-            .append(atr.getValue(i)).append(',')
-            .append(sd.getValue(i)).append('\n');
+        // Each indicator is calculated over the whole series at once (tight loop on doubles when available)
+        Indicator<?>[] indicators = { closePrice, typicalPrice, priceVariation, shortSma, longSma, shortEma, longEma,
+                ppo, roc, rsi, williamsR, atr, sd };
+        final int beginIndex = series.getBeginIndex();
+        final int endIndex = series.getEndIndex();
+        double[][] values = new double[indicators.length][];
+        for (int j = 0; j < indicators.length; j++) {
+            values[j] = indicators[j].getDoubleValues(beginIndex, endIndex);
+        }
+        for (int i = beginIndex; i <= endIndex; i++) {
+            sb.append(series.getBar(i).getEndTime());
+            for (double[] indicatorValues : values) {
+                sb.append(',').append(indicatorValues[i - beginIndex]);
+            }
+            sb.append('\n');
         }
 
         /*
@@ -0,0 +1,132 @@
+/*
+  The MIT License (MIT)
+
+  Copyright (c) 2014-2017 Marc de Verdelhan & respective authors (see AUTHORS)
+
+  Permission is hereby granted, free of charge, to any person obtaining a copy of
+  this software and associated documentation files (the "Software"), to deal in
+  the Software without restriction, including without limitation the rights to
+  use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+  the Software, and to permit persons to whom the Software is furnished to do so,
+  subject to the following conditions:
+
+  The above copyright notice and this permission notice shall be included in all
+  copies or substantial portions of the Software.
+
+  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+  FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+  COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+  IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+  CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jexamples.loaders;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.DecimalFactory;
+import org.ta4j.core.MappedTimeSeries;
+import org.ta4j.core.TimeSeries;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class converts bars to the binary bar file format of {@link MappedTimeSeries}.
+ * <p></p>
+ * Usage: <tt>BarFileConverter resource [output directory]</tt> (e.g. <tt>BarFileConverter vix_20180502.csv</tt> writes
+ * a <tt>vix_20180502.bars</tt> file which can then be opened in milliseconds by <tt>new MappedTimeSeries(path)</tt>).
+ * Supported resources: intraday and daily CSV files (see {@link CsvBarsLoader}), Yahoo JSON chart responses
+ * (see {@link YahooBarsLoader}).
+ */
+public class BarFileConverter {
+
+    /**
+     * Appends the bars of a series to a bar file (created if it does not exist).
+     * <p></p>
+     * Bars which do not end after the last bar of the file are skipped.
+     * @param series the series to be converted
+     * @param file the bar file
+     * @return the number of appended bars
+     * @throws IOException if the bar file cannot be written
+     */
+    public static int convert(TimeSeries series, Path file) throws IOException {
+        int appendedBars = 0;
+        try (MappedTimeSeries barFile = new MappedTimeSeries(file.getFileName().toString(), file, true, DecimalFactory.DOUBLE)) {
+            for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+                Bar bar = series.getBar(i);
+                if (barFile.isEmpty() || bar.getEndTime().isAfter(barFile.getLastBar().getEndTime())) {
+                    barFile.addBar(bar);
+                    appendedBars++;
+                }
+            }
+        }
+        return appendedBars;
+    }
+
+    /**
+     * Converts a CSV or JSON resource to a bar file.
+     * @param resource the name of the resource (e.g. "vix_20180502.csv", "bitcoin_06022018.json")
+     * @param file the bar file
+     * @return the number of appended bars
+     * @throws IOException if the resource cannot be read or the bar file cannot be written
+     */
+    public static int convertResource(String resource, Path file) throws IOException {
+        InputStream resourceStream = BarFileConverter.class.getClassLoader().getResourceAsStream(resource);
+        if (resourceStream == null) {
+            throw new IOException("Resource not found: " + resource);
+        }
+        try (PushbackInputStream stream = new PushbackInputStream(resourceStream, 5)) {
+            TimeSeries series;
+            if (resource.endsWith(".json")) {
+                series = YahooBarsLoader.loadYahooSeries(stream, resource);
+            } else if (startsWith(stream, "date,")) {
+                series = CsvBarsLoader.loadDailySeries(stream, resource);
+            } else {
+                series = CsvBarsLoader.loadIntradaySeries(stream, resource);
+            }
+            return convert(series, file);
+        }
+    }
+
+    /**
+     * @param stream a stream
+     * @param prefix a prefix
+     * @return true if the stream starts with the prefix, false otherwise (the stream is not consumed)
+     * @throws IOException if the stream cannot be read
+     */
+    private static boolean startsWith(PushbackInputStream stream, String prefix) throws IOException {
+        byte[] expected = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] actual = new byte[expected.length];
+        int length = 0;
+        int read;
+        while (length < actual.length && (read = stream.read(actual, length, actual.length - length)) > 0) {
+            length += read;
+        }
+        stream.unread(actual, 0, length);
+        return length == expected.length && new String(actual, StandardCharsets.UTF_8).equalsIgnoreCase(prefix);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: BarFileConverter resource [output directory]");
+            return;
+        }
+        String resource = args[0];
+        Path directory = Paths.get(args.length > 1 ? args[1] : ".");
+        Path file = directory.resolve(resource.replaceAll("\\.(csv|json)$", "") + ".bars");
+
+        int appendedBars = convertResource(resource, file);
+        Logger.getLogger(BarFileConverter.class.getName()).log(Level.INFO, "{0} bars appended to {1}", new Object[] { appendedBars, file });
+
+        try (MappedTimeSeries series = new MappedTimeSeries(file)) {
+            System.out.println("Series: " + series.getName() + " (" + series.getSeriesPeriodDescription() + ")");
+            System.out.println("Number of bars: " + series.getBarCount());
+        }
+    }
+}
@@ -110,6 +110,28 @@ public class CsvBarsLoader {
         //InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("es_f_intraday_04022018.csv");
         InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("es_f_intraday_05022018.csv");
 
+        return loadIntradaySeries(stream, "es=f_bars");
+    }
+
+    /**
+     * @return a time series from Apple Inc. bars.
+     */
+    public static TimeSeries loadVIXSeries() {
+
+        //InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("spx500_intraday_20180202.csv");
+        //InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("es_f_intraday_20183101.csv");
+        //InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("vix_20180202.csv");
+        InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("vix_20180502.csv");
+
+        return loadIntradaySeries(stream, "vix_bars");
+    }
+
+    /**
+     * @param stream a CSV stream of intraday bars (<tt>dd/MM/yyyy hh:mm:ss a;open;close;high;low;volume</tt> lines, most recent first)
+     * @param name the name of the series
+     * @return a time series from the CSV bars
+     */
+    public static TimeSeries loadIntradaySeries(InputStream stream, String name) {
         List<Bar> bars = new ArrayList<>();
 
         CSVReader csvReader = new CSVReader(new InputStreamReader(stream, Charset.forName("UTF-8")), ';', '"', 0);
@@ -134,31 +156,27 @@ public class CsvBarsLoader {
         }
         Collections.reverse(bars);
 
-        return new BaseTimeSeries("es=f_bars", bars);
+        return new BaseTimeSeries(name, bars);
     }
 
     /**
-     * @return a time series from Apple Inc. bars.
+     * @param stream a CSV stream of daily bars (<tt>date,open,high,low,close,volume</tt> header, oldest first)
+     * @param name the name of the series
+     * @return a time series from the CSV bars
      */
-    public static TimeSeries loadVIXSeries() {
-
-        //InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("spx500_intraday_20180202.csv");
-        //InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("es_f_intraday_20183101.csv");
-        //InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("vix_20180202.csv");
-        InputStream stream = CsvBarsLoader.class.getClassLoader().getResourceAsStream("vix_20180502.csv");
-
+    public static TimeSeries loadDailySeries(InputStream stream, String name) {
         List<Bar> bars = new ArrayList<>();
 
-        CSVReader csvReader = new CSVReader(new InputStreamReader(stream, Charset.forName("UTF-8")), ';', '"', 0);
+        CSVReader csvReader = new CSVReader(new InputStreamReader(stream, Charset.forName("UTF-8")), ',', '"', 1);
         try {
             String[] line;
             while ((line = csvReader.readNext()) != null) {
-                ZonedDateTime date = LocalDateTime.parse(line[0], LONG_DATE_FORMAT).atZone(ZoneId.systemDefault());
+                ZonedDateTime date = LocalDate.parse(line[0], DATE_FORMAT).atStartOfDay(ZoneId.systemDefault());
 
                 double open = Double.parseDouble(line[1]);
-                double close = Double.parseDouble(line[2]);
-                double high = Double.parseDouble(line[3]);
-                double low = Double.parseDouble(line[4]);
+                double high = Double.parseDouble(line[2]);
+                double low = Double.parseDouble(line[3]);
+                double close = Double.parseDouble(line[4]);
                 double volume = Double.parseDouble(line[5]);
 
                 bars.add(new BaseBar(date, open, high, low, close, volume));
@@ -169,9 +187,8 @@ public class CsvBarsLoader {
         } catch (NumberFormatException nfe) {
             Logger.getLogger(CsvBarsLoader.class.getName()).log(Level.SEVERE, "Error while parsing value", nfe);
         }
-        Collections.reverse(bars);
 
-        return new BaseTimeSeries("vix_bars", bars);
+        return new BaseTimeSeries(name, bars);
     }
 
     public static void main(String[] args) {
@@ -30,10 +30,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.time.Duration;
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
@@ -69,80 +65,40 @@ public class CsvTradesLoader {
             }
         }
 
-        List<Bar> bars = null;
+        TimeSeries series = new BaseTimeSeries("bitstamp_trades");
         if ((lines != null) && !lines.isEmpty()) {
-
-            // Getting the first and last trades timestamps
-            ZonedDateTime beginTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(lines.get(0)[0]) * 1000), ZoneId.systemDefault());
-            ZonedDateTime endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(lines.get(lines.size() - 1)[0]) * 1000), ZoneId.systemDefault());
-            if (beginTime.isAfter(endTime)) {
-                Instant beginInstant = beginTime.toInstant();
-                Instant endInstant = endTime.toInstant();
-                beginTime = ZonedDateTime.ofInstant(endInstant, ZoneId.systemDefault());
-                endTime = ZonedDateTime.ofInstant(beginInstant, ZoneId.systemDefault());
-                // Since the CSV file has the most recent trades at the top of the file, we'll reverse the list to feed the List<Bar> correctly.
+            if (Long.parseLong(lines.get(0)[0]) > Long.parseLong(lines.get(lines.size() - 1)[0])) {
+                // Since the CSV file has the most recent trades at the top of the file, we'll reverse the list to feed the series correctly.
                 Collections.reverse(lines);
             }
-            // build the list of populated bars
-           	bars = buildBars(beginTime, endTime, 300, lines);
+            // build the populated bars
+            buildBars(series, 300, lines);
         }
-
-        return new BaseTimeSeries("bitstamp_trades", bars);
+        return series;
     }
 
     /**
-     * Builds a list of populated bars from csv data.
-     * @param beginTime the begin time of the whole period
-     * @param endTime the end time of the whole period
+     * Builds the populated bars of a series from csv data.
+     * @param series the series to be filled with the bars
      * @param duration the bar duration (in seconds)
      * @param lines the csv data returned by CSVReader.readAll()
-     * @return the list of populated bars
      */
-    private static List<Bar> buildBars(ZonedDateTime beginTime, ZonedDateTime endTime, int duration, List<String[]> lines) {
-
-    	List<Bar> bars = new ArrayList<>();
-
-    	Duration barDuration = Duration.ofSeconds(duration);
-    	ZonedDateTime barEndTime = beginTime;
-    	// line number of trade data
-    	int i = 0;
-    	do {
-    		// build a bar
-    		barEndTime = barEndTime.plus(barDuration);
-    		Bar bar = new BaseBar(barDuration, barEndTime);
-    		do {
-    			// get a trade
-    			String[] tradeLine = lines.get(i);
-    			ZonedDateTime tradeTimeStamp = ZonedDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(tradeLine[0]) * 1000), ZoneId.systemDefault());
-    			// if the trade happened during the bar
-    			if (bar.inPeriod(tradeTimeStamp)) {
-    				// add the trade to the bar
-    				double tradePrice = Double.parseDouble(tradeLine[1]);
-    				double tradeAmount = Double.parseDouble(tradeLine[2]);
-    				bar.addTrade(tradeAmount, tradePrice);
-    			} else {
-    				// the trade happened after the end of the bar
-    				// go to the next bar but stay with the same trade (don't increment i)
-    				// this break will drop us after the inner "while", skipping the increment
-    				break;
-    			}
-    			i++;
-    		} while (i < lines.size());
-    		// if the bar has any trades add it to the bars list
-    		// this is where the break drops to
-    		if (bar.getTrades() > 0) {
-    			bars.add(bar);
-    		}
-    	} while (barEndTime.isBefore(endTime));
-
-    	// fill last traded price value on all bars
-		Bar lastBar = bars.get(bars.size() - 1);
-		Decimal ltp = lastBar.getClosePrice();
+    private static void buildBars(TimeSeries series, int duration, List<String[]> lines) {
+        // Trades are aggregated in a single pass (bars without trades are skipped)
+        BarAggregator aggregator = new BarAggregator().attach(Duration.ofSeconds(duration), series);
+        for (String[] tradeLine : lines) {
+            long tradeTimestamp = Long.parseLong(tradeLine[0]) * 1000;
+            double tradePrice = Double.parseDouble(tradeLine[1]);
+            double tradeAmount = Double.parseDouble(tradeLine[2]);
+            aggregator.onTrade(tradeTimestamp, tradePrice, tradeAmount);
+        }
+        aggregator.flush();
 
-		for (Bar bar : bars) {
-			bar.setLtp(ltp);
-		}
-		return bars;
+        // fill last traded price value on all bars
+        Decimal ltp = series.getLastBar().getClosePrice();
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            series.getBar(i).setLtp(ltp);
+        }
     }
 
     public static void main(String[] args) {
@@ -44,12 +44,24 @@ public class YahooBarsLoader {
 	}
 
     private static TimeSeries loadYahooSymbolSeriesFromUrl(String url) {
+        try (InputStream stream = new URL(url).openStream()) {
+            return loadYahooSeries(stream, "url_bars");
+        } catch (IOException e) {
+            Logger.getLogger(CsvBarsLoader.class.getName()).log(Level.SEVERE, "Unable to load bars from CSV", e);
+        }
+        return new BaseTimeSeries("url_bars");
+    }
+
+    /**
+     * @param stream a stream of a Yahoo chart response (e.g. the bitcoin_06022018.json resource)
+     * @param name the name of the series
+     * @return a time series from the response bars
+     */
+    public static TimeSeries loadYahooSeries(InputStream stream, String name) {
         List<Bar> bars = new ArrayList<>();
         ObjectMapper objectMapper = new ObjectMapper();
 
         try {
-            InputStream stream = new URL(url).openStream();
-
             YahooApiResponse response = objectMapper.readValue(stream, YahooApiResponse.class);
             YahooChartResponse chart = response.getChart();
 
@@ -91,6 +103,6 @@ public class YahooBarsLoader {
             Logger.getLogger(CsvBarsLoader.class.getName()).log(Level.SEVERE, "Unable to load bars from CSV", e);
         }
 
-        return new BaseTimeSeries("url_bars", bars);
+        return new BaseTimeSeries(name, bars);
     }
 }
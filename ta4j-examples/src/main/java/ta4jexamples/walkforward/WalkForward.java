@@ -35,8 +35,10 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Walk-forward optimization example.
@@ -117,7 +119,7 @@ public class WalkForward {
             subseriesNbBars++;
         }
 
-        return series.getSubSeries(beginIndex, beginIndex + subseriesNbBars);
+        return series.getSubSeriesView(beginIndex, beginIndex + subseriesNbBars);
     }
 
     /**
@@ -158,35 +160,40 @@ public class WalkForward {
     }
 
     public static void main(String[] args) {
-        // Splitting the series into slices
         //TimeSeries series = CsvTradesLoader.loadBitstampSeries();
         TimeSeries series = CsvBarsLoader.loadStandardAndPoor500ESFSeries();
 
-        List<TimeSeries> subseries = splitSeries(series, Duration.ofMinutes(1), Duration.ofDays(1));
-
-        // Building the map of strategies
-        Map<Strategy, String> strategies = buildStrategiesMap(series);
+        // The strategies (the optimized parameter is the name of the strategy)
+        Map<String, Function<TimeSeries, Strategy>> strategyBuilders = new LinkedHashMap<>();
+        strategyBuilders.put("CCI Correction", CCICorrectionStrategy::buildStrategy);
+        strategyBuilders.put("Global Extrema", GlobalExtremaStrategy::buildStrategy);
+        strategyBuilders.put("Moving Momentum", MovingMomentumStrategy::buildStrategy);
+        strategyBuilders.put("RSI-2", RSI2Strategy::buildStrategy);
+        List<String> names = new ArrayList<>(strategyBuilders.keySet());
 
         // The analysis criterion
         AnalysisCriterion profitCriterion = new TotalProfitCriterion();
 
-        for (TimeSeries slice : subseries) {
-            // For each sub-series...
-            System.out.println("Sub-series: " + slice.getSeriesPeriodDescription());
-            TimeSeriesManager sliceManager = new TimeSeriesManager(slice);
+        // Rolling windows: 240 in-sample bars, then 60 out-of-sample bars
+        List<WalkForwardWindow> windows = WalkForwardWindow.rolling(series, 240, 60);
+
+        // Optimizing over the in-sample bars, evaluating over the out-of-sample bars (in parallel)
+        WalkForwardResult<String> result = new WalkForwardOptimizer(profitCriterion)
+                .optimize(windows, (s, name) -> strategyBuilders.get(name).apply(s), names);
 
-            for (Map.Entry<Strategy, String> entry : strategies.entrySet()) {
-                Strategy strategy = entry.getKey();
-                String name = entry.getValue();
+        for (int i = 0; i < windows.size(); i++) {
+            // For each window...
+            WalkForwardWindow window = windows.get(i);
+            System.out.println("In-sample: " + window.getInSample().getSeriesPeriodDescription());
+            for (int j = 0; j < names.size(); j++) {
                 // For each strategy...
-                TradingRecord tradingRecord = sliceManager.run(strategy);
-                double profit = profitCriterion.calculate(slice, tradingRecord);
-                System.out.println("\tProfit for " + name + ": " + profit);
+                System.out.println("\tProfit for " + names.get(j) + ": " + result.getInSampleValue(j, i));
             }
-
-            Strategy bestStrategy = profitCriterion.chooseBest(sliceManager, new ArrayList<Strategy>(strategies.keySet()));
-            System.out.println("\t\t--> Best strategy: " + strategies.get(bestStrategy) + "\n");
+            System.out.println("\t\t--> Best strategy: " + result.getBestParameters(i));
+            System.out.println("Out-of-sample: " + window.getOutOfSample().getSeriesPeriodDescription());
+            System.out.println("\tProfit for " + result.getBestParameters(i) + ": " + result.getOutOfSampleValue(i) + "\n");
         }
+        System.out.println("Out-of-sample profit: " + profitCriterion.calculate(series, result.getOutOfSampleRecord()));
     }
 
 }